@@ -0,0 +1,121 @@
+package com.java.collections.benchmark;
+
+import com.java.collections.benchmark.ListBenchmark.ElementType;
+import com.java.collections.benchmark.ListBenchmark.IndexSequence;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/* LIST JMH BENCHMARK:
+ *
+ * The ListBenchmark operations as JMH benchmarks, one fork per
+ * implementation x operation x size x type, so no benchmark shares a JIT
+ * profile with another. Same lists (ListBenchmark.IMPLEMENTATIONS) and
+ * index sequence as ListBenchmark.
+ *
+ * UNITS: ns per call; append and iterate are per whole list of size
+ * elements (divide by size for ns per element, as ListBenchmark prints)
+ *
+ * USAGE:
+ * mvn -Pjmh package
+ * java -jar target/benchmarks.jar ListJmh -p size=1000 -p impl=ArrayList,LinkedList -prof gc
+ */
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 200, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 5, time = 200, timeUnit = TimeUnit.MILLISECONDS)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ListJmh {
+
+    @Param({"ArrayList", "LinkedList", "Vector", "Stack", "TieredList", "HashIndexedList"})
+    String impl;
+
+    @Param({"1000", "100000"})
+    int size;
+
+    @Param({"INTEGER", "STRING"})
+    ElementType type;
+
+    private Object[] elements;
+    private List<Object> list;
+    private Object extra;
+    private IndexSequence indexes;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        elements = new Object[size];
+        for (int i = 0; i < size; i++) {
+            elements[i] = type.element(i);
+        }
+        list = newList();
+        Collections.addAll(list, elements);
+        extra = type.element(size);
+        indexes = new IndexSequence(size);
+    }
+
+    private List<Object> newList() {
+        return ListBenchmark.IMPLEMENTATIONS.get(impl).get();
+    }
+
+    @Benchmark
+    public List<Object> append() {
+        List<Object> fresh = newList();
+        for (Object e : elements) {
+            fresh.add(e);
+        }
+        return fresh;
+    }
+
+    @Benchmark
+    public Object insertMiddle() {
+        int middle = size / 2;
+        list.add(middle, extra);
+        return list.remove(middle);
+    }
+
+    @Benchmark
+    public Object get() {
+        return list.get(indexes.next());
+    }
+
+    @Benchmark
+    public void iterate(Blackhole bh) {
+        for (Object e : list) {
+            bh.consume(e);
+        }
+    }
+
+    @Benchmark
+    public boolean contains() {
+        return list.contains(elements[indexes.next()]);
+    }
+
+    @Benchmark
+    public void remove() {
+        // Elements are distinct, so remove(e) takes it out of position index
+        int index = indexes.next();
+        Object e = elements[index];
+        list.remove(e);
+        list.add(index, e);
+    }
+
+    @Benchmark
+    public Object removeFirst() {
+        Object e = list.remove(0);
+        list.add(e);
+        return e;
+    }
+
+    @Benchmark
+    public boolean mixed() {
+        Object e = elements[indexes.next()];
+        boolean found = list.contains(e);
+        list.remove(e);
+        list.add(e);
+        return found;
+    }
+}
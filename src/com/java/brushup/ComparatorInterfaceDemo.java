@@ -1,5 +1,12 @@
 package com.java.brushup;
 
+import com.java.collections.columnar.ColumnSchema;
+import com.java.collections.columnar.ColumnTable;
+import com.java.collections.sort.CompiledComparator;
+import com.java.collections.sort.ParallelMergeSort;
+import com.java.collections.sort.RadixSorts;
+import com.java.collections.sort.TopK;
+
 import java.util.*;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -125,6 +132,10 @@ public class ComparatorInterfaceDemo {
         employees.sort(Comparator.comparingDouble(Employee::getSalary));
         System.out.println("By salary: " + employees);
         
+        // Radix sort by the same key - no comparisons, same stable order
+        RadixSorts.sortByInt(employees, Employee::getAge);
+        System.out.println("By age (radix): " + employees);
+        
         // reverseOrder() - for Comparable objects
         List<String> names = employees.stream()
                 .map(Employee::getName)
@@ -154,6 +165,22 @@ public class ComparatorInterfaceDemo {
         employees.sort(chainedComparator);
         System.out.println("Dept -> Salary(desc) -> Name: " + employees);
         
+        // Same chain compiled: each getter runs once per employee, then a primitive-key sort
+        CompiledComparator<Employee> compiled = CompiledComparator
+                .comparing(Employee::getDepartment)
+                .thenComparing(CompiledComparator.<Employee>comparingDouble(Employee::getSalary).reversed())
+                .thenComparing(Employee::getName);
+        List<Employee> compiledSorted = new ArrayList<>(employees);
+        Collections.shuffle(compiledSorted);
+        compiled.sort(compiledSorted);
+        System.out.println("Compiled, same order: " + compiledSorted.equals(employees));
+        
+        // Same comparator, parallel stable merge sort (sequential below the cutoff)
+        List<Employee> parallelSorted = new ArrayList<>(employees);
+        Collections.shuffle(parallelSorted);
+        ParallelMergeSort.commonPool().sort(parallelSorted, chainedComparator);
+        System.out.println("Parallel, same order: " + parallelSorted.equals(employees));
+        
         // Alternative chaining syntax
         employees.sort(Comparator
                 .comparing(Employee::getAge)
@@ -237,6 +264,11 @@ public class ComparatorInterfaceDemo {
                 .collect(Collectors.toList());
         System.out.println("Top 3 earners: " + topEarners);
         
+        // Same result without sorting the stream: a bounded heap of 3
+        List<Employee> topEarnersHeap = employees.stream()
+                .collect(TopK.collectorByDouble(3, Employee::getSalary));
+        System.out.println("Top 3 earners (TopK): " + topEarnersHeap);
+        
         // Grouping with sorting
         Map<String, List<Employee>> byDepartment = employees.stream()
                 .collect(Collectors.groupingBy(Employee::getDepartment));
@@ -266,6 +298,18 @@ public class ComparatorInterfaceDemo {
                 .collect(Collectors.toList());
         System.out.println("Departments by avg salary: " + departmentsByAvgSalary);
         
+        // Same averages from a columnar copy: one pass over the code and salary columns
+        ColumnSchema<Employee> schema = ColumnSchema.<Employee>builder()
+                .int32("age", Employee::getAge)
+                .float64("salary", Employee::getSalary)
+                .string("department", Employee::getDepartment)
+                .build();
+        ColumnTable<Employee> table = ColumnTable.from(schema, employees);
+        Map<String, Double> avgSalaryByDepartment = table.query()
+                .groupBy(schema.stringColumn("department"))
+                .avg(schema.doubleColumn("salary"));
+        System.out.println("Avg salary by department (columnar): " + avgSalaryByDepartment);
+        
         System.out.println();
     }
 }
\ No newline at end of file
@@ -0,0 +1,154 @@
+package com.java.brushup;
+
+import com.java.collections.offheap.*;
+
+import java.util.*;
+
+/* OFF-HEAP RECORDS DEMO:
+ *
+ * PROBLEM:
+ * - Millions of Employee objects = millions of headers, Strings and
+ *   references the GC has to trace on every full collection
+ *
+ * OFF-HEAP RECORD LIST:
+ * - RecordLayout declares the fixed-width schema once
+ * - OffHeapRecordList stores the records in direct memory pages
+ * - RecordCursor reads fields in place, no object per record
+ * - asList(codec) gives existing code a List<Employee> view
+ * - RecordArena makes the lifetime explicit (try-with-resources)
+ *
+ * TRADE-OFFS:
+ * - Strings have a fixed maximum size (UTF-8 bytes)
+ * - get() through the List view decodes a new object every call
+ * - Access after the arena is closed throws IllegalStateException
+ * - Direct memory is capped by -XX:MaxDirectMemorySize (default: -Xmx),
+ *   so set it when the records outgrow the heap size
+ */
+
+public class OffHeapEmployeeDemo {
+
+    /** On-heap form of one record, for the List view. */
+    static final class Employee {
+        private final String name;
+        private final int age;
+        private final double salary;
+        private final String department;
+
+        Employee(String name, int age, double salary, String department) {
+            this.name = name;
+            this.age = age;
+            this.salary = salary;
+            this.department = department;
+        }
+
+        String getName() { return name; }
+        int getAge() { return age; }
+        double getSalary() { return salary; }
+        String getDepartment() { return department; }
+
+        @Override
+        public String toString() {
+            return String.format("%s(%d, $%.0f, %s)", name, age, salary, department);
+        }
+    }
+
+    static final RecordLayout EMPLOYEE = RecordLayout.builder()
+            .string("name", 32)
+            .int32("age")
+            .float64("salary")
+            .string("department", 16)
+            .build();
+
+    static final RecordLayout.Field NAME = EMPLOYEE.field("name");
+    static final RecordLayout.Field AGE = EMPLOYEE.field("age");
+    static final RecordLayout.Field SALARY = EMPLOYEE.field("salary");
+    static final RecordLayout.Field DEPARTMENT = EMPLOYEE.field("department");
+
+    static final RecordCodec<Employee> EMPLOYEE_CODEC = new RecordCodec<Employee>() {
+        @Override
+        public Employee decode(RecordCursor r) {
+            return new Employee(r.getString(NAME), r.getInt(AGE), r.getDouble(SALARY), r.getString(DEPARTMENT));
+        }
+
+        @Override
+        public void encode(Employee e, RecordCursor r) {
+            r.setString(NAME, e.getName())
+                    .setInt(AGE, e.getAge())
+                    .setDouble(SALARY, e.getSalary())
+                    .setString(DEPARTMENT, e.getDepartment());
+        }
+    };
+
+    public static void main(String[] args) {
+        System.out.println("=== OFF-HEAP EMPLOYEE RECORDS ===\n");
+        System.out.println("Layout: " + EMPLOYEE + "\n");
+
+        OffHeapRecordList escaped;
+        try (RecordArena arena = new RecordArena()) {
+            OffHeapRecordList employees = arena.allocate(EMPLOYEE, 1_000);
+            escaped = employees;
+
+            demonstrateListView(employees);
+            demonstrateBulkLoad(employees);
+            demonstrateCursor(employees);
+
+            System.out.println("Off-heap bytes reserved: " + arena.reservedBytes());
+        }
+
+        System.out.println("\n4. AFTER THE ARENA IS CLOSED:");
+        try {
+            escaped.size();
+        } catch (IllegalStateException e) {
+            System.out.println("Access rejected: " + e.getMessage());
+        }
+    }
+
+    static void demonstrateListView(OffHeapRecordList records) {
+        System.out.println("1. LIST VIEW (existing List<Employee> code):");
+        List<Employee> employees = records.asList(EMPLOYEE_CODEC);
+        employees.add(new Employee("Alice", 30, 75000, "IT"));
+        employees.add(new Employee("Bob", 25, 60000, "HR"));
+        employees.add(new Employee("Charlie", 35, 80000, "IT"));
+        System.out.println("Employees: " + employees);
+
+        employees.set(1, new Employee("Bob", 26, 62000, "HR"));
+        System.out.println("After set(1): " + employees.get(1));
+
+        try {
+            employees.add(new Employee("A name that is far too long for the field", 40, 1, "IT"));
+        } catch (IllegalArgumentException e) {
+            System.out.println("Oversized name rejected: " + e.getMessage());
+        }
+        System.out.println();
+    }
+
+    static void demonstrateBulkLoad(OffHeapRecordList records) {
+        System.out.println("2. BULK LOAD THROUGH A CURSOR:");
+        String[] departments = {"IT", "HR", "Finance", "Sales"};
+        RecordCursor c = records.cursor();
+        Random random = new Random(42);
+        for (int i = 0; i < 100_000; i++) {
+            c.moveTo(records.add())
+                    .setString(NAME, "Employee" + i)
+                    .setInt(AGE, 20 + random.nextInt(45))
+                    .setDouble(SALARY, 40_000 + random.nextInt(80_000))
+                    .setString(DEPARTMENT, departments[i % departments.length]);
+        }
+        System.out.println("Records: " + records.size() + "\n");
+    }
+
+    static void demonstrateCursor(OffHeapRecordList records) {
+        System.out.println("3. ALLOCATION-FREE SCAN:");
+        double total = 0;
+        int over40 = 0;
+        RecordCursor c = records.cursor();
+        while (c.next()) {
+            total += c.getDouble(SALARY);
+            if (c.getInt(AGE) > 40) {
+                over40++;
+            }
+        }
+        System.out.printf("Average salary: %.2f%n", total / records.size());
+        System.out.println("Employees over 40: " + over40);
+    }
+}
@@ -1,5 +1,9 @@
 package com.java.collections.arraylist;
 
+import com.java.collections.list.ArrayBackedList;
+import com.java.collections.list.GrowableArrayList;
+import com.java.collections.list.GrowthPolicy;
+
 import java.util.*;
 
 /* ARRAYLIST DEFINITION:
@@ -55,6 +59,14 @@ public class ArrayListBasics {
         
         System.out.println("Empty list: " + list1);
         System.out.println("From collection: " + list3);
+        
+        // Adopting an array instead of copying it (the list writes into the array)
+        String[] ingested = {"C", "A", "B"};
+        ArrayBackedList<String> adopted = ArrayBackedList.wrap(ingested, ingested.length);
+        try (ArrayBackedList.Region<String> region = adopted.writeView(0, adopted.size())) {
+            Arrays.sort(region.array(), region.offset(), region.end()); // Sorts in place, no copy
+        }
+        System.out.println("Adopted and sorted: " + adopted + ", same array: " + Arrays.toString(ingested));
         System.out.println();
     }
     
@@ -110,6 +122,19 @@ public class ArrayListBasics {
         numbers.trimToSize();
         System.out.println("After trimToSize() - capacity = size");
         
+        // The hidden resizes made visible: same 10 adds under different growth policies
+        GrowthPolicy[] policies = {
+            GrowthPolicy.factor(1.5), GrowthPolicy.doubling(), GrowthPolicy.additive(2),
+            GrowthPolicy.sizeClasses(), GrowthPolicy.hinted(10, GrowthPolicy.factor(1.5))
+        };
+        for (GrowthPolicy policy : policies) {
+            GrowableArrayList<Integer> tracked = new GrowableArrayList<>(5, policy, null);
+            for (int i = 1; i <= 10; i++) {
+                tracked.add(i);
+            }
+            System.out.println("capacity " + tracked.capacity() + " - " + tracked.metrics());
+        }
+        
         System.out.println();
     }
 }
\ No newline at end of file
@@ -1,6 +1,9 @@
 package com.java.collections.arraylist;
 
+import com.java.collections.concurrent.EpochArrayList;
+
 import java.util.*;
+import java.util.stream.Collectors;
 
 /* ARRAYLIST ITERATION METHODS:
  * 
@@ -185,5 +188,14 @@ public class ArrayListIterators {
         numbers = new ArrayList<>(Arrays.asList(1, 2, 3, 4, 5));
         numbers.removeIf(num -> num % 2 == 0);
         System.out.println("Using removeIf: " + numbers);
+
+        // SNAPSHOT ITERATION - iterator sees the list as it was, writes go to the list
+        EpochArrayList<Integer> shared = new EpochArrayList<>(Arrays.asList(1, 2, 3, 4, 5));
+        for(Integer num : shared) {
+            if(num % 2 == 0) {
+                shared.remove(num);  // No exception, no copy of the list
+            }
+        }
+        System.out.println("Using EpochArrayList snapshot iterator: " + shared);
     }
 }
\ No newline at end of file
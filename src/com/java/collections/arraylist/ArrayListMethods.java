@@ -1,5 +1,10 @@
 package com.java.collections.arraylist;
 
+import com.java.collections.list.BulkSetOps;
+import com.java.collections.list.CowArrayList;
+import com.java.collections.list.HashIndexedList;
+import com.java.collections.list.PersistentVector;
+
 import java.util.*;
 
 /* ARRAYLIST METHODS REFERENCE:
@@ -139,6 +144,25 @@ public class ArrayListMethods {
         System.out.println("Contains all [Apple, Cherry]: " + 
                           fruits.containsAll(Arrays.asList("Apple", "Cherry")));
         
+        // containsAll/removeAll with a list argument are O(n * m); BulkSetOps builds a lookup first
+        List<Integer> orders = new ArrayList<>();
+        List<Integer> settled = new ArrayList<>();
+        for(int i = 0; i < 1000; i++) {
+            orders.add(i);
+            if(i % 3 == 0) {
+                settled.add(i);
+            }
+        }
+        System.out.println("removeAll strategy: " + BulkSetOps.strategy(settled, orders));
+        BulkSetOps.removeAll(orders, settled);
+        System.out.println("Open orders after BulkSetOps.removeAll: " + orders.size());
+        
+        // contains/indexOf scan the whole list: O(n). A hash index makes them O(1)
+        List<String> indexed = new HashIndexedList<>(fruits);
+        indexed.add("Apple");
+        System.out.println("Indexed indexOf/lastIndexOf 'Apple': " +
+                          indexed.indexOf("Apple") + "/" + indexed.lastIndexOf("Apple"));
+        
         System.out.println();
     }
     
@@ -164,6 +188,18 @@ public class ArrayListMethods {
         System.out.println("Original after clone modification: " + original);
         System.out.println("Cloned after modification: " + cloned);
         
+        // Copy-on-write alternative: clone() is O(1), the first write copies one chunk
+        CowArrayList<String> cow = new CowArrayList<>(original);
+        CowArrayList<String> cowClone = cow.clone();
+        System.out.println("COW clone shares storage: " + cowClone.isShared(0));
+        cowClone.add("D");
+        System.out.println("COW original: " + cow + ", COW clone: " + cowClone);
+        
+        // Persistent alternative: versions share structure, no full copy per snapshot
+        PersistentVector<String> version1 = PersistentVector.copyOf(original);
+        PersistentVector<String> version2 = version1.plus("D");
+        System.out.println("Persistent v1: " + version1 + ", v2: " + version2);
+        
         System.out.println();
     }
 }
\ No newline at end of file
@@ -0,0 +1,175 @@
+package com.java.collections.benchmark;
+
+import com.java.collections.concurrent.StampedArrayList;
+import com.java.collections.list.BatchCursor;
+import com.java.collections.list.BatchCursors;
+import com.java.collections.list.HashIndexedList;
+import com.java.collections.list.IntArrayList;
+import com.java.collections.list.IntBatchCursor;
+import com.java.collections.list.PersistentVector;
+import com.java.collections.list.TieredList;
+import com.java.collections.list.UnrolledLinkedList;
+
+import java.util.*;
+import java.util.function.Function;
+
+/* BATCH ITERATION BENCHMARK:
+ *
+ * COMPARES (per collection):
+ * - forEachLoop - enhanced for, as in ArrayListIterators.demonstrateEnhancedForLoop
+ * - iterator    - explicit hasNext/next, as in ArrayListIterators.demonstrateIterator
+ * - nextBatch   - BatchCursors.of(c) into a 256-element buffer
+ * - spliterator - BatchCursors.spliterator(c).forEachRemaining
+ * plus IntArrayList: get(i) loop vs IntBatchCursor
+ *
+ * COLLECTIONS: ArrayList, LinkedList, ArrayDeque, HashSet (adapted through
+ * their iterators or get) and TieredList, UnrolledLinkedList, HashIndexedList,
+ * PersistentVector, StampedArrayList (native cursors)
+ *
+ * WORKLOAD:
+ * - Sum of element hash codes (a hashing stage), cost per element
+ *
+ * USAGE:
+ * java -cp bin com.java.collections.benchmark.BatchIterationBenchmark -size 1e3,1e6
+ */
+
+public class BatchIterationBenchmark {
+
+    static final Map<String, Function<List<String>, Collection<String>>> IMPLEMENTATIONS = new LinkedHashMap<>();
+
+    static {
+        IMPLEMENTATIONS.put("ArrayList", ArrayList::new);
+        IMPLEMENTATIONS.put("LinkedList", LinkedList::new);
+        IMPLEMENTATIONS.put("ArrayDeque", ArrayDeque::new);
+        IMPLEMENTATIONS.put("HashSet", HashSet::new);
+        IMPLEMENTATIONS.put("TieredList", TieredList::new);
+        IMPLEMENTATIONS.put("UnrolledLinkedList", UnrolledLinkedList::new);
+        IMPLEMENTATIONS.put("HashIndexedList", HashIndexedList::new);
+        IMPLEMENTATIONS.put("PersistentVector", PersistentVector::copyOf);
+        IMPLEMENTATIONS.put("StampedArrayList", StampedArrayList::new);
+    }
+
+    static final int BATCH = 256;
+
+    public static void main(String[] args) {
+        Map<String, String> options = Microbench.parseArgs(args);
+        int[] sizes = Microbench.parseSizes(options.getOrDefault("size", "1e3,1e6"));
+        Microbench bench = new Microbench(
+                Integer.parseInt(options.getOrDefault("wi", "5")),
+                Integer.parseInt(options.getOrDefault("i", "5")),
+                Long.parseLong(options.getOrDefault("time", "200")),
+                "gc".equals(options.get("prof")));
+
+        System.out.println("=== BATCH ITERATION BENCHMARK ===\n");
+        List<Microbench.Result> results = new ArrayList<>();
+        for (int size : sizes) {
+            List<String> source = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                String s = "Lang-" + i;
+                s.hashCode();
+                source.add(s);
+            }
+            for (Map.Entry<String, Function<List<String>, Collection<String>>> impl : IMPLEMENTATIONS.entrySet()) {
+                Collection<String> c = impl.getValue().apply(source);
+                String prefix = impl.getKey() + ".";
+                String suffix = "[n=" + size + "]";
+                results.add(report(bench.run(prefix + "forEachLoop" + suffix, () -> forEachLoop(c))));
+                results.add(report(bench.run(prefix + "iterator" + suffix, () -> iterator(c))));
+                results.add(report(bench.run(prefix + "nextBatch" + suffix, () -> nextBatch(c))));
+                results.add(report(bench.run(prefix + "spliterator" + suffix, () -> spliterator(c))));
+            }
+            IntArrayList ints = new IntArrayList(size);
+            for (int i = 0; i < size; i++) {
+                ints.add(i);
+            }
+            results.add(report(bench.run("IntArrayList.get[n=" + size + "]", () -> intGet(ints))));
+            results.add(report(bench.run("IntArrayList.nextBatch[n=" + size + "]", () -> intBatch(ints))));
+        }
+        System.out.println();
+        Microbench.print(results);
+    }
+
+    private static Microbench.Result report(Microbench.Result result) {
+        System.out.println(result);
+        return result;
+    }
+
+    static Microbench.Workload forEachLoop(Collection<String> c) {
+        return perElement(c.size(), () -> {
+            long h = 0;
+            for (String s : c) {
+                h += s.hashCode();
+            }
+            return h;
+        });
+    }
+
+    static Microbench.Workload iterator(Collection<String> c) {
+        return perElement(c.size(), () -> {
+            long h = 0;
+            Iterator<String> it = c.iterator();
+            while (it.hasNext()) {
+                h += it.next().hashCode();
+            }
+            return h;
+        });
+    }
+
+    static Microbench.Workload nextBatch(Collection<String> c) {
+        String[] buffer = new String[BATCH];
+        return perElement(c.size(), () -> {
+            long h = 0;
+            BatchCursor<String> cursor = BatchCursors.of(c);
+            for (int n; (n = cursor.nextBatch(buffer)) > 0; ) {
+                for (int i = 0; i < n; i++) {
+                    h += buffer[i].hashCode();
+                }
+            }
+            return h;
+        });
+    }
+
+    static Microbench.Workload spliterator(Collection<String> c) {
+        return perElement(c.size(), () -> {
+            long[] h = new long[1];
+            BatchCursors.spliterator(c).forEachRemaining(s -> h[0] += s.hashCode());
+            return h[0];
+        });
+    }
+
+    static Microbench.Workload intGet(IntArrayList list) {
+        return perElement(list.size(), () -> {
+            long h = 0;
+            for (int i = 0, n = list.size(); i < n; i++) {
+                h += list.get(i);
+            }
+            return h;
+        });
+    }
+
+    static Microbench.Workload intBatch(IntArrayList list) {
+        int[] buffer = new int[BATCH];
+        return perElement(list.size(), () -> {
+            long h = 0;
+            IntBatchCursor cursor = list.batchCursor();
+            for (int n; (n = cursor.nextBatch(buffer)) > 0; ) {
+                for (int i = 0; i < n; i++) {
+                    h += buffer[i];
+                }
+            }
+            return h;
+        });
+    }
+
+    private static Microbench.Workload perElement(int size, Microbench.Workload body) {
+        return new Microbench.Workload() {
+            public long invoke() {
+                return body.invoke();
+            }
+
+            public long operationsPerInvoke() {
+                return size;
+            }
+        };
+    }
+}
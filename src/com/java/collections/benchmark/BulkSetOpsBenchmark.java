@@ -0,0 +1,142 @@
+package com.java.collections.benchmark;
+
+import com.java.collections.list.BulkSetOps;
+import com.java.collections.list.IntArrayList;
+
+import java.util.*;
+
+/* BULK SET OPERATIONS BENCHMARK:
+ *
+ * COMPARES removeAll(argument of n / 2 elements) on a target of n elements:
+ * - ArrayList.removeAll(list)   - c.contains per element, O(n * m)
+ * - BulkSetOps HASH             - String elements, HashSet built from the argument
+ * - BulkSetOps BITMAP           - Integer elements from 0..n, one bit per value
+ * - TreeSet.removeAll(TreeSet)  - one O(log n) lookup per element
+ * - BulkSetOps SORT_MERGE       - two TreeSets walked together
+ * - IntArrayList BITMAP / HASH  - dense and sparse int values, no boxing
+ *
+ * Every invoke copies the target first; the copy is part of every variant.
+ * Reported ns/op is per target element.
+ *
+ * USAGE:
+ * java -cp bin com.java.collections.benchmark.BulkSetOpsBenchmark -size 1e3,1e4
+ */
+
+public class BulkSetOpsBenchmark {
+
+    public static void main(String[] args) {
+        Map<String, String> options = Microbench.parseArgs(args);
+        int[] sizes = Microbench.parseSizes(options.getOrDefault("size", "1e3,1e4"));
+        Microbench bench = new Microbench(
+                Integer.parseInt(options.getOrDefault("wi", "5")),
+                Integer.parseInt(options.getOrDefault("i", "5")),
+                Long.parseLong(options.getOrDefault("time", "200")),
+                "gc".equals(options.get("prof")));
+
+        System.out.println("=== BULK SET OPERATIONS BENCHMARK ===\n");
+        List<Microbench.Result> results = new ArrayList<>();
+        for (int size : sizes) {
+            String n = "[n=" + size + "]";
+            List<String> strings = new ArrayList<>();
+            List<Integer> integers = new ArrayList<>();
+            for (int i = 0; i < size; i++) {
+                strings.add("order-" + i);
+                integers.add(i);
+            }
+            List<String> stringArg = everyOther(strings);
+            List<Integer> integerArg = everyOther(integers);
+            results.add(report(bench.run("ArrayList.removeAll(String)" + n,
+                    () -> listRemoveAll(strings, stringArg, false))));
+            results.add(report(bench.run("BulkSetOps.removeAll(String)" + n,
+                    () -> listRemoveAll(strings, stringArg, true))));
+            results.add(report(bench.run("ArrayList.removeAll(Integer)" + n,
+                    () -> listRemoveAll(integers, integerArg, false))));
+            results.add(report(bench.run("BulkSetOps.removeAll(Integer)" + n,
+                    () -> listRemoveAll(integers, integerArg, true))));
+            results.add(report(bench.run("TreeSet.removeAll(TreeSet)" + n,
+                    () -> treeRemoveAll(strings, stringArg, false))));
+            results.add(report(bench.run("BulkSetOps.removeAll(TreeSet)" + n,
+                    () -> treeRemoveAll(strings, stringArg, true))));
+            results.add(report(bench.run("BulkSetOps.removeAll(IntArrayList dense)" + n,
+                    () -> intRemoveAll(size, 1))));
+            results.add(report(bench.run("BulkSetOps.removeAll(IntArrayList sparse)" + n,
+                    () -> intRemoveAll(size, 1_000_003))));
+        }
+        System.out.println();
+        Microbench.print(results);
+    }
+
+    private static Microbench.Result report(Microbench.Result result) {
+        System.out.println(result);
+        return result;
+    }
+
+    /** Every second element, shuffled so that no input is sorted. */
+    private static <T> List<T> everyOther(List<T> values) {
+        List<T> result = new ArrayList<>();
+        for (int i = 0; i < values.size(); i += 2) {
+            result.add(values.get(i));
+        }
+        Collections.shuffle(result, new Random(42));
+        return result;
+    }
+
+    static <T> Microbench.Workload listRemoveAll(List<T> source, List<T> argument, boolean adaptive) {
+        List<T> target = new ArrayList<>(source.size());
+        return new Microbench.Workload() {
+            public long invoke() {
+                target.clear();
+                target.addAll(source);
+                if (adaptive) {
+                    BulkSetOps.removeAll(target, argument);
+                } else {
+                    target.removeAll(argument);
+                }
+                return target.size();
+            }
+            public long operationsPerInvoke() { return source.size(); }
+        };
+    }
+
+    static Microbench.Workload treeRemoveAll(List<String> source, List<String> argument, boolean adaptive) {
+        TreeSet<String> sorted = new TreeSet<>(source);
+        TreeSet<String> sortedArgument = new TreeSet<>(argument);
+        return new Microbench.Workload() {
+            public long invoke() {
+                TreeSet<String> target = new TreeSet<>(sorted);
+                if (adaptive) {
+                    BulkSetOps.removeAll(target, sortedArgument);
+                } else {
+                    target.removeAll(sortedArgument);
+                }
+                return target.size();
+            }
+            public long operationsPerInvoke() { return source.size(); }
+        };
+    }
+
+    static Microbench.Workload intRemoveAll(int size, int stride) {
+        int[] source = new int[size];
+        List<Integer> shuffled = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            source[i] = i * stride;
+            if (i % 2 == 0) {
+                shuffled.add(source[i]);
+            }
+        }
+        Collections.shuffle(shuffled, new Random(42));
+        IntArrayList argument = new IntArrayList(shuffled.size());
+        for (int v : shuffled) {
+            argument.add(v);
+        }
+        IntArrayList target = new IntArrayList(size);
+        return new Microbench.Workload() {
+            public long invoke() {
+                target.clear();
+                target.addAll(source);
+                return BulkSetOps.removeAll(target, argument);
+            }
+            public long operationsPerInvoke() { return size; }
+        };
+    }
+}
@@ -0,0 +1,91 @@
+package com.java.collections.benchmark;
+
+import com.java.collections.benchmark.CompiledSortBenchmark.Employee;
+import com.java.collections.columnar.ColumnSchema;
+import com.java.collections.columnar.ColumnSchema.Column;
+import com.java.collections.columnar.ColumnTable;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/* COLUMNAR BENCHMARK:
+ *
+ * COMPARES (ns per employee, mean ± 99.9% CI) department analytics over the
+ * employees of CompiledSortBenchmark:
+ * - stream groupingBy      - groupingBy(department, averagingDouble(salary)) on List<Employee>,
+ *                            as ComparatorInterfaceDemo.demonstrateWithStreams
+ * - ColumnTable groupBy    - groupBy(department).avg(salary) over the code and salary columns
+ * - stream filter+count    - age in [30, 50] and department "IT"
+ * - ColumnTable filter     - whereBetween(age) then whereEquals(department), then count()
+ * - ColumnTable.from       - import cost: one pass per column over the list
+ *
+ * USAGE:
+ * java -Xmx4g -cp bin com.java.collections.benchmark.ColumnarBenchmark -size 1e5,1e7
+ */
+
+public class ColumnarBenchmark {
+
+    static final ColumnSchema<Employee> SCHEMA = ColumnSchema.<Employee>builder()
+            .string("name", Employee::getName)
+            .int32("age", Employee::getAge)
+            .float64("salary", Employee::getSalary)
+            .string("department", Employee::getDepartment)
+            .build();
+
+    static final Column<Integer> AGE = SCHEMA.intColumn("age");
+    static final Column<Double> SALARY = SCHEMA.doubleColumn("salary");
+    static final Column<String> DEPARTMENT = SCHEMA.stringColumn("department");
+
+    public static void main(String[] args) {
+        Map<String, String> options = Microbench.parseArgs(args);
+        int[] sizes = Microbench.parseSizes(options.getOrDefault("size", "1e5,1e6"));
+        Microbench bench = new Microbench(
+                Integer.parseInt(options.getOrDefault("wi", "5")),
+                Integer.parseInt(options.getOrDefault("i", "5")),
+                Long.parseLong(options.getOrDefault("time", "500")),
+                "gc".equals(options.get("prof")));
+
+        System.out.println("=== COLUMNAR BENCHMARK ===\n");
+        List<Microbench.Result> results = new ArrayList<>();
+        for (int size : sizes) {
+            List<Employee> employees = CompiledSortBenchmark.employees(size);
+            ColumnTable<Employee> table = ColumnTable.from(SCHEMA, employees);
+            String n = "[n=" + size + "]";
+            results.add(report(bench.run("stream groupingBy avg" + n, () -> perEmployee(size,
+                    () -> employees.stream()
+                            .collect(Collectors.groupingBy(Employee::getDepartment,
+                                    Collectors.averagingDouble(Employee::getSalary)))
+                            .size()))));
+            results.add(report(bench.run("ColumnTable groupBy avg" + n, () -> perEmployee(size,
+                    () -> table.query().groupBy(DEPARTMENT).avg(SALARY).size()))));
+            results.add(report(bench.run("stream filter+count" + n, () -> perEmployee(size,
+                    () -> employees.stream()
+                            .filter(e -> e.getAge() >= 30 && e.getAge() <= 50 && "IT".equals(e.getDepartment()))
+                            .count()))));
+            results.add(report(bench.run("ColumnTable filter+count" + n, () -> perEmployee(size,
+                    () -> table.query().whereBetween(AGE, 30, 50).whereEquals(DEPARTMENT, "IT").count()))));
+            results.add(report(bench.run("ColumnTable.from" + n, () -> perEmployee(size,
+                    () -> ColumnTable.from(SCHEMA, employees).size()))));
+        }
+        System.out.println();
+        Microbench.print(results);
+    }
+
+    private static Microbench.Result report(Microbench.Result result) {
+        System.out.println(result);
+        return result;
+    }
+
+    interface Analytics {
+        long run();
+    }
+
+    static Microbench.Workload perEmployee(int size, Analytics analytics) {
+        return new Microbench.Workload() {
+            public long invoke() {
+                return analytics.run();
+            }
+            public long operationsPerInvoke() { return size; }
+        };
+    }
+}
@@ -0,0 +1,115 @@
+package com.java.collections.benchmark;
+
+import com.java.collections.sort.CompiledComparator;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+/* COMPILED SORT BENCHMARK:
+ *
+ * COMPARES (ns per element, mean ± 99.9% CI) for the chain of
+ * ComparatorInterfaceDemo.demonstrateChainingComparators:
+ *   department, then salary descending, then name
+ * - Comparator chain      - list.sort(Comparator.comparing(...).thenComparing(...))
+ *                           runs every getter through the lambda layers per comparison
+ * - CompiledComparator    - the same chain compiled: getters run once per element,
+ *                           then a sort over packed primitive keys
+ * - single int key        - comparingInt(age) both ways (one long sort when compiled)
+ *
+ * Every invoke copies a shuffled source list first; the copy is part of both variants.
+ *
+ * USAGE:
+ * java -cp bin com.java.collections.benchmark.CompiledSortBenchmark -size 1e4,1e6
+ */
+
+public class CompiledSortBenchmark {
+
+    static final class Employee {
+        private final String name;
+        private final int age;
+        private final double salary;
+        private final String department;
+
+        Employee(String name, int age, double salary, String department) {
+            this.name = name;
+            this.age = age;
+            this.salary = salary;
+            this.department = department;
+        }
+
+        String getName() { return name; }
+        int getAge() { return age; }
+        double getSalary() { return salary; }
+        String getDepartment() { return department; }
+    }
+
+    static final String[] DEPARTMENTS = {"IT", "HR", "Finance", "Sales", "Legal", "Support"};
+
+    static final Comparator<Employee> CHAIN = Comparator
+            .comparing(Employee::getDepartment)
+            .thenComparing(Comparator.comparingDouble(Employee::getSalary).reversed())
+            .thenComparing(Employee::getName);
+
+    static final CompiledComparator<Employee> COMPILED_CHAIN = CompiledComparator
+            .comparing(Employee::getDepartment)
+            .thenComparing(CompiledComparator.<Employee>comparingDouble(Employee::getSalary).reversed())
+            .thenComparing(Employee::getName);
+
+    public static void main(String[] args) {
+        Map<String, String> options = Microbench.parseArgs(args);
+        int[] sizes = Microbench.parseSizes(options.getOrDefault("size", "1e4,1e6"));
+        Microbench bench = new Microbench(
+                Integer.parseInt(options.getOrDefault("wi", "5")),
+                Integer.parseInt(options.getOrDefault("i", "5")),
+                Long.parseLong(options.getOrDefault("time", "500")),
+                "gc".equals(options.get("prof")));
+
+        System.out.println("=== COMPILED SORT BENCHMARK ===\n");
+        List<Microbench.Result> results = new ArrayList<>();
+        for (int size : sizes) {
+            List<Employee> employees = employees(size);
+            String n = "[n=" + size + "]";
+            results.add(report(bench.run("Comparator chain" + n,
+                    () -> sort(employees, list -> list.sort(CHAIN)))));
+            results.add(report(bench.run("CompiledComparator chain" + n,
+                    () -> sort(employees, COMPILED_CHAIN::sort))));
+            results.add(report(bench.run("Comparator.comparingInt(age)" + n,
+                    () -> sort(employees, list -> list.sort(Comparator.comparingInt(Employee::getAge))))));
+            results.add(report(bench.run("CompiledComparator.comparingInt(age)" + n,
+                    () -> sort(employees, CompiledComparator.comparingInt(Employee::getAge)::sort))));
+        }
+        System.out.println();
+        Microbench.print(results);
+    }
+
+    private static Microbench.Result report(Microbench.Result result) {
+        System.out.println(result);
+        return result;
+    }
+
+    static List<Employee> employees(int size) {
+        Random random = new Random(42);
+        List<Employee> employees = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            employees.add(new Employee(
+                    "Employee-" + random.nextInt(size),
+                    20 + random.nextInt(45),
+                    30_000 + random.nextInt(1_000) * 100,
+                    DEPARTMENTS[random.nextInt(DEPARTMENTS.length)]));
+        }
+        return employees;
+    }
+
+    static Microbench.Workload sort(List<Employee> source, Consumer<List<Employee>> sorter) {
+        List<Employee> list = new ArrayList<>(source.size());
+        return new Microbench.Workload() {
+            public long invoke() {
+                list.clear();
+                list.addAll(source);
+                sorter.accept(list);
+                return list.get(0).getAge();
+            }
+            public long operationsPerInvoke() { return source.size(); }
+        };
+    }
+}
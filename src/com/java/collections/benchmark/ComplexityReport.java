@@ -0,0 +1,509 @@
+package com.java.collections.benchmark;
+
+import com.java.collections.benchmark.ListBenchmark.ElementType;
+import com.java.collections.benchmark.ListBenchmark.Operation;
+import com.java.collections.footprint.Footprint;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.function.Supplier;
+
+/* EMPIRICAL COMPLEXITY REPORT:
+ *
+ * IMPLEMENTATIONS: ArrayList, LinkedList, Vector, Stack, ArrayDeque
+ *
+ * HOW IT WORKS:
+ * - Every operation is measured at sizes 2^k between -min and -max
+ * - Each implementation x operation runs all its sizes in a fresh JVM (-f 1,
+ *   the default), so its call sites only ever see one collection class and
+ *   no size is measured on a profile polluted by another implementation.
+ *   -f 0 measures in this JVM, still one implementation at a time
+ * - Timings are floored at 0.1 ns: a batch can measure 0 once the empty-loop
+ *   cost is subtracted, and the fit weighs samples by 1/t^2
+ * - Working set = bytes per element (measured with Footprint) x n; each size
+ *   is tagged with the cache level it fits in (L1/L2/L3/DRAM)
+ * - The algorithmic curve is fitted on the sizes that fit in the inner
+ *   caches (all but the last level): a + b*g(n) for g = 1, log n, n, n log n,
+ *   least squares on relative error; the simplest model that fits about as
+ *   well as the best one wins, and a growing model must account for at least
+ *   half the cost at the largest fitted size
+ * - The comparison table is generated from the fitted models
+ * - A knee is the first larger size where the measured cost is 1.5x or more
+ *   above the fitted curve; the table shows the excess at the largest size
+ *
+ * OPERATIONS (see ListBenchmark; append and iterate are per element):
+ * - ArrayDeque has no index, so insertMiddle and get are n/a,
+ *   remove and mixed re-append the element and removeFirst is pollFirst + addLast
+ *
+ * USAGE:
+ * java --add-opens java.base/java.util=ALL-UNNAMED \
+ *      -cp bin com.java.collections.benchmark.ComplexityReport -min 16 -max 1048576 -op get,removeFirst -f 2
+ */
+
+public class ComplexityReport {
+
+    static final Map<String, Supplier<List<Object>>> LISTS = new LinkedHashMap<>();
+
+    static {
+        LISTS.put("ArrayList", ArrayList::new);
+        LISTS.put("LinkedList", LinkedList::new);
+        LISTS.put("Vector", Vector::new);
+        LISTS.put("Stack", Stack::new);
+    }
+
+    static final String DEQUE = "ArrayDeque";
+    static final double KNEE_FACTOR = 1.5;
+    static final double FLOOR_NANOS = 0.1;
+
+    /** Candidate cost curves, simplest first. */
+    enum Model {
+        CONSTANT("O(1)") {
+            double g(double n) { return 1; }
+        },
+        LOG("O(log n)") {
+            double g(double n) { return Math.log(n) / Math.log(2); }
+        },
+        LINEAR("O(n)") {
+            double g(double n) { return n; }
+        },
+        N_LOG_N("O(n log n)") {
+            double g(double n) { return n * Math.log(n) / Math.log(2); }
+        };
+
+        final String label;
+
+        Model(String label) {
+            this.label = label;
+        }
+
+        abstract double g(double n);
+    }
+
+    /** Fitted curve a + b*g(n) and how far the largest sizes drift above it. */
+    static final class Fit {
+        final Model model;
+        final double a;
+        final double b;
+        final double error;
+        int knee = -1;
+        double excess = 1;
+
+        Fit(Model model, double a, double b, double error) {
+            this.model = model;
+            this.a = a;
+            this.b = b;
+            this.error = error;
+        }
+
+        double predict(double n) {
+            return a + b * model.g(n);
+        }
+    }
+
+    /** Cache level sizes in bytes, smallest first. */
+    static final class CacheLevels {
+        final String[] names;
+        final long[] bytes;
+
+        CacheLevels(String[] names, long[] bytes) {
+            this.names = names;
+            this.bytes = bytes;
+        }
+
+        /** 0 for L1 ... names.length for DRAM. */
+        int indexFor(double workingSet) {
+            for (int i = 0; i < bytes.length; i++) {
+                if (workingSet <= bytes[i]) {
+                    return i;
+                }
+            }
+            return bytes.length;
+        }
+
+        String levelFor(double workingSet) {
+            return name(indexFor(workingSet));
+        }
+
+        String name(int index) {
+            return index < names.length ? names[index] : "DRAM";
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder();
+            for (int i = 0; i < names.length; i++) {
+                sb.append(i == 0 ? "" : ", ").append(names[i]).append(' ').append(formatBytes(bytes[i]));
+            }
+            return sb.toString();
+        }
+    }
+
+    public static void main(String[] args) {
+        Map<String, String> options = Microbench.parseArgs(args);
+        int min = (int) Double.parseDouble(options.getOrDefault("min", "16"));
+        int max = (int) Double.parseDouble(options.getOrDefault("max", String.valueOf(1 << 20)));
+        List<Operation> operations = ListBenchmark.parseEnums(Operation.class, options.getOrDefault("op", "all"));
+        int forks = Integer.parseInt(options.getOrDefault("f", "1"));
+        Microbench bench = new Microbench(
+                Integer.parseInt(options.getOrDefault("wi", "2")),
+                Integer.parseInt(options.getOrDefault("i", "3")),
+                Long.parseLong(options.getOrDefault("time", "50")),
+                false);
+
+        List<Integer> sizeList = new ArrayList<>();
+        for (long n = Integer.highestOneBit(Math.max(min, 2)); n <= max; n <<= 1) {
+            sizeList.add((int) n);
+        }
+        int[] sizes = sizeList.stream().mapToInt(Integer::intValue).toArray();
+        if (Microbench.isFork()) {
+            // Started by measure(): one implementation and operation, every size
+            String impl = options.get("impl");
+            for (int n : sizes) {
+                Microbench.report(bench.run(impl, () -> workload(impl, operations.get(0), n)));
+            }
+            return;
+        }
+        List<String> impls = new ArrayList<>(LISTS.keySet());
+        impls.add(DEQUE);
+
+        CacheLevels caches = detectCaches();
+        Map<String, Double> bytesPerElement = bytesPerElement(impls);
+        System.out.println("=== EMPIRICAL COMPLEXITY REPORT ===");
+        System.out.println("Caches: " + caches);
+        System.out.println("Sizes: " + sizes[0] + " .. " + sizes[sizes.length - 1] + " (powers of two)\n");
+
+        Map<Operation, Map<String, Fit>> fits = new LinkedHashMap<>();
+        List<String> knees = new ArrayList<>();
+        for (Operation op : operations) {
+            // Implementation outer, sizes inner: see measure()
+            Map<String, double[]> timings = new LinkedHashMap<>();
+            for (String impl : impls) {
+                timings.put(impl, supports(impl, op) ? measure(bench, forks, options, impl, op, sizes) : null);
+            }
+
+            System.out.println("--- " + ListBenchmark.name(op) + " (ns/op, cache level of the working set) ---");
+            System.out.print(String.format("%10s", "n"));
+            for (String impl : impls) {
+                System.out.print(String.format(" %18s", impl));
+            }
+            System.out.println();
+            for (int s = 0; s < sizes.length; s++) {
+                System.out.print(String.format("%10d", sizes[s]));
+                for (String impl : impls) {
+                    double[] t = timings.get(impl);
+                    if (t == null) {
+                        System.out.print(String.format(" %18s", "n/a"));
+                    } else {
+                        System.out.print(String.format(" %12.1f %5s", t[s],
+                                caches.levelFor(bytesPerElement.get(impl) * sizes[s])));
+                    }
+                }
+                System.out.println();
+            }
+
+            Map<String, Fit> opFits = new LinkedHashMap<>();
+            for (String impl : impls) {
+                double[] t = timings.get(impl);
+                if (t == null) {
+                    continue;
+                }
+                // Fit where the working set stays in the inner caches, at least 5 sizes
+                int fitted = 0;
+                while (fitted < sizes.length && caches.indexFor(bytesPerElement.get(impl) * sizes[fitted])
+                        < caches.names.length - 1) {
+                    fitted++;
+                }
+                fitted = Math.min(sizes.length, Math.max(fitted, 5));
+                Fit fit = fit(Arrays.copyOf(sizes, fitted), Arrays.copyOf(t, fitted));
+                opFits.put(impl, fit);
+                String knee = knee(impl, op, sizes, t, fitted, fit, caches, bytesPerElement.get(impl));
+                if (knee != null) {
+                    knees.add(knee);
+                }
+            }
+            fits.put(op, opFits);
+            System.out.println();
+        }
+
+        printTable(impls, fits);
+        System.out.println("\n--- Cache knees (cost >= " + KNEE_FACTOR + "x the in-cache curve) ---");
+        if (knees.isEmpty()) {
+            System.out.println("none");
+        }
+        for (String knee : knees) {
+            System.out.println(knee);
+        }
+    }
+
+    /**
+     * ns/op of impl.op at every size, floored at FLOOR_NANOS. With forks > 0
+     * all sizes run in fresh JVMs that only ever see impl; otherwise here.
+     */
+    static double[] measure(Microbench bench, int forks, Map<String, String> options,
+                            String impl, Operation op, int[] sizes) {
+        List<Microbench.Result> results = new ArrayList<>();
+        if (forks > 0) {
+            List<String> labels = new ArrayList<>();
+            for (int n : sizes) {
+                labels.add(impl + "." + ListBenchmark.name(op) + "[n=" + n + "]");
+            }
+            Map<String, String> child = new LinkedHashMap<>(options);
+            child.put("impl", impl);
+            child.put("op", ListBenchmark.name(op));
+            child.put("f", "0");
+            results = Microbench.fork(labels, forks, ComplexityReport.class, Microbench.toArgs(child));
+        } else {
+            for (int n : sizes) {
+                results.add(bench.run(impl, () -> workload(impl, op, n)));
+            }
+        }
+        double[] t = new double[sizes.length];
+        for (int i = 0; i < sizes.length; i++) {
+            t[i] = Math.max(FLOOR_NANOS, results.get(i).getMean());
+        }
+        return t;
+    }
+
+    static boolean supports(String impl, Operation op) {
+        return !DEQUE.equals(impl) || (op != Operation.GET && op != Operation.INSERT_MIDDLE);
+    }
+
+    static Microbench.Workload workload(String impl, Operation op, int size) {
+        if (!DEQUE.equals(impl)) {
+            return ListBenchmark.workload(LISTS.get(impl), op, ElementType.INTEGER, size);
+        }
+        Object[] elements = new Object[size];
+        for (int i = 0; i < size; i++) {
+            elements[i] = ElementType.INTEGER.element(i);
+        }
+        if (op == Operation.APPEND) {
+            return new Microbench.Workload() {
+                public long invoke() {
+                    ArrayDeque<Object> deque = new ArrayDeque<>();
+                    for (Object e : elements) {
+                        deque.addLast(e);
+                    }
+                    return deque.size();
+                }
+                public long operationsPerInvoke() { return size; }
+            };
+        }
+        ArrayDeque<Object> deque = new ArrayDeque<>(Arrays.asList(elements));
+        ListBenchmark.IndexSequence indexes = new ListBenchmark.IndexSequence(size);
+        switch (op) {
+            case ITERATE:
+                return new Microbench.Workload() {
+                    public long invoke() {
+                        long h = 0;
+                        for (Object e : deque) {
+                            h += e.hashCode();
+                        }
+                        return h;
+                    }
+                    public long operationsPerInvoke() { return size; }
+                };
+            case CONTAINS:
+                return () -> deque.contains(elements[indexes.next()]) ? 1 : 0;
+            case REMOVE:
+                return () -> {
+                    Object e = elements[indexes.next()];
+                    deque.remove(e);
+                    deque.addLast(e);
+                    return 1;
+                };
+            case REMOVE_FIRST:
+                return () -> {
+                    deque.addLast(deque.pollFirst());
+                    return 1;
+                };
+            case MIXED:
+                return () -> {
+                    Object e = elements[indexes.next()];
+                    boolean found = deque.contains(e);
+                    deque.remove(e);
+                    deque.addLast(e);
+                    return found ? 1 : 0;
+                };
+            default:
+                throw new IllegalArgumentException("Unsupported operation: " + op);
+        }
+    }
+
+    /**
+     * Fits every model; keeps the simplest whose error is within 2x of the best.
+     * A growing model only counts if its growth term is at least half the
+     * cost at the largest size, so a noise-sized slope stays O(1).
+     */
+    static Fit fit(int[] sizes, double[] t) {
+        List<Fit> candidates = new ArrayList<>();
+        int last = sizes.length - 1;
+        for (Model model : Model.values()) {
+            Fit f = fit(model, sizes, t);
+            double growth = f.b * (model.g(sizes[last]) - model.g(sizes[0]));
+            if (model == Model.CONSTANT || growth >= 0.5 * f.predict(sizes[last])) {
+                candidates.add(f);
+            }
+        }
+        double best = Double.MAX_VALUE;
+        for (Fit f : candidates) {
+            best = Math.min(best, f.error);
+        }
+        for (Fit f : candidates) {
+            if (f.error <= 2 * best + 1e-3) {
+                return f;
+            }
+        }
+        return candidates.get(0);
+    }
+
+    /** Weighted least squares of t = a + b*g(n) with weights 1/t^2 (relative error); t > 0. */
+    static Fit fit(Model model, int[] sizes, double[] t) {
+        double sw = 0, sx = 0, sy = 0, sxx = 0, sxy = 0;
+        for (int i = 0; i < sizes.length; i++) {
+            double w = 1 / (t[i] * t[i]);
+            double x = model.g(sizes[i]);
+            sw += w;
+            sx += w * x;
+            sy += w * t[i];
+            sxx += w * x * x;
+            sxy += w * x * t[i];
+        }
+        double det = sw * sxx - sx * sx;
+        double b = det == 0 ? 0 : (sw * sxy - sx * sy) / det;
+        double a;
+        if (b < 0) {
+            // Cost cannot fall with size; flat is the best this model can do
+            b = 0;
+            a = sy / sw;
+        } else {
+            a = (sy - b * sx) / sw;
+        }
+        double error = 0;
+        for (int i = 0; i < sizes.length; i++) {
+            double r = (t[i] - (a + b * model.g(sizes[i]))) / t[i];
+            error += r * r;
+        }
+        return new Fit(model, a, b, error / sizes.length);
+    }
+
+    /** Records on the fit where the sizes past the fitted range leave the curve; returns a report line or null. */
+    static String knee(String impl, Operation op, int[] sizes, double[] t, int fitted, Fit fit,
+                       CacheLevels caches, double bytesPerElement) {
+        int last = sizes.length - 1;
+        fit.excess = t[last] / fit.predict(sizes[last]);
+        for (int i = fitted; i < sizes.length; i++) {
+            double ratio = t[i] / fit.predict(sizes[i]);
+            if (ratio >= KNEE_FACTOR) {
+                fit.knee = i;
+                return String.format("%s.%s: from n=%d (%s, working set %s) %.1fx the %s curve,"
+                                + " %.1fx at n=%d (%s)",
+                        impl, ListBenchmark.name(op), sizes[i], caches.levelFor(bytesPerElement * sizes[i]),
+                        formatBytes((long) (bytesPerElement * sizes[i])), ratio, fit.model.label,
+                        fit.excess, sizes[last], caches.levelFor(bytesPerElement * sizes[last]));
+            }
+        }
+        return null;
+    }
+
+    static void printTable(List<String> impls, Map<Operation, Map<String, Fit>> fits) {
+        System.out.println("--- Measured complexity (per operation; append/iterate per element) ---");
+        StringBuilder header = new StringBuilder(String.format("%-14s", "Operation"));
+        for (String impl : impls) {
+            header.append(String.format("| %-15s", impl));
+        }
+        System.out.println(header);
+        for (Map.Entry<Operation, Map<String, Fit>> row : fits.entrySet()) {
+            StringBuilder line = new StringBuilder(String.format("%-14s", ListBenchmark.name(row.getKey())));
+            for (String impl : impls) {
+                Fit fit = row.getValue().get(impl);
+                String cell = fit == null ? "n/a" : fit.model.label;
+                if (fit != null && fit.knee >= 0) {
+                    cell += String.format(" x%.1f", fit.excess);
+                }
+                line.append(String.format("| %-15s", cell));
+            }
+            System.out.println(line);
+        }
+        System.out.println("xN: cost at the largest size is N times the in-cache curve, see knees below");
+    }
+
+    /** Retained bytes per Integer element, measured at n = 4096; 24 bytes if the walk is not allowed. */
+    static Map<String, Double> bytesPerElement(List<String> impls) {
+        Map<String, Double> result = new LinkedHashMap<>();
+        for (String impl : impls) {
+            Collection<Object> c = DEQUE.equals(impl) ? new ArrayDeque<>() : LISTS.get(impl).get();
+            for (int i = 0; i < 4096; i++) {
+                c.add(i);
+            }
+            double bytes;
+            try {
+                bytes = Footprint.of(c).bytesPerElement();
+            } catch (IllegalStateException e) {
+                bytes = 24;
+            }
+            result.put(impl, bytes);
+        }
+        return result;
+    }
+
+    /** Data/unified cache sizes from Linux sysfs; typical desktop sizes elsewhere. */
+    static CacheLevels detectCaches() {
+        SortedMap<Integer, Long> levels = new TreeMap<>();
+        Path base = Paths.get("/sys/devices/system/cpu/cpu0/cache");
+        for (int i = 0; i < 8; i++) {
+            Path index = base.resolve("index" + i);
+            try {
+                String type = read(index.resolve("type"));
+                if (type.equals("Instruction")) {
+                    continue;
+                }
+                int level = Integer.parseInt(read(index.resolve("level")));
+                levels.put(level, parseCacheSize(read(index.resolve("size"))));
+            } catch (IOException | RuntimeException e) {
+                break;
+            }
+        }
+        if (levels.isEmpty()) {
+            levels.put(1, 32L << 10);
+            levels.put(2, 1L << 20);
+            levels.put(3, 16L << 20);
+        }
+        String[] names = new String[levels.size()];
+        long[] bytes = new long[levels.size()];
+        int i = 0;
+        for (Map.Entry<Integer, Long> e : levels.entrySet()) {
+            names[i] = "L" + e.getKey();
+            bytes[i++] = e.getValue();
+        }
+        return new CacheLevels(names, bytes);
+    }
+
+    private static String read(Path file) throws IOException {
+        return new String(Files.readAllBytes(file), StandardCharsets.UTF_8).trim();
+    }
+
+    private static long parseCacheSize(String size) {
+        char unit = size.charAt(size.length() - 1);
+        if (unit == 'K') {
+            return Long.parseLong(size.substring(0, size.length() - 1)) << 10;
+        }
+        if (unit == 'M') {
+            return Long.parseLong(size.substring(0, size.length() - 1)) << 20;
+        }
+        return Long.parseLong(size);
+    }
+
+    static String formatBytes(long bytes) {
+        if (bytes >= 1L << 20) {
+            return String.format("%.1f MB", bytes / (double) (1L << 20));
+        }
+        if (bytes >= 1L << 10) {
+            return String.format("%.1f KB", bytes / (double) (1L << 10));
+        }
+        return bytes + " B";
+    }
+}
@@ -0,0 +1,110 @@
+package com.java.collections.benchmark;
+
+import com.java.collections.concurrent.TreiberStack;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/* CONCURRENT STACK BENCHMARK:
+ *
+ * COMPARES (shared by all threads):
+ * - TreiberStack            - lock-free, elimination backoff
+ * - TreiberStack(no elim)   - lock-free, plain CAS retry
+ * - Stack                   - java.util.Stack, synchronized via Vector
+ * - ConcurrentLinkedDeque   - push/pop on the head
+ *
+ * WORKLOAD:
+ * - Every invocation is push followed by pop (2 ops), stack pre-filled with 1000
+ * - Reported ns/op is aggregate: wall time / total ops of all threads
+ *
+ * USAGE:
+ * java -cp bin com.java.collections.benchmark.ConcurrentStackBenchmark -threads 1,2,4,8
+ */
+
+public class ConcurrentStackBenchmark {
+
+    /** Minimal push/pop view over the compared stack types. */
+    interface SharedStack {
+        void push(Integer e);
+        Integer pop();
+    }
+
+    static final Map<String, Supplier<SharedStack>> IMPLEMENTATIONS = new LinkedHashMap<>();
+
+    static {
+        IMPLEMENTATIONS.put("TreiberStack", () -> {
+            TreiberStack<Integer> s = new TreiberStack<>();
+            return adapter(s::push, s::poll);
+        });
+        IMPLEMENTATIONS.put("TreiberStack(no elim)", () -> {
+            TreiberStack<Integer> s = new TreiberStack<>(Integer.MAX_VALUE, 0);
+            return adapter(s::push, s::poll);
+        });
+        IMPLEMENTATIONS.put("Stack", () -> {
+            Stack<Integer> s = new Stack<>();
+            // Stack.pop() throws when empty; check and pop under the same monitor
+            return adapter(s::push, () -> {
+                synchronized (s) {
+                    return s.empty() ? null : s.pop();
+                }
+            });
+        });
+        IMPLEMENTATIONS.put("ConcurrentLinkedDeque", () -> {
+            ConcurrentLinkedDeque<Integer> s = new ConcurrentLinkedDeque<>();
+            return adapter(s::push, s::pollFirst);
+        });
+    }
+
+    static SharedStack adapter(Consumer<Integer> push, Supplier<Integer> pop) {
+        return new SharedStack() {
+            public void push(Integer e) {
+                push.accept(e);
+            }
+
+            public Integer pop() {
+                return pop.get();
+            }
+        };
+    }
+
+    public static void main(String[] args) {
+        Map<String, String> options = Microbench.parseArgs(args);
+        int[] threadCounts = Microbench.parseThreads(options.get("threads"));
+        Microbench bench = new Microbench(
+                Integer.parseInt(options.getOrDefault("wi", "3")),
+                Integer.parseInt(options.getOrDefault("i", "5")),
+                Long.parseLong(options.getOrDefault("time", "300")),
+                false);
+
+        System.out.println("=== CONCURRENT STACK BENCHMARK ===\n");
+        List<Microbench.Result> results = new ArrayList<>();
+        for (int threads : threadCounts) {
+            for (Map.Entry<String, Supplier<SharedStack>> impl : IMPLEMENTATIONS.entrySet()) {
+                Microbench.Result result = bench.runConcurrent(
+                        impl.getKey() + "[threads=" + threads + "]", threads,
+                        () -> pushPop(impl.getValue().get()));
+                System.out.println(result);
+                results.add(result);
+            }
+        }
+        System.out.println();
+        Microbench.print(results);
+    }
+
+    static Microbench.Workload pushPop(SharedStack stack) {
+        Integer value = 42;
+        for (int i = 0; i < 1000; i++) {
+            stack.push(value);
+        }
+        return new Microbench.Workload() {
+            public long invoke() {
+                stack.push(value);
+                Integer e = stack.pop();
+                return e == null ? 0 : 1;
+            }
+            public long operationsPerInvoke() { return 2; }
+        };
+    }
+}
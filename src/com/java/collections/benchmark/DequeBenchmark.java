@@ -0,0 +1,125 @@
+package com.java.collections.benchmark;
+
+import com.java.collections.list.UnrolledLinkedList;
+
+import java.util.*;
+import java.util.function.Supplier;
+
+/* DEQUE BENCHMARK:
+ *
+ * COMPARES: UnrolledLinkedList, LinkedList, ArrayDeque
+ *
+ * OPERATIONS:
+ * - demoMix - the exact operation sequence of LinkedListDemo.main
+ *             (add x3, addFirst, addLast, getFirst, getLast, get(2),
+ *             removeFirst, removeLast, offer x2, poll, push x2, pop)
+ *             applied to a deque that already holds size elements
+ * - iterate - full for-each pass, cost per element
+ *
+ * ArrayDeque has no get(int); the mix reads element 2 through its iterator.
+ *
+ * USAGE:
+ * java -cp bin com.java.collections.benchmark.DequeBenchmark -size 10,1e4,1e6 -prof gc
+ */
+
+public class DequeBenchmark {
+
+    static final Map<String, Supplier<Deque<String>>> IMPLEMENTATIONS = new LinkedHashMap<>();
+
+    static {
+        IMPLEMENTATIONS.put("UnrolledLinkedList", UnrolledLinkedList::new);
+        IMPLEMENTATIONS.put("LinkedList", LinkedList::new);
+        IMPLEMENTATIONS.put("ArrayDeque", ArrayDeque::new);
+    }
+
+    public static void main(String[] args) {
+        Map<String, String> options = Microbench.parseArgs(args);
+        int[] sizes = Microbench.parseSizes(options.getOrDefault("size", "10,1e4,1e6"));
+        Microbench bench = new Microbench(
+                Integer.parseInt(options.getOrDefault("wi", "5")),
+                Integer.parseInt(options.getOrDefault("i", "5")),
+                Long.parseLong(options.getOrDefault("time", "200")),
+                "gc".equals(options.get("prof")));
+
+        System.out.println("=== DEQUE BENCHMARK ===\n");
+        List<Microbench.Result> results = new ArrayList<>();
+        for (int size : sizes) {
+            for (Map.Entry<String, Supplier<Deque<String>>> impl : IMPLEMENTATIONS.entrySet()) {
+                Microbench.Result mix = bench.run(impl.getKey() + ".demoMix[n=" + size + "]",
+                        () -> demoMix(impl.getValue(), size));
+                System.out.println(mix);
+                results.add(mix);
+                Microbench.Result iterate = bench.run(impl.getKey() + ".iterate[n=" + size + "]",
+                        () -> iterate(impl.getValue(), size));
+                System.out.println(iterate);
+                results.add(iterate);
+            }
+        }
+        System.out.println();
+        Microbench.print(results);
+    }
+
+    static Deque<String> filled(Supplier<Deque<String>> supplier, int size) {
+        Deque<String> deque = supplier.get();
+        for (int i = 0; i < size; i++) {
+            deque.addLast("City-" + i);
+        }
+        return deque;
+    }
+
+    /** One invocation is the whole LinkedListDemo sequence; it leaves the size unchanged. */
+    static Microbench.Workload demoMix(Supplier<Deque<String>> supplier, int size) {
+        Deque<String> cities = filled(supplier, size);
+        return () -> {
+            long h = 0;
+            cities.add("New York");
+            cities.add("London");
+            cities.add("Tokyo");
+            cities.addFirst("Paris");
+            cities.addLast("Sydney");
+            h += cities.getFirst().length();
+            h += cities.getLast().length();
+            h += elementAt(cities, 2).length();
+            cities.removeFirst();
+            cities.removeLast();
+            cities.offer("Mumbai");
+            cities.offer("Berlin");
+            h += cities.poll().length();
+            cities.push("Cairo");
+            cities.push("Rome");
+            h += cities.pop().length();
+            // Head side nets to zero; undo the +5 at the tail to keep the size constant
+            for (int i = 0; i < 5; i++) {
+                cities.pollLast();
+            }
+            return h;
+        };
+    }
+
+    static String elementAt(Deque<String> deque, int index) {
+        if (deque instanceof List) {
+            @SuppressWarnings("unchecked")
+            List<String> list = (List<String>) deque;
+            return list.get(index);
+        }
+        Iterator<String> it = deque.iterator();
+        for (int i = 0; i < index; i++) {
+            it.next();
+        }
+        return it.next();
+    }
+
+    static Microbench.Workload iterate(Supplier<Deque<String>> supplier, int size) {
+        Deque<String> deque = filled(supplier, size);
+        return new Microbench.Workload() {
+            public long invoke() {
+                long h = 0;
+                for (String s : deque) {
+                    h += s.length();
+                }
+                return h;
+            }
+            public long operationsPerInvoke() { return Math.max(1, size); }
+        };
+    }
+}
@@ -0,0 +1,237 @@
+package com.java.collections.benchmark;
+
+import com.java.collections.list.HashIndexedList;
+import com.java.collections.list.TieredList;
+
+import java.util.*;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+/* LIST BENCHMARK SUITE:
+ *
+ * IMPLEMENTATIONS: ArrayList, LinkedList, Vector, Stack, TieredList, HashIndexedList
+ *
+ * PARAMETERS:
+ * - size      - 1e3 .. 1e7 elements (-size 1e3,1e5)
+ * - operation - append, insertMiddle, get, iterate, contains, remove, removeFirst, mixed (-op get,iterate)
+ * - type      - integer, string (-type integer)
+ * - prof gc   - also report allocated bytes per operation (-prof gc)
+ * - forks     - fresh JVMs per benchmark, samples merged (-f 1, the default)
+ *
+ * ISOLATION:
+ * - Every implementation x operation x size runs in its own JVM, so its call
+ *   sites only ever see one List class and earlier benchmarks cannot change
+ *   its JIT profile or heap. -f 0 runs everything in this JVM instead: quick,
+ *   but later rows then pay for megamorphic calls and are not comparable
+ *
+ * OPERATIONS (list size stays constant across invocations):
+ * - append       - fill an empty list with size elements, cost per element
+ * - insertMiddle - add(size/2, x) then remove(size/2)
+ * - get          - get(i) at pseudo-random indexes
+ * - iterate      - full for-each pass, cost per element
+ * - contains     - contains(x) for an element at a pseudo-random position
+ * - remove       - remove(x) at a pseudo-random position, then add it back
+ * - removeFirst  - remove(0), then append the element again
+ * - mixed        - contains(x), remove(x) and append x again, x at a
+ *                  pseudo-random position; queries meet fresh removals
+ *
+ * USAGE:
+ * java -cp bin com.java.collections.benchmark.ListBenchmark -size 1e3,1e5 -op get -prof gc
+ * java -cp bin com.java.collections.benchmark.ListBenchmark -size 1e3 -op get -impl ArrayList,LinkedList -f 3
+ */
+
+public class ListBenchmark {
+
+    public enum Operation { APPEND, INSERT_MIDDLE, GET, ITERATE, CONTAINS, REMOVE, REMOVE_FIRST, MIXED }
+
+    public enum ElementType {
+        INTEGER(Integer::valueOf),
+        STRING(i -> "item-" + i);
+
+        private final IntFunction<Object> factory;
+
+        ElementType(IntFunction<Object> factory) {
+            this.factory = factory;
+        }
+
+        Object element(int i) {
+            return factory.apply(i);
+        }
+    }
+
+    static final Map<String, Supplier<List<Object>>> IMPLEMENTATIONS = new LinkedHashMap<>();
+
+    static {
+        IMPLEMENTATIONS.put("ArrayList", ArrayList::new);
+        IMPLEMENTATIONS.put("LinkedList", LinkedList::new);
+        IMPLEMENTATIONS.put("Vector", Vector::new);
+        IMPLEMENTATIONS.put("Stack", Stack::new);
+        IMPLEMENTATIONS.put("TieredList", TieredList::new);
+        IMPLEMENTATIONS.put("HashIndexedList", HashIndexedList::new);
+    }
+
+    public static void main(String[] args) {
+        Map<String, String> options = Microbench.parseArgs(args);
+        int[] sizes = Microbench.parseSizes(options.getOrDefault("size", "1e3,1e4,1e5,1e6,1e7"));
+        List<Operation> operations = parseEnums(Operation.class, options.getOrDefault("op", "all"));
+        List<ElementType> types = parseEnums(ElementType.class, options.getOrDefault("type", "all"));
+        Set<String> impls = options.containsKey("impl")
+                ? new LinkedHashSet<>(Arrays.asList(options.get("impl").split(",")))
+                : IMPLEMENTATIONS.keySet();
+        int forks = Integer.parseInt(options.getOrDefault("f", "1"));
+        Microbench bench = new Microbench(
+                Integer.parseInt(options.getOrDefault("wi", "5")),
+                Integer.parseInt(options.getOrDefault("i", "5")),
+                Long.parseLong(options.getOrDefault("time", "200")),
+                "gc".equals(options.get("prof")));
+
+        if (!Microbench.isFork()) {
+            System.out.println("=== LIST BENCHMARK ===\n");
+        }
+        List<Microbench.Result> results = new ArrayList<>();
+        for (ElementType type : types) {
+            for (Operation op : operations) {
+                for (int size : sizes) {
+                    for (String impl : impls) {
+                        Supplier<List<Object>> supplier = IMPLEMENTATIONS.get(impl);
+                        if (supplier == null) {
+                            throw new IllegalArgumentException("Unknown implementation: " + impl);
+                        }
+                        String label = String.format("%s.%s[%s, n=%d]", impl, name(op), name(type), size);
+                        Microbench.Result result;
+                        if (forks > 0) {
+                            // Same options, narrowed to this one benchmark, in-process in the child
+                            Map<String, String> child = new LinkedHashMap<>(options);
+                            child.put("impl", impl);
+                            child.put("op", name(op));
+                            child.put("type", name(type));
+                            child.put("size", Integer.toString(size));
+                            child.put("f", "0");
+                            result = Microbench.fork(label, forks, ListBenchmark.class, Microbench.toArgs(child));
+                        } else {
+                            result = bench.run(label, () -> workload(supplier, op, type, size));
+                        }
+                        Microbench.report(result);
+                        results.add(result);
+                    }
+                }
+            }
+        }
+        if (!Microbench.isFork()) {
+            System.out.println();
+            Microbench.print(results);
+        }
+    }
+
+    static Microbench.Workload workload(Supplier<List<Object>> supplier, Operation op,
+                                       ElementType type, int size) {
+        Object[] elements = new Object[size];
+        for (int i = 0; i < size; i++) {
+            elements[i] = type.element(i);
+        }
+        if (op == Operation.APPEND) {
+            return new Microbench.Workload() {
+                public long invoke() {
+                    List<Object> list = supplier.get();
+                    for (Object e : elements) {
+                        list.add(e);
+                    }
+                    return list.size();
+                }
+                public long operationsPerInvoke() { return size; }
+            };
+        }
+
+        List<Object> list = supplier.get();
+        Collections.addAll(list, elements);
+        Object extra = type.element(size);
+        int middle = size / 2;
+        IndexSequence indexes = new IndexSequence(size);
+
+        switch (op) {
+            case INSERT_MIDDLE:
+                return () -> {
+                    list.add(middle, extra);
+                    return list.remove(middle) == extra ? 1 : 0;
+                };
+            case GET:
+                return () -> list.get(indexes.next()).hashCode();
+            case ITERATE:
+                return new Microbench.Workload() {
+                    public long invoke() {
+                        long h = 0;
+                        for (Object e : list) {
+                            h += e.hashCode();
+                        }
+                        return h;
+                    }
+                    public long operationsPerInvoke() { return size; }
+                };
+            case CONTAINS:
+                return () -> list.contains(elements[indexes.next()]) ? 1 : 0;
+            case REMOVE:
+                return () -> {
+                    // Elements are distinct, so remove(e) takes it out of position index
+                    int index = indexes.next();
+                    Object e = elements[index];
+                    list.remove(e);
+                    list.add(index, e);
+                    return 1;
+                };
+            case REMOVE_FIRST:
+                return () -> {
+                    Object e = list.remove(0);
+                    list.add(e);
+                    return 1;
+                };
+            case MIXED:
+                return () -> {
+                    Object e = elements[indexes.next()];
+                    boolean found = list.contains(e);
+                    list.remove(e);
+                    list.add(e);
+                    return found ? 1 : 0;
+                };
+            default:
+                throw new IllegalArgumentException("Unsupported operation: " + op);
+        }
+    }
+
+    /** Cheap xorshift index generator so index selection does not dominate the measurement. */
+    static final class IndexSequence {
+        private final int bound;
+        private int state = 0x9E3779B9;
+
+        IndexSequence(int bound) {
+            this.bound = bound;
+        }
+
+        int next() {
+            state ^= state << 13;
+            state ^= state >>> 17;
+            state ^= state << 5;
+            return (state & Integer.MAX_VALUE) % bound;
+        }
+    }
+
+    static <E extends Enum<E>> List<E> parseEnums(Class<E> type, String csv) {
+        if ("all".equalsIgnoreCase(csv)) {
+            return Arrays.asList(type.getEnumConstants());
+        }
+        List<E> values = new ArrayList<>();
+        for (String part : csv.split(",")) {
+            String constant = part.trim().replaceAll("([a-z])([A-Z])", "$1_$2").toUpperCase();
+            values.add(Enum.valueOf(type, constant));
+        }
+        return values;
+    }
+
+    static String name(Enum<?> value) {
+        String[] words = value.name().toLowerCase().split("_");
+        StringBuilder sb = new StringBuilder(words[0]);
+        for (int i = 1; i < words.length; i++) {
+            sb.append(Character.toUpperCase(words[i].charAt(0))).append(words[i].substring(1));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,497 @@
+package com.java.collections.benchmark;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Microbench - Minimal JMH-style measurement harness
+ * - Time-boxed warmup iterations before any measurement
+ * - Workloads run in calibrated batches between timer reads, and the cost of
+ *   an empty batch is subtracted, so cheap operations are not timer-bound
+ * - Reports average ns/op with a 99.9% confidence interval
+ * - Optional allocation profiling (bytes/op), like JMH's -prof gc
+ * - Multi-threaded mode: N threads share one workload, reports aggregate ns/op
+ * - Results are consumed through a sink so the JIT cannot drop the work
+ * - fork() runs one benchmark per fresh JVM, like JMH's @Fork: profiles,
+ *   inlining decisions and heap state of earlier benchmarks cannot leak
+ *   into later ones, so results do not depend on run order. The samples of
+ *   all forks are merged, so the error includes JVM-to-JVM variance
+ *
+ * This harness runs from the command line with plain javac/java; the JMH
+ * versions of the list benchmarks live in jmh/ (mvn -Pjmh package).
+ * Results are comparable to JMH's avgt mode, not identical.
+ */
+public final class Microbench {
+
+    /** One benchmarked operation. */
+    public interface Workload {
+        /** Runs the operation once; the returned value is fed to the sink. */
+        long invoke();
+
+        /** Logical operations per invoke(), like JMH's @OperationsPerInvocation. */
+        default long operationsPerInvoke() {
+            return 1;
+        }
+    }
+
+    /** Builds a fresh workload for every measurement iteration. */
+    public interface WorkloadFactory {
+        Workload create();
+    }
+
+    // Two-sided Student t quantiles for 99.9% confidence, indexed by degrees of freedom
+    private static final double[] T_999 = {
+        Double.NaN, 636.62, 31.60, 12.92, 8.61, 6.87, 5.96, 5.41, 5.04, 4.78,
+        4.59, 4.44, 4.32, 4.22, 4.14, 4.07, 4.01, 3.97, 3.92, 3.88,
+        3.85, 3.82, 3.79, 3.77, 3.75, 3.73, 3.71, 3.69, 3.67, 3.66, 3.65
+    };
+
+    // A batch should take this long, so one System.nanoTime() (~20-50 ns) is noise
+    private static final long TARGET_BATCH_NANOS = 20_000;
+    private static final int MAX_BATCH = 1 << 20;
+
+    /** Does nothing; timing it gives the loop and call cost to subtract. */
+    private static final Workload EMPTY = () -> 0;
+
+    // A forked benchmark prints its samples on a line starting with this
+    private static final String SAMPLES = "#microbench-samples";
+    private static final String FORK_PROPERTY = "microbench.fork";
+
+    private static volatile long sink;
+
+    private final int warmupIterations;
+    private final int measurementIterations;
+    private final long iterationNanos;
+    private final boolean profileGc;
+
+    public Microbench(int warmupIterations, int measurementIterations,
+                      long iterationMillis, boolean profileGc) {
+        if (warmupIterations < 0 || measurementIterations < 2 || iterationMillis <= 0) {
+            throw new IllegalArgumentException("need >= 0 warmup, >= 2 measurement iterations, time > 0");
+        }
+        this.warmupIterations = warmupIterations;
+        this.measurementIterations = measurementIterations;
+        this.iterationNanos = iterationMillis * 1_000_000L;
+        this.profileGc = profileGc;
+    }
+
+    /** Default settings: 5 warmup and 5 measured iterations of 200 ms each. */
+    public static Microbench defaults(boolean profileGc) {
+        return new Microbench(5, 5, 200, profileGc);
+    }
+
+    public Result run(String label, WorkloadFactory factory) {
+        int batch = calibrate(factory.create());
+        for (int i = 0; i < warmupIterations; i++) {
+            iteration(factory.create(), batch, 0);
+        }
+        // Recalibrate on compiled code, then time an empty batch of the same size
+        batch = calibrate(factory.create());
+        double overhead = emptyNanosPerInvoke(batch);
+        double[] nsPerOp = new double[measurementIterations];
+        double[] bytesPerOp = new double[measurementIterations];
+        for (int i = 0; i < measurementIterations; i++) {
+            double[] sample = iteration(factory.create(), batch, overhead);
+            nsPerOp[i] = sample[0];
+            bytesPerOp[i] = sample[1];
+        }
+        return new Result(label, nsPerOp, profileGc ? bytesPerOp : null);
+    }
+
+    /**
+     * Runs the same thread-safe workload from several threads at once.
+     * The reported ns/op is wall time divided by the total ops of all threads,
+     * so perfect scaling halves it every time the thread count doubles.
+     */
+    public Result runConcurrent(String label, int threads, WorkloadFactory factory) {
+        for (int i = 0; i < warmupIterations; i++) {
+            concurrentIteration(factory.create(), threads);
+        }
+        double[] nsPerOp = new double[measurementIterations];
+        for (int i = 0; i < measurementIterations; i++) {
+            nsPerOp[i] = concurrentIteration(factory.create(), threads);
+        }
+        return new Result(label, nsPerOp, null);
+    }
+
+    private double concurrentIteration(Workload workload, int threads) {
+        CountDownLatch ready = new CountDownLatch(threads);
+        CountDownLatch go = new CountDownLatch(1);
+        AtomicBoolean stop = new AtomicBoolean();
+        long[] counts = new long[threads];
+        long[] sums = new long[threads];
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            final int id = t;
+            workers[t] = new Thread(() -> {
+                long ops = 0;
+                long acc = 0;
+                ready.countDown();
+                awaitQuietly(go);
+                while (!stop.get()) {
+                    acc += workload.invoke();
+                    ops++;
+                }
+                counts[id] = ops;
+                sums[id] = acc;
+            }, "bench-" + t);
+            workers[t].start();
+        }
+        awaitQuietly(ready);
+        long start = System.nanoTime();
+        go.countDown();
+        try {
+            TimeUnit.NANOSECONDS.sleep(iterationNanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        stop.set(true);
+        long totalOps = 0;
+        for (int t = 0; t < threads; t++) {
+            try {
+                workers[t].join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            totalOps += counts[t];
+            sink += sums[t];
+        }
+        long elapsed = System.nanoTime() - start;
+        return (double) elapsed / Math.max(1, totalOps * workload.operationsPerInvoke());
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Runs main with args in forks fresh JVMs, one after another, and merges
+     * their samples. main must run exactly the benchmark args describe and
+     * pass its Result to report(). The JVM options of this process (-Xmx,
+     * -XX flags, --add-opens, --add-modules) are passed on.
+     */
+    public static Result fork(String label, int forks, Class<?> main, List<String> args) {
+        return fork(Collections.singletonList(label), forks, main, args).get(0);
+    }
+
+    /** As fork(), for a main that reports one Result per label, in that order. */
+    public static List<Result> fork(List<String> labels, int forks, Class<?> main, List<String> args) {
+        String label = labels.get(0) + (labels.size() > 1 ? " .. " + labels.get(labels.size() - 1) : "");
+        List<String> command = new ArrayList<>();
+        command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+        for (String option : ManagementFactory.getRuntimeMXBean().getInputArguments()) {
+            if (!option.startsWith("-agentlib:jdwp")) {
+                command.add(option);
+            }
+        }
+        command.add("-D" + FORK_PROPERTY + "=true");
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(main.getName());
+        command.addAll(args);
+
+        List<List<double[]>> times = new ArrayList<>();
+        List<List<double[]>> bytes = new ArrayList<>();
+        for (int i = 0; i < labels.size(); i++) {
+            times.add(new ArrayList<>());
+            bytes.add(new ArrayList<>());
+        }
+        for (int f = 0; f < forks; f++) {
+            StringBuilder output = new StringBuilder();
+            List<String> samples = new ArrayList<>();
+            int exit;
+            try {
+                Process process = new ProcessBuilder(command)
+                        .redirectError(ProcessBuilder.Redirect.INHERIT)
+                        .start();
+                try (BufferedReader in = new BufferedReader(
+                        new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+                    for (String line; (line = in.readLine()) != null; ) {
+                        if (line.startsWith(SAMPLES)) {
+                            samples.add(line);
+                        } else {
+                            output.append(line).append('\n');
+                        }
+                    }
+                }
+                exit = process.waitFor();
+            } catch (IOException e) {
+                throw new IllegalStateException("Cannot start a JVM for " + label, e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while running " + label, e);
+            }
+            if (exit != 0 || samples.size() != labels.size()) {
+                throw new IllegalStateException("Fork for " + label + " failed (exit " + exit + ", "
+                        + samples.size() + " of " + labels.size() + " results):\n" + output);
+            }
+            for (int i = 0; i < labels.size(); i++) {
+                String[] parts = samples.get(i).split(" ");
+                times.get(i).add(parseSamples(parts[1]));
+                bytes.get(i).add("-".equals(parts[2]) ? null : parseSamples(parts[2]));
+            }
+        }
+        List<Result> results = new ArrayList<>();
+        for (int i = 0; i < labels.size(); i++) {
+            List<double[]> alloc = bytes.get(i);
+            results.add(new Result(labels.get(i), concat(times.get(i)), alloc.contains(null) ? null : concat(alloc)));
+        }
+        return results;
+    }
+
+    /** True inside a JVM started by fork(). */
+    public static boolean isFork() {
+        return Boolean.getBoolean(FORK_PROPERTY);
+    }
+
+    /** Prints result for a person, or its samples for the parent JVM when running as a fork. */
+    public static void report(Result result) {
+        if (!isFork()) {
+            System.out.println(result);
+            return;
+        }
+        System.out.println(SAMPLES + " " + joinSamples(result.samples) + " "
+                + (result.allocSamples == null ? "-" : joinSamples(result.allocSamples)));
+    }
+
+    private static String joinSamples(double[] values) {
+        StringBuilder sb = new StringBuilder();
+        for (double v : values) {
+            sb.append(sb.length() == 0 ? "" : ",").append(v);
+        }
+        return sb.toString();
+    }
+
+    private static double[] parseSamples(String csv) {
+        String[] parts = csv.split(",");
+        double[] values = new double[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            values[i] = Double.parseDouble(parts[i]);
+        }
+        return values;
+    }
+
+    private static double[] concat(List<double[]> arrays) {
+        int length = 0;
+        for (double[] a : arrays) {
+            length += a.length;
+        }
+        double[] all = new double[length];
+        int at = 0;
+        for (double[] a : arrays) {
+            System.arraycopy(a, 0, all, at, a.length);
+            at += a.length;
+        }
+        return all;
+    }
+
+    /** Parses a thread count list; defaults to powers of two up to the core count. */
+    public static int[] parseThreads(String csv) {
+        if (csv != null) {
+            return parseSizes(csv);
+        }
+        int cores = Runtime.getRuntime().availableProcessors();
+        List<Integer> counts = new ArrayList<>();
+        for (int t = 1; t < cores; t *= 2) {
+            counts.add(t);
+        }
+        counts.add(cores);
+        int[] result = new int[counts.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = counts.get(i);
+        }
+        return result;
+    }
+
+    /**
+     * Finds how many invocations make one batch last TARGET_BATCH_NANOS.
+     * Expensive workloads (sorting a million elements) stay at one per batch.
+     */
+    private static int calibrate(Workload workload) {
+        long acc = 0;
+        int batch = 1;
+        while (batch < MAX_BATCH) {
+            long start = System.nanoTime();
+            for (int i = 0; i < batch; i++) {
+                acc += workload.invoke();
+            }
+            if (System.nanoTime() - start >= TARGET_BATCH_NANOS) {
+                break;
+            }
+            batch <<= 1;
+        }
+        sink += acc;
+        return batch;
+    }
+
+    /** Cost per invoke() of the batch loop itself, timer reads included. */
+    private double emptyNanosPerInvoke(int batch) {
+        iteration(EMPTY, batch, 0);
+        double[] sample = iteration(EMPTY, batch, 0);
+        return sample[0];
+    }
+
+    /**
+     * Runs one time-boxed iteration of whole batches, returns {ns/op, bytes/op}.
+     * The timer is read once per batch; overhead (ns per invoke) is subtracted.
+     */
+    private double[] iteration(Workload workload, int batch, double overhead) {
+        long invokes = 0;
+        long acc = 0;
+        long allocStart = allocatedBytes();
+        long start = System.nanoTime();
+        long deadline = start + iterationNanos;
+        long now;
+        do {
+            for (int i = 0; i < batch; i++) {
+                acc += workload.invoke();
+            }
+            invokes += batch;
+            now = System.nanoTime();
+        } while (now < deadline);
+        long allocated = allocatedBytes() - allocStart;
+        sink += acc;
+        double nsPerInvoke = Math.max(0, (double) (now - start) / invokes - overhead);
+        long perInvoke = workload.operationsPerInvoke();
+        return new double[] { nsPerInvoke / perInvoke, (double) allocated / (invokes * perInvoke) };
+    }
+
+    private long allocatedBytes() {
+        if (!profileGc) {
+            return 0;
+        }
+        return ThreadAllocation.currentThreadAllocatedBytes();
+    }
+
+    /** Measured statistics for one benchmark. */
+    public static final class Result {
+        private final String label;
+        private final double[] samples;
+        private final double[] allocSamples;
+        private final double mean;
+        private final double error;
+        private final double bytesPerOp;
+
+        Result(String label, double[] samples, double[] allocSamples) {
+            this.label = label;
+            this.samples = samples.clone();
+            this.allocSamples = allocSamples == null ? null : allocSamples.clone();
+            this.mean = mean(samples);
+            this.error = confidence(samples, mean);
+            this.bytesPerOp = allocSamples == null ? Double.NaN : mean(allocSamples);
+        }
+
+        public String getLabel() { return label; }
+        public double getMean() { return mean; }
+        public double getError() { return error; }
+        public double getBytesPerOp() { return bytesPerOp; }
+
+        @Override
+        public String toString() {
+            String line = String.format("%-48s %14.3f ± %10.3f ns/op", label, mean, error);
+            if (!Double.isNaN(bytesPerOp)) {
+                line += String.format("   %12.2f B/op", bytesPerOp);
+            }
+            return line;
+        }
+    }
+
+    static double mean(double[] values) {
+        double sum = 0;
+        for (double v : values) {
+            sum += v;
+        }
+        return sum / values.length;
+    }
+
+    static double confidence(double[] values, double mean) {
+        double sq = 0;
+        for (double v : values) {
+            sq += (v - mean) * (v - mean);
+        }
+        int df = values.length - 1;
+        double stdDev = Math.sqrt(sq / df);
+        double t = df < T_999.length ? T_999[df] : 3.29;
+        return t * stdDev / Math.sqrt(values.length);
+    }
+
+    /** Prints results as an aligned table. */
+    public static void print(List<Result> results) {
+        for (Result r : results) {
+            System.out.println(r);
+        }
+    }
+
+    /**
+     * Parses "-key value" pairs; flags without a value map to "true".
+     * Example: -size 1000,100000 -op get,iterate -prof gc
+     */
+    public static Map<String, String> parseArgs(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            if (!args[i].startsWith("-")) {
+                throw new IllegalArgumentException("Unexpected argument: " + args[i]);
+            }
+            String key = args[i].substring(1);
+            if (i + 1 < args.length && !args[i + 1].startsWith("-")) {
+                options.put(key, args[++i]);
+            } else {
+                options.put(key, "true");
+            }
+        }
+        return options;
+    }
+
+    /** The inverse of parseArgs, for passing options on to a fork. */
+    public static List<String> toArgs(Map<String, String> options) {
+        List<String> args = new ArrayList<>();
+        for (Map.Entry<String, String> option : options.entrySet()) {
+            args.add("-" + option.getKey());
+            args.add(option.getValue());
+        }
+        return args;
+    }
+
+    /** Parses a comma separated list of sizes, accepting forms like 1e3 or 10000. */
+    public static int[] parseSizes(String csv) {
+        String[] parts = csv.split(",");
+        int[] sizes = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            sizes[i] = (int) Double.parseDouble(parts[i].trim());
+        }
+        return sizes;
+    }
+
+    /** Thread allocation counter, isolated so a non-HotSpot JVM just reports 0. */
+    static final class ThreadAllocation {
+        private static final com.sun.management.ThreadMXBean BEAN = lookup();
+
+        private static com.sun.management.ThreadMXBean lookup() {
+            java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+            if (bean instanceof com.sun.management.ThreadMXBean) {
+                com.sun.management.ThreadMXBean hotspot = (com.sun.management.ThreadMXBean) bean;
+                if (hotspot.isThreadAllocatedMemorySupported()) {
+                    hotspot.setThreadAllocatedMemoryEnabled(true);
+                    return hotspot;
+                }
+            }
+            return null;
+        }
+
+        static long currentThreadAllocatedBytes() {
+            return BEAN == null ? 0 : BEAN.getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.java.collections.benchmark;
+
+import com.java.collections.benchmark.CompiledSortBenchmark.Employee;
+import com.java.collections.list.ArrayBackedList;
+import com.java.collections.sort.ParallelMergeSort;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+
+/* PARALLEL SORT BENCHMARK:
+ *
+ * COMPARES (ns per element, mean ± 99.9% CI) for the chained comparator of
+ * CompiledSortBenchmark (department, salary descending, name):
+ * - ArrayList.sort                      - TimSort on one core
+ * - Arrays.parallelSort(toArray())      - copy out, sort with its own buffer, set() back
+ * - ParallelMergeSort(ArrayList)        - same copy and write-back, one scratch buffer
+ * - ParallelMergeSort(ArrayBackedList)  - sorted in place on the backing array
+ *
+ * The parallel variants run once per -threads count on a ForkJoinPool of that size
+ * (Arrays.parallelSort always uses the common pool). Every invoke refills the list
+ * from a shuffled source first; the refill is part of every variant.
+ *
+ * USAGE:
+ * java -cp bin com.java.collections.benchmark.ParallelSortBenchmark -size 1e5,1e6 -threads 1,4,8
+ */
+
+public class ParallelSortBenchmark {
+
+    public static void main(String[] args) {
+        Map<String, String> options = Microbench.parseArgs(args);
+        int[] sizes = Microbench.parseSizes(options.getOrDefault("size", "1e5,1e6"));
+        int[] threadCounts = Microbench.parseThreads(options.get("threads"));
+        Microbench bench = new Microbench(
+                Integer.parseInt(options.getOrDefault("wi", "5")),
+                Integer.parseInt(options.getOrDefault("i", "5")),
+                Long.parseLong(options.getOrDefault("time", "500")),
+                "gc".equals(options.get("prof")));
+
+        System.out.println("=== PARALLEL SORT BENCHMARK ===\n");
+        List<Microbench.Result> results = new ArrayList<>();
+        for (int size : sizes) {
+            List<Employee> employees = CompiledSortBenchmark.employees(size);
+            String n = "[n=" + size + "]";
+            results.add(report(bench.run("ArrayList.sort" + n,
+                    () -> sort(employees, new ArrayList<>(size), list -> list.sort(CompiledSortBenchmark.CHAIN)))));
+            results.add(report(bench.run("Arrays.parallelSort(toArray())" + n,
+                    () -> sort(employees, new ArrayList<>(size), ParallelSortBenchmark::parallelSortCopy))));
+            for (int threads : threadCounts) {
+                ForkJoinPool pool = new ForkJoinPool(threads);
+                ParallelMergeSort sorter = new ParallelMergeSort(pool, ParallelMergeSort.DEFAULT_SEQUENTIAL_CUTOFF);
+                String t = "[n=" + size + ", threads=" + threads + "]";
+                results.add(report(bench.run("ParallelMergeSort(ArrayList)" + t,
+                        () -> sort(employees, new ArrayList<>(size),
+                                list -> sorter.sort(list, CompiledSortBenchmark.CHAIN)))));
+                results.add(report(bench.run("ParallelMergeSort(ArrayBackedList)" + t,
+                        () -> sort(employees, new ArrayBackedList<>(Employee.class, size),
+                                list -> sorter.sort(list, CompiledSortBenchmark.CHAIN)))));
+                pool.shutdown();
+            }
+        }
+        System.out.println();
+        Microbench.print(results);
+    }
+
+    private static Microbench.Result report(Microbench.Result result) {
+        System.out.println(result);
+        return result;
+    }
+
+    /** What callers write today to sort a list in parallel. */
+    static void parallelSortCopy(List<Employee> list) {
+        Employee[] a = list.toArray(new Employee[0]);
+        Arrays.parallelSort(a, CompiledSortBenchmark.CHAIN);
+        ListIterator<Employee> it = list.listIterator();
+        for (Employee e : a) {
+            it.next();
+            it.set(e);
+        }
+    }
+
+    static Microbench.Workload sort(List<Employee> source, List<Employee> list, Consumer<List<Employee>> sorter) {
+        return new Microbench.Workload() {
+            public long invoke() {
+                list.clear();
+                list.addAll(source);
+                sorter.accept(list);
+                return list.get(0).getAge();
+            }
+            public long operationsPerInvoke() { return source.size(); }
+        };
+    }
+}
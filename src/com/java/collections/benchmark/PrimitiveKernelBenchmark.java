@@ -0,0 +1,221 @@
+package com.java.collections.benchmark;
+
+import com.java.collections.list.IntArrayList;
+import com.java.collections.list.SimdKernels;
+
+import java.util.*;
+
+/* PRIMITIVE KERNEL BENCHMARK:
+ *
+ * COMPARES (ns per element, mean ± 99.9% CI):
+ * - ArrayList<Integer>  - boxed lambdas, one element at a time
+ * - scalar loop         - IntArrayList.forEach / hand-written branchy loop
+ * - IntArrayList kernel - PrimitiveKernels: Vector API kernels when available,
+ *                         else the branch-free scalar loops (header says which)
+ *
+ * OPERATIONS (random values, so filters keep about half and branches mispredict):
+ * - sum, max          - aggregate every element
+ * - indexOf           - search for a value at the last position
+ * - removeIf          - x % 2 == 0 as IntPredicate vs Predicate<Integer>
+ * - removeInRange     - remove [min, max], no lambda at all
+ *   Filters refill the list from a source array each time; the refill
+ *   (one arraycopy, or addAll for ArrayList) is part of every variant
+ *
+ * SIMD CHECK:
+ * - Run with --add-modules jdk.incubator.vector (vector/ compiled, Java 16+)
+ *   and again with -Dcom.java.collections.simd=false; the difference is
+ *   what the Vector API kernels contribute
+ * - -XX:MaxVectorSize=16 or 32 picks a narrower species on AVX-512 CPUs
+ *
+ * USAGE:
+ * java --add-modules jdk.incubator.vector -cp bin com.java.collections.benchmark.PrimitiveKernelBenchmark -size 1e3,1e6
+ */
+
+public class PrimitiveKernelBenchmark {
+
+    public static void main(String[] args) {
+        Map<String, String> options = Microbench.parseArgs(args);
+        int[] sizes = Microbench.parseSizes(options.getOrDefault("size", "1e3,1e6"));
+        Microbench bench = new Microbench(
+                Integer.parseInt(options.getOrDefault("wi", "5")),
+                Integer.parseInt(options.getOrDefault("i", "5")),
+                Long.parseLong(options.getOrDefault("time", "200")),
+                "gc".equals(options.get("prof")));
+
+        System.out.println("=== PRIMITIVE KERNEL BENCHMARK ===");
+        System.out.println("kernels: " + SimdKernels.selected() + "\n");
+        List<Microbench.Result> results = new ArrayList<>();
+        for (int size : sizes) {
+            int[] values = randomValues(size);
+            String n = "[n=" + size + "]";
+            results.add(report(bench.run("ArrayList<Integer>.sum" + n, () -> boxedSum(values))));
+            results.add(report(bench.run("IntArrayList.forEach.sum" + n, () -> forEachSum(values))));
+            results.add(report(bench.run("IntArrayList.sum" + n, () -> kernelSum(values))));
+            results.add(report(bench.run("ArrayList<Integer>.max" + n, () -> boxedMax(values))));
+            results.add(report(bench.run("IntArrayList.max" + n, () -> kernelMax(values))));
+            results.add(report(bench.run("ArrayList<Integer>.indexOf" + n, () -> boxedIndexOf(values))));
+            results.add(report(bench.run("IntArrayList.indexOf" + n, () -> kernelIndexOf(values))));
+            results.add(report(bench.run("ArrayList<Integer>.removeIf" + n, () -> boxedRemoveIf(values))));
+            results.add(report(bench.run("scalar.removeIf" + n, () -> scalarRemoveIf(values))));
+            results.add(report(bench.run("IntArrayList.removeIf" + n, () -> kernelRemoveIf(values))));
+            results.add(report(bench.run("IntArrayList.removeInRange" + n, () -> kernelRemoveInRange(values))));
+        }
+        System.out.println();
+        Microbench.print(results);
+    }
+
+    private static Microbench.Result report(Microbench.Result result) {
+        System.out.println(result);
+        return result;
+    }
+
+    static int[] randomValues(int size) {
+        Random random = new Random(42);
+        int[] values = new int[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = random.nextInt();
+        }
+        // indexOf looks for this unique marker in the last slot
+        values[size - 1] = Integer.MIN_VALUE;
+        return values;
+    }
+
+    private static List<Integer> boxed(int[] values) {
+        List<Integer> list = new ArrayList<>(values.length);
+        for (int v : values) {
+            list.add(v);
+        }
+        return list;
+    }
+
+    private static abstract class PerElement implements Microbench.Workload {
+        private final int size;
+
+        PerElement(int size) {
+            this.size = size;
+        }
+
+        public long operationsPerInvoke() {
+            return size;
+        }
+    }
+
+    static Microbench.Workload boxedSum(int[] values) {
+        List<Integer> list = boxed(values);
+        return new PerElement(values.length) {
+            public long invoke() {
+                return list.stream().mapToLong(Integer::longValue).sum();
+            }
+        };
+    }
+
+    static Microbench.Workload forEachSum(int[] values) {
+        IntArrayList list = IntArrayList.of(values);
+        return new PerElement(values.length) {
+            public long invoke() {
+                long[] sum = new long[1];
+                list.forEach(v -> sum[0] += v);
+                return sum[0];
+            }
+        };
+    }
+
+    static Microbench.Workload kernelSum(int[] values) {
+        IntArrayList list = IntArrayList.of(values);
+        return new PerElement(values.length) {
+            public long invoke() {
+                return list.sum();
+            }
+        };
+    }
+
+    static Microbench.Workload boxedMax(int[] values) {
+        List<Integer> list = boxed(values);
+        return new PerElement(values.length) {
+            public long invoke() {
+                return Collections.max(list);
+            }
+        };
+    }
+
+    static Microbench.Workload kernelMax(int[] values) {
+        IntArrayList list = IntArrayList.of(values);
+        return new PerElement(values.length) {
+            public long invoke() {
+                return list.max();
+            }
+        };
+    }
+
+    static Microbench.Workload boxedIndexOf(int[] values) {
+        List<Integer> list = boxed(values);
+        return new PerElement(values.length) {
+            public long invoke() {
+                return list.indexOf(Integer.MIN_VALUE);
+            }
+        };
+    }
+
+    static Microbench.Workload kernelIndexOf(int[] values) {
+        IntArrayList list = IntArrayList.of(values);
+        return new PerElement(values.length) {
+            public long invoke() {
+                return list.indexOf(Integer.MIN_VALUE);
+            }
+        };
+    }
+
+    static Microbench.Workload boxedRemoveIf(int[] values) {
+        List<Integer> source = boxed(values);
+        List<Integer> list = new ArrayList<>(values.length);
+        return new PerElement(values.length) {
+            public long invoke() {
+                list.clear();
+                list.addAll(source);
+                list.removeIf(v -> v % 2 == 0);
+                return list.size();
+            }
+        };
+    }
+
+    static Microbench.Workload scalarRemoveIf(int[] values) {
+        int[] a = new int[values.length];
+        return new PerElement(values.length) {
+            public long invoke() {
+                System.arraycopy(values, 0, a, 0, values.length);
+                int w = 0;
+                for (int r = 0; r < a.length; r++) {
+                    if (a[r] % 2 != 0) {
+                        a[w++] = a[r];
+                    }
+                }
+                return w;
+            }
+        };
+    }
+
+    static Microbench.Workload kernelRemoveIf(int[] values) {
+        IntArrayList list = new IntArrayList(values.length);
+        return new PerElement(values.length) {
+            public long invoke() {
+                list.clear();
+                list.addAll(values);
+                list.removeIf(v -> v % 2 == 0);
+                return list.size();
+            }
+        };
+    }
+
+    static Microbench.Workload kernelRemoveInRange(int[] values) {
+        IntArrayList list = new IntArrayList(values.length);
+        return new PerElement(values.length) {
+            public long invoke() {
+                list.clear();
+                list.addAll(values);
+                // Non-negative ints: about half of the random values
+                list.removeInRange(0, Integer.MAX_VALUE);
+                return list.size();
+            }
+        };
+    }
+}
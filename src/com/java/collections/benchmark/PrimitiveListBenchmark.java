@@ -0,0 +1,211 @@
+package com.java.collections.benchmark;
+
+import com.java.collections.list.IntArrayList;
+import com.java.collections.list.LongArrayList;
+
+import java.util.*;
+
+/* PRIMITIVE LIST BENCHMARK:
+ *
+ * COMPARES:
+ * - IntArrayList  vs ArrayList<Integer>
+ * - LongArrayList vs ArrayList<Long>
+ *
+ * FOOTPRINT:
+ * - Bytes allocated to build a presized list of n distinct values
+ * - With exact capacity nothing becomes garbage, so this equals the retained size
+ *
+ * THROUGHPUT (ns/op, mean ± 99.9% CI):
+ * - append  - fill an empty list, cost per element
+ * - get     - get(i) at pseudo-random indexes
+ * - iterate - sum every element, cost per element
+ *
+ * USAGE:
+ * java -cp bin com.java.collections.benchmark.PrimitiveListBenchmark -size 1e3,1e6 -prof gc
+ */
+
+public class PrimitiveListBenchmark {
+
+    public static void main(String[] args) {
+        Map<String, String> options = Microbench.parseArgs(args);
+        int[] sizes = Microbench.parseSizes(options.getOrDefault("size", "1e3,1e5,1e7"));
+        Microbench bench = new Microbench(
+                Integer.parseInt(options.getOrDefault("wi", "5")),
+                Integer.parseInt(options.getOrDefault("i", "5")),
+                Long.parseLong(options.getOrDefault("time", "200")),
+                "gc".equals(options.get("prof")));
+
+        System.out.println("=== PRIMITIVE LIST BENCHMARK ===\n");
+
+        System.out.println("--- Footprint (retained bytes per element) ---");
+        for (int size : sizes) {
+            printFootprint(size);
+        }
+
+        System.out.println("\n--- Throughput ---");
+        List<Microbench.Result> results = new ArrayList<>();
+        for (int size : sizes) {
+            results.add(report(bench.run("ArrayList<Integer>.append[n=" + size + "]", () -> boxedAppend(size))));
+            results.add(report(bench.run("IntArrayList.append[n=" + size + "]", () -> intAppend(size))));
+            results.add(report(bench.run("ArrayList<Long>.append[n=" + size + "]", () -> boxedLongAppend(size))));
+            results.add(report(bench.run("LongArrayList.append[n=" + size + "]", () -> longAppend(size))));
+            results.add(report(bench.run("ArrayList<Integer>.get[n=" + size + "]", () -> boxedGet(size))));
+            results.add(report(bench.run("IntArrayList.get[n=" + size + "]", () -> intGet(size))));
+            results.add(report(bench.run("ArrayList<Integer>.iterate[n=" + size + "]", () -> boxedIterate(size))));
+            results.add(report(bench.run("IntArrayList.iterate[n=" + size + "]", () -> intIterate(size))));
+        }
+        System.out.println();
+        Microbench.print(results);
+    }
+
+    private static Microbench.Result report(Microbench.Result result) {
+        System.out.println(result);
+        return result;
+    }
+
+    static void printFootprint(int size) {
+        // Offset keeps values outside the Integer/Long cache (-128..127)
+        int base = 1 << 20;
+        long before = Microbench.ThreadAllocation.currentThreadAllocatedBytes();
+        List<Integer> boxed = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            boxed.add(base + i);
+        }
+        long boxedBytes = Microbench.ThreadAllocation.currentThreadAllocatedBytes() - before;
+
+        before = Microbench.ThreadAllocation.currentThreadAllocatedBytes();
+        IntArrayList primitive = new IntArrayList(size);
+        for (int i = 0; i < size; i++) {
+            primitive.add(base + i);
+        }
+        long primitiveBytes = Microbench.ThreadAllocation.currentThreadAllocatedBytes() - before;
+
+        before = Microbench.ThreadAllocation.currentThreadAllocatedBytes();
+        List<Long> boxedLongs = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            boxedLongs.add((long) base + i);
+        }
+        long boxedLongBytes = Microbench.ThreadAllocation.currentThreadAllocatedBytes() - before;
+
+        before = Microbench.ThreadAllocation.currentThreadAllocatedBytes();
+        LongArrayList longs = new LongArrayList(size);
+        for (int i = 0; i < size; i++) {
+            longs.add((long) base + i);
+        }
+        long longBytes = Microbench.ThreadAllocation.currentThreadAllocatedBytes() - before;
+
+        System.out.printf("n=%-10d ArrayList<Integer> %7.2f B/elem | IntArrayList %5.2f B/elem | "
+                        + "ArrayList<Long> %7.2f B/elem | LongArrayList %5.2f B/elem%n",
+                size,
+                (double) boxedBytes / size, (double) primitiveBytes / size,
+                (double) boxedLongBytes / size, (double) longBytes / size);
+        // Keep the lists reachable until every measurement is taken
+        if (boxed.size() + primitive.size() + boxedLongs.size() + longs.size() < 0) {
+            System.out.println();
+        }
+    }
+
+    static Microbench.Workload boxedAppend(int size) {
+        return new Microbench.Workload() {
+            public long invoke() {
+                List<Integer> list = new ArrayList<>();
+                for (int i = 0; i < size; i++) {
+                    list.add(i);
+                }
+                return list.size();
+            }
+            public long operationsPerInvoke() { return size; }
+        };
+    }
+
+    static Microbench.Workload intAppend(int size) {
+        return new Microbench.Workload() {
+            public long invoke() {
+                IntArrayList list = new IntArrayList();
+                for (int i = 0; i < size; i++) {
+                    list.add(i);
+                }
+                return list.size();
+            }
+            public long operationsPerInvoke() { return size; }
+        };
+    }
+
+    static Microbench.Workload boxedLongAppend(int size) {
+        return new Microbench.Workload() {
+            public long invoke() {
+                List<Long> list = new ArrayList<>();
+                for (int i = 0; i < size; i++) {
+                    list.add((long) i);
+                }
+                return list.size();
+            }
+            public long operationsPerInvoke() { return size; }
+        };
+    }
+
+    static Microbench.Workload longAppend(int size) {
+        return new Microbench.Workload() {
+            public long invoke() {
+                LongArrayList list = new LongArrayList();
+                for (int i = 0; i < size; i++) {
+                    list.add(i);
+                }
+                return list.size();
+            }
+            public long operationsPerInvoke() { return size; }
+        };
+    }
+
+    static Microbench.Workload boxedGet(int size) {
+        List<Integer> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            list.add(i);
+        }
+        ListBenchmark.IndexSequence indexes = new ListBenchmark.IndexSequence(size);
+        return () -> list.get(indexes.next());
+    }
+
+    static Microbench.Workload intGet(int size) {
+        IntArrayList list = new IntArrayList(size);
+        for (int i = 0; i < size; i++) {
+            list.add(i);
+        }
+        ListBenchmark.IndexSequence indexes = new ListBenchmark.IndexSequence(size);
+        return () -> list.get(indexes.next());
+    }
+
+    static Microbench.Workload boxedIterate(int size) {
+        List<Integer> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            list.add(i);
+        }
+        return new Microbench.Workload() {
+            public long invoke() {
+                long sum = 0;
+                for (Integer value : list) {
+                    sum += value;
+                }
+                return sum;
+            }
+            public long operationsPerInvoke() { return size; }
+        };
+    }
+
+    static Microbench.Workload intIterate(int size) {
+        IntArrayList list = new IntArrayList(size);
+        for (int i = 0; i < size; i++) {
+            list.add(i);
+        }
+        return new Microbench.Workload() {
+            public long invoke() {
+                long sum = 0;
+                for (int i = 0, n = list.size(); i < n; i++) {
+                    sum += list.get(i);
+                }
+                return sum;
+            }
+            public long operationsPerInvoke() { return size; }
+        };
+    }
+}
@@ -0,0 +1,189 @@
+package com.java.collections.benchmark;
+
+import com.java.collections.concurrent.MpmcArrayQueue;
+
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/* HANDOFF QUEUE BENCHMARK:
+ *
+ * COMPARES (one queue shared by all threads):
+ * - MpmcArrayQueue          - sequence-numbered ring buffer, one message per CAS
+ * - MpmcArrayQueue(batch)   - offerBatch / drainTo, up to 32 messages per CAS
+ * - ArrayBlockingQueue      - one ReentrantLock for producers and consumers
+ * - ConcurrentLinkedQueue   - lock-free linked nodes, allocates per message
+ *
+ * TOPOLOGIES:
+ * - 1P1C - one producer, one consumer
+ * - NP1C - N producers, one consumer
+ * - NPNC - N producers, N consumers
+ *
+ * WORKLOAD:
+ * - Producers offer continuously, consumers poll continuously; a failed
+ *   offer/poll (queue full/empty) yields the thread and tries again
+ * - Capacity 1024 for the bounded queues; ConcurrentLinkedQueue is unbounded
+ *   and keeps growing while producers outpace consumers (NP1C)
+ * - Reported ns/op is wall time / messages consumed (all consumers together)
+ *
+ * USAGE:
+ * java -cp bin com.java.collections.benchmark.QueueBenchmark -producers 4 -time 500
+ */
+
+public class QueueBenchmark {
+
+    static final int CAPACITY = 1024;
+    static final int BATCH = 32;
+
+    /** Single-message and batched views over the compared queues. */
+    interface HandoffQueue {
+        boolean offer(Integer e);
+        Integer poll();
+
+        /** Enqueues a prefix of batch, returns how many. */
+        default int offerBatch(Integer[] batch) {
+            int n = 0;
+            while (n < batch.length && offer(batch[n])) {
+                n++;
+            }
+            return n;
+        }
+
+        /** Removes up to max messages, returns how many. */
+        default int drain(int max) {
+            int n = 0;
+            while (n < max && poll() != null) {
+                n++;
+            }
+            return n;
+        }
+    }
+
+    static final Map<String, Supplier<HandoffQueue>> IMPLEMENTATIONS = new LinkedHashMap<>();
+
+    static {
+        IMPLEMENTATIONS.put("MpmcArrayQueue", () -> adapter(new MpmcArrayQueue<>(CAPACITY)));
+        IMPLEMENTATIONS.put("MpmcArrayQueue(batch)", () -> {
+            MpmcArrayQueue<Integer> q = new MpmcArrayQueue<>(CAPACITY);
+            return new HandoffQueue() {
+                public boolean offer(Integer e) { return q.offer(e); }
+                public Integer poll() { return q.poll(); }
+                public int offerBatch(Integer[] batch) { return q.offerBatch(batch); }
+                public int drain(int max) { return q.drainTo(e -> { }, max); }
+            };
+        });
+        IMPLEMENTATIONS.put("ArrayBlockingQueue", () -> adapter(new ArrayBlockingQueue<>(CAPACITY)));
+        IMPLEMENTATIONS.put("ConcurrentLinkedQueue", () -> adapter(new ConcurrentLinkedQueue<>()));
+    }
+
+    static HandoffQueue adapter(Queue<Integer> q) {
+        return new HandoffQueue() {
+            public boolean offer(Integer e) { return q.offer(e); }
+            public Integer poll() { return q.poll(); }
+        };
+    }
+
+    public static void main(String[] args) {
+        Map<String, String> options = Microbench.parseArgs(args);
+        int n = Integer.parseInt(options.getOrDefault("producers",
+                String.valueOf(Math.max(2, Runtime.getRuntime().availableProcessors() / 2))));
+        int warmup = Integer.parseInt(options.getOrDefault("wi", "3"));
+        int iterations = Integer.parseInt(options.getOrDefault("i", "5"));
+        long millis = Long.parseLong(options.getOrDefault("time", "300"));
+        int[][] topologies = { { 1, 1 }, { n, 1 }, { n, n } };
+
+        System.out.println("=== HANDOFF QUEUE BENCHMARK ===\n");
+        List<Microbench.Result> results = new ArrayList<>();
+        for (int[] topology : topologies) {
+            for (Map.Entry<String, Supplier<HandoffQueue>> impl : IMPLEMENTATIONS.entrySet()) {
+                String label = impl.getKey() + "[" + topology[0] + "P" + topology[1] + "C]";
+                for (int i = 0; i < warmup; i++) {
+                    handoff(impl.getValue().get(), topology[0], topology[1], millis);
+                }
+                double[] samples = new double[iterations];
+                for (int i = 0; i < iterations; i++) {
+                    samples[i] = handoff(impl.getValue().get(), topology[0], topology[1], millis);
+                }
+                Microbench.Result result = new Microbench.Result(label, samples, null);
+                System.out.println(result);
+                results.add(result);
+            }
+        }
+        System.out.println();
+        Microbench.print(results);
+    }
+
+    /** Runs producers and consumers for millis, returns ns per consumed message. */
+    static double handoff(HandoffQueue queue, int producers, int consumers, long millis) {
+        int threads = producers + consumers;
+        CountDownLatch ready = new CountDownLatch(threads);
+        CountDownLatch go = new CountDownLatch(1);
+        AtomicBoolean stop = new AtomicBoolean();
+        long[] consumed = new long[consumers];
+        Thread[] workers = new Thread[threads];
+        Integer[] batch = new Integer[BATCH];
+        Arrays.fill(batch, 42);
+        for (int t = 0; t < threads; t++) {
+            final int id = t;
+            Runnable body = t < producers
+                    ? () -> {
+                        ready.countDown();
+                        awaitQuietly(go);
+                        while (!stop.get()) {
+                            if (queue.offerBatch(batch) == 0) {
+                                Thread.yield();
+                            }
+                        }
+                    }
+                    : () -> {
+                        long count = 0;
+                        ready.countDown();
+                        awaitQuietly(go);
+                        while (!stop.get()) {
+                            int n = queue.drain(BATCH);
+                            if (n == 0) {
+                                Thread.yield();
+                            }
+                            count += n;
+                        }
+                        consumed[id - producers] = count;
+                    };
+            workers[t] = new Thread(body, (t < producers ? "producer-" : "consumer-") + t);
+            workers[t].start();
+        }
+        awaitQuietly(ready);
+        long start = System.nanoTime();
+        go.countDown();
+        try {
+            TimeUnit.MILLISECONDS.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        stop.set(true);
+        long total = 0;
+        for (int t = 0; t < threads; t++) {
+            try {
+                workers[t].join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (t >= producers) {
+                total += consumed[t - producers];
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        return (double) elapsed / Math.max(1, total);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
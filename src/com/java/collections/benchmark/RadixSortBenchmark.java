@@ -0,0 +1,75 @@
+package com.java.collections.benchmark;
+
+import com.java.collections.benchmark.CompiledSortBenchmark.Employee;
+import com.java.collections.sort.RadixSorts;
+
+import java.util.*;
+
+/* RADIX SORT BENCHMARK:
+ *
+ * COMPARES (ns per element, mean ± 99.9% CI) on the employees of CompiledSortBenchmark:
+ * - List.sort(comparingInt/Double)  - TimSort, the getter runs twice per comparison
+ * - RadixSorts.sortBy*              - getter once per element, LSD passes over the
+ *                                     bytes that differ (one for age, up to eight for salary)
+ * - RadixSorts.parallelSortBy*      - MSD split on the top varying byte, buckets
+ *                                     sorted on the common ForkJoinPool
+ *
+ * KEYS:
+ * - age      - int from 20..64: one radix pass
+ * - salary   - double: the IEEE-754 flip makes most of the eight bytes vary
+ * - hash     - long, name hash times a 64-bit odd constant: all eight
+ *              bytes vary, the worst case for radix
+ *
+ * Every invoke copies a shuffled source list first; the copy is part of every variant.
+ * On one core parallelSortBy* is the sequential sort (common pool parallelism 1).
+ *
+ * USAGE:
+ * java -cp bin com.java.collections.benchmark.RadixSortBenchmark -size 1e4,1e6
+ */
+
+public class RadixSortBenchmark {
+
+    public static void main(String[] args) {
+        Map<String, String> options = Microbench.parseArgs(args);
+        int[] sizes = Microbench.parseSizes(options.getOrDefault("size", "1e4,1e6"));
+        Microbench bench = new Microbench(
+                Integer.parseInt(options.getOrDefault("wi", "5")),
+                Integer.parseInt(options.getOrDefault("i", "5")),
+                Long.parseLong(options.getOrDefault("time", "500")),
+                "gc".equals(options.get("prof")));
+
+        System.out.println("=== RADIX SORT BENCHMARK ===\n");
+        List<Microbench.Result> results = new ArrayList<>();
+        for (int size : sizes) {
+            List<Employee> employees = CompiledSortBenchmark.employees(size);
+            String n = "[n=" + size + "]";
+            results.add(report(bench.run("List.sort(comparingInt(age))" + n, () -> CompiledSortBenchmark.sort(
+                    employees, list -> list.sort(Comparator.comparingInt(Employee::getAge))))));
+            results.add(report(bench.run("RadixSorts.sortByInt(age)" + n, () -> CompiledSortBenchmark.sort(
+                    employees, list -> RadixSorts.sortByInt(list, Employee::getAge)))));
+            results.add(report(bench.run("RadixSorts.parallelSortByInt(age)" + n, () -> CompiledSortBenchmark.sort(
+                    employees, list -> RadixSorts.parallelSortByInt(list, Employee::getAge)))));
+            results.add(report(bench.run("List.sort(comparingDouble(salary))" + n, () -> CompiledSortBenchmark.sort(
+                    employees, list -> list.sort(Comparator.comparingDouble(Employee::getSalary))))));
+            results.add(report(bench.run("RadixSorts.sortByDouble(salary)" + n, () -> CompiledSortBenchmark.sort(
+                    employees, list -> RadixSorts.sortByDouble(list, Employee::getSalary)))));
+            results.add(report(bench.run("RadixSorts.parallelSortByDouble(salary)" + n, () -> CompiledSortBenchmark.sort(
+                    employees, list -> RadixSorts.parallelSortByDouble(list, Employee::getSalary)))));
+            results.add(report(bench.run("List.sort(comparingLong(hash))" + n, () -> CompiledSortBenchmark.sort(
+                    employees, list -> list.sort(Comparator.comparingLong(RadixSortBenchmark::hash))))));
+            results.add(report(bench.run("RadixSorts.sortByLong(hash)" + n, () -> CompiledSortBenchmark.sort(
+                    employees, list -> RadixSorts.sortByLong(list, RadixSortBenchmark::hash)))));
+        }
+        System.out.println();
+        Microbench.print(results);
+    }
+
+    static long hash(Employee e) {
+        return e.getName().hashCode() * 0x9E3779B97F4A7C15L;
+    }
+
+    private static Microbench.Result report(Microbench.Result result) {
+        System.out.println(result);
+        return result;
+    }
+}
@@ -0,0 +1,100 @@
+package com.java.collections.benchmark;
+
+import com.java.collections.concurrent.EpochArrayList;
+import com.java.collections.concurrent.StampedArrayList;
+
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/* READ-MOSTLY LIST BENCHMARK:
+ *
+ * COMPARES (one list shared by all threads):
+ * - StampedArrayList      - optimistic StampedLock reads
+ * - EpochArrayList        - optimistic reads, snapshot iterators sharing chunks
+ * - Vector                - synchronized methods
+ * - synchronizedList      - Collections.synchronizedList(new ArrayList<>())
+ * - CopyOnWriteArrayList  - lock-free reads, full copy per write
+ *
+ * WORKLOAD:
+ * - size elements (default 1000), each op picks a random index
+ * - readPercent of ops are get(i) (default 95), the rest set(i, x)
+ * - Reported ns/op is aggregate: wall time / total ops of all threads
+ * - With -scan, reads are full for-each scans instead of get(i); only lists
+ *   whose iterators tolerate concurrent writers (no CME) take part
+ *
+ * USAGE:
+ * java -cp bin com.java.collections.benchmark.ReadMostlyListBenchmark -threads 1,2,4,8 -read 95
+ * java -cp bin com.java.collections.benchmark.ReadMostlyListBenchmark -threads 4 -read 50 -scan
+ */
+
+public class ReadMostlyListBenchmark {
+
+    static final Map<String, Supplier<List<Integer>>> IMPLEMENTATIONS = new LinkedHashMap<>();
+
+    static {
+        IMPLEMENTATIONS.put("StampedArrayList", StampedArrayList::new);
+        IMPLEMENTATIONS.put("EpochArrayList", EpochArrayList::new);
+        IMPLEMENTATIONS.put("Vector", Vector::new);
+        IMPLEMENTATIONS.put("synchronizedList", () -> Collections.synchronizedList(new ArrayList<>()));
+        IMPLEMENTATIONS.put("CopyOnWriteArrayList", CopyOnWriteArrayList::new);
+    }
+
+    // Iterators that never throw ConcurrentModificationException under concurrent writes
+    static final Set<String> SCAN_SAFE = new HashSet<>(Arrays.asList(
+            "StampedArrayList", "EpochArrayList", "CopyOnWriteArrayList"));
+
+    public static void main(String[] args) {
+        Map<String, String> options = Microbench.parseArgs(args);
+        int[] threadCounts = Microbench.parseThreads(options.get("threads"));
+        int size = (int) Double.parseDouble(options.getOrDefault("size", "1000"));
+        int readPercent = Integer.parseInt(options.getOrDefault("read", "95"));
+        boolean scan = options.containsKey("scan");
+        Microbench bench = new Microbench(
+                Integer.parseInt(options.getOrDefault("wi", "3")),
+                Integer.parseInt(options.getOrDefault("i", "5")),
+                Long.parseLong(options.getOrDefault("time", "300")),
+                false);
+
+        System.out.println("=== READ-MOSTLY LIST BENCHMARK (" + readPercent + "% "
+                + (scan ? "scans" : "reads") + ") ===\n");
+        List<Microbench.Result> results = new ArrayList<>();
+        for (int threads : threadCounts) {
+            for (Map.Entry<String, Supplier<List<Integer>>> impl : IMPLEMENTATIONS.entrySet()) {
+                if (scan && !SCAN_SAFE.contains(impl.getKey())) {
+                    continue;
+                }
+                Microbench.Result result = bench.runConcurrent(
+                        impl.getKey() + "[threads=" + threads + "]", threads,
+                        () -> readMostly(impl.getValue().get(), size, readPercent, scan));
+                System.out.println(result);
+                results.add(result);
+            }
+        }
+        System.out.println();
+        Microbench.print(results);
+    }
+
+    static Microbench.Workload readMostly(List<Integer> list, int size, int readPercent, boolean scan) {
+        for (int i = 0; i < size; i++) {
+            list.add(i);
+        }
+        return () -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            int index = random.nextInt(size);
+            if (random.nextInt(100) < readPercent) {
+                if (!scan) {
+                    return list.get(index);
+                }
+                long sum = 0;
+                for (int x : list) {
+                    sum += x;
+                }
+                return sum;
+            }
+            list.set(index, index);
+            return 1;
+        };
+    }
+}
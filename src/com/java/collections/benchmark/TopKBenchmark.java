@@ -0,0 +1,77 @@
+package com.java.collections.benchmark;
+
+import com.java.collections.benchmark.CompiledSortBenchmark.Employee;
+import com.java.collections.sort.TopK;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/* TOP-K BENCHMARK:
+ *
+ * COMPARES (ns per stream element, mean ± 99.9% CI) "top k earners" over the
+ * employees of CompiledSortBenchmark:
+ * - sorted().limit(k)          - ComparatorInterfaceDemo.demonstrateWithStreams: buffers
+ *                                and sorts the whole stream
+ * - TopK.collector             - bounded heap (k <= 1024) or quickselect buffer, comparator
+ * - TopK.collectorByDouble     - same, salary extracted once per element into a long key
+ * - parallel TopK.collector    - per-thread selections merged by the combiner
+ *
+ * -k takes a list: 3 and 100 use the heap, 10000 the quickselect buffer.
+ *
+ * USAGE:
+ * java -cp bin com.java.collections.benchmark.TopKBenchmark -size 1e5,1e6 -k 3,100,10000
+ */
+
+public class TopKBenchmark {
+
+    private static final Comparator<Employee> BY_SALARY = Comparator.comparingDouble(Employee::getSalary);
+
+    public static void main(String[] args) {
+        Map<String, String> options = Microbench.parseArgs(args);
+        int[] sizes = Microbench.parseSizes(options.getOrDefault("size", "1e5,1e6"));
+        int[] ks = Microbench.parseSizes(options.getOrDefault("k", "3,100,10000"));
+        Microbench bench = new Microbench(
+                Integer.parseInt(options.getOrDefault("wi", "5")),
+                Integer.parseInt(options.getOrDefault("i", "5")),
+                Long.parseLong(options.getOrDefault("time", "500")),
+                "gc".equals(options.get("prof")));
+
+        System.out.println("=== TOP-K BENCHMARK ===\n");
+        List<Microbench.Result> results = new ArrayList<>();
+        for (int size : sizes) {
+            List<Employee> employees = CompiledSortBenchmark.employees(size);
+            for (int k : ks) {
+                String n = "[n=" + size + ", k=" + k + "]";
+                results.add(report(bench.run("sorted().limit(k)" + n, () -> perElement(size,
+                        () -> employees.stream().sorted(BY_SALARY.reversed()).limit(k)
+                                .collect(Collectors.toList())))));
+                results.add(report(bench.run("TopK.collector" + n, () -> perElement(size,
+                        () -> employees.stream().collect(TopK.collector(k, BY_SALARY))))));
+                results.add(report(bench.run("TopK.collectorByDouble" + n, () -> perElement(size,
+                        () -> employees.stream().collect(TopK.collectorByDouble(k, Employee::getSalary))))));
+                results.add(report(bench.run("parallel TopK.collector" + n, () -> perElement(size,
+                        () -> employees.parallelStream().collect(TopK.collector(k, BY_SALARY))))));
+            }
+        }
+        System.out.println();
+        Microbench.print(results);
+    }
+
+    private static Microbench.Result report(Microbench.Result result) {
+        System.out.println(result);
+        return result;
+    }
+
+    interface Query {
+        List<Employee> run();
+    }
+
+    static Microbench.Workload perElement(int size, Query query) {
+        return new Microbench.Workload() {
+            public long invoke() {
+                return query.run().size();
+            }
+            public long operationsPerInvoke() { return size; }
+        };
+    }
+}
@@ -0,0 +1,158 @@
+package com.java.collections.columnar;
+
+import java.util.Arrays;
+import java.util.function.DoublePredicate;
+import java.util.function.IntPredicate;
+
+/**
+ * ColumnKernels - Filter and aggregation loops over column arrays
+ * - A selection is (rows, count): the selected row indices in ascending
+ *   order, or rows == null for rows 0..count-1 (no filter yet). The null
+ *   test is loop-invariant, so C2 unswitches it out of every loop
+ * - Filters write each candidate index and advance the write index by 0 or
+ *   1: no branch mispredictions on random data. They may write into rows
+ *   itself, since the write index never passes the read index
+ * - groups, when not null, holds the group id of each selected row
+ *   (aligned with the selection, not with the table); null means one group
+ * - Aggregation fuses count, sum, min and max into one pass
+ */
+final class ColumnKernels {
+
+    private ColumnKernels() {
+    }
+
+    // ---------------------------------------------------------------- filters
+
+    static int filterRange(int[] values, int[] rows, int count, int min, int max, int[] out) {
+        int w = 0;
+        for (int j = 0; j < count; j++) {
+            int r = rows == null ? j : rows[j];
+            int v = values[r];
+            out[w] = r;
+            w += (v >= min & v <= max) ? 1 : 0;
+        }
+        return w;
+    }
+
+    /** NaN is never in range. */
+    static int filterRange(double[] values, int[] rows, int count, double min, double max, int[] out) {
+        int w = 0;
+        for (int j = 0; j < count; j++) {
+            int r = rows == null ? j : rows[j];
+            double v = values[r];
+            out[w] = r;
+            w += (v >= min & v <= max) ? 1 : 0;
+        }
+        return w;
+    }
+
+    /** Keeps the rows whose code is marked in match (one flag per dictionary entry). */
+    static int filterCodes(int[] codes, boolean[] match, int[] rows, int count, int[] out) {
+        int w = 0;
+        for (int j = 0; j < count; j++) {
+            int r = rows == null ? j : rows[j];
+            out[w] = r;
+            w += match[codes[r]] ? 1 : 0;
+        }
+        return w;
+    }
+
+    static int filter(int[] values, IntPredicate predicate, int[] rows, int count, int[] out) {
+        int w = 0;
+        for (int j = 0; j < count; j++) {
+            int r = rows == null ? j : rows[j];
+            out[w] = r;
+            w += predicate.test(values[r]) ? 1 : 0;
+        }
+        return w;
+    }
+
+    static int filter(double[] values, DoublePredicate predicate, int[] rows, int count, int[] out) {
+        int w = 0;
+        for (int j = 0; j < count; j++) {
+            int r = rows == null ? j : rows[j];
+            out[w] = r;
+            w += predicate.test(values[r]) ? 1 : 0;
+        }
+        return w;
+    }
+
+    // ---------------------------------------------------------------- aggregation
+
+    /** Per-group count, sum, min and max; min/max are +/-Infinity for empty groups. */
+    static final class Stats {
+        final long[] count;
+        final double[] sum;
+        final double[] min;
+        final double[] max;
+
+        Stats(int groups) {
+            count = new long[groups];
+            sum = new double[groups];
+            min = new double[groups];
+            max = new double[groups];
+            Arrays.fill(min, Double.POSITIVE_INFINITY);
+            Arrays.fill(max, Double.NEGATIVE_INFINITY);
+        }
+    }
+
+    static long[] count(int[] groups, int count, int groupCount) {
+        long[] counts = new long[groupCount];
+        if (groups == null) {
+            counts[0] = count;
+            return counts;
+        }
+        for (int j = 0; j < count; j++) {
+            counts[groups[j]]++;
+        }
+        return counts;
+    }
+
+    /** Int columns: sums in long (exact), min/max in int, converted at the end. */
+    static Stats aggregate(int[] values, int[] rows, int[] groups, int count, int groupCount) {
+        long[] counts = new long[groupCount];
+        long[] sums = new long[groupCount];
+        int[] mins = new int[groupCount];
+        int[] maxs = new int[groupCount];
+        Arrays.fill(mins, Integer.MAX_VALUE);
+        Arrays.fill(maxs, Integer.MIN_VALUE);
+        for (int j = 0; j < count; j++) {
+            int r = rows == null ? j : rows[j];
+            int g = groups == null ? 0 : groups[j];
+            int v = values[r];
+            counts[g]++;
+            sums[g] += v;
+            mins[g] = Math.min(mins[g], v);
+            maxs[g] = Math.max(maxs[g], v);
+        }
+        Stats stats = new Stats(groupCount);
+        for (int g = 0; g < groupCount; g++) {
+            stats.count[g] = counts[g];
+            if (counts[g] > 0) {
+                stats.sum[g] = sums[g];
+                stats.min[g] = mins[g];
+                stats.max[g] = maxs[g];
+            }
+        }
+        return stats;
+    }
+
+    /** Double columns: min/max follow Math.min/max (NaN wins, -0.0 < 0.0), as DoubleSummaryStatistics. */
+    static Stats aggregate(double[] values, int[] rows, int[] groups, int count, int groupCount) {
+        Stats stats = new Stats(groupCount);
+        long[] counts = stats.count;
+        double[] sums = stats.sum;
+        double[] mins = stats.min;
+        double[] maxs = stats.max;
+        for (int j = 0; j < count; j++) {
+            int r = rows == null ? j : rows[j];
+            int g = groups == null ? 0 : groups[j];
+            double v = values[r];
+            counts[g]++;
+            sums[g] += v;
+            mins[g] = Math.min(mins[g], v);
+            maxs[g] = Math.max(maxs[g], v);
+        }
+        return stats;
+    }
+}
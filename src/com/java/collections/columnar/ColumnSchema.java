@@ -0,0 +1,156 @@
+package com.java.collections.columnar;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+
+/**
+ * ColumnSchema - Declared columns of a ColumnTable, each read from a getter of T
+ * - int32 and float64 columns are stored as int[] / double[]; string
+ *   columns as an int[] of dictionary codes
+ * - The getters are used when rows are imported; export goes through a
+ *   Row cursor (see ColumnTable.toList)
+ * - Immutable; build with ColumnSchema.builder()
+ *
+ * Example (Employee: name, age, salary, department):
+ *   ColumnSchema<Employee> schema = ColumnSchema.<Employee>builder()
+ *           .string("name", Employee::getName).int32("age", Employee::getAge)
+ *           .float64("salary", Employee::getSalary).string("department", Employee::getDepartment)
+ *           .build();
+ */
+public final class ColumnSchema<T> {
+
+    public enum Type { INT32, FLOAT64, STRING }
+
+    /**
+     * Handle to one column; V is the boxed value type (Integer, Double or
+     * String). Pass it to Row getters and Query filters and aggregates.
+     */
+    public static final class Column<V> {
+        private final String name;
+        private final Type type;
+        private final int index;
+        private final Object getter;
+        private ColumnSchema<?> schema;
+
+        private Column(String name, Type type, int index, Object getter) {
+            this.name = name;
+            this.type = type;
+            this.index = index;
+            this.getter = getter;
+        }
+
+        public String getName() { return name; }
+        public Type getType() { return type; }
+
+        /** Position in the schema. */
+        public int getIndex() { return index; }
+
+        Object getter() {
+            return getter;
+        }
+
+        ColumnSchema<?> schema() {
+            return schema;
+        }
+
+        @Override
+        public String toString() {
+            return name + ":" + type;
+        }
+    }
+
+    private final List<Column<?>> columns;
+    private final Map<String, Column<?>> byName;
+
+    private ColumnSchema(List<Column<?>> columns) {
+        this.columns = Collections.unmodifiableList(columns);
+        this.byName = new LinkedHashMap<>();
+        for (Column<?> c : columns) {
+            byName.put(c.name, c);
+            c.schema = this;
+        }
+    }
+
+    public static <T> Builder<T> builder() {
+        return new Builder<>();
+    }
+
+    public List<Column<?>> columns() {
+        return columns;
+    }
+
+    public Column<?> column(String name) {
+        Column<?> c = byName.get(name);
+        if (c == null) {
+            throw new IllegalArgumentException("No column '" + name + "' in " + this);
+        }
+        return c;
+    }
+
+    @SuppressWarnings("unchecked")
+    public Column<Integer> intColumn(String name) {
+        return (Column<Integer>) column(name, Type.INT32);
+    }
+
+    @SuppressWarnings("unchecked")
+    public Column<Double> doubleColumn(String name) {
+        return (Column<Double>) column(name, Type.FLOAT64);
+    }
+
+    @SuppressWarnings("unchecked")
+    public Column<String> stringColumn(String name) {
+        return (Column<String>) column(name, Type.STRING);
+    }
+
+    private Column<?> column(String name, Type type) {
+        Column<?> c = column(name);
+        if (c.type != type) {
+            throw new IllegalArgumentException("Column '" + name + "' is " + c.type + ", not " + type);
+        }
+        return c;
+    }
+
+    @Override
+    public String toString() {
+        return "ColumnSchema" + columns;
+    }
+
+    public static final class Builder<T> {
+        private final List<Column<?>> columns = new ArrayList<>();
+        private final Set<String> names = new HashSet<>();
+
+        private Builder() {
+        }
+
+        public Builder<T> int32(String name, ToIntFunction<? super T> getter) {
+            return add(name, Type.INT32, getter);
+        }
+
+        public Builder<T> float64(String name, ToDoubleFunction<? super T> getter) {
+            return add(name, Type.FLOAT64, getter);
+        }
+
+        /** Dictionary-encoded: each distinct value (null included) is stored once. */
+        public Builder<T> string(String name, Function<? super T, String> getter) {
+            return add(name, Type.STRING, getter);
+        }
+
+        private Builder<T> add(String name, Type type, Object getter) {
+            Objects.requireNonNull(getter);
+            if (!names.add(name)) {
+                throw new IllegalArgumentException("Duplicate column: " + name);
+            }
+            columns.add(new Column<>(name, type, columns.size(), getter));
+            return this;
+        }
+
+        public ColumnSchema<T> build() {
+            if (columns.isEmpty()) {
+                throw new IllegalStateException("Schema has no columns");
+            }
+            return new ColumnSchema<>(new ArrayList<>(columns));
+        }
+    }
+}
@@ -0,0 +1,259 @@
+package com.java.collections.columnar;
+
+import com.java.collections.columnar.ColumnSchema.Column;
+import com.java.collections.columnar.ColumnSchema.Type;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+
+/**
+ * ColumnTable - Rows of T stored column by column (struct of arrays)
+ * - One primitive array per column: int[] for int32, double[] for float64,
+ *   int[] dictionary codes for strings; no object, header or boxed value
+ *   per row
+ * - from/addAll import a collection one column at a time, so every getter
+ *   runs in its own monomorphic loop
+ * - query() filters and aggregates with loops over the column arrays;
+ *   toList(decoder) exports rows back to objects
+ * - A department column of 20M rows is 80 MB of codes plus one String per
+ *   department, where 20M Employees hold 20M references to it
+ * - Not synchronized (not thread-safe); a query sees the rows present when
+ *   it was created
+ *
+ * Example:
+ *   ColumnTable<Employee> table = ColumnTable.from(schema, employees);
+ *   Map<String, Double> avgSalary = table.query().groupBy(DEPARTMENT).avg(SALARY);
+ */
+public final class ColumnTable<T> {
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private final ColumnSchema<T> schema;
+    // int[], double[] or int[] codes, indexed like schema.columns()
+    private final Object[] data;
+    private final Dictionary[] dictionaries;
+    private int size;
+    private int capacity;
+
+    public ColumnTable(ColumnSchema<T> schema) {
+        this(schema, DEFAULT_CAPACITY);
+    }
+
+    public ColumnTable(ColumnSchema<T> schema, int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Illegal capacity: " + initialCapacity);
+        }
+        this.schema = Objects.requireNonNull(schema);
+        List<Column<?>> columns = schema.columns();
+        this.data = new Object[columns.size()];
+        this.dictionaries = new Dictionary[columns.size()];
+        for (Column<?> c : columns) {
+            int i = c.getIndex();
+            data[i] = c.getType() == Type.FLOAT64 ? new double[initialCapacity] : new int[initialCapacity];
+            if (c.getType() == Type.STRING) {
+                dictionaries[i] = new Dictionary();
+            }
+        }
+        this.capacity = initialCapacity;
+    }
+
+    /** Table holding rows, imported column by column. */
+    public static <T> ColumnTable<T> from(ColumnSchema<T> schema, Collection<? extends T> rows) {
+        ColumnTable<T> table = new ColumnTable<>(schema, rows.size());
+        table.addAll(rows);
+        return table;
+    }
+
+    public ColumnSchema<T> schema() {
+        return schema;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void add(T row) {
+        ensureCapacity(size + 1);
+        for (Column<?> c : schema.columns()) {
+            store(c, row, size);
+        }
+        size++;
+    }
+
+    /** Appends rows, one column at a time. */
+    public void addAll(Collection<? extends T> rows) {
+        Object[] a = rows.toArray();
+        ensureCapacity(size + a.length);
+        for (Column<?> c : schema.columns()) {
+            for (int i = 0; i < a.length; i++) {
+                store(c, a[i], size + i);
+            }
+        }
+        size += a.length;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void store(Column<?> c, Object row, int index) {
+        int i = c.getIndex();
+        T value = (T) row;
+        switch (c.getType()) {
+            case INT32:
+                ((int[]) data[i])[index] = ((ToIntFunction<? super T>) c.getter()).applyAsInt(value);
+                break;
+            case FLOAT64:
+                ((double[]) data[i])[index] = ((ToDoubleFunction<? super T>) c.getter()).applyAsDouble(value);
+                break;
+            default:
+                ((int[]) data[i])[index] = dictionaries[i].encode(((Function<? super T, String>) c.getter()).apply(value));
+        }
+    }
+
+    public int getInt(Column<Integer> column, int row) {
+        checkRow(row);
+        return ints(column)[row];
+    }
+
+    public double getDouble(Column<Double> column, int row) {
+        checkRow(row);
+        return doubles(column)[row];
+    }
+
+    public String getString(Column<String> column, int row) {
+        checkRow(row);
+        return dictionary(column).decode(codes(column)[row]);
+    }
+
+    /** Number of distinct values ever stored in a string column. */
+    public int distinctCount(Column<String> column) {
+        return dictionary(column).size();
+    }
+
+    /** Query over all rows. */
+    public Query<T> query() {
+        return new Query<>(this);
+    }
+
+    /** Every row converted back to T by decoder, in insertion order. */
+    public List<T> toList(Function<? super Row, ? extends T> decoder) {
+        return query().toList(decoder);
+    }
+
+    public void ensureCapacity(int minCapacity) {
+        if (minCapacity <= capacity) {
+            return;
+        }
+        int newCapacity = Math.max(capacity + (capacity >> 1), minCapacity);
+        if (newCapacity < 0) {
+            newCapacity = minCapacity;
+        }
+        for (int i = 0; i < data.length; i++) {
+            data[i] = data[i] instanceof double[]
+                    ? Arrays.copyOf((double[]) data[i], newCapacity)
+                    : Arrays.copyOf((int[]) data[i], newCapacity);
+        }
+        capacity = newCapacity;
+    }
+
+    @Override
+    public String toString() {
+        return "ColumnTable" + schema.columns() + " rows=" + size;
+    }
+
+    /**
+     * Row - Cursor over one row, handed to export decoders
+     * - The same instance moves from row to row: read it inside the call,
+     *   do not keep it
+     */
+    public final class Row {
+        private int index;
+
+        Row() {
+        }
+
+        Row moveTo(int index) {
+            this.index = index;
+            return this;
+        }
+
+        public int index() {
+            return index;
+        }
+
+        public int getInt(Column<Integer> column) {
+            return ints(column)[index];
+        }
+
+        public double getDouble(Column<Double> column) {
+            return doubles(column)[index];
+        }
+
+        public String getString(Column<String> column) {
+            return dictionary(column).decode(codes(column)[index]);
+        }
+    }
+
+    // ---------------------------------------------------------------- column access for Query
+
+    int[] ints(Column<?> column) {
+        return (int[]) data[check(column, Type.INT32)];
+    }
+
+    double[] doubles(Column<?> column) {
+        return (double[]) data[check(column, Type.FLOAT64)];
+    }
+
+    int[] codes(Column<?> column) {
+        return (int[]) data[check(column, Type.STRING)];
+    }
+
+    Dictionary dictionary(Column<?> column) {
+        return dictionaries[check(column, Type.STRING)];
+    }
+
+    private int check(Column<?> column, Type type) {
+        if (column.schema() != schema) {
+            throw new IllegalArgumentException("Column " + column + " is not in " + schema);
+        }
+        if (column.getType() != type) {
+            throw new IllegalArgumentException("Column " + column + " is not " + type);
+        }
+        return column.getIndex();
+    }
+
+    private void checkRow(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Row: " + row + ", Size: " + size);
+        }
+    }
+
+    /** Distinct strings of one column; codes are 0, 1, 2... in order of first appearance. */
+    static final class Dictionary {
+        private final List<String> values = new ArrayList<>();
+        private final Map<String, Integer> codes = new HashMap<>();
+
+        int encode(String value) {
+            Integer code = codes.get(value);
+            if (code == null) {
+                code = values.size();
+                codes.put(value, code);
+                values.add(value);
+            }
+            return code;
+        }
+
+        /** Code of value, or -1 if the column never held it. */
+        int find(String value) {
+            Integer code = codes.get(value);
+            return code != null ? code : -1;
+        }
+
+        String decode(int code) {
+            return values.get(code);
+        }
+
+        int size() {
+            return values.size();
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.java.collections.columnar;
+
+import com.java.collections.columnar.ColumnSchema.Column;
+import com.java.collections.columnar.ColumnSchema.Type;
+
+import java.util.*;
+import java.util.function.IntFunction;
+
+/**
+ * Grouping - Selected rows split by the value of one key column
+ * - Each selected row gets a dense group id once, when the grouping is
+ *   made; every aggregate is then one pass into per-group arrays, with no
+ *   map lookup and no boxing per row
+ * - String keys: the group id is the dictionary code; without a filter the
+ *   code column itself is used
+ * - int32 keys: the value minus the minimum when the range is small,
+ *   otherwise the position among the sorted distinct values
+ * - Results are LinkedHashMaps with only non-empty groups: string keys in
+ *   order of first appearance in the table, int keys ascending
+ */
+public final class Grouping<K> {
+    private final ColumnTable<?> table;
+    private final int[] rows;
+    private final int count;
+    // Group id of each selected row, aligned with rows (may be longer than count)
+    private final int[] groups;
+    private final int groupCount;
+    private final IntFunction<K> keyOf;
+
+    @SuppressWarnings("unchecked")
+    Grouping(ColumnTable<?> table, Column<K> key, int[] rows, int count) {
+        this.table = table;
+        this.rows = rows;
+        this.count = count;
+        if (key.getType() == Type.STRING) {
+            int[] codes = table.codes(key);
+            ColumnTable.Dictionary dictionary = table.dictionary(key);
+            if (rows == null) {
+                // Unfiltered: row j is selection slot j, so the codes are the group ids
+                this.groups = codes;
+            } else {
+                this.groups = new int[count];
+                for (int j = 0; j < count; j++) {
+                    groups[j] = codes[rows[j]];
+                }
+            }
+            this.groupCount = dictionary.size();
+            this.keyOf = code -> (K) dictionary.decode(code);
+        } else if (key.getType() == Type.INT32) {
+            this.groups = new int[count];
+            int[] values = table.ints(key);
+            int min = Integer.MAX_VALUE;
+            int max = Integer.MIN_VALUE;
+            for (int j = 0; j < count; j++) {
+                int v = values[rows == null ? j : rows[j]];
+                min = Math.min(min, v);
+                max = Math.max(max, v);
+            }
+            long range = count == 0 ? 0 : (long) max - min + 1;
+            if (range <= Math.max(1024, 2L * count)) {
+                int base = min;
+                for (int j = 0; j < count; j++) {
+                    groups[j] = values[rows == null ? j : rows[j]] - base;
+                }
+                this.groupCount = (int) range;
+                this.keyOf = g -> (K) Integer.valueOf(base + g);
+            } else {
+                int[] distinct = new int[count];
+                for (int j = 0; j < count; j++) {
+                    distinct[j] = values[rows == null ? j : rows[j]];
+                }
+                Arrays.sort(distinct);
+                int d = 0;
+                for (int j = 0; j < count; j++) {
+                    if (j == 0 || distinct[j] != distinct[d - 1]) {
+                        distinct[d++] = distinct[j];
+                    }
+                }
+                for (int j = 0; j < count; j++) {
+                    groups[j] = Arrays.binarySearch(distinct, 0, d, values[rows == null ? j : rows[j]]);
+                }
+                this.groupCount = d;
+                this.keyOf = g -> (K) Integer.valueOf(distinct[g]);
+            }
+        } else {
+            throw new IllegalArgumentException("Cannot group by " + key.getType() + " column " + key);
+        }
+    }
+
+    /** Number of non-empty groups. */
+    public int size() {
+        int n = 0;
+        for (long c : ColumnKernels.count(groups, count, groupCount)) {
+            n += c > 0 ? 1 : 0;
+        }
+        return n;
+    }
+
+    public Map<K, Long> count() {
+        long[] counts = ColumnKernels.count(groups, count, groupCount);
+        Map<K, Long> result = new LinkedHashMap<>();
+        for (int g = 0; g < groupCount; g++) {
+            if (counts[g] > 0) {
+                result.put(keyOf.apply(g), counts[g]);
+            }
+        }
+        return result;
+    }
+
+    public Map<K, Double> sum(Column<? extends Number> column) {
+        ColumnKernels.Stats stats = stats(column);
+        return collect(stats, stats.sum);
+    }
+
+    public Map<K, Double> avg(Column<? extends Number> column) {
+        ColumnKernels.Stats stats = stats(column);
+        double[] avg = new double[groupCount];
+        for (int g = 0; g < groupCount; g++) {
+            avg[g] = stats.sum[g] / stats.count[g];
+        }
+        return collect(stats, avg);
+    }
+
+    public Map<K, Double> min(Column<? extends Number> column) {
+        ColumnKernels.Stats stats = stats(column);
+        return collect(stats, stats.min);
+    }
+
+    public Map<K, Double> max(Column<? extends Number> column) {
+        ColumnKernels.Stats stats = stats(column);
+        return collect(stats, stats.max);
+    }
+
+    private ColumnKernels.Stats stats(Column<? extends Number> column) {
+        return Query.aggregate(table, column, rows, groups, count, groupCount);
+    }
+
+    private Map<K, Double> collect(ColumnKernels.Stats stats, double[] values) {
+        Map<K, Double> result = new LinkedHashMap<>();
+        for (int g = 0; g < groupCount; g++) {
+            if (stats.count[g] > 0) {
+                result.put(keyOf.apply(g), values[g]);
+            }
+        }
+        return result;
+    }
+}
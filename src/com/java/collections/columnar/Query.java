@@ -0,0 +1,177 @@
+package com.java.collections.columnar;
+
+import com.java.collections.columnar.ColumnSchema.Column;
+import com.java.collections.columnar.ColumnSchema.Type;
+
+import java.util.*;
+import java.util.function.DoublePredicate;
+import java.util.function.Function;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+
+/**
+ * Query - Filters and aggregates over a ColumnTable's columns
+ * - The selection starts as every row and is kept as an int[] of row
+ *   indices; each where... narrows it in place and returns this
+ * - Range and equality filters are branch-free loops over one column;
+ *   string predicates run once per distinct value, then rows are kept by
+ *   their dictionary code
+ * - count/sum/avg/min/max aggregate the selection; groupBy splits it first
+ * - Sums are plain double sums (int columns are summed exactly in a long);
+ *   Collectors.averagingDouble compensates rounding, so the last digits
+ *   can differ
+ *
+ * Example:
+ *   double avgIt = table.query().whereEquals(DEPARTMENT, "IT").whereBetween(AGE, 30, 40).avg(SALARY);
+ */
+public final class Query<T> {
+    private final ColumnTable<T> table;
+    // Selected row indices in [0, count), ascending; null until the first filter (all rows)
+    private int[] rows;
+    private int count;
+
+    Query(ColumnTable<T> table) {
+        this.table = table;
+        this.count = table.size();
+    }
+
+    // ---------------------------------------------------------------- filters
+
+    /** Keeps rows with min <= column <= max. */
+    public Query<T> whereBetween(Column<Integer> column, int min, int max) {
+        int[] values = table.ints(column);
+        count = ColumnKernels.filterRange(values, rows, count, min, max, target());
+        return this;
+    }
+
+    /** Keeps rows with min <= column <= max; NaN never matches. */
+    public Query<T> whereBetween(Column<Double> column, double min, double max) {
+        double[] values = table.doubles(column);
+        count = ColumnKernels.filterRange(values, rows, count, min, max, target());
+        return this;
+    }
+
+    public Query<T> where(Column<Integer> column, IntPredicate predicate) {
+        Objects.requireNonNull(predicate);
+        int[] values = table.ints(column);
+        count = ColumnKernels.filter(values, predicate, rows, count, target());
+        return this;
+    }
+
+    public Query<T> where(Column<Double> column, DoublePredicate predicate) {
+        Objects.requireNonNull(predicate);
+        double[] values = table.doubles(column);
+        count = ColumnKernels.filter(values, predicate, rows, count, target());
+        return this;
+    }
+
+    /** Keeps rows whose string matches; predicate runs once per distinct value. */
+    public Query<T> where(Column<String> column, Predicate<? super String> predicate) {
+        ColumnTable.Dictionary dictionary = table.dictionary(column);
+        boolean[] match = new boolean[dictionary.size()];
+        for (int code = 0; code < match.length; code++) {
+            match[code] = predicate.test(dictionary.decode(code));
+        }
+        return whereCodes(column, match);
+    }
+
+    public Query<T> whereEquals(Column<String> column, String value) {
+        ColumnTable.Dictionary dictionary = table.dictionary(column);
+        boolean[] match = new boolean[dictionary.size()];
+        int code = dictionary.find(value);
+        if (code >= 0) {
+            match[code] = true;
+        }
+        return whereCodes(column, match);
+    }
+
+    private Query<T> whereCodes(Column<String> column, boolean[] match) {
+        int[] codes = table.codes(column);
+        count = ColumnKernels.filterCodes(codes, match, rows, count, target());
+        return this;
+    }
+
+    /** Array the next filter writes into: the selection itself once there is one. */
+    private int[] target() {
+        if (rows == null) {
+            rows = new int[count];
+        }
+        return rows;
+    }
+
+    // ---------------------------------------------------------------- aggregates
+
+    /** Number of selected rows. */
+    public int count() {
+        return count;
+    }
+
+    /** Sum over the selected rows; 0 if there are none. */
+    public double sum(Column<? extends Number> column) {
+        return stats(column).sum[0];
+    }
+
+    /** @throws NoSuchElementException if no row is selected */
+    public double avg(Column<? extends Number> column) {
+        ColumnKernels.Stats stats = nonEmpty(column);
+        return stats.sum[0] / stats.count[0];
+    }
+
+    /** @throws NoSuchElementException if no row is selected */
+    public double min(Column<? extends Number> column) {
+        return nonEmpty(column).min[0];
+    }
+
+    /** @throws NoSuchElementException if no row is selected */
+    public double max(Column<? extends Number> column) {
+        return nonEmpty(column).max[0];
+    }
+
+    /** Groups the selected rows by an int32 or string column. */
+    public <K> Grouping<K> groupBy(Column<K> key) {
+        return new Grouping<>(table, key, rows, count);
+    }
+
+    private ColumnKernels.Stats nonEmpty(Column<? extends Number> column) {
+        if (count == 0) {
+            throw new NoSuchElementException("No rows selected");
+        }
+        return stats(column);
+    }
+
+    private ColumnKernels.Stats stats(Column<? extends Number> column) {
+        return aggregate(table, column, rows, null, count, 1);
+    }
+
+    static ColumnKernels.Stats aggregate(ColumnTable<?> table, Column<?> column, int[] rows, int[] groups,
+                                         int count, int groupCount) {
+        if (column.getType() == Type.INT32) {
+            return ColumnKernels.aggregate(table.ints(column), rows, groups, count, groupCount);
+        }
+        return ColumnKernels.aggregate(table.doubles(column), rows, groups, count, groupCount);
+    }
+
+    // ---------------------------------------------------------------- export
+
+    /** Indices of the selected rows, ascending. */
+    public int[] rowIndices() {
+        if (rows == null) {
+            int[] all = new int[count];
+            for (int i = 0; i < count; i++) {
+                all[i] = i;
+            }
+            return all;
+        }
+        return Arrays.copyOf(rows, count);
+    }
+
+    /** Selected rows converted back to T by decoder, in table order. */
+    public List<T> toList(Function<? super ColumnTable<T>.Row, ? extends T> decoder) {
+        List<T> result = new ArrayList<>(count);
+        ColumnTable<T>.Row row = table.new Row();
+        for (int j = 0; j < count; j++) {
+            result.add(decoder.apply(row.moveTo(rows == null ? j : rows[j])));
+        }
+        return result;
+    }
+}
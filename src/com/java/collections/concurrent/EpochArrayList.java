@@ -0,0 +1,662 @@
+package com.java.collections.concurrent;
+
+import com.java.collections.list.BatchCursor;
+import com.java.collections.list.BatchSource;
+import com.java.collections.list.BatchSpliterator;
+
+import java.lang.ref.WeakReference;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * EpochArrayList - Thread-safe list whose iterators see a consistent snapshot, without copying
+ * - Elements live in 256-element chunks; writers edit them in place under
+ *   a write lock, get/size read optimistically (as in StampedArrayList)
+ * - A reader's snapshot() publishes the current state as a version (epoch):
+ *   a copy of the chunk table only, sharing every chunk. Readers that
+ *   arrive before the next write share the same version, lock-free
+ * - A writer copies a chunk only if an open snapshot still shares it, and
+ *   only once per epoch; appends never copy (no snapshot sees past its size)
+ * - Epoch reclamation: once every snapshot of a version is closed (or
+ *   garbage collected), its chunks are edited in place again and the
+ *   version is dropped; abandoned iterators cannot pin memory forever
+ * - iterator/forEach/stream/equals/indexOf run on a snapshot and never
+ *   throw ConcurrentModificationException; long scans do not block writers
+ * - iterator and listIterator are read-only snapshots, as in CopyOnWriteArrayList:
+ *   their remove/set/add throw UnsupportedOperationException
+ * - sort, replaceAll, removeIf and removeRange (subList(i, j).clear()) each
+ *   run as one step under the write lock; subList is a live view that throws
+ *   ConcurrentModificationException once the list is structurally changed
+ *   other than through it
+ */
+public class EpochArrayList<E> extends AbstractList<E> implements RandomAccess, BatchSource<E> {
+    private static final int SHIFT = 8;
+    private static final int CHUNK = 1 << SHIFT;
+    private static final int MASK = CHUNK - 1;
+    private static final int SWEEP = 64;
+
+    /** A published state: its own chunk table, sharing the chunks. */
+    private static final class Version {
+        final Object[][] chunks;
+        final int size;
+        final long epoch;
+        // Weak, so a snapshot dropped without close() stops holding the version
+        final ConcurrentLinkedQueue<WeakReference<Snapshot<?>>> holders = new ConcurrentLinkedQueue<>();
+        // Readers sweep closed holders every SWEEP joins, so read-only use cannot grow the queue
+        final AtomicInteger joins = new AtomicInteger();
+
+        Version(Object[][] chunks, int size, long epoch) {
+            this.chunks = chunks;
+            this.size = size;
+            this.epoch = epoch;
+        }
+
+        boolean isHeld() {
+            for (Iterator<WeakReference<Snapshot<?>>> it = holders.iterator(); it.hasNext(); ) {
+                Snapshot<?> s = it.next().get();
+                if (s == null || s.closed) {
+                    it.remove();
+                }
+            }
+            return !holders.isEmpty();
+        }
+    }
+
+    private final StampedLock lock = new StampedLock();
+    // Writer state, guarded by lock; chunkEpochs[k] is the epoch chunk k was created or copied in
+    private Object[][] chunks = new Object[4][];
+    private long[] chunkEpochs = new long[4];
+    private int size;
+    private long epoch = 1;
+    // Newest epoch that may still be read; chunks from a later epoch are private to the writer
+    private long newestLiveEpoch;
+    private final ArrayDeque<Version> live = new ArrayDeque<>();
+    // The current state as a version, shared by readers; null after a write until the next snapshot()
+    private volatile Version published;
+
+    public EpochArrayList() {
+    }
+
+    public EpochArrayList(Collection<? extends E> c) {
+        addAll(c);
+    }
+
+    // ---------------------------------------------------------------- reads
+
+    @Override
+    public int size() {
+        long stamp = lock.tryOptimisticRead();
+        int s = size;
+        if (lock.validate(stamp)) {
+            return s;
+        }
+        stamp = lock.readLock();
+        try {
+            return size;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            Object[][] c = chunks;
+            int s = size;
+            // The fields may be torn; only trust them after validate()
+            Object e = null;
+            if (index >= 0 && index < s && (index >>> SHIFT) < c.length) {
+                Object[] chunk = c[index >>> SHIFT];
+                e = chunk == null ? null : chunk[index & MASK];
+            }
+            if (lock.validate(stamp)) {
+                checkIndex(index, s);
+                return (E) e;
+            }
+        }
+        stamp = lock.readLock();
+        try {
+            checkIndex(index, size);
+            return (E) chunks[index >>> SHIFT][index & MASK];
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Consistent read-only view of the list as it is now; O(1) when no write
+     * happened since the last snapshot, O(n / 256) otherwise. Close it when
+     * done so writers can stop copying the chunks it shares.
+     */
+    public Snapshot<E> snapshot() {
+        Version v = published;
+        if (v != null) {
+            Snapshot<E> s = new Snapshot<>(v);
+            // A writer retires published before it checks holders, so one of us sees the other
+            if (published == v) {
+                return s;
+            }
+            s.close();
+        }
+        long stamp = lock.writeLock();
+        try {
+            v = published;
+            if (v == null) {
+                // Append-only writers never reach writableChunk, so drop released versions here too
+                newestHeldEpoch();
+                v = new Version(Arrays.copyOf(chunks, (size + MASK) >>> SHIFT), size, epoch++);
+                live.add(v);
+                newestLiveEpoch = v.epoch;
+                published = v;
+            }
+            return new Snapshot<>(v);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /** Iterates a snapshot; released when the iteration reaches the end. */
+    @Override
+    public Iterator<E> iterator() {
+        Snapshot<E> s = snapshot();
+        return new Iterator<E>() {
+            private final Object[][] c = s.version.chunks;
+            private final int end = s.version.size;
+            private Object[] chunk;
+            private int next;
+
+            public boolean hasNext() {
+                if (next < end) {
+                    return true;
+                }
+                s.close();
+                return false;
+            }
+
+            @SuppressWarnings("unchecked")
+            public E next() {
+                if (next >= end) {
+                    throw new NoSuchElementException();
+                }
+                if ((next & MASK) == 0) {
+                    chunk = c[next >>> SHIFT];
+                }
+                return (E) chunk[next++ & MASK];
+            }
+        };
+    }
+
+    @Override
+    public void forEach(Consumer<? super E> action) {
+        try (Snapshot<E> s = snapshot()) {
+            s.forEach(action);
+        }
+    }
+
+    @Override
+    public BatchCursor<E> batchCursor() {
+        return cursorOf(snapshot());
+    }
+
+    @Override
+    public Spliterator<E> spliterator() {
+        Snapshot<E> s = snapshot();
+        return new BatchSpliterator<>(cursorOf(s), s.size(), Spliterator.ORDERED | Spliterator.IMMUTABLE);
+    }
+
+    /** Cursor over s that closes it at the end. */
+    private static <E> BatchCursor<E> cursorOf(Snapshot<E> s) {
+        return new BatchCursor<E>() {
+            private int next;
+
+            public int nextBatch(E[] dst, int offset, int length) {
+                int copied = 0;
+                int end = s.version.size;
+                while (copied < length && next < end) {
+                    int n = Math.min(Math.min(length - copied, CHUNK - (next & MASK)), end - next);
+                    System.arraycopy(s.version.chunks[next >>> SHIFT], next & MASK, dst, offset + copied, n);
+                    copied += n;
+                    next += n;
+                }
+                if (next == end) {
+                    s.close();
+                }
+                return copied;
+            }
+        };
+    }
+
+    @Override
+    public int indexOf(Object o) {
+        try (Snapshot<E> s = snapshot()) {
+            return s.indexOf(o);
+        }
+    }
+
+    @Override
+    public int lastIndexOf(Object o) {
+        try (Snapshot<E> s = snapshot()) {
+            return s.lastIndexOf(o);
+        }
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return indexOf(o) >= 0;
+    }
+
+    /** Read-only, on a snapshot that is released when it becomes unreachable. */
+    @Override
+    public ListIterator<E> listIterator(int index) {
+        return snapshot().listIterator(index);
+    }
+
+    // ---------------------------------------------------------------- writes
+
+    @Override
+    public E set(int index, E element) {
+        long stamp = lock.writeLock();
+        try {
+            checkIndex(index, size);
+            retirePublished();
+            Object[] chunk = writableChunk(index >>> SHIFT);
+            @SuppressWarnings("unchecked")
+            E old = (E) chunk[index & MASK];
+            chunk[index & MASK] = element;
+            return old;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public boolean add(E e) {
+        long stamp = lock.writeLock();
+        try {
+            retirePublished();
+            append(e);
+            modCount++;
+            return true;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends E> c) {
+        Object[] a = c.toArray();
+        if (a.length == 0) {
+            return false;
+        }
+        long stamp = lock.writeLock();
+        try {
+            retirePublished();
+            for (Object e : a) {
+                append(e);
+            }
+            modCount++;
+            return true;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public void add(int index, E element) {
+        long stamp = lock.writeLock();
+        try {
+            if (index < 0 || index > size) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+            }
+            retirePublished();
+            if (index == size) {
+                append(element);
+            } else {
+                insert(index, element);
+            }
+            modCount++;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public E remove(int index) {
+        long stamp = lock.writeLock();
+        try {
+            checkIndex(index, size);
+            retirePublished();
+            modCount++;
+            return removeAt(index);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /** Removes the first occurrence of o; the search and the removal are one atomic step. */
+    @Override
+    public boolean remove(Object o) {
+        long stamp = lock.writeLock();
+        try {
+            for (int i = 0; i < size; i++) {
+                if (Objects.equals(o, chunks[i >>> SHIFT][i & MASK])) {
+                    retirePublished();
+                    modCount++;
+                    removeAt(i);
+                    return true;
+                }
+            }
+            return false;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /** One compaction pass under the write lock. */
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean removeIf(Predicate<? super E> filter) {
+        Objects.requireNonNull(filter);
+        long stamp = lock.writeLock();
+        try {
+            retirePublished();
+            int w = 0;
+            for (int r = 0; r < size; r++) {
+                Object e = chunks[r >>> SHIFT][r & MASK];
+                if (filter.test((E) e)) {
+                    continue;
+                }
+                if (w != r) {
+                    writableChunk(w >>> SHIFT)[w & MASK] = e;
+                }
+                w++;
+            }
+            if (w == size) {
+                return false;
+            }
+            truncate(w);
+            modCount++;
+            return true;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /** Backs subList(from, to).clear(): one compaction pass under the write lock. */
+    @Override
+    protected void removeRange(int fromIndex, int toIndex) {
+        long stamp = lock.writeLock();
+        try {
+            if (fromIndex < 0 || toIndex > size || fromIndex > toIndex) {
+                throw new IndexOutOfBoundsException("from: " + fromIndex + ", to: " + toIndex + ", size: " + size);
+            }
+            if (fromIndex == toIndex) {
+                return;
+            }
+            retirePublished();
+            int w = fromIndex;
+            for (int r = toIndex; r < size; r++, w++) {
+                writableChunk(w >>> SHIFT)[w & MASK] = chunks[r >>> SHIFT][r & MASK];
+            }
+            truncate(w);
+            modCount++;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /** Sorts a copy, then writes it back under the write lock: snapshots see all or nothing. */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void sort(Comparator<? super E> c) {
+        long stamp = lock.writeLock();
+        try {
+            Object[] sorted = copyElements();
+            Arrays.sort(sorted, (Comparator<Object>) c);
+            retirePublished();
+            writeBack(sorted);
+            modCount++;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /** Applies operator to a copy first, so an exception leaves the list unchanged. */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void replaceAll(UnaryOperator<E> operator) {
+        Objects.requireNonNull(operator);
+        long stamp = lock.writeLock();
+        try {
+            Object[] replaced = copyElements();
+            for (int i = 0; i < replaced.length; i++) {
+                replaced[i] = operator.apply((E) replaced[i]);
+            }
+            retirePublished();
+            writeBack(replaced);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> c) {
+        Objects.requireNonNull(c);
+        return removeIf(c::contains);
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> c) {
+        Objects.requireNonNull(c);
+        return removeIf(e -> !c.contains(e));
+    }
+
+    /** Starts from an empty table; open snapshots keep the old one. */
+    @Override
+    public void clear() {
+        long stamp = lock.writeLock();
+        try {
+            retirePublished();
+            chunks = new Object[4][];
+            chunkEpochs = new long[4];
+            size = 0;
+            modCount++;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    // ---------------------------------------------------------------- storage (write lock held)
+
+    /** Must run before the first change of every write: readers can no longer join the old version. */
+    private void retirePublished() {
+        if (published != null) {
+            published = null;
+        }
+    }
+
+    private Object[] writableChunk(int k) {
+        if (chunkEpochs[k] <= newestLiveEpoch && chunkEpochs[k] <= (newestLiveEpoch = newestHeldEpoch())) {
+            chunks[k] = chunks[k].clone();
+            chunkEpochs[k] = epoch;
+        }
+        return chunks[k];
+    }
+
+    /** Drops versions nobody holds any more; returns the newest epoch still held, 0 if none. */
+    private long newestHeldEpoch() {
+        long newest = 0;
+        for (Iterator<Version> it = live.iterator(); it.hasNext(); ) {
+            Version v = it.next();
+            if (v != published && !v.isHeld()) {
+                it.remove();
+            } else {
+                newest = Math.max(newest, v.epoch);
+            }
+        }
+        return newest;
+    }
+
+    private void append(Object e) {
+        int k = size >>> SHIFT;
+        if ((size & MASK) == 0) {
+            if (k == chunks.length) {
+                chunks = Arrays.copyOf(chunks, k * 2);
+                chunkEpochs = Arrays.copyOf(chunkEpochs, k * 2);
+            }
+            chunks[k] = new Object[CHUNK];
+            chunkEpochs[k] = epoch;
+        }
+        // No copy even if the chunk is shared: every snapshot ends at or before this
+        // slot (shrinking below it would have copied the chunk)
+        chunks[k][size & MASK] = e;
+        size++;
+    }
+
+    private void insert(int index, Object element) {
+        append(null);
+        int first = index >>> SHIFT;
+        int last = (size - 1) >>> SHIFT;
+        int lastCount = size - (last << SHIFT);
+        // Shift right by one from the back; each chunk takes the previous chunk's last element
+        for (int k = last; k > first; k--) {
+            Object[] chunk = writableChunk(k);
+            System.arraycopy(chunk, 0, chunk, 1, (k == last ? lastCount : CHUNK) - 1);
+            chunk[0] = chunks[k - 1][CHUNK - 1];
+        }
+        Object[] chunk = writableChunk(first);
+        int offset = index & MASK;
+        System.arraycopy(chunk, offset, chunk, offset + 1, (first == last ? lastCount : CHUNK) - offset - 1);
+        chunk[offset] = element;
+    }
+
+    @SuppressWarnings("unchecked")
+    private E removeAt(int index) {
+        int first = index >>> SHIFT;
+        int last = (size - 1) >>> SHIFT;
+        int lastCount = size - (last << SHIFT);
+        Object[] chunk = writableChunk(first);
+        int offset = index & MASK;
+        E old = (E) chunk[offset];
+        System.arraycopy(chunk, offset + 1, chunk, offset, (first == last ? lastCount : CHUNK) - offset - 1);
+        // Pull one element back across each following chunk boundary
+        for (int k = first + 1; k <= last; k++) {
+            Object[] next = writableChunk(k);
+            chunk[CHUNK - 1] = next[0];
+            System.arraycopy(next, 1, next, 0, (k == last ? lastCount : CHUNK) - 1);
+            chunk = next;
+        }
+        size--;
+        chunk[size & MASK] = null;
+        if ((size & MASK) == 0) {
+            chunks[last] = null;
+        }
+        return old;
+    }
+
+    private Object[] copyElements() {
+        Object[] a = new Object[size];
+        for (int base = 0; base < size; base += CHUNK) {
+            System.arraycopy(chunks[base >>> SHIFT], 0, a, base, Math.min(CHUNK, size - base));
+        }
+        return a;
+    }
+
+    /** Overwrites the first a.length elements, copying chunks that snapshots still share. */
+    private void writeBack(Object[] a) {
+        for (int base = 0; base < a.length; base += CHUNK) {
+            System.arraycopy(a, base, writableChunk(base >>> SHIFT), 0, Math.min(CHUNK, a.length - base));
+        }
+    }
+
+    private void truncate(int newSize) {
+        int keep = (newSize + MASK) >>> SHIFT;
+        int used = (size + MASK) >>> SHIFT;
+        Arrays.fill(chunks, keep, used, null);
+        if ((newSize & MASK) != 0) {
+            Object[] tail = writableChunk(newSize >>> SHIFT);
+            Arrays.fill(tail, newSize & MASK, CHUNK, null);
+        }
+        size = newSize;
+    }
+
+    private static void checkIndex(int index, int size) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    /**
+     * Snapshot - Immutable view of one version of an EpochArrayList
+     * - Reads never lock and never see later writes
+     * - close() tells writers they may edit the shared chunks in place again;
+     *   a snapshot that is never closed is released when garbage collected
+     * - Unusable after close(); single-threaded use per Snapshot object
+     */
+    public static final class Snapshot<E> extends AbstractList<E> implements RandomAccess, AutoCloseable {
+        private final Version version;
+        // Read by writers deciding whether the version is still held
+        private volatile boolean closed;
+
+        Snapshot(Version version) {
+            this.version = version;
+            version.holders.offer(new WeakReference<>(this));
+            if (version.joins.incrementAndGet() % SWEEP == 0) {
+                version.isHeld();
+            }
+        }
+
+        /** Version number; snapshots with the same epoch show the same contents. */
+        public long epoch() {
+            return version.epoch;
+        }
+
+        @Override
+        public int size() {
+            return version.size;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public E get(int index) {
+            if (closed) {
+                throw new IllegalStateException("Snapshot closed");
+            }
+            checkIndex(index, version.size);
+            return (E) version.chunks[index >>> SHIFT][index & MASK];
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void forEach(Consumer<? super E> action) {
+            Objects.requireNonNull(action);
+            if (closed) {
+                throw new IllegalStateException("Snapshot closed");
+            }
+            Object[][] c = version.chunks;
+            for (int base = 0, n = version.size; base < n; base += CHUNK) {
+                Object[] chunk = c[base >>> SHIFT];
+                for (int i = 0, end = Math.min(CHUNK, n - base); i < end; i++) {
+                    action.accept((E) chunk[i]);
+                }
+            }
+            // Volatile read of this after the scan: keeps the snapshot reachable until here, so it
+            // cannot be collected mid-scan and let writers edit c in place (Java 8 has no reachabilityFence)
+            if (closed) {
+                throw new IllegalStateException("Snapshot closed during forEach");
+            }
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}
@@ -0,0 +1,422 @@
+package com.java.collections.concurrent;
+
+import java.util.*;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * MpmcArrayQueue - Bounded multi-producer/multi-consumer ring buffer queue
+ * - Every slot carries a sequence number (Dmitry Vyukov's bounded MPMC queue,
+ *   the same idea as the LMAX Disruptor): a producer or consumer claims a slot
+ *   with one CAS on the tail or head, then hands it over by publishing the
+ *   slot's next sequence; no locks and no node allocation per message
+ * - Head and tail counters sit on their own padded cache lines, so producers
+ *   and consumers do not invalidate each other's line (false sharing)
+ * - offerBatch/drainTo claim a whole run of slots with a single CAS
+ * - Blocking put/take wait according to a WaitStrategy (spin, yield, park)
+ * - Capacity is rounded up to a power of two; null elements are not allowed
+ * - iterator()/toArray()/contains() work on a weakly consistent snapshot of
+ *   the published elements; remove(Object) and Iterator.remove() are not
+ *   supported (a slot in the middle of the ring cannot be removed lock-free)
+ * - Thread-safe; alternative to LinkedList-as-Queue and ArrayBlockingQueue
+ *   for inter-thread handoff
+ */
+public class MpmcArrayQueue<E> extends AbstractQueue<E> implements BlockingQueue<E> {
+
+    /** How blocking operations wait while the queue is full (put) or empty (take). */
+    public enum WaitStrategy {
+        /** Busy spin: lowest latency, burns a core per waiting thread. */
+        SPIN {
+            @Override
+            void idle(int attempt) {
+            }
+        },
+        /** Spin briefly, then give the core to other threads with Thread.yield(). */
+        YIELD {
+            @Override
+            void idle(int attempt) {
+                if (attempt > SPIN_TRIES) {
+                    Thread.yield();
+                }
+            }
+        },
+        /** Spin, then yield, then park for short intervals: lowest CPU use. */
+        PARK {
+            @Override
+            void idle(int attempt) {
+                if (attempt > 2 * SPIN_TRIES) {
+                    LockSupport.parkNanos(PARK_NANOS);
+                } else if (attempt > SPIN_TRIES) {
+                    Thread.yield();
+                }
+            }
+        };
+
+        private static final int SPIN_TRIES = 100;
+        private static final long PARK_NANOS = 50_000;
+
+        abstract void idle(int attempt);
+    }
+
+    // Padding on both sides keeps the counter alone on its cache line; the
+    // class hierarchy fixes the field order (a JVM may reorder within a class)
+    abstract static class LeftPadding {
+        long p00, p01, p02, p03, p04, p05, p06, p07;
+    }
+
+    abstract static class Counter extends LeftPadding {
+        volatile long value;
+    }
+
+    static final class PaddedCounter extends Counter {
+        long p10, p11, p12, p13, p14, p15, p16, p17;
+
+        private static final AtomicLongFieldUpdater<Counter> VALUE =
+                AtomicLongFieldUpdater.newUpdater(Counter.class, "value");
+
+        long get() {
+            return value;
+        }
+
+        boolean compareAndSet(long expect, long update) {
+            return VALUE.compareAndSet(this, expect, update);
+        }
+    }
+
+    private final int capacity;
+    private final int mask;
+    private final Object[] buffer;
+    private final AtomicLongArray sequences;
+    private final WaitStrategy waitStrategy;
+    private final PaddedCounter tail = new PaddedCounter();
+    private final PaddedCounter head = new PaddedCounter();
+
+    /** Queue with room for at least capacity elements, parking when blocked. */
+    public MpmcArrayQueue(int capacity) {
+        this(capacity, WaitStrategy.PARK);
+    }
+
+    public MpmcArrayQueue(int capacity, WaitStrategy waitStrategy) {
+        if (capacity < 2 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Illegal capacity: " + capacity);
+        }
+        this.capacity = Integer.highestOneBit(capacity - 1) << 1;
+        this.mask = this.capacity - 1;
+        this.buffer = new Object[this.capacity];
+        this.sequences = new AtomicLongArray(this.capacity);
+        for (int i = 0; i < this.capacity; i++) {
+            sequences.lazySet(i, i);
+        }
+        this.waitStrategy = Objects.requireNonNull(waitStrategy);
+    }
+
+    // ---------------------------------------------------------------- single element
+
+    @Override
+    public boolean offer(E e) {
+        if (e == null) {
+            throw new NullPointerException();
+        }
+        long pos = tail.get();
+        while (true) {
+            int index = (int) pos & mask;
+            long dif = sequences.get(index) - pos;
+            if (dif == 0) {
+                if (tail.compareAndSet(pos, pos + 1)) {
+                    buffer[index] = e;
+                    // Ordered store publishes the element to the consumer that reads this sequence
+                    sequences.lazySet(index, pos + 1);
+                    return true;
+                }
+            } else if (dif < 0 && pos - capacity >= head.get()) {
+                return false;
+            }
+            // Lost the race, or a consumer is still emptying the slot
+            pos = tail.get();
+        }
+    }
+
+    @Override
+    public E poll() {
+        long pos = head.get();
+        while (true) {
+            int index = (int) pos & mask;
+            long dif = sequences.get(index) - (pos + 1);
+            if (dif == 0) {
+                if (head.compareAndSet(pos, pos + 1)) {
+                    @SuppressWarnings("unchecked")
+                    E e = (E) buffer[index];
+                    buffer[index] = null;
+                    sequences.lazySet(index, pos + capacity);
+                    return e;
+                }
+            } else if (dif < 0 && pos >= tail.get()) {
+                return null;
+            }
+            pos = head.get();
+        }
+    }
+
+    /** Head element or null; may already be gone by the time the caller looks at it. */
+    @Override
+    @SuppressWarnings("unchecked")
+    public E peek() {
+        while (true) {
+            long pos = head.get();
+            int index = (int) pos & mask;
+            if (sequences.get(index) != pos + 1) {
+                if (pos >= tail.get()) {
+                    return null;
+                }
+                continue;
+            }
+            E e = (E) buffer[index];
+            if (head.get() == pos && e != null) {
+                return e;
+            }
+        }
+    }
+
+    // ---------------------------------------------------------------- batches
+
+    /** Offers every element of items; returns how many (a prefix) were enqueued. */
+    public int offerBatch(E[] items) {
+        return offerBatch(items, 0, items.length);
+    }
+
+    /**
+     * Enqueues a prefix of items[offset, offset + length) with one CAS on the
+     * tail; returns how many were enqueued, 0 if the queue is full.
+     */
+    public int offerBatch(E[] items, int offset, int length) {
+        if (offset < 0 || length < 0 || offset + length > items.length) {
+            throw new IndexOutOfBoundsException("offset " + offset + ", length " + length);
+        }
+        for (int i = offset; i < offset + length; i++) {
+            if (items[i] == null) {
+                throw new NullPointerException("items[" + i + "]");
+            }
+        }
+        long pos;
+        int n;
+        do {
+            pos = tail.get();
+            n = (int) Math.min(length, capacity - (pos - head.get()));
+            if (n <= 0) {
+                return 0;
+            }
+        } while (!tail.compareAndSet(pos, pos + n));
+        // Every claimed slot has been claimed by a consumer a lap ago; wait for it to be emptied
+        for (int k = 0; k < n; k++) {
+            long p = pos + k;
+            int index = (int) p & mask;
+            awaitSequence(index, p);
+            buffer[index] = items[offset + k];
+            sequences.lazySet(index, p + 1);
+        }
+        return n;
+    }
+
+    /**
+     * Removes up to maxElements with one CAS on the head and hands them to
+     * consumer in FIFO order; returns the count. If the consumer throws, the
+     * rest of the claimed batch is still handed to it and the first exception
+     * is rethrown afterwards, so no claimed slot is left behind.
+     */
+    public int drainTo(Consumer<? super E> consumer, int maxElements) {
+        Objects.requireNonNull(consumer);
+        long pos;
+        int n;
+        do {
+            pos = head.get();
+            n = (int) Math.min(maxElements, tail.get() - pos);
+            if (n <= 0) {
+                return 0;
+            }
+        } while (!head.compareAndSet(pos, pos + n));
+        RuntimeException failure = null;
+        for (int k = 0; k < n; k++) {
+            long p = pos + k;
+            int index = (int) p & mask;
+            // The producer that claimed this slot may still be writing it
+            awaitSequence(index, p + 1);
+            @SuppressWarnings("unchecked")
+            E e = (E) buffer[index];
+            buffer[index] = null;
+            sequences.lazySet(index, p + capacity);
+            try {
+                consumer.accept(e);
+            } catch (RuntimeException ex) {
+                if (failure == null) {
+                    failure = ex;
+                } else {
+                    failure.addSuppressed(ex);
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+        return n;
+    }
+
+    @Override
+    public int drainTo(Collection<? super E> c) {
+        return drainTo(c, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public int drainTo(Collection<? super E> c, int maxElements) {
+        if (c == this) {
+            throw new IllegalArgumentException("Cannot drain a queue into itself");
+        }
+        return drainTo(c::add, maxElements);
+    }
+
+    /** Waits for a slot another thread has claimed but not yet handed over; always brief. */
+    private void awaitSequence(int index, long expected) {
+        for (int attempt = 0; sequences.get(index) != expected; attempt++) {
+            if (attempt > 64) {
+                Thread.yield();
+            }
+        }
+    }
+
+    // ---------------------------------------------------------------- blocking
+
+    @Override
+    public void put(E e) throws InterruptedException {
+        for (int attempt = 0; !offer(e); attempt++) {
+            checkInterrupt();
+            waitStrategy.idle(attempt);
+        }
+    }
+
+    @Override
+    public boolean offer(E e, long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        for (int attempt = 0; !offer(e); attempt++) {
+            checkInterrupt();
+            if (System.nanoTime() - deadline >= 0) {
+                return false;
+            }
+            waitStrategy.idle(attempt);
+        }
+        return true;
+    }
+
+    @Override
+    public E take() throws InterruptedException {
+        E e;
+        for (int attempt = 0; (e = poll()) == null; attempt++) {
+            checkInterrupt();
+            waitStrategy.idle(attempt);
+        }
+        return e;
+    }
+
+    @Override
+    public E poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        E e;
+        for (int attempt = 0; (e = poll()) == null; attempt++) {
+            checkInterrupt();
+            if (System.nanoTime() - deadline >= 0) {
+                return null;
+            }
+            waitStrategy.idle(attempt);
+        }
+        return e;
+    }
+
+    private static void checkInterrupt() throws InterruptedException {
+        if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+    }
+
+    // ---------------------------------------------------------------- size
+
+    /** Number of elements at some instant during the call (claimed slots count). */
+    @Override
+    public int size() {
+        long after = head.get();
+        while (true) {
+            long before = after;
+            long t = tail.get();
+            after = head.get();
+            if (before == after) {
+                return (int) Math.max(0, Math.min(capacity, t - after));
+            }
+        }
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return head.get() >= tail.get();
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    @Override
+    public int remainingCapacity() {
+        return capacity - size();
+    }
+
+    /**
+     * Copies the elements that were published and not yet taken, in FIFO
+     * order. A slot counts only if its sequence reads the same before and
+     * after the element is read, so a slot refilled on the next lap is skipped.
+     */
+    private Object[] snapshot() {
+        long from = head.get();
+        long to = tail.get();
+        Object[] out = new Object[(int) Math.max(0, Math.min(capacity, to - from))];
+        int n = 0;
+        for (long pos = from; pos < from + out.length; pos++) {
+            int index = (int) pos & mask;
+            if (sequences.get(index) != pos + 1) {
+                // Not yet published, or already taken
+                continue;
+            }
+            Object e = buffer[index];
+            if (e != null && sequences.get(index) == pos + 1) {
+                out[n++] = e;
+            }
+        }
+        return n == out.length ? out : Arrays.copyOf(out, n);
+    }
+
+    /**
+     * Weakly consistent iterator over a snapshot taken now: never throws
+     * ConcurrentModificationException, does not see later offers, and
+     * does not support remove().
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public Iterator<E> iterator() {
+        return Collections.unmodifiableList((List<E>) Arrays.asList(snapshot())).iterator();
+    }
+
+    @Override
+    public Object[] toArray() {
+        return snapshot();
+    }
+
+    /** Not supported: a slot in the middle of the ring cannot be removed without a lock. */
+    @Override
+    public boolean remove(Object o) {
+        throw new UnsupportedOperationException("MpmcArrayQueue only removes from the head");
+    }
+
+    @Override
+    public String toString() {
+        return "MpmcArrayQueue[size=" + size() + ", capacity=" + capacity + "]";
+    }
+}
@@ -0,0 +1,538 @@
+package com.java.collections.concurrent;
+
+import com.java.collections.list.ArraySortable;
+import com.java.collections.list.BatchCursor;
+import com.java.collections.list.BatchSource;
+import com.java.collections.list.BulkRemovable;
+import com.java.collections.list.ListRemovals;
+
+import java.util.*;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * StampedArrayList - Thread-safe array list tuned for read-mostly use
+ * - get/size/contains/indexOf read optimistically: no lock, no CAS, no
+ *   shared write; the read is retried under a read lock only if a writer
+ *   interfered (StampedLock.validate)
+ * - Writers take the exclusive write lock; sort, sortArray, replaceAll and
+ *   the bulk removals (removeIf/removeAll/retainAll) each run as one step under it
+ * - Iterators copy small validated chunks, so they never throw
+ *   ConcurrentModificationException (weakly consistent, like
+ *   ConcurrentHashMap iterators); only Iterator.remove throws it, when a
+ *   concurrent writer has moved the element it would remove
+ * - Alternative to Vector / Collections.synchronizedList, whose readers
+ *   all contend on one monitor
+ */
+public class StampedArrayList<E> extends AbstractList<E> implements RandomAccess, BulkRemovable, BatchSource<E>,
+        ArraySortable {
+    private static final int DEFAULT_CAPACITY = 10;
+    private static final int ITERATOR_CHUNK = 64;
+
+    private final StampedLock lock = new StampedLock();
+    private Object[] elements;
+    private int size;
+
+    public StampedArrayList() {
+        this.elements = new Object[DEFAULT_CAPACITY];
+    }
+
+    public StampedArrayList(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Illegal capacity: " + initialCapacity);
+        }
+        this.elements = new Object[initialCapacity];
+    }
+
+    public StampedArrayList(Collection<? extends E> c) {
+        Object[] a = c.toArray();
+        this.elements = Arrays.copyOf(a, a.length, Object[].class);
+        this.size = a.length;
+    }
+
+    // ---------------------------------------------------------------- optimistic reads
+
+    @Override
+    public int size() {
+        long stamp = lock.tryOptimisticRead();
+        int s = size;
+        if (lock.validate(stamp)) {
+            return s;
+        }
+        stamp = lock.readLock();
+        try {
+            return size;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            Object[] a = elements;
+            int s = size;
+            // The fields may be torn; only trust them after validate()
+            Object e = index >= 0 && index < s && index < a.length ? a[index] : null;
+            if (lock.validate(stamp)) {
+                checkIndex(index, s);
+                return (E) e;
+            }
+        }
+        stamp = lock.readLock();
+        try {
+            checkIndex(index, size);
+            return (E) elements[index];
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public int indexOf(Object o) {
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            Object[] a = elements;
+            int s = Math.min(size, a.length);
+            int found = scanForward(a, s, o);
+            if (lock.validate(stamp)) {
+                return found;
+            }
+        }
+        stamp = lock.readLock();
+        try {
+            return scanForward(elements, size, o);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public int lastIndexOf(Object o) {
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            Object[] a = elements;
+            int s = Math.min(size, a.length);
+            int found = scanBackward(a, s, o);
+            if (lock.validate(stamp)) {
+                return found;
+            }
+        }
+        stamp = lock.readLock();
+        try {
+            return scanBackward(elements, size, o);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return indexOf(o) >= 0;
+    }
+
+    private static int scanForward(Object[] a, int s, Object o) {
+        for (int i = 0; i < s; i++) {
+            if (Objects.equals(o, a[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int scanBackward(Object[] a, int s, Object o) {
+        for (int i = s - 1; i >= 0; i--) {
+            if (Objects.equals(o, a[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Copies up to length elements starting at from into dst[offset..], as one
+     * consistent read. Returns the count copied, 0 once from reaches the end.
+     */
+    int readChunk(int from, Object[] dst, int offset, int length) {
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            Object[] a = elements;
+            int n = Math.max(0, Math.min(Math.min(size, a.length) - from, length));
+            if (n > 0) {
+                System.arraycopy(a, from, dst, offset, n);
+            }
+            if (lock.validate(stamp)) {
+                return n;
+            }
+        }
+        stamp = lock.readLock();
+        try {
+            int n = Math.max(0, Math.min(size - from, length));
+            if (n > 0) {
+                System.arraycopy(elements, from, dst, offset, n);
+            }
+            return n;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return new ChunkIterator();
+    }
+
+    /** Weakly consistent like the iterator: each batch is one validated snapshot copy. */
+    @Override
+    public BatchCursor<E> batchCursor() {
+        return new BatchCursor<E>() {
+            private int next;
+
+            public int nextBatch(E[] dst, int offset, int length) {
+                int n = readChunk(next, dst, offset, length);
+                next += n;
+                return n;
+            }
+        };
+    }
+
+    @Override
+    public void forEach(Consumer<? super E> action) {
+        Objects.requireNonNull(action);
+        for (Iterator<E> it = iterator(); it.hasNext(); ) {
+            action.accept(it.next());
+        }
+    }
+
+    @Override
+    public Object[] toArray() {
+        long stamp = lock.readLock();
+        try {
+            return Arrays.copyOf(elements, size);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    // ---------------------------------------------------------------- writes
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E set(int index, E element) {
+        long stamp = lock.writeLock();
+        try {
+            checkIndex(index, size);
+            E old = (E) elements[index];
+            elements[index] = element;
+            return old;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public boolean add(E e) {
+        long stamp = lock.writeLock();
+        try {
+            if (size == elements.length) {
+                grow();
+            }
+            elements[size++] = e;
+            modCount++;
+            return true;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public void add(int index, E element) {
+        long stamp = lock.writeLock();
+        try {
+            if (index < 0 || index > size) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+            }
+            if (size == elements.length) {
+                grow();
+            }
+            System.arraycopy(elements, index, elements, index + 1, size - index);
+            elements[index] = element;
+            size++;
+            modCount++;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E remove(int index) {
+        long stamp = lock.writeLock();
+        try {
+            checkIndex(index, size);
+            E old = (E) elements[index];
+            int moved = size - index - 1;
+            if (moved > 0) {
+                System.arraycopy(elements, index + 1, elements, index, moved);
+            }
+            elements[--size] = null;
+            modCount++;
+            return old;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /** Removes the first occurrence of o; the search and the removal are one atomic step. */
+    @Override
+    public boolean remove(Object o) {
+        long stamp = lock.writeLock();
+        try {
+            int index = scanForward(elements, size, o);
+            if (index < 0) {
+                return false;
+            }
+            int moved = size - index - 1;
+            if (moved > 0) {
+                System.arraycopy(elements, index + 1, elements, index, moved);
+            }
+            elements[--size] = null;
+            modCount++;
+            return true;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /** Appends e unless it is already present, atomically. */
+    public boolean addIfAbsent(E e) {
+        long stamp = lock.writeLock();
+        try {
+            if (scanForward(elements, size, e) >= 0) {
+                return false;
+            }
+            if (size == elements.length) {
+                grow();
+            }
+            elements[size++] = e;
+            modCount++;
+            return true;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /** Removes the elements at the set bits of indices in one atomic compaction pass. */
+    @Override
+    public int removeAllAt(BitSet indices) {
+        long stamp = lock.writeLock();
+        try {
+            int newSize = ListRemovals.compact(elements, size, indices);
+            int removed = size - newSize;
+            if (removed > 0) {
+                size = newSize;
+                modCount++;
+            }
+            return removed;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /** One compaction pass under the write lock, instead of an iterator remove() per match. */
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean removeIf(Predicate<? super E> filter) {
+        Objects.requireNonNull(filter);
+        long stamp = lock.writeLock();
+        try {
+            Object[] a = elements;
+            int w = 0;
+            for (int r = 0; r < size; r++) {
+                Object e = a[r];
+                if (!filter.test((E) e)) {
+                    a[w++] = e;
+                }
+            }
+            if (w == size) {
+                return false;
+            }
+            Arrays.fill(a, w, size, null);
+            size = w;
+            modCount++;
+            return true;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> c) {
+        Objects.requireNonNull(c);
+        return removeIf(c::contains);
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> c) {
+        Objects.requireNonNull(c);
+        return removeIf(e -> !c.contains(e));
+    }
+
+    /** Backs subList(from, to).clear(): one arraycopy under the write lock. */
+    @Override
+    protected void removeRange(int fromIndex, int toIndex) {
+        long stamp = lock.writeLock();
+        try {
+            if (fromIndex < 0 || toIndex > size || fromIndex > toIndex) {
+                throw new IndexOutOfBoundsException("from: " + fromIndex + ", to: " + toIndex + ", size: " + size);
+            }
+            System.arraycopy(elements, toIndex, elements, fromIndex, size - toIndex);
+            int newSize = size - (toIndex - fromIndex);
+            Arrays.fill(elements, newSize, size, null);
+            size = newSize;
+            modCount++;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /** Replaces every element under the write lock: readers never see a half-updated list. */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void replaceAll(UnaryOperator<E> operator) {
+        Objects.requireNonNull(operator);
+        long stamp = lock.writeLock();
+        try {
+            Object[] a = elements;
+            for (int i = 0; i < size; i++) {
+                a[i] = operator.apply((E) a[i]);
+            }
+            modCount++;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /** Sorts the backing array in place through sortArray, not List.sort's toArray/set round trip. */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void sort(Comparator<? super E> c) {
+        sortArray((a, from, to) -> Arrays.sort(a, from, to, (Comparator<Object>) c));
+    }
+
+    /** Keeps only [fromIndex, toIndex), atomically. */
+    @Override
+    public void retainRange(int fromIndex, int toIndex) {
+        long stamp = lock.writeLock();
+        try {
+            size = ListRemovals.retain(elements, size, fromIndex, toIndex);
+            modCount++;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /** Runs sorter on the backing array under the write lock: readers see the list before or after the sort. */
+    @Override
+    public void sortArray(RangeSorter sorter) {
+        long stamp = lock.writeLock();
+        try {
+            sorter.sort(elements, 0, size);
+            modCount++;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public void clear() {
+        long stamp = lock.writeLock();
+        try {
+            Arrays.fill(elements, 0, size, null);
+            size = 0;
+            modCount++;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    private void grow() {
+        int oldCapacity = elements.length;
+        int newCapacity = Math.max(oldCapacity + (oldCapacity >> 1), DEFAULT_CAPACITY);
+        elements = Arrays.copyOf(elements, newCapacity);
+    }
+
+    private static void checkIndex(int index, int size) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    /**
+     * Removes the element at index if it is still expected (by identity).
+     *
+     * @throws ConcurrentModificationException if a concurrent writer moved or removed it
+     */
+    private void removeIfAt(int index, Object expected) {
+        long stamp = lock.writeLock();
+        try {
+            if (index >= size || elements[index] != expected) {
+                throw new ConcurrentModificationException("element at " + index + " was moved by a concurrent write");
+            }
+            int moved = size - index - 1;
+            if (moved > 0) {
+                System.arraycopy(elements, index + 1, elements, index, moved);
+            }
+            elements[--size] = null;
+            modCount++;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /** Walks the list in validated chunks; only remove() can throw ConcurrentModificationException. */
+    private final class ChunkIterator implements Iterator<E> {
+        private final Object[] buffer = new Object[ITERATOR_CHUNK];
+        private int cursor;
+        private int count;
+        private int position;
+        private int lastRet = -1;
+        private Object lastElement;
+
+        public boolean hasNext() {
+            if (cursor < count) {
+                return true;
+            }
+            position += count;
+            count = readChunk(position, buffer, 0, buffer.length);
+            cursor = 0;
+            return count > 0;
+        }
+
+        @SuppressWarnings("unchecked")
+        public E next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            lastRet = position + cursor;
+            lastElement = buffer[cursor];
+            return (E) buffer[cursor++];
+        }
+
+        /** Removes the returned element, and only it: throws instead if a racing writer shifted it. */
+        public void remove() {
+            if (lastRet < 0) {
+                throw new IllegalStateException();
+            }
+            removeIfAt(lastRet, lastElement);
+            // Everything after lastRet shifted left by one
+            position--;
+            lastRet = -1;
+            lastElement = null;
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.java.collections.concurrent;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * TreiberStack - Lock-free LIFO stack with elimination backoff
+ * - push/pop/peek are a single CAS on the head in the uncontended case
+ * - Under contention a push and a pop can meet in the elimination array
+ *   and cancel out without touching the head at all
+ * - Optional capacity bound; every node records the stack depth below it,
+ *   so size() and the bound check are O(1) without a shared counter
+ * - Thread-safe, never blocks; null elements are not allowed
+ */
+public class TreiberStack<E> {
+    private static final int DEFAULT_ELIMINATION_SLOTS = 8;
+    private static final int ELIMINATION_SPINS = 64;
+
+    private final AtomicReference<Node<E>> head = new AtomicReference<>();
+    private final AtomicReferenceArray<Node<E>> elimination;
+    private final int capacity;
+
+    private static final class Node<E> {
+        final E item;
+        final int depth;
+        final Node<E> next;
+
+        Node(E item, Node<E> next) {
+            this.item = item;
+            this.next = next;
+            this.depth = next == null ? 1 : next.depth + 1;
+        }
+
+        /** Elimination offer; never linked into the stack. */
+        Node(E item) {
+            this.item = item;
+            this.next = null;
+            this.depth = 0;
+        }
+    }
+
+    /** Unbounded stack with the default elimination array. */
+    public TreiberStack() {
+        this(Integer.MAX_VALUE, DEFAULT_ELIMINATION_SLOTS);
+    }
+
+    /** Bounded stack: push fails (offer returns false) once capacity elements are stored. */
+    public TreiberStack(int capacity) {
+        this(capacity, DEFAULT_ELIMINATION_SLOTS);
+    }
+
+    /**
+     * @param capacity         maximum number of elements
+     * @param eliminationSlots size of the elimination array, 0 disables elimination
+     */
+    public TreiberStack(int capacity, int eliminationSlots) {
+        if (capacity <= 0 || eliminationSlots < 0) {
+            throw new IllegalArgumentException("capacity " + capacity + ", slots " + eliminationSlots);
+        }
+        this.capacity = capacity;
+        this.elimination = eliminationSlots == 0 ? null : new AtomicReferenceArray<>(eliminationSlots);
+    }
+
+    /** Pushes e; throws IllegalStateException if the stack is bounded and full. */
+    public void push(E e) {
+        if (!offer(e)) {
+            throw new IllegalStateException("Stack full");
+        }
+    }
+
+    /** Pushes e unless the stack is bounded and full. */
+    public boolean offer(E e) {
+        if (e == null) {
+            throw new NullPointerException();
+        }
+        while (true) {
+            Node<E> top = head.get();
+            if (top != null && top.depth >= capacity) {
+                return false;
+            }
+            Node<E> node = new Node<>(e, top);
+            if (head.compareAndSet(top, node)) {
+                return true;
+            }
+            if (elimination != null && offerToPopper(e)) {
+                return true;
+            }
+        }
+    }
+
+    /** Removes and returns the top element; throws NoSuchElementException if empty. */
+    public E pop() {
+        E e = poll();
+        if (e == null) {
+            throw new NoSuchElementException();
+        }
+        return e;
+    }
+
+    /** Removes and returns the top element, or null if empty. */
+    public E poll() {
+        while (true) {
+            Node<E> top = head.get();
+            if (top == null) {
+                return null;
+            }
+            if (head.compareAndSet(top, top.next)) {
+                return top.item;
+            }
+            if (elimination != null) {
+                E e = takeFromPusher();
+                if (e != null) {
+                    return e;
+                }
+            }
+        }
+    }
+
+    /** Returns the top element without removing it, or null if empty. */
+    public E peek() {
+        Node<E> top = head.get();
+        return top == null ? null : top.item;
+    }
+
+    public boolean isEmpty() {
+        return head.get() == null;
+    }
+
+    /** Number of elements at the moment head was read. */
+    public int size() {
+        Node<E> top = head.get();
+        return top == null ? 0 : top.depth;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Parks an offer in a random slot and waits briefly for a popper.
+     * Returns true if a popper took it; false if it was withdrawn and the caller should retry.
+     */
+    private boolean offerToPopper(E e) {
+        int slot = ThreadLocalRandom.current().nextInt(elimination.length());
+        Node<E> offer = new Node<>(e);
+        if (!elimination.compareAndSet(slot, null, offer)) {
+            return false;
+        }
+        for (int i = 0; i < ELIMINATION_SPINS; i++) {
+            if (elimination.get(slot) != offer) {
+                return true;
+            }
+        }
+        // Withdraw; failing means a popper took the offer in the meantime
+        return !elimination.compareAndSet(slot, offer, null);
+    }
+
+    /** Tries to take an offer parked by a concurrent pusher. */
+    private E takeFromPusher() {
+        int slot = ThreadLocalRandom.current().nextInt(elimination.length());
+        for (int i = 0; i < ELIMINATION_SPINS; i++) {
+            Node<E> offer = elimination.get(slot);
+            if (offer != null) {
+                return elimination.compareAndSet(slot, offer, null) ? offer.item : null;
+            }
+        }
+        return null;
+    }
+}
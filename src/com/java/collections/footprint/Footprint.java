@@ -0,0 +1,158 @@
+package com.java.collections.footprint;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.*;
+
+/**
+ * Footprint - Bytes held by a collection, split into payload and overhead
+ * - Walks the object graph reachable from the collection (instance fields
+ *   and array slots, each object counted once) and sums shallow sizes
+ * - Payload = the graph reachable from the elements (keys and values for a
+ *   Map); overhead = everything else: arrays, nodes, entries, spare capacity
+ * - Reachable bytes equal retained bytes as long as nothing outside the
+ *   collection shares its internals, which holds for the JDK collections
+ *
+ * On Java 9+ the walk reads private JDK fields, so run with
+ *   --add-opens java.base/java.util=ALL-UNNAMED
+ * (and java.base/java.lang when the elements are Strings).
+ */
+public final class Footprint {
+    private static final ClassValue<Field[]> REFERENCE_FIELDS = new ClassValue<Field[]>() {
+        @Override
+        protected Field[] computeValue(Class<?> type) {
+            List<Field> fields = new ArrayList<>();
+            for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+                for (Field f : c.getDeclaredFields()) {
+                    if (!Modifier.isStatic(f.getModifiers()) && !f.getType().isPrimitive()) {
+                        fields.add(f);
+                    }
+                }
+            }
+            return fields.toArray(new Field[0]);
+        }
+    };
+
+    private final String label;
+    private final long elements;
+    private final long totalBytes;
+    private final long payloadBytes;
+    private final long objects;
+
+    private Footprint(String label, long elements, long totalBytes, long payloadBytes, long objects) {
+        this.label = label;
+        this.elements = elements;
+        this.totalBytes = totalBytes;
+        this.payloadBytes = payloadBytes;
+        this.objects = objects;
+    }
+
+    /** Measures a Collection or Map; the label is its class name. */
+    public static Footprint of(Object collection) {
+        return of(collection.getClass().getSimpleName(), collection);
+    }
+
+    public static Footprint of(String label, Object collection) {
+        List<Object> payload = new ArrayList<>();
+        long elements;
+        if (collection instanceof Map) {
+            Map<?, ?> map = (Map<?, ?>) collection;
+            for (Map.Entry<?, ?> e : map.entrySet()) {
+                payload.add(e.getKey());
+                payload.add(e.getValue());
+            }
+            elements = map.size();
+        } else if (collection instanceof Collection) {
+            Collection<?> c = (Collection<?>) collection;
+            payload.addAll(c);
+            elements = c.size();
+        } else {
+            throw new IllegalArgumentException("Not a Collection or Map: " + collection.getClass().getName());
+        }
+        long[] total = walk(Collections.singletonList(collection));
+        long[] data = walk(payload);
+        return new Footprint(label, elements, total[0], data[0], total[1]);
+    }
+
+    /** Bytes reachable from root, each object counted once. */
+    public static long reachableBytes(Object root) {
+        return walk(Collections.singletonList(root))[0];
+    }
+
+    /** Returns {bytes, objects} reachable from the roots. */
+    private static long[] walk(Collection<?> roots) {
+        Set<Object> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        Deque<Object> stack = new ArrayDeque<>();
+        for (Object root : roots) {
+            if (root != null && visited.add(root)) {
+                stack.push(root);
+            }
+        }
+        long bytes = 0;
+        long objects = 0;
+        while (!stack.isEmpty()) {
+            Object o = stack.pop();
+            bytes += ObjectSizes.shallowSize(o);
+            objects++;
+            Class<?> type = o.getClass();
+            if (type.isArray()) {
+                if (!type.getComponentType().isPrimitive()) {
+                    for (Object child : (Object[]) o) {
+                        push(child, visited, stack);
+                    }
+                }
+                continue;
+            }
+            for (Field f : REFERENCE_FIELDS.get(type)) {
+                push(read(f, o), visited, stack);
+            }
+        }
+        return new long[] { bytes, objects };
+    }
+
+    private static void push(Object child, Set<Object> visited, Deque<Object> stack) {
+        // Class objects and their metadata belong to the JVM, not to the collection
+        if (child != null && !(child instanceof Class) && visited.add(child)) {
+            stack.push(child);
+        }
+    }
+
+    private static Object read(Field f, Object o) {
+        try {
+            f.setAccessible(true);
+            return f.get(o);
+        } catch (IllegalAccessException | RuntimeException e) {
+            // InaccessibleObjectException (Java 9+) is a RuntimeException
+            String pkg = f.getDeclaringClass().getName();
+            pkg = pkg.substring(0, pkg.lastIndexOf('.'));
+            throw new IllegalStateException("Cannot read " + f + "; on Java 9+ run with --add-opens java.base/"
+                    + pkg + "=ALL-UNNAMED", e);
+        }
+    }
+
+    public String getLabel() { return label; }
+    public long getElements() { return elements; }
+    public long getTotalBytes() { return totalBytes; }
+    public long getPayloadBytes() { return payloadBytes; }
+    public long getOverheadBytes() { return totalBytes - payloadBytes; }
+    public long getObjects() { return objects; }
+
+    public double bytesPerElement() {
+        return elements == 0 ? Double.NaN : (double) totalBytes / elements;
+    }
+
+    public double overheadPerElement() {
+        return elements == 0 ? Double.NaN : (double) getOverheadBytes() / elements;
+    }
+
+    /** Fraction of the total that is not payload, 0..1. */
+    public double overheadShare() {
+        return totalBytes == 0 ? 0 : (double) getOverheadBytes() / totalBytes;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%-22s n=%-9d %,14d B  %8.1f B/elem  %8.1f overhead B/elem  %5.1f%% overhead",
+                label, elements, totalBytes, bytesPerElement(), overheadPerElement(), 100 * overheadShare());
+    }
+}
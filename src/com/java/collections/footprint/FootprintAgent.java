@@ -0,0 +1,33 @@
+package com.java.collections.footprint;
+
+import java.lang.instrument.Instrumentation;
+
+/**
+ * FootprintAgent - Optional Java agent for exact object sizes
+ * - Without it, ObjectSizes estimates sizes from the HotSpot field layout
+ * - With it, ObjectSizes asks the JVM (Instrumentation.getObjectSize)
+ *
+ * Packaging (from the compiled classes in bin/):
+ *   echo "Premain-Class: com.java.collections.footprint.FootprintAgent" > agent.mf
+ *   jar cfm footprint-agent.jar agent.mf -C bin com/java/collections/footprint/FootprintAgent.class
+ *   java -javaagent:footprint-agent.jar -cp bin com.java.collections.footprint.FootprintReport
+ */
+public final class FootprintAgent {
+    private static volatile Instrumentation instrumentation;
+
+    private FootprintAgent() {
+    }
+
+    public static void premain(String args, Instrumentation inst) {
+        instrumentation = inst;
+    }
+
+    public static void agentmain(String args, Instrumentation inst) {
+        instrumentation = inst;
+    }
+
+    /** The agent's Instrumentation, or null when the JVM was started without the agent. */
+    static Instrumentation instrumentation() {
+        return instrumentation;
+    }
+}
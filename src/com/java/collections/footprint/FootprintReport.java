@@ -0,0 +1,98 @@
+package com.java.collections.footprint;
+
+import com.java.collections.benchmark.Microbench;
+import com.java.collections.list.PersistentVector;
+import com.java.collections.list.TieredList;
+import com.java.collections.list.UnrolledLinkedList;
+
+import java.util.*;
+import java.util.function.Supplier;
+
+/* MEMORY FOOTPRINT REPORT:
+ *
+ * MEASURES (every type from CollectionsHierarchy, plus our own lists):
+ * - Lists:  ArrayList, LinkedList, Vector, Stack, TieredList,
+ *           UnrolledLinkedList, PersistentVector
+ * - Queues: ArrayDeque, PriorityQueue
+ * - Sets:   HashSet, LinkedHashSet, TreeSet
+ * - Maps:   HashMap, LinkedHashMap, TreeMap (value = the key object)
+ *
+ * REPORTS PER COLLECTION:
+ * - Total bytes reachable from the collection
+ * - Bytes per element
+ * - Overhead per element (everything except the elements themselves)
+ * - Overhead share of the total
+ *
+ * WORKLOAD:
+ * - n distinct Integer elements added one by one (default capacity, so
+ *   spare array capacity shows up as overhead, as it does in real code)
+ *
+ * USAGE:
+ * java --add-opens java.base/java.util=ALL-UNNAMED \
+ *      -cp bin com.java.collections.footprint.FootprintReport -size 1e3,1e5
+ * Add -javaagent:footprint-agent.jar for exact sizes (see FootprintAgent).
+ */
+
+public class FootprintReport {
+
+    static final Map<String, Supplier<Collection<Integer>>> COLLECTIONS = new LinkedHashMap<>();
+    static final Map<String, Supplier<Map<Integer, Integer>>> MAPS = new LinkedHashMap<>();
+
+    static {
+        COLLECTIONS.put("ArrayList", ArrayList::new);
+        COLLECTIONS.put("LinkedList", LinkedList::new);
+        COLLECTIONS.put("Vector", Vector::new);
+        COLLECTIONS.put("Stack", Stack::new);
+        COLLECTIONS.put("TieredList", TieredList::new);
+        COLLECTIONS.put("UnrolledLinkedList", UnrolledLinkedList::new);
+        COLLECTIONS.put("ArrayDeque", ArrayDeque::new);
+        COLLECTIONS.put("PriorityQueue", PriorityQueue::new);
+        COLLECTIONS.put("HashSet", HashSet::new);
+        COLLECTIONS.put("LinkedHashSet", LinkedHashSet::new);
+        COLLECTIONS.put("TreeSet", TreeSet::new);
+        MAPS.put("HashMap", HashMap::new);
+        MAPS.put("LinkedHashMap", LinkedHashMap::new);
+        MAPS.put("TreeMap", TreeMap::new);
+    }
+
+    public static void main(String[] args) {
+        Map<String, String> options = Microbench.parseArgs(args);
+        int[] sizes = Microbench.parseSizes(options.getOrDefault("size", "1e3,1e5"));
+
+        System.out.println("=== MEMORY FOOTPRINT REPORT ===");
+        System.out.println(ObjectSizes.describe() + "\n");
+        try {
+            for (int n : sizes) {
+                for (Footprint f : measure(n)) {
+                    System.out.println(f);
+                }
+                System.out.println();
+            }
+        } catch (IllegalStateException e) {
+            System.out.println("Footprint walk failed: " + e.getMessage());
+        }
+    }
+
+    /** Footprint of every measured type holding n distinct Integers. */
+    public static List<Footprint> measure(int n) {
+        Integer[] values = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            values[i] = i;
+        }
+        List<Footprint> results = new ArrayList<>();
+        for (Map.Entry<String, Supplier<Collection<Integer>>> e : COLLECTIONS.entrySet()) {
+            Collection<Integer> c = e.getValue().get();
+            Collections.addAll(c, values);
+            results.add(Footprint.of(e.getKey(), c));
+        }
+        results.add(Footprint.of("PersistentVector", PersistentVector.copyOf(Arrays.asList(values))));
+        for (Map.Entry<String, Supplier<Map<Integer, Integer>>> e : MAPS.entrySet()) {
+            Map<Integer, Integer> m = e.getValue().get();
+            for (Integer v : values) {
+                m.put(v, v);
+            }
+            results.add(Footprint.of(e.getKey(), m));
+        }
+        return results;
+    }
+}
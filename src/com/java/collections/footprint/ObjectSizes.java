@@ -0,0 +1,149 @@
+package com.java.collections.footprint;
+
+import java.lang.instrument.Instrumentation;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+
+/**
+ * ObjectSizes - Shallow size of one object in bytes
+ * - Exact when FootprintAgent is loaded (Instrumentation.getObjectSize)
+ * - Otherwise estimated from the HotSpot layout: object header, reference
+ *   size (compressed oops or not), field sizes and object alignment, all
+ *   read from the running JVM's flags
+ * - The estimate matches HotSpot for the collection classes (nodes, entries,
+ *   arrays); odd field mixes can be off by one alignment step
+ */
+public final class ObjectSizes {
+    private static final int ADDRESS_SIZE = is64Bit() ? 8 : 4;
+    private static final boolean COMPRESSED_OOPS = ADDRESS_SIZE == 8 && flag("UseCompressedOops", true);
+    private static final boolean COMPRESSED_CLASS_POINTERS =
+            ADDRESS_SIZE == 8 && flag("UseCompressedClassPointers", COMPRESSED_OOPS);
+
+    /** Bytes per reference field or array slot. */
+    public static final int REFERENCE_SIZE = ADDRESS_SIZE == 8 && !COMPRESSED_OOPS ? 8 : 4;
+    /** Mark word plus class pointer. */
+    public static final int OBJECT_HEADER = ADDRESS_SIZE + (COMPRESSED_CLASS_POINTERS ? 4 : ADDRESS_SIZE);
+    /** Object header plus the int length. */
+    public static final int ARRAY_HEADER = align(OBJECT_HEADER + 4, REFERENCE_SIZE == 8 ? 8 : 4);
+    /** Every object starts on a multiple of this. */
+    public static final int OBJECT_ALIGNMENT = (int) longFlag("ObjectAlignmentInBytes", 8);
+
+    private static final ClassValue<Long> INSTANCE_SIZES = new ClassValue<Long>() {
+        @Override
+        protected Long computeValue(Class<?> type) {
+            return estimateInstanceSize(type);
+        }
+    };
+
+    private ObjectSizes() {
+    }
+
+    /** True if sizes come from Instrumentation rather than the layout estimate. */
+    public static boolean isExact() {
+        return FootprintAgent.instrumentation() != null;
+    }
+
+    /** Shallow size: the object itself, not what its fields point to. */
+    public static long shallowSize(Object o) {
+        Instrumentation inst = FootprintAgent.instrumentation();
+        if (inst != null) {
+            return inst.getObjectSize(o);
+        }
+        Class<?> type = o.getClass();
+        if (type.isArray()) {
+            int length = java.lang.reflect.Array.getLength(o);
+            return align((long) ARRAY_HEADER + (long) length * slotSize(type.getComponentType()), OBJECT_ALIGNMENT);
+        }
+        return INSTANCE_SIZES.get(type);
+    }
+
+    /** One-line description of the layout used, for report headers. */
+    public static String describe() {
+        if (isExact()) {
+            return "exact sizes (Instrumentation agent)";
+        }
+        return String.format("estimated layout: %d-byte header, %d-byte references%s, %d-byte alignment",
+                OBJECT_HEADER, REFERENCE_SIZE, COMPRESSED_OOPS ? " (compressed oops)" : "", OBJECT_ALIGNMENT);
+    }
+
+    private static long estimateInstanceSize(Class<?> type) {
+        long fieldBytes = 0;
+        int wide = 0;
+        int narrow = 0;
+        for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+            for (Field f : c.getDeclaredFields()) {
+                if (Modifier.isStatic(f.getModifiers())) {
+                    continue;
+                }
+                int size = slotSize(f.getType());
+                fieldBytes += size;
+                if (size == 8) {
+                    wide++;
+                } else if (size < 8) {
+                    narrow++;
+                }
+            }
+        }
+        long size = OBJECT_HEADER + fieldBytes;
+        // A long/double after a 12-byte header needs 8-byte alignment; HotSpot fills
+        // the 4-byte gap with a narrower field when there is one
+        if (wide > 0 && OBJECT_HEADER % 8 != 0 && narrow == 0) {
+            size += 4;
+        }
+        return align(size, OBJECT_ALIGNMENT);
+    }
+
+    private static int slotSize(Class<?> type) {
+        if (!type.isPrimitive()) {
+            return REFERENCE_SIZE;
+        }
+        if (type == long.class || type == double.class) {
+            return 8;
+        }
+        if (type == int.class || type == float.class) {
+            return 4;
+        }
+        if (type == short.class || type == char.class) {
+            return 2;
+        }
+        return 1;
+    }
+
+    private static long align(long size, int alignment) {
+        return (size + alignment - 1) / alignment * alignment;
+    }
+
+    private static int align(int size, int alignment) {
+        return (size + alignment - 1) / alignment * alignment;
+    }
+
+    private static boolean is64Bit() {
+        String model = System.getProperty("sun.arch.data.model");
+        if (model != null) {
+            return model.equals("64");
+        }
+        return System.getProperty("os.arch", "").contains("64");
+    }
+
+    private static boolean flag(String name, boolean fallback) {
+        String value = vmOption(name);
+        return value == null ? fallback : Boolean.parseBoolean(value);
+    }
+
+    private static long longFlag(String name, long fallback) {
+        String value = vmOption(name);
+        return value == null ? fallback : Long.parseLong(value);
+    }
+
+    /** Reads a HotSpot flag; null on other JVMs. */
+    private static String vmOption(String name) {
+        try {
+            com.sun.management.HotSpotDiagnosticMXBean bean = ManagementFactory.getPlatformMXBean(
+                    com.sun.management.HotSpotDiagnosticMXBean.class);
+            return bean == null ? null : bean.getVMOption(name).getValue();
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+}
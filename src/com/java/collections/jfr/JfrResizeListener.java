@@ -0,0 +1,39 @@
+package com.java.collections.jfr;
+
+import com.java.collections.list.GrowableArrayList;
+import com.java.collections.list.ResizeListener;
+
+/**
+ * JfrResizeListener - Forwards list resizes to JFR as ListResizeEvents
+ * - Costs one isEnabled() check per resize when no recording is running
+ *
+ * USAGE:
+ *   JfrResizeListener.install();
+ *   java -XX:StartFlightRecording=filename=resizes.jfr,settings=profile ...
+ *   jfr print --events com.java.collections.ListResize resizes.jfr
+ */
+public class JfrResizeListener implements ResizeListener {
+
+    /** Makes every GrowableArrayList report its resizes to JFR. */
+    public static void install() {
+        GrowableArrayList.setGlobalListener(new JfrResizeListener());
+    }
+
+    @Override
+    public void resized(Object list, int oldCapacity, int newCapacity, int size, long copyNanos) {
+        ListResizeEvent event = new ListResizeEvent();
+        if (!event.isEnabled()) {
+            return;
+        }
+        event.listClass = list.getClass().getName();
+        if (list instanceof GrowableArrayList) {
+            event.policy = String.valueOf(((GrowableArrayList<?>) list).policy());
+        }
+        event.oldCapacity = oldCapacity;
+        event.newCapacity = newCapacity;
+        event.size = size;
+        event.bytesCopied = (long) Math.min(oldCapacity, newCapacity) * GrowableArrayList.REFERENCE_SIZE;
+        event.copyTime = copyNanos;
+        event.commit();
+    }
+}
@@ -0,0 +1,47 @@
+package com.java.collections.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * ListResizeEvent - JFR event for one backing-array reallocation
+ * - Recorded with a stack trace, so a recording shows which call sites
+ *   keep growing lists from scratch
+ * - Needs Java 11+ (or 8u262+); the rest of the repo stays on Java 8
+ */
+@Name("com.java.collections.ListResize")
+@Label("List Resize")
+@Category({"Java Collections", "Lists"})
+@Description("Backing array of a GrowableArrayList was reallocated")
+@StackTrace(true)
+public class ListResizeEvent extends Event {
+
+    @Label("List Class")
+    public String listClass;
+
+    @Label("Growth Policy")
+    public String policy;
+
+    @Label("Old Capacity")
+    public int oldCapacity;
+
+    @Label("New Capacity")
+    public int newCapacity;
+
+    @Label("Size")
+    public int size;
+
+    @Label("Bytes Copied")
+    @DataAmount
+    public long bytesCopied;
+
+    @Label("Copy Time")
+    @Timespan(Timespan.NANOSECONDS)
+    public long copyTime;
+}
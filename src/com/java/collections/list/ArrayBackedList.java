@@ -0,0 +1,388 @@
+package com.java.collections.list;
+
+import java.util.*;
+
+/**
+ * ArrayBackedList - Array list that adopts, lends and hands back its array
+ * - wrap(array, size) adopts a caller's array without copying; the list
+ *   writes into it until it has to grow (then it moves to a new array,
+ *   as ArrayList would)
+ * - readView/writeView/appendView lend the backing array itself as a
+ *   Region (array, offset, length) to bulk consumers: serializers,
+ *   Arrays.sort, System.arraycopy sources and targets
+ * - detach() hands the array back (no copy when it is full) and empties the list
+ * - sortArray lets ParallelMergeSort sort the backing array in place
+ * - The array keeps its runtime component type, so a String list lends a
+ *   real String[]
+ * - Debug mode (-ea, or -Dcom.java.collections.debug=true) checks regions:
+ *   no structural change to the list while a region is open, no use after
+ *   close, and on close no writes through a read-only region or outside a
+ *   writable one
+ * - Not synchronized (not thread-safe)
+ */
+public class ArrayBackedList<E> extends AbstractList<E> implements RandomAccess, BulkRemovable, BatchSource<E>,
+        ArraySortable {
+    private static final int DEFAULT_CAPACITY = 10;
+
+    static final boolean DEBUG = debugEnabled();
+
+    private E[] elements;
+    private int size;
+
+    public ArrayBackedList(Class<E> componentType) {
+        this(componentType, 0);
+    }
+
+    @SuppressWarnings("unchecked")
+    public ArrayBackedList(Class<E> componentType, int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Illegal capacity: " + initialCapacity);
+        }
+        this.elements = (E[]) java.lang.reflect.Array.newInstance(componentType, initialCapacity);
+    }
+
+    private ArrayBackedList(E[] elements, int size) {
+        this.elements = elements;
+        this.size = size;
+    }
+
+    /**
+     * Adopts array as the backing store, no copy: array[0, size) are the
+     * elements, the rest is spare capacity. The caller hands the array over
+     * and should use it only through views from now on.
+     */
+    public static <E> ArrayBackedList<E> wrap(E[] array, int size) {
+        if (size < 0 || size > array.length) {
+            throw new IndexOutOfBoundsException("Size: " + size + ", Length: " + array.length);
+        }
+        return new ArrayBackedList<>(array, size);
+    }
+
+    public static <E> ArrayBackedList<E> wrap(E[] array) {
+        return wrap(array, array.length);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return elements.length;
+    }
+
+    @Override
+    public E get(int index) {
+        checkIndex(index);
+        return elements[index];
+    }
+
+    @Override
+    public E set(int index, E element) {
+        checkIndex(index);
+        E old = elements[index];
+        elements[index] = element;
+        return old;
+    }
+
+    @Override
+    public boolean add(E e) {
+        if (size == elements.length) {
+            grow(size + 1);
+        }
+        elements[size++] = e;
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public void add(int index, E element) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        if (size == elements.length) {
+            grow(size + 1);
+        }
+        System.arraycopy(elements, index, elements, index + 1, size - index);
+        elements[index] = element;
+        size++;
+        modCount++;
+    }
+
+    @Override
+    public E remove(int index) {
+        checkIndex(index);
+        E old = elements[index];
+        int moved = size - index - 1;
+        if (moved > 0) {
+            System.arraycopy(elements, index + 1, elements, index, moved);
+        }
+        elements[--size] = null;
+        modCount++;
+        return old;
+    }
+
+    @Override
+    protected void removeRange(int fromIndex, int toIndex) {
+        if (fromIndex >= toIndex) {
+            return;
+        }
+        System.arraycopy(elements, toIndex, elements, fromIndex, size - toIndex);
+        int newSize = size - (toIndex - fromIndex);
+        Arrays.fill(elements, newSize, size, null);
+        size = newSize;
+        modCount++;
+    }
+
+    @Override
+    public int removeAllAt(BitSet indices) {
+        int newSize = ListRemovals.compact(elements, size, indices);
+        int removed = size - newSize;
+        if (removed > 0) {
+            size = newSize;
+            modCount++;
+        }
+        return removed;
+    }
+
+    @Override
+    public void retainRange(int fromIndex, int toIndex) {
+        size = ListRemovals.retain(elements, size, fromIndex, toIndex);
+        modCount++;
+    }
+
+    @Override
+    public void sortArray(RangeSorter sorter) {
+        int expectedModCount = modCount;
+        sorter.sort(elements, 0, size);
+        if (modCount != expectedModCount) {
+            throw new ConcurrentModificationException();
+        }
+        modCount++;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(elements, 0, size, null);
+        size = 0;
+        modCount++;
+    }
+
+    @Override
+    public Object[] toArray() {
+        return Arrays.copyOf(elements, size, Object[].class);
+    }
+
+    public void ensureCapacity(int minCapacity) {
+        if (minCapacity > elements.length) {
+            grow(minCapacity);
+        }
+    }
+
+    /**
+     * Hands the backing array to the caller and leaves this list empty.
+     * No copy when size == capacity; otherwise the array is trimmed to size.
+     */
+    public E[] detach() {
+        E[] a = size == elements.length ? elements : Arrays.copyOf(elements, size);
+        elements = Arrays.copyOf(elements, 0);
+        size = 0;
+        modCount++;
+        return a;
+    }
+
+    @Override
+    public BatchCursor<E> batchCursor() {
+        return new BatchCursor<E>() {
+            private final int expectedModCount = modCount;
+            private int next;
+
+            public int nextBatch(E[] dst, int offset, int length) {
+                if (modCount != expectedModCount) {
+                    throw new ConcurrentModificationException();
+                }
+                int n = Math.min(length, size - next);
+                if (n <= 0) {
+                    return 0;
+                }
+                System.arraycopy(elements, next, dst, offset, n);
+                next += n;
+                return n;
+            }
+        };
+    }
+
+    // ---------------------------------------------------------------- regions
+
+    /** Read-only view of all elements, backed by the array itself. */
+    public Region<E> readView() {
+        return readView(0, size);
+    }
+
+    /** Read-only view of [fromIndex, toIndex), e.g. the source of System.arraycopy or a serializer. */
+    public Region<E> readView(int fromIndex, int toIndex) {
+        ListRemovals.checkRange(fromIndex, toIndex, size);
+        return new Region<>(this, fromIndex, toIndex - fromIndex, true);
+    }
+
+    /** Writable view of [fromIndex, toIndex), e.g. for Arrays.sort(array, from, to). */
+    public Region<E> writeView(int fromIndex, int toIndex) {
+        ListRemovals.checkRange(fromIndex, toIndex, size);
+        return new Region<>(this, fromIndex, toIndex - fromIndex, false);
+    }
+
+    /**
+     * Grows the list by count null elements and returns a writable view of
+     * them, to be filled in place (System.arraycopy target, decoder output).
+     */
+    public Region<E> appendView(int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("count < 0: " + count);
+        }
+        ensureCapacity(size + count);
+        int from = size;
+        size += count;
+        modCount++;
+        return new Region<>(this, from, count, false);
+    }
+
+    /**
+     * Region - A slice of an ArrayBackedList's backing array: array()[offset, offset + length)
+     * - Valid until the region is closed; do not modify the list meanwhile
+     *   (a grow would move the elements to a new array)
+     * - A read-only region must not be written through array(); a writable
+     *   one must not be written outside its slice
+     * - Debug mode verifies all of the above and throws on misuse
+     */
+    public static final class Region<E> implements AutoCloseable {
+        private final ArrayBackedList<E> list;
+        private final E[] array;
+        private final int offset;
+        private final int length;
+        private final boolean readOnly;
+        private final int expectedModCount;
+        // Debug mode: identity copy of what this region must not change
+        private final Object[] guard;
+        private boolean closed;
+
+        Region(ArrayBackedList<E> list, int offset, int length, boolean readOnly) {
+            this.list = list;
+            this.array = list.elements;
+            this.offset = offset;
+            this.length = length;
+            this.readOnly = readOnly;
+            this.expectedModCount = list.modCount;
+            this.guard = DEBUG ? array.clone() : null;
+        }
+
+        /** The backing array itself; only [offset(), end()) belongs to this region. */
+        public E[] array() {
+            check();
+            return array;
+        }
+
+        public int offset() {
+            return offset;
+        }
+
+        public int length() {
+            return length;
+        }
+
+        /** offset() + length(), the exclusive end for Arrays.sort(array, from, to). */
+        public int end() {
+            return offset + length;
+        }
+
+        public boolean isReadOnly() {
+            return readOnly;
+        }
+
+        /** Element i of the region (0-based). */
+        public E get(int i) {
+            check();
+            checkRegionIndex(i);
+            return array[offset + i];
+        }
+
+        public void set(int i, E element) {
+            check();
+            if (readOnly) {
+                throw new UnsupportedOperationException("Read-only region");
+            }
+            checkRegionIndex(i);
+            array[offset + i] = element;
+        }
+
+        /** Copies the region into dst[dstPos..], one System.arraycopy. */
+        public void copyTo(Object[] dst, int dstPos) {
+            check();
+            System.arraycopy(array, offset, dst, dstPos, length);
+        }
+
+        /** Ends the loan; in debug mode, verifies that nothing outside the allowed slots changed. */
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            check();
+            closed = true;
+            if (guard == null) {
+                return;
+            }
+            for (int i = 0; i < array.length; i++) {
+                boolean allowed = !readOnly && i >= offset && i < offset + length;
+                if (!allowed && array[i] != guard[i]) {
+                    throw new IllegalStateException((readOnly ? "Read-only region" : "Region [" + offset + ", "
+                            + end() + ")") + " wrote backing array index " + i);
+                }
+            }
+        }
+
+        private void checkRegionIndex(int i) {
+            if (i < 0 || i >= length) {
+                throw new IndexOutOfBoundsException("Index: " + i + ", Length: " + length);
+            }
+        }
+
+        private void check() {
+            if (!DEBUG) {
+                return;
+            }
+            if (closed) {
+                throw new IllegalStateException("Region used after close()");
+            }
+            if (list.modCount != expectedModCount || list.elements != array) {
+                throw new ConcurrentModificationException("List structurally modified while a region was open");
+            }
+        }
+    }
+
+    // ---------------------------------------------------------------- internals
+
+    private void grow(int minCapacity) {
+        int oldCapacity = elements.length;
+        int newCapacity = Math.max(oldCapacity + (oldCapacity >> 1), DEFAULT_CAPACITY);
+        if (newCapacity - minCapacity < 0) {
+            newCapacity = minCapacity;
+        }
+        if (newCapacity < 0) {
+            throw new OutOfMemoryError("Required capacity too large: " + minCapacity);
+        }
+        elements = Arrays.copyOf(elements, newCapacity);
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    private static boolean debugEnabled() {
+        boolean assertions = false;
+        // Only runs with -ea
+        assert assertions = true;
+        return assertions || Boolean.getBoolean("com.java.collections.debug");
+    }
+}
@@ -35,7 +35,20 @@ public class ArrayListDemo {
         fruits.remove("Banana");
         fruits.remove(1); // Remove by index
         System.out.println("After removals: " + fruits);
-        
+
+        // Bulk removal by index: one compaction pass instead of a shift per remove(int)
+        List<String> batch = new ArrayList<>(Arrays.asList("A", "B", "C", "D", "E", "F"));
+        ListRemovals.removeAllAt(batch, new int[] {4, 0, 2});
+        System.out.println("After removeAllAt {4, 0, 2}: " + batch);
+        try (RemovalCursor<String> cursor = ListRemovals.removalCursor(batch)) {
+            while (cursor.hasNext()) {
+                if (cursor.next().equals("D")) {
+                    cursor.remove(); // Marked now, removed on close
+                }
+            }
+        }
+        System.out.println("After deferred removal of D: " + batch);
+
         // Size and contains
         System.out.println("Size: " + fruits.size());
         System.out.println("Contains Apple: " + fruits.contains("Apple"));
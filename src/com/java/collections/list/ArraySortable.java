@@ -0,0 +1,26 @@
+package com.java.collections.list;
+
+/**
+ * ArraySortable - List that lets a sorter reorder its backing array in place
+ * - sortArray hands (array, 0, size) to the sorter: no toArray() copy and
+ *   no set() loop to write the result back, which List.sort pays for
+ * - The sorter may only permute that range; it must not keep the array
+ * - Implemented by the array-backed lists; ParallelMergeSort in
+ *   com.java.collections.sort uses it and copies every other list
+ */
+public interface ArraySortable {
+
+    /**
+     * Runs sorter on the backing array; counts as one modification.
+     *
+     * @throws java.util.ConcurrentModificationException if the list was
+     *         structurally modified while the sorter ran
+     */
+    void sortArray(RangeSorter sorter);
+
+    /** Reorders array[fromIndex, toIndex). */
+    @FunctionalInterface
+    interface RangeSorter {
+        void sort(Object[] array, int fromIndex, int toIndex);
+    }
+}
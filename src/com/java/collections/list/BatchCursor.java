@@ -0,0 +1,27 @@
+package com.java.collections.list;
+
+/**
+ * BatchCursor - Forward cursor that hands out elements an array at a time
+ * - One call copies a whole run (System.arraycopy from the backing store
+ *   where there is one) instead of a hasNext/next pair per element
+ * - The caller loops over a plain array, which the JIT can unroll
+ * - Returns 0 only when the cursor is exhausted (or length is 0)
+ *
+ *   Object[] buffer = new Object[256];
+ *   for (int n; (n = cursor.nextBatch(buffer)) > 0; ) {
+ *       for (int i = 0; i < n; i++) { ... buffer[i] ... }
+ *   }
+ */
+public interface BatchCursor<T> {
+
+    /**
+     * Copies up to length next elements into dst[offset..]; returns how many were copied.
+     *
+     * @throws java.util.ConcurrentModificationException if a fail-fast source changed
+     */
+    int nextBatch(T[] dst, int offset, int length);
+
+    default int nextBatch(T[] dst) {
+        return nextBatch(dst, 0, dst.length);
+    }
+}
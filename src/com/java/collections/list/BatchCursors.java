@@ -0,0 +1,56 @@
+package com.java.collections.list;
+
+import java.util.*;
+
+/**
+ * BatchCursors - BatchCursor and batched Spliterator for any collection
+ * - BatchSource collections (our lists) use their native cursor
+ * - Other RandomAccess lists are read with get(i), other collections
+ *   (sets, deques, linked lists) through their Iterator; the batch shape
+ *   still lets the consumer loop over an array
+ */
+public final class BatchCursors {
+
+    private BatchCursors() {
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> BatchCursor<T> of(Iterable<T> source) {
+        if (source instanceof BatchSource) {
+            return ((BatchSource<T>) source).batchCursor();
+        }
+        if (source instanceof List && source instanceof RandomAccess) {
+            List<T> list = (List<T>) source;
+            return new BatchCursor<T>() {
+                private int next;
+
+                public int nextBatch(T[] dst, int offset, int length) {
+                    int n = Math.min(length, list.size() - next);
+                    if (n <= 0) {
+                        return 0;
+                    }
+                    for (int i = 0; i < n; i++) {
+                        dst[offset + i] = list.get(next + i);
+                    }
+                    next += n;
+                    return n;
+                }
+            };
+        }
+        Iterator<T> it = source.iterator();
+        return (dst, offset, length) -> {
+            int n = 0;
+            while (n < length && it.hasNext()) {
+                dst[offset + n++] = it.next();
+            }
+            return n;
+        };
+    }
+
+    /** Batched Spliterator over c; keeps c's ORDERED/DISTINCT/NONNULL/IMMUTABLE/CONCURRENT flags. */
+    public static <T> Spliterator<T> spliterator(Collection<T> c) {
+        int inherited = c.spliterator().characteristics() & (Spliterator.ORDERED | Spliterator.DISTINCT
+                | Spliterator.NONNULL | Spliterator.IMMUTABLE | Spliterator.CONCURRENT);
+        return BatchSpliterator.lateBinding(() -> of(c), c::size, inherited);
+    }
+}
@@ -0,0 +1,12 @@
+package com.java.collections.list;
+
+/**
+ * BatchSource - Collection that supports BatchCursor natively
+ * - Implemented by our array- and chunk-backed lists; BatchCursors adapts
+ *   every other collection
+ */
+public interface BatchSource<T> {
+
+    /** Cursor positioned before the first element. */
+    BatchCursor<T> batchCursor();
+}
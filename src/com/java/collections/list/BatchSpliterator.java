@@ -0,0 +1,155 @@
+package com.java.collections.list;
+
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * BatchSpliterator - Spliterator that reads its source through a BatchCursor
+ * - forEachRemaining pulls a batch into a buffer and loops over the array:
+ *   one cursor call per 256 elements instead of a hasNext/next per element
+ * - trySplit hands out array-backed prefixes of growing size, like the
+ *   JDK's iterator spliterator, so parallel streams still get work to split
+ * - SIZED unless the source is CONCURRENT; the size is the one given at creation,
+ *   or, for lateBinding, the one read at first traversal, split or size query
+ */
+public final class BatchSpliterator<T> implements Spliterator<T> {
+    static final int BATCH = 256;
+    static final int BATCH_UNIT = 1 << 10;
+    static final int MAX_SPLIT = 1 << 25;
+
+    private BatchCursor<T> cursor;
+    private Supplier<? extends BatchCursor<T>> binder;
+    private LongSupplier sizer;
+    private final int characteristics;
+    private final T[] buffer;
+    private long estimate;
+    private int position;
+    private int count;
+    private int splitSize;
+
+    /**
+     * @param cursor          source, positioned at the first element to report
+     * @param size            elements the cursor will report (an estimate if CONCURRENT)
+     * @param characteristics source flags; SIZED is added unless CONCURRENT is set
+     */
+    public BatchSpliterator(BatchCursor<T> cursor, long size, int characteristics) {
+        this(Objects.requireNonNull(cursor), null, null, size, characteristics);
+    }
+
+    @SuppressWarnings("unchecked")
+    private BatchSpliterator(BatchCursor<T> cursor, Supplier<? extends BatchCursor<T>> binder,
+                             LongSupplier sizer, long size, int characteristics) {
+        this.cursor = cursor;
+        this.binder = binder;
+        this.sizer = sizer;
+        this.estimate = size;
+        this.characteristics = (characteristics & Spliterator.CONCURRENT) == 0
+                ? characteristics | Spliterator.SIZED
+                : characteristics;
+        this.buffer = (T[]) new Object[BATCH];
+    }
+
+    /**
+     * Spliterator that opens its cursor on first use rather than now, like the
+     * JDK's ArrayList spliterator, so a stream built before a mutation sees it.
+     *
+     * @param cursors opens a cursor positioned at the first element
+     * @param size    current element count, read when the cursor is opened
+     */
+    public static <T> BatchSpliterator<T> lateBinding(Supplier<? extends BatchCursor<T>> cursors,
+                                                      LongSupplier size, int characteristics) {
+        return new BatchSpliterator<>(null, Objects.requireNonNull(cursors),
+                Objects.requireNonNull(size), 0, characteristics);
+    }
+
+    private BatchCursor<T> cursor() {
+        if (cursor == null) {
+            estimate = sizer.getAsLong();
+            cursor = binder.get();
+            binder = null;
+            sizer = null;
+        }
+        return cursor;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+        Objects.requireNonNull(action);
+        if (position == count) {
+            position = 0;
+            count = cursor().nextBatch(buffer);
+            if (count == 0) {
+                return false;
+            }
+        }
+        T e = buffer[position];
+        buffer[position++] = null;
+        consumed(1);
+        action.accept(e);
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super T> action) {
+        Objects.requireNonNull(action);
+        BatchCursor<T> c = cursor();
+        T[] b = buffer;
+        for (int i = position, n = count; i < n; i++) {
+            T e = b[i];
+            b[i] = null;
+            action.accept(e);
+        }
+        position = count = 0;
+        for (int n; (n = c.nextBatch(b)) > 0; ) {
+            for (int i = 0; i < n; i++) {
+                action.accept(b[i]);
+            }
+        }
+        Arrays.fill(b, null);
+        estimate = 0;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Spliterator<T> trySplit() {
+        BatchCursor<T> c = cursor();
+        if (estimate <= 1 && (characteristics & Spliterator.SIZED) != 0) {
+            return null;
+        }
+        int n = (int) Math.min(Math.min(splitSize + BATCH_UNIT, MAX_SPLIT), Math.max(estimate, 1));
+        T[] prefix = (T[]) new Object[n];
+        int j = 0;
+        while (position < count && j < n) {
+            prefix[j++] = buffer[position];
+            buffer[position++] = null;
+        }
+        for (int got; j < n && (got = c.nextBatch(prefix, j, n - j)) > 0; ) {
+            j += got;
+        }
+        if (j == 0) {
+            return null;
+        }
+        splitSize = j;
+        consumed(j);
+        return Spliterators.spliterator(prefix, 0, j, characteristics);
+    }
+
+    private void consumed(int n) {
+        if ((characteristics & Spliterator.SIZED) != 0) {
+            estimate -= n;
+        }
+    }
+
+    @Override
+    public long estimateSize() {
+        cursor();
+        return estimate;
+    }
+
+    @Override
+    public int characteristics() {
+        return characteristics;
+    }
+}
@@ -0,0 +1,41 @@
+package com.java.collections.list;
+
+import java.util.BitSet;
+
+/**
+ * BulkRemovable - Index-based bulk removal in one compaction pass
+ * - removeAllAt shifts every survivor once, O(n) in total, where a loop of
+ *   remove(int) shifts the tail once per removed element, O(n * k)
+ * - Indices are positions before the removal; duplicates count once
+ * - Implemented by the array-backed lists; ListRemovals gives the same
+ *   operations for any java.util.List
+ */
+public interface BulkRemovable {
+
+    int size();
+
+    /**
+     * Removes the elements at the set bits of indices.
+     *
+     * @return the number of elements removed
+     * @throws IndexOutOfBoundsException if a set bit is at or past size()
+     */
+    int removeAllAt(BitSet indices);
+
+    /**
+     * Removes the elements at the given positions, in any order.
+     *
+     * @return the number of elements removed
+     * @throws IndexOutOfBoundsException if an index is negative or at or past size()
+     */
+    default int removeAllAt(int[] indices) {
+        return removeAllAt(ListRemovals.toBitSet(indices, size()));
+    }
+
+    /**
+     * Keeps only the elements in [fromIndex, toIndex), moving them to the front.
+     *
+     * @throws IndexOutOfBoundsException if the range is not within 0..size()
+     */
+    void retainRange(int fromIndex, int toIndex);
+}
@@ -0,0 +1,360 @@
+package com.java.collections.list;
+
+import java.util.*;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+
+/**
+ * BulkSetOps - containsAll / removeAll / retainAll with a lookup picked from the inputs
+ * - Collection.removeAll on a list calls c.contains once per element, so a
+ *   list argument makes it O(n * m); here the argument is turned into a
+ *   lookup first and every strategy is O(n + m) or close to it
+ * - LINEAR:     tiny inputs, or the argument is already a Set (its own
+ *               contains is used, so TreeSet comparators keep their meaning)
+ * - SORT_MERGE: both sides are SortedSets with the same ordering, or both
+ *               IntArrayLists are ascending; one merge walk, no lookup built
+ * - BITMAP:     Integer / int values from a small range (at most 64 bits
+ *               per value); one bit per possible value
+ * - HASH:       everything else; a HashSet (or an int open-addressing table)
+ * - Works on any Collection; the receiver is changed through removeIf, so
+ *   array lists compact in one pass and linked lists unlink in one walk
+ * - Not synchronized: lock synchronized collections for the whole call
+ */
+public final class BulkSetOps {
+
+    /** How membership in the probed collection is answered. */
+    public enum Strategy { LINEAR, SORT_MERGE, BITMAP, HASH }
+
+    // A hash insert costs about this many equals() calls of a linear scan
+    private static final int HASH_BUILD_COST = 8;
+    // A bitmap is used when it needs at most this many bits per value
+    private static final int BITMAP_BITS_PER_VALUE = 64;
+
+    private BulkSetOps() {
+    }
+
+    // ---------------------------------------------------------------- objects
+
+    /** True if target contains every element of c. */
+    public static boolean containsAll(Collection<?> target, Collection<?> c) {
+        switch (strategy(target, c)) {
+            case SORT_MERGE:
+                return mergeContainsAll((SortedSet<?>) target, (SortedSet<?>) c);
+            case LINEAR:
+                return target.containsAll(c);
+            default:
+                Predicate<Object> member = lookup(target);
+                for (Object e : c) {
+                    if (!member.test(e)) {
+                        return false;
+                    }
+                }
+                return true;
+        }
+    }
+
+    /** Removes from target every element contained in c; true if target changed. */
+    public static boolean removeAll(Collection<?> target, Collection<?> c) {
+        Objects.requireNonNull(c);
+        if (target == c) {
+            boolean changed = !target.isEmpty();
+            target.clear();
+            return changed;
+        }
+        switch (strategy(c, target)) {
+            case SORT_MERGE:
+                return mergeRemove((SortedSet<?>) target, (SortedSet<?>) c, true);
+            case LINEAR:
+                return target.removeIf(c::contains);
+            default:
+                return target.removeIf(lookup(c));
+        }
+    }
+
+    /** Keeps in target only the elements contained in c; true if target changed. */
+    public static boolean retainAll(Collection<?> target, Collection<?> c) {
+        Objects.requireNonNull(c);
+        if (target == c) {
+            return false;
+        }
+        switch (strategy(c, target)) {
+            case SORT_MERGE:
+                return mergeRemove((SortedSet<?>) target, (SortedSet<?>) c, false);
+            case LINEAR:
+                return target.removeIf(e -> !c.contains(e));
+            default:
+                Predicate<Object> member = lookup(c);
+                return target.removeIf(e -> !member.test(e));
+        }
+    }
+
+    /**
+     * Strategy used to answer "is x in probed?" for every element of other.
+     * BITMAP and HASH are only told apart while the lookup is built, so both
+     * are reported as HASH here.
+     */
+    public static Strategy strategy(Collection<?> probed, Collection<?> other) {
+        if (probed instanceof SortedSet && other instanceof SortedSet
+                && Objects.equals(((SortedSet<?>) probed).comparator(), ((SortedSet<?>) other).comparator())) {
+            return Strategy.SORT_MERGE;
+        }
+        if (probed instanceof Set) {
+            return Strategy.LINEAR;
+        }
+        long n = probed.size();
+        long m = other.size();
+        return n * m <= HASH_BUILD_COST * (n + m) ? Strategy.LINEAR : Strategy.HASH;
+    }
+
+    /** One pass over probed: a BitSet if it holds only Integers from a small range, else a HashSet. */
+    private static Predicate<Object> lookup(Collection<?> probed) {
+        Object[] values = probed.toArray();
+        int min = Integer.MAX_VALUE;
+        int max = Integer.MIN_VALUE;
+        boolean integers = values.length > 0;
+        for (Object v : values) {
+            if (!(v instanceof Integer)) {
+                integers = false;
+                break;
+            }
+            min = Math.min(min, (Integer) v);
+            max = Math.max(max, (Integer) v);
+        }
+        if (integers && fitsBitmap(min, max, values.length)) {
+            BitSet bits = new BitSet(max - min + 1);
+            for (Object v : values) {
+                bits.set((Integer) v - min);
+            }
+            int base = min;
+            int last = max;
+            return e -> {
+                if (!(e instanceof Integer)) {
+                    return false;
+                }
+                int x = (Integer) e;
+                return x >= base && x <= last && bits.get(x - base);
+            };
+        }
+        Set<Object> set = new HashSet<>(Arrays.asList(values));
+        return set::contains;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Comparator<Object> ordering(SortedSet<?> set) {
+        Comparator<Object> comparator = (Comparator<Object>) set.comparator();
+        return comparator != null ? comparator : (a, b) -> ((Comparable<Object>) a).compareTo(b);
+    }
+
+    private static boolean mergeContainsAll(SortedSet<?> target, SortedSet<?> c) {
+        Comparator<Object> cmp = ordering(target);
+        Iterator<?> t = target.iterator();
+        Object current = null;
+        boolean has = false;
+        for (Object x : c) {
+            while (!has || cmp.compare(current, x) < 0) {
+                if (!t.hasNext()) {
+                    return false;
+                }
+                current = t.next();
+                has = true;
+            }
+            if (cmp.compare(current, x) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Walks both sets once; removes the target elements found in c (or, if !removeMatches, not found). */
+    private static boolean mergeRemove(SortedSet<?> target, SortedSet<?> c, boolean removeMatches) {
+        Comparator<Object> cmp = ordering(target);
+        Iterator<?> ci = c.iterator();
+        Object x = null;
+        boolean hasX = ci.hasNext();
+        if (hasX) {
+            x = ci.next();
+        }
+        boolean changed = false;
+        for (Iterator<?> it = target.iterator(); it.hasNext(); ) {
+            Object t = it.next();
+            while (hasX && cmp.compare(x, t) < 0) {
+                hasX = ci.hasNext();
+                x = hasX ? ci.next() : null;
+            }
+            boolean found = hasX && cmp.compare(x, t) == 0;
+            if (found == removeMatches) {
+                it.remove();
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    // ---------------------------------------------------------------- int lists
+
+    /** True if target contains every value of values. */
+    public static boolean containsAll(IntArrayList target, IntArrayList values) {
+        int n = target.size();
+        int m = values.size();
+        switch (strategy(target, values)) {
+            case LINEAR:
+                for (int i = 0; i < m; i++) {
+                    if (!target.contains(values.get(i))) {
+                        return false;
+                    }
+                }
+                return true;
+            case SORT_MERGE:
+                for (int i = 0, t = 0; i < m; i++) {
+                    int x = values.get(i);
+                    while (t < n && target.get(t) < x) {
+                        t++;
+                    }
+                    if (t == n || target.get(t) != x) {
+                        return false;
+                    }
+                }
+                return true;
+            default:
+                IntPredicate member = lookup(target);
+                for (int i = 0; i < m; i++) {
+                    if (!member.test(values.get(i))) {
+                        return false;
+                    }
+                }
+                return true;
+        }
+    }
+
+    /** Removes every value of target found in values; returns the count removed. */
+    public static int removeAll(IntArrayList target, IntArrayList values) {
+        return target.removeIf(membership(values, target, true));
+    }
+
+    /** Keeps only the values of target found in values; returns the count removed. */
+    public static int retainAll(IntArrayList target, IntArrayList values) {
+        return target.removeIf(membership(values, target, false));
+    }
+
+    /** Strategy used to answer "is x in probed?" for every value of other. */
+    public static Strategy strategy(IntArrayList probed, IntArrayList other) {
+        long n = probed.size();
+        long m = other.size();
+        if (n * m <= HASH_BUILD_COST * (n + m)) {
+            return Strategy.LINEAR;
+        }
+        if (isAscending(probed) && isAscending(other)) {
+            return Strategy.SORT_MERGE;
+        }
+        return fitsBitmap(probed.min(), probed.max(), probed.size()) ? Strategy.BITMAP : Strategy.HASH;
+    }
+
+    /** Removal predicate over target's values; the SORT_MERGE one relies on being tested in index order. */
+    private static IntPredicate membership(IntArrayList probed, IntArrayList target, boolean removeMatches) {
+        IntPredicate member;
+        switch (strategy(probed, target)) {
+            case LINEAR:
+                member = probed::contains;
+                break;
+            case SORT_MERGE:
+                // IntArrayList.removeIf tests every value once, front to back
+                int[] next = {0};
+                int n = probed.size();
+                member = x -> {
+                    int p = next[0];
+                    while (p < n && probed.get(p) < x) {
+                        p++;
+                    }
+                    next[0] = p;
+                    return p < n && probed.get(p) == x;
+                };
+                break;
+            default:
+                member = lookup(probed);
+        }
+        return removeMatches ? member : member.negate();
+    }
+
+    private static IntPredicate lookup(IntArrayList probed) {
+        int n = probed.size();
+        if (n == 0) {
+            return x -> false;
+        }
+        int min = probed.min();
+        int max = probed.max();
+        if (fitsBitmap(min, max, n)) {
+            long[] bits = new long[(int) (((long) max - min) >>> 6) + 1];
+            for (int i = 0; i < n; i++) {
+                int offset = probed.get(i) - min;
+                bits[offset >>> 6] |= 1L << offset;
+            }
+            return x -> {
+                // Unsigned compare: one test for both ends of the range
+                int offset = x - min;
+                return Integer.compareUnsigned(offset, max - min) <= 0
+                        && (bits[offset >>> 6] & (1L << offset)) != 0;
+            };
+        }
+        IntHashSet set = new IntHashSet(n);
+        for (int i = 0; i < n; i++) {
+            set.add(probed.get(i));
+        }
+        return set::contains;
+    }
+
+    private static boolean fitsBitmap(int min, int max, int count) {
+        long range = (long) max - min;
+        return range < Integer.MAX_VALUE && range < (long) BITMAP_BITS_PER_VALUE * count;
+    }
+
+    private static boolean isAscending(IntArrayList list) {
+        for (int i = 1, n = list.size(); i < n; i++) {
+            if (list.get(i - 1) > list.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Open-addressing int set, linear probing; 0 is tracked apart as the empty-slot marker. */
+    private static final class IntHashSet {
+        private final int[] slots;
+        private final int mask;
+        private boolean hasZero;
+
+        IntHashSet(int expected) {
+            int capacity = Integer.highestOneBit(Math.max(expected, 2) * 2 - 1) << 1;
+            slots = new int[capacity];
+            mask = capacity - 1;
+        }
+
+        void add(int x) {
+            if (x == 0) {
+                hasZero = true;
+                return;
+            }
+            int i = mix(x) & mask;
+            while (slots[i] != 0 && slots[i] != x) {
+                i = (i + 1) & mask;
+            }
+            slots[i] = x;
+        }
+
+        boolean contains(int x) {
+            if (x == 0) {
+                return hasZero;
+            }
+            for (int i = mix(x) & mask; slots[i] != 0; i = (i + 1) & mask) {
+                if (slots[i] == x) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private static int mix(int x) {
+            int h = x * 0x9E3779B9;
+            return h ^ (h >>> 16);
+        }
+    }
+}
@@ -0,0 +1,267 @@
+package com.java.collections.list;
+
+import java.util.*;
+
+/**
+ * CowArrayList - Array list whose clone() and snapshot() are O(1)
+ * - Elements live in 256-element chunks under a chunk table
+ * - clone() shares the table; the first write on either side copies the
+ *   table (one reference per chunk) and then only the chunk it touches,
+ *   so a clone that is read and discarded costs nothing
+ * - Ownership: the table and every chunk record the owner token of the
+ *   list allowed to write them in place; clone() gives both lists fresh
+ *   tokens, so neither owns anything shared until it has copied it.
+ *   (A reference count cannot work on the JVM: a discarded clone never
+ *   decrements it, so the original would copy forever.)
+ * - get/set O(1), add at the end amortized O(1), middle add/remove O(n)
+ * - Not synchronized (not thread-safe); a clone may be handed to another
+ *   thread, the two lists never write the same array
+ */
+public class CowArrayList<E> extends AbstractList<E> implements RandomAccess, Cloneable, BatchSource<E> {
+    private static final int SHIFT = 8;
+    private static final int CHUNK = 1 << SHIFT;
+    private static final int MASK = CHUNK - 1;
+
+    /** Chunk arrays plus the owner token of each; owner is who may edit the table itself. */
+    private static final class Table {
+        final Object owner;
+        Object[][] chunks;
+        Object[] chunkOwners;
+
+        Table(Object owner, Object[][] chunks, Object[] chunkOwners) {
+            this.owner = owner;
+            this.chunks = chunks;
+            this.chunkOwners = chunkOwners;
+        }
+    }
+
+    private Object owner = new Object();
+    private Table table;
+    private int size;
+
+    public CowArrayList() {
+        this.table = new Table(owner, new Object[4][], new Object[4]);
+    }
+
+    public CowArrayList(Collection<? extends E> c) {
+        this();
+        addAll(c);
+    }
+
+    private CowArrayList(Table table, int size) {
+        this.table = table;
+        this.size = size;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        checkIndex(index);
+        return (E) table.chunks[index >>> SHIFT][index & MASK];
+    }
+
+    // ---------------------------------------------------------------- O(1) copies
+
+    /** O(1) copy-on-write clone: both lists copy what they write, chunk by chunk. */
+    @Override
+    public CowArrayList<E> clone() {
+        CowArrayList<E> copy = new CowArrayList<>(table, size);
+        // This list gave up ownership too: the clone can see every chunk
+        owner = new Object();
+        return copy;
+    }
+
+    /** O(1) read-only snapshot; later writes to this list copy, the snapshot never changes. */
+    public List<E> snapshot() {
+        return Collections.unmodifiableList(clone());
+    }
+
+    /** True if a write at index would copy its chunk (diagnostics). */
+    public boolean isShared(int index) {
+        checkIndex(index);
+        return table.owner != owner || table.chunkOwners[index >>> SHIFT] != owner;
+    }
+
+    // ---------------------------------------------------------------- writes
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E set(int index, E element) {
+        checkIndex(index);
+        Object[] chunk = writableChunk(index >>> SHIFT);
+        E old = (E) chunk[index & MASK];
+        chunk[index & MASK] = element;
+        return old;
+    }
+
+    @Override
+    public boolean add(E e) {
+        if ((size & MASK) == 0) {
+            appendChunk();
+        }
+        writableChunk(size >>> SHIFT)[size & MASK] = e;
+        size++;
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public void add(int index, E element) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        if (index == size) {
+            add(element);
+            return;
+        }
+        if ((size & MASK) == 0) {
+            appendChunk();
+        }
+        int first = index >>> SHIFT;
+        int last = size >>> SHIFT;
+        int lastCount = size - (last << SHIFT);
+        // Shift right by one from the back; each chunk takes the previous chunk's last element
+        for (int k = last; k > first; k--) {
+            Object[] chunk = writableChunk(k);
+            System.arraycopy(chunk, 0, chunk, 1, k == last ? lastCount : CHUNK - 1);
+            chunk[0] = table.chunks[k - 1][CHUNK - 1];
+        }
+        Object[] chunk = writableChunk(first);
+        int offset = index & MASK;
+        System.arraycopy(chunk, offset, chunk, offset + 1, (first == last ? lastCount : CHUNK - 1) - offset);
+        chunk[offset] = element;
+        size++;
+        modCount++;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E remove(int index) {
+        checkIndex(index);
+        int first = index >>> SHIFT;
+        int last = (size - 1) >>> SHIFT;
+        int lastCount = size - (last << SHIFT);
+        Object[] chunk = writableChunk(first);
+        int offset = index & MASK;
+        E old = (E) chunk[offset];
+        System.arraycopy(chunk, offset + 1, chunk, offset, (first == last ? lastCount : CHUNK) - offset - 1);
+        // Pull one element back across each following chunk boundary
+        for (int k = first + 1; k <= last; k++) {
+            Object[] next = writableChunk(k);
+            chunk[CHUNK - 1] = next[0];
+            System.arraycopy(next, 1, next, 0, (k == last ? lastCount : CHUNK) - 1);
+            chunk = next;
+        }
+        size--;
+        chunk[size & MASK] = null;
+        if ((size & MASK) == 0) {
+            writableTable().chunks[last] = null;
+        }
+        modCount++;
+        return old;
+    }
+
+    @Override
+    protected void removeRange(int fromIndex, int toIndex) {
+        if (fromIndex >= toIndex) {
+            return;
+        }
+        int w = fromIndex;
+        for (int r = toIndex; r < size; r++) {
+            writableChunk(w >>> SHIFT)[w & MASK] = table.chunks[r >>> SHIFT][r & MASK];
+            w++;
+        }
+        truncate(w);
+        modCount++;
+    }
+
+    /** Drops the shared table instead of writing into it. */
+    @Override
+    public void clear() {
+        table = new Table(owner, new Object[4][], new Object[4]);
+        size = 0;
+        modCount++;
+    }
+
+    @Override
+    public BatchCursor<E> batchCursor() {
+        return new BatchCursor<E>() {
+            private final int expectedModCount = modCount;
+            private int next;
+
+            public int nextBatch(E[] dst, int offset, int length) {
+                if (modCount != expectedModCount) {
+                    throw new ConcurrentModificationException();
+                }
+                int copied = 0;
+                while (copied < length && next < size) {
+                    int n = Math.min(Math.min(length - copied, CHUNK - (next & MASK)), size - next);
+                    System.arraycopy(table.chunks[next >>> SHIFT], next & MASK, dst, offset + copied, n);
+                    copied += n;
+                    next += n;
+                }
+                return copied;
+            }
+        };
+    }
+
+    // ---------------------------------------------------------------- ownership
+
+    private Table writableTable() {
+        Table t = table;
+        if (t.owner != owner) {
+            // Chunks stay shared: their owner tokens are someone else's
+            t = new Table(owner, t.chunks.clone(), t.chunkOwners.clone());
+            table = t;
+        }
+        return t;
+    }
+
+    private Object[] writableChunk(int k) {
+        Table t = table;
+        if (t.owner == owner && t.chunkOwners[k] == owner) {
+            return t.chunks[k];
+        }
+        t = writableTable();
+        if (t.chunkOwners[k] != owner) {
+            t.chunks[k] = t.chunks[k].clone();
+            t.chunkOwners[k] = owner;
+        }
+        return t.chunks[k];
+    }
+
+    private void appendChunk() {
+        Table t = writableTable();
+        int k = size >>> SHIFT;
+        if (k == t.chunks.length) {
+            t.chunks = Arrays.copyOf(t.chunks, k * 2);
+            t.chunkOwners = Arrays.copyOf(t.chunkOwners, k * 2);
+        }
+        t.chunks[k] = new Object[CHUNK];
+        t.chunkOwners[k] = owner;
+    }
+
+    private void truncate(int newSize) {
+        Table t = writableTable();
+        int keep = (newSize + MASK) >>> SHIFT;
+        int used = (size + MASK) >>> SHIFT;
+        Arrays.fill(t.chunks, keep, used, null);
+        Arrays.fill(t.chunkOwners, keep, used, null);
+        if ((newSize & MASK) != 0) {
+            Object[] tail = writableChunk(newSize >>> SHIFT);
+            Arrays.fill(tail, newSize & MASK, CHUNK, null);
+        }
+        size = newSize;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+}
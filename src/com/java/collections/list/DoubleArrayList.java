@@ -0,0 +1,324 @@
+package com.java.collections.list;
+
+import java.util.*;
+import java.util.function.DoubleConsumer;
+import java.util.function.DoublePredicate;
+import java.util.stream.DoubleStream;
+
+/**
+ * DoubleArrayList - Resizable array of primitive double values
+ * - Same growth and indexing rules as ArrayList, without boxing
+ * - 8 bytes per element instead of a reference plus a Double object
+ * - Not synchronized (not thread-safe)
+ */
+public class DoubleArrayList implements BulkRemovable {
+    private static final int DEFAULT_CAPACITY = 10;
+    private static final double[] EMPTY = {};
+
+    private double[] elements;
+    private int size;
+
+    public DoubleArrayList() {
+        this.elements = EMPTY;
+    }
+
+    public DoubleArrayList(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Illegal capacity: " + initialCapacity);
+        }
+        this.elements = initialCapacity == 0 ? EMPTY : new double[initialCapacity];
+    }
+
+    /** Creates a list holding a copy of the given values. */
+    public static DoubleArrayList of(double... values) {
+        DoubleArrayList list = new DoubleArrayList(values.length);
+        list.addAll(values);
+        return list;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void add(double value) {
+        if (size == elements.length) {
+            grow(size + 1);
+        }
+        elements[size++] = value;
+    }
+
+    public void add(int index, double value) {
+        checkPositionIndex(index);
+        if (size == elements.length) {
+            grow(size + 1);
+        }
+        System.arraycopy(elements, index, elements, index + 1, size - index);
+        elements[index] = value;
+        size++;
+    }
+
+    /** Appends all values with a single capacity check and one array copy. */
+    public void addAll(double[] values) {
+        addAll(values, 0, values.length);
+    }
+
+    public void addAll(double[] values, int offset, int length) {
+        if (offset < 0 || length < 0 || offset + length > values.length) {
+            throw new IndexOutOfBoundsException("offset " + offset + ", length " + length);
+        }
+        ensureCapacity(size + length);
+        System.arraycopy(values, offset, elements, size, length);
+        size += length;
+    }
+
+    public double get(int index) {
+        checkIndex(index);
+        return elements[index];
+    }
+
+    /** Replaces the value at index and returns the previous one. */
+    public double set(int index, double value) {
+        checkIndex(index);
+        double old = elements[index];
+        elements[index] = value;
+        return old;
+    }
+
+    /** Removes the value at index; named removeAt to avoid confusion with a remove-by-value. */
+    public double removeAt(int index) {
+        checkIndex(index);
+        double old = elements[index];
+        int moved = size - index - 1;
+        if (moved > 0) {
+            System.arraycopy(elements, index + 1, elements, index, moved);
+        }
+        size--;
+        return old;
+    }
+
+    /** Values are matched like Double.equals: NaN is found, 0.0 and -0.0 differ. */
+    /** Removes the values at the set bits of indices in one pass; returns the count removed. */
+    @Override
+    public int removeAllAt(BitSet indices) {
+        ListRemovals.checkIndices(indices, size);
+        int w = indices.nextSetBit(0);
+        if (w < 0) {
+            return 0;
+        }
+        // Each run of survivors between two removed positions moves as one copy
+        for (int r = indices.nextClearBit(w); r < size; ) {
+            int end = indices.nextSetBit(r);
+            if (end < 0) {
+                end = size;
+            }
+            System.arraycopy(elements, r, elements, w, end - r);
+            w += end - r;
+            r = indices.nextClearBit(end);
+        }
+        int removed = size - w;
+        size = w;
+        return removed;
+    }
+
+    /** Keeps only [fromIndex, toIndex). */
+    @Override
+    public void retainRange(int fromIndex, int toIndex) {
+        ListRemovals.checkRange(fromIndex, toIndex, size);
+        System.arraycopy(elements, fromIndex, elements, 0, toIndex - fromIndex);
+        size = toIndex - fromIndex;
+    }
+
+    public int indexOf(double value) {
+        long bits = Double.doubleToLongBits(value);
+        for (int i = 0; i < size; i++) {
+            if (Double.doubleToLongBits(elements[i]) == bits) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public int lastIndexOf(double value) {
+        long bits = Double.doubleToLongBits(value);
+        for (int i = size - 1; i >= 0; i--) {
+            if (Double.doubleToLongBits(elements[i]) == bits) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public boolean contains(double value) {
+        return indexOf(value) >= 0;
+    }
+
+    /** Sum of all values, added left to right; 0.0 when empty. */
+    public double sum() {
+        return PrimitiveKernels.sum(elements, size);
+    }
+
+    /** Smallest value. NaN if any value is NaN. Throws NoSuchElementException when empty. */
+    public double min() {
+        return PrimitiveKernels.min(elements, size);
+    }
+
+    /** Largest value. NaN if any value is NaN. Throws NoSuchElementException when empty. */
+    public double max() {
+        return PrimitiveKernels.max(elements, size);
+    }
+
+    /** Number of values in [min, max]. NaN is never in range. */
+    public int countInRange(double min, double max) {
+        return PrimitiveKernels.countInRange(elements, size, min, max);
+    }
+
+    /** Removes every value in [min, max] in one branch-free pass; returns the count removed. NaN is never in range. */
+    public int removeInRange(double min, double max) {
+        int newSize = PrimitiveKernels.removeInRange(elements, size, min, max);
+        int removed = size - newSize;
+        size = newSize;
+        return removed;
+    }
+
+    /** Removes every value == value (0.0 matches -0.0, NaN matches nothing); returns the count removed. */
+    public int removeEqual(double value) {
+        return removeInRange(value, value);
+    }
+
+    /**
+     * Removes every value matching filter; returns the count removed.
+     * All values are tested before any is moved, so an exception from
+     * filter leaves the list unchanged.
+     */
+    public int removeIf(DoublePredicate filter) {
+        Objects.requireNonNull(filter);
+        int newSize = PrimitiveKernels.removeIf(elements, size, filter);
+        int removed = size - newSize;
+        size = newSize;
+        return removed;
+    }
+
+    /** Sorts in ascending order (Double.compareTo order, no comparator boxing). */
+    public void sort() {
+        Arrays.sort(elements, 0, size);
+    }
+
+    public void forEach(DoubleConsumer action) {
+        Objects.requireNonNull(action);
+        double[] a = elements;
+        for (int i = 0, n = size; i < n; i++) {
+            action.accept(a[i]);
+        }
+    }
+
+    /** Batch cursor over the values; reads the live array, so do not modify the list while using it. */
+    public DoubleBatchCursor batchCursor() {
+        return new DoubleBatchCursor() {
+            private int next;
+
+            public int nextBatch(double[] dst, int offset, int length) {
+                int n = Math.min(length, size - next);
+                if (n <= 0) {
+                    return 0;
+                }
+                System.arraycopy(elements, next, dst, offset, n);
+                next += n;
+                return n;
+            }
+        };
+    }
+
+    /** Sequential stream over the current contents (no copy). */
+    public DoubleStream stream() {
+        return Arrays.stream(elements, 0, size);
+    }
+
+    public double[] toArray() {
+        return Arrays.copyOf(elements, size);
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    public void ensureCapacity(int minCapacity) {
+        if (minCapacity > elements.length) {
+            grow(minCapacity);
+        }
+    }
+
+    public void trimToSize() {
+        if (size < elements.length) {
+            elements = size == 0 ? EMPTY : Arrays.copyOf(elements, size);
+        }
+    }
+
+    private void grow(int minCapacity) {
+        int oldCapacity = elements.length;
+        int newCapacity = Math.max(oldCapacity + (oldCapacity >> 1), DEFAULT_CAPACITY);
+        if (newCapacity - minCapacity < 0) {
+            newCapacity = minCapacity;
+        }
+        if (newCapacity < 0) {
+            throw new OutOfMemoryError("Required capacity too large: " + minCapacity);
+        }
+        elements = Arrays.copyOf(elements, newCapacity);
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    private void checkPositionIndex(int index) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof DoubleArrayList)) {
+            return false;
+        }
+        DoubleArrayList other = (DoubleArrayList) o;
+        if (size != other.size) {
+            return false;
+        }
+        for (int i = 0; i < size; i++) {
+            if (Double.doubleToLongBits(elements[i]) != Double.doubleToLongBits(other.elements[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int h = 1;
+        for (int i = 0; i < size; i++) {
+            h = 31 * h + Double.hashCode(elements[i]);
+        }
+        return h;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(elements[i]);
+        }
+        return sb.append(']').toString();
+    }
+}
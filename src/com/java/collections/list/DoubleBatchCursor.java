@@ -0,0 +1,14 @@
+package com.java.collections.list;
+
+/**
+ * DoubleBatchCursor - BatchCursor for primitive double values, no boxing
+ */
+public interface DoubleBatchCursor {
+
+    /** Copies up to length next values into dst[offset..]; returns how many, 0 at the end. */
+    int nextBatch(double[] dst, int offset, int length);
+
+    default int nextBatch(double[] dst) {
+        return nextBatch(dst, 0, dst.length);
+    }
+}
@@ -0,0 +1,302 @@
+package com.java.collections.list;
+
+import java.util.*;
+
+/**
+ * GrowableArrayList - ArrayList with a pluggable growth policy and resize telemetry
+ * - The GrowthPolicy picks every new capacity (ArrayList's 1.5x by default)
+ * - metrics() counts resizes, bytes copied and allocated, peak slack and
+ *   time spent in Arrays.copyOf, so buffers can be sized from data
+ * - A ResizeListener (per list or global) sees every resize; the JFR
+ *   bridge in com.java.collections.jfr turns them into events with stack
+ *   traces, which points at lists that reallocate on every request
+ * - Counting costs nothing on the add path: only resizes update the counters,
+ *   with byte counts from a fixed array layout (16-byte header, reference
+ *   size from system properties) rather than footprint.ObjectSizes, whose
+ *   flag lookups start java.management on the first resize
+ * - Not synchronized (not thread-safe)
+ */
+public class GrowableArrayList<E> extends AbstractList<E>
+        implements RandomAccess, BulkRemovable, BatchSource<E>, ArraySortable {
+    private static final Object[] EMPTY = {};
+    private static final int ARRAY_HEADER = 16;
+
+    /** Bytes per slot of the backing array, as counted by metrics() and the JFR events. */
+    public static final int REFERENCE_SIZE = referenceSize();
+    private static volatile ResizeListener globalListener;
+
+    private final GrowthPolicy policy;
+    private final ResizeListener listener;
+    private Object[] elements;
+    private int size;
+
+    private long resizeCount;
+    private long bytesCopied;
+    private long bytesAllocated;
+    private int peakSlack;
+    private long copyNanos;
+
+    public GrowableArrayList() {
+        this(0, GrowthPolicy.factor(1.5), null);
+    }
+
+    public GrowableArrayList(GrowthPolicy policy) {
+        this(0, policy, null);
+    }
+
+    /**
+     * @param initialCapacity initial array length (not counted as a resize)
+     * @param policy          picks each new capacity
+     * @param listener        told about every resize, in addition to the global listener; may be null
+     */
+    public GrowableArrayList(int initialCapacity, GrowthPolicy policy, ResizeListener listener) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Illegal capacity: " + initialCapacity);
+        }
+        this.policy = Objects.requireNonNull(policy);
+        this.listener = listener;
+        this.elements = initialCapacity == 0 ? EMPTY : new Object[initialCapacity];
+        this.peakSlack = initialCapacity;
+    }
+
+    /** Listener told about resizes of every GrowableArrayList; null to turn off. */
+    public static void setGlobalListener(ResizeListener listener) {
+        globalListener = listener;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return elements.length;
+    }
+
+    public GrowthPolicy policy() {
+        return policy;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        checkIndex(index);
+        return (E) elements[index];
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E set(int index, E element) {
+        checkIndex(index);
+        E old = (E) elements[index];
+        elements[index] = element;
+        return old;
+    }
+
+    @Override
+    public boolean add(E e) {
+        if (size == elements.length) {
+            grow(size + 1);
+        }
+        elements[size++] = e;
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public void add(int index, E element) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        if (size == elements.length) {
+            grow(size + 1);
+        }
+        System.arraycopy(elements, index, elements, index + 1, size - index);
+        elements[index] = element;
+        size++;
+        modCount++;
+    }
+
+    /** Grows once for the whole collection, not once per policy step. */
+    @Override
+    public boolean addAll(Collection<? extends E> c) {
+        Object[] a = c.toArray();
+        if (a.length == 0) {
+            return false;
+        }
+        ensureCapacity(size + a.length);
+        System.arraycopy(a, 0, elements, size, a.length);
+        size += a.length;
+        modCount++;
+        return true;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E remove(int index) {
+        checkIndex(index);
+        E old = (E) elements[index];
+        int moved = size - index - 1;
+        if (moved > 0) {
+            System.arraycopy(elements, index + 1, elements, index, moved);
+        }
+        elements[--size] = null;
+        modCount++;
+        return old;
+    }
+
+    @Override
+    protected void removeRange(int fromIndex, int toIndex) {
+        if (fromIndex >= toIndex) {
+            return;
+        }
+        System.arraycopy(elements, toIndex, elements, fromIndex, size - toIndex);
+        int newSize = size - (toIndex - fromIndex);
+        Arrays.fill(elements, newSize, size, null);
+        size = newSize;
+        modCount++;
+    }
+
+    @Override
+    public int removeAllAt(BitSet indices) {
+        int newSize = ListRemovals.compact(elements, size, indices);
+        int removed = size - newSize;
+        if (removed > 0) {
+            size = newSize;
+            modCount++;
+        }
+        return removed;
+    }
+
+    @Override
+    public void retainRange(int fromIndex, int toIndex) {
+        size = ListRemovals.retain(elements, size, fromIndex, toIndex);
+        modCount++;
+    }
+
+    @Override
+    public void sortArray(RangeSorter sorter) {
+        int expectedModCount = modCount;
+        sorter.sort(elements, 0, size);
+        if (modCount != expectedModCount) {
+            throw new ConcurrentModificationException();
+        }
+        modCount++;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(elements, 0, size, null);
+        size = 0;
+        modCount++;
+    }
+
+    /** Grows to exactly minCapacity if needed, bypassing the policy: the caller knows the size. */
+    public void ensureCapacity(int minCapacity) {
+        if (minCapacity > elements.length) {
+            resize(minCapacity);
+        }
+    }
+
+    /** Shrinks the array to size; counted as a resize. */
+    public void trimToSize() {
+        if (size < elements.length) {
+            resize(size);
+        }
+    }
+
+    @Override
+    public BatchCursor<E> batchCursor() {
+        return new BatchCursor<E>() {
+            private final int expectedModCount = modCount;
+            private int next;
+
+            public int nextBatch(E[] dst, int offset, int length) {
+                if (modCount != expectedModCount) {
+                    throw new ConcurrentModificationException();
+                }
+                int n = Math.min(length, size - next);
+                if (n <= 0) {
+                    return 0;
+                }
+                System.arraycopy(elements, next, dst, offset, n);
+                next += n;
+                return n;
+            }
+        };
+    }
+
+    // ---------------------------------------------------------------- telemetry
+
+    /** Live view of this list's resize counters. */
+    public ResizeMetrics metrics() {
+        return new ResizeMetrics() {
+            public long resizeCount() { return resizeCount; }
+            public long bytesCopied() { return bytesCopied; }
+            public long bytesAllocated() { return bytesAllocated; }
+            public int peakSlack() { return peakSlack; }
+            public long copyNanos() { return copyNanos; }
+
+            @Override
+            public String toString() {
+                return String.format("%s: %d resizes, %,d B copied, %,d B allocated, peak slack %d, copy %.3f ms",
+                        policy, resizeCount, bytesCopied, bytesAllocated, peakSlack, copyNanos / 1e6);
+            }
+        };
+    }
+
+    private void grow(int minCapacity) {
+        if (minCapacity < 0 || minCapacity > GrowthPolicy.MAX_CAPACITY) {
+            throw new OutOfMemoryError("Required capacity too large: " + minCapacity);
+        }
+        resize(Math.max(policy.newCapacity(elements.length, minCapacity), minCapacity));
+    }
+
+    private void resize(int newCapacity) {
+        int oldCapacity = elements.length;
+        long start = System.nanoTime();
+        elements = newCapacity == 0 ? EMPTY : Arrays.copyOf(elements, newCapacity);
+        long nanos = System.nanoTime() - start;
+        resizeCount++;
+        bytesCopied += (long) Math.min(oldCapacity, newCapacity) * REFERENCE_SIZE;
+        bytesAllocated += newCapacity == 0 ? 0 : (ARRAY_HEADER + (long) newCapacity * REFERENCE_SIZE + 7) & ~7L;
+        copyNanos += nanos;
+        recordSlack();
+        if (listener != null) {
+            listener.resized(this, oldCapacity, newCapacity, size, nanos);
+        }
+        ResizeListener global = globalListener;
+        if (global != null) {
+            global.resized(this, oldCapacity, newCapacity, size, nanos);
+        }
+    }
+
+    /**
+     * 4 unless a 64-bit JVM runs without compressed oops. HotSpot 9+ names
+     * its compressed oops mode in a system property; Java 8 does not, so
+     * there a heap below 32 GB (the default limit) counts as compressed.
+     */
+    private static int referenceSize() {
+        if (!"64".equals(System.getProperty("sun.arch.data.model", "64"))) {
+            return 4;
+        }
+        if (System.getProperty("java.vm.compressedOopsMode") != null) {
+            return 4;
+        }
+        boolean java8 = System.getProperty("java.specification.version", "").startsWith("1.");
+        return java8 && Runtime.getRuntime().maxMemory() < 32L << 30 ? 4 : 8;
+    }
+
+    private void recordSlack() {
+        int slack = elements.length - size;
+        if (slack > peakSlack) {
+            peakSlack = slack;
+        }
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+}
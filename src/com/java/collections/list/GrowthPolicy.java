@@ -0,0 +1,100 @@
+package com.java.collections.list;
+
+/**
+ * GrowthPolicy - How an array-backed list picks its next capacity
+ * - factor(1.5)   ArrayList's rule: few resizes, up to 1/3 slack
+ * - doubling()    Vector's default: fewest resizes, up to 1/2 slack
+ * - additive(n)   Vector(capacity, n): bounded slack, O(n) resizes, O(n^2) copying
+ * - sizeClasses() powers of two split into quarters (16, 20, 24, 28, 32, 40, ...):
+ *                 at most 1/5 slack, and lists of similar size share array sizes
+ * - hinted(n, p)  jump straight to an expected size, then fall back to p
+ * The list grows to at least minCapacity whatever the policy returns.
+ */
+@FunctionalInterface
+public interface GrowthPolicy {
+
+    /** Largest array size the JVMs reliably allocate. */
+    int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+    /** First capacity of an empty list, as in ArrayList. */
+    int MIN_CAPACITY = 10;
+
+    /**
+     * @param capacity    current array length
+     * @param minCapacity capacity required by the pending operation (> capacity)
+     * @return the new array length; values below minCapacity are raised to it
+     */
+    int newCapacity(int capacity, int minCapacity);
+
+    static GrowthPolicy factor(double factor) {
+        if (!(factor > 1)) {
+            throw new IllegalArgumentException("Growth factor must be > 1: " + factor);
+        }
+        return new GrowthPolicy() {
+            public int newCapacity(int capacity, int minCapacity) {
+                return capacity == 0 ? MIN_CAPACITY : clamp((long) (capacity * factor));
+            }
+
+            @Override
+            public String toString() {
+                return "factor(" + factor + ")";
+            }
+        };
+    }
+
+    static GrowthPolicy doubling() {
+        return factor(2);
+    }
+
+    static GrowthPolicy additive(int increment) {
+        if (increment <= 0) {
+            throw new IllegalArgumentException("Increment must be > 0: " + increment);
+        }
+        return new GrowthPolicy() {
+            public int newCapacity(int capacity, int minCapacity) {
+                return clamp((long) capacity + increment);
+            }
+
+            @Override
+            public String toString() {
+                return "additive(" + increment + ")";
+            }
+        };
+    }
+
+    static GrowthPolicy sizeClasses() {
+        return new GrowthPolicy() {
+            public int newCapacity(int capacity, int minCapacity) {
+                if (minCapacity <= 16) {
+                    return 16;
+                }
+                // Quarter steps between powers of two: 2^k * {1, 1.25, 1.5, 1.75}
+                long power = Long.highestOneBit(minCapacity - 1);
+                long step = power >> 2;
+                return clamp((minCapacity + step - 1) / step * step);
+            }
+
+            @Override
+            public String toString() {
+                return "sizeClasses";
+            }
+        };
+    }
+
+    /** First growth goes straight to expectedSize; later ones use then. */
+    static GrowthPolicy hinted(int expectedSize, GrowthPolicy then) {
+        return new GrowthPolicy() {
+            public int newCapacity(int capacity, int minCapacity) {
+                return capacity < expectedSize ? expectedSize : then.newCapacity(capacity, minCapacity);
+            }
+
+            @Override
+            public String toString() {
+                return "hinted(" + expectedSize + ", " + then + ")";
+            }
+        };
+    }
+
+    static int clamp(long capacity) {
+        return (int) Math.min(capacity, MAX_CAPACITY);
+    }
+}
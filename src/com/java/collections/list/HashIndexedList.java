@@ -0,0 +1,580 @@
+package com.java.collections.list;
+
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * HashIndexedList - Array list with a hash index from element to positions
+ * - contains/indexOf/lastIndexOf are O(1) expected instead of a linear scan
+ *   (O(log n) for the positions once middle removals left tombstones)
+ * - Keeps List semantics: insertion order, duplicates, null elements
+ * - The index stores slots, not positions: slots ascend with the positions
+ *   but may leave gaps, and a Fenwick tree over the freed slots (tombstones)
+ *   turns a slot into its position. A middle insert or remove still shifts
+ *   the array, but touches only its own and its neighbours' index entries
+ *   and O(log n) counters; no other entry moves
+ * - A middle insert takes a free slot between its neighbours, or moves the
+ *   next few slots up by one; if the gap is far it respreads every slot
+ *   with a free one in front. Too many tombstones renumber the slots in one
+ *   pass (no rehashing); both are amortized O(1)
+ * - removeIf/removeAll/retainAll and removeAllAt/retainRange compact the
+ *   array once and renumber the index once
+ * - lazy mode builds the index on the first query instead of on every add,
+ *   for lists that are filled first and queried later
+ * - Elements must not change their equals/hashCode while in the list
+ * - Costs a HashMap entry per distinct element, plus the tombstone tree
+ *   (an int per slot) while there are tombstones; not synchronized
+ */
+public class HashIndexedList<E> extends AbstractList<E> implements RandomAccess, BulkRemovable, BatchSource<E> {
+    private static final int DEFAULT_CAPACITY = 10;
+    private static final Object[] EMPTY = {};
+    // Slots moved up one by one to open a gap before the whole list is respread
+    private static final int SHIFT_LIMIT = 32;
+    // Tombstones allowed beyond twice the size before the slots are renumbered
+    private static final int TOMBSTONE_SLACK = 64;
+
+    private Object[] elements;
+    private int size;
+    // element -> Integer (single slot) or IntArrayList (ascending slots);
+    // null while not built (lazy mode)
+    private Map<Object, Object> index;
+    // slots handed out so far: live ones plus tombstones
+    private int slotCount;
+    // Fenwick tree counting tombstones per slot (1-based); null while slots are dense
+    private int[] tombstones;
+
+    /** Eager index: maintained from the first add. */
+    public HashIndexedList() {
+        this(0, false);
+    }
+
+    /**
+     * @param initialCapacity initial array capacity
+     * @param lazyIndex       build the index on the first contains/indexOf/lastIndexOf
+     */
+    public HashIndexedList(int initialCapacity, boolean lazyIndex) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Illegal capacity: " + initialCapacity);
+        }
+        this.elements = initialCapacity == 0 ? EMPTY : new Object[initialCapacity];
+        this.index = lazyIndex ? null : new HashMap<>();
+    }
+
+    public HashIndexedList(Collection<? extends E> c) {
+        this(c.size(), false);
+        addAll(c);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        checkIndex(index);
+        return (E) elements[index];
+    }
+
+    // ---------------------------------------------------------------- indexed queries
+
+    @Override
+    public boolean contains(Object o) {
+        return index().containsKey(o);
+    }
+
+    @Override
+    public int indexOf(Object o) {
+        Object positions = index().get(o);
+        if (positions == null) {
+            return -1;
+        }
+        return position(positions instanceof Integer ? (Integer) positions : ((IntArrayList) positions).get(0));
+    }
+
+    @Override
+    public int lastIndexOf(Object o) {
+        Object positions = index().get(o);
+        if (positions == null) {
+            return -1;
+        }
+        if (positions instanceof Integer) {
+            return position((Integer) positions);
+        }
+        IntArrayList list = (IntArrayList) positions;
+        return position(list.get(list.size() - 1));
+    }
+
+    /** Number of occurrences of o, O(1) expected. */
+    public int frequency(Object o) {
+        Object positions = index().get(o);
+        if (positions == null) {
+            return 0;
+        }
+        return positions instanceof Integer ? 1 : ((IntArrayList) positions).size();
+    }
+
+    private Map<Object, Object> index() {
+        if (index == null) {
+            Map<Object, Object> built = new HashMap<>(Math.max(16, (int) (size / 0.75f) + 1));
+            for (int i = 0; i < size; i++) {
+                addPosition(built, elements[i], i);
+            }
+            index = built;
+            slotCount = size;
+            tombstones = null;
+        }
+        return index;
+    }
+
+    /** Adds slot to o's entry; slots may arrive out of order only from middle inserts and set. */
+    private static void addPosition(Map<Object, Object> index, Object o, int slot) {
+        Object positions = index.get(o);
+        if (positions == null) {
+            index.put(o, slot);
+        } else if (positions instanceof Integer) {
+            int existing = (Integer) positions;
+            IntArrayList list = new IntArrayList(4);
+            list.add(Math.min(existing, slot));
+            list.add(Math.max(existing, slot));
+            index.put(o, list);
+        } else {
+            IntArrayList list = (IntArrayList) positions;
+            int at = list.size();
+            while (at > 0 && list.get(at - 1) > slot) {
+                at--;
+            }
+            list.add(at, slot);
+        }
+    }
+
+    /** Removes the slot of o at position from o's entry and returns it. */
+    private int removePosition(Object o, int position) {
+        Object positions = index.get(o);
+        if (positions instanceof Integer) {
+            index.remove(o);
+            return (Integer) positions;
+        }
+        IntArrayList list = (IntArrayList) positions;
+        int at = searchPosition(list, position);
+        int slot = list.removeAt(at);
+        if (list.size() == 1) {
+            index.put(o, list.get(0));
+        }
+        return slot;
+    }
+
+    /** Slot of the element at position, found through its index entry. */
+    private int slotAt(int position) {
+        Object positions = index.get(elements[position]);
+        if (positions instanceof Integer) {
+            return (Integer) positions;
+        }
+        IntArrayList list = (IntArrayList) positions;
+        return list.get(searchPosition(list, position));
+    }
+
+    /** Moves o's entry from slot from to slot to; no other slot of o lies between them. */
+    private static void moveSlot(Map<Object, Object> index, Object o, int from, int to) {
+        Object positions = index.get(o);
+        if (positions instanceof Integer) {
+            index.put(o, to);
+        } else {
+            IntArrayList list = (IntArrayList) positions;
+            list.set(binarySearch(list, from), to);
+        }
+    }
+
+    private static int binarySearch(IntArrayList list, int slot) {
+        int low = 0;
+        int high = list.size() - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int value = list.get(mid);
+            if (value < slot) {
+                low = mid + 1;
+            } else if (value > slot) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        throw new IllegalStateException("Index out of sync at slot " + slot);
+    }
+
+    /** Where in ascending slots the one at position is; positions ascend with the slots. */
+    private int searchPosition(IntArrayList list, int position) {
+        int low = 0;
+        int high = list.size() - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int value = position(list.get(mid));
+            if (value < position) {
+                low = mid + 1;
+            } else if (value > position) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        throw new IllegalStateException("Index out of sync at position " + position);
+    }
+
+    // ---------------------------------------------------------------- slots
+
+    /** Position of a live slot: the slot minus the tombstones before it. */
+    private int position(int slot) {
+        int[] tree = tombstones;
+        if (tree == null) {
+            return slot;
+        }
+        int dead = 0;
+        for (int i = Math.min(slot, tree.length - 1); i > 0; i -= i & -i) {
+            dead += tree[i];
+        }
+        return slot - dead;
+    }
+
+    private void addTombstones(int slot, int delta) {
+        int[] tree = tombstones;
+        for (int i = slot + 1; i < tree.length; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    /** Rebuilds the tombstone tree from the live slots, with room for new slots. */
+    private void buildTombstones() {
+        int[] tree = new int[slotCount + (slotCount >> 1) + 17];
+        Arrays.fill(tree, 1, slotCount + 1, 1);
+        for (Object positions : index.values()) {
+            if (positions instanceof Integer) {
+                tree[(Integer) positions + 1] = 0;
+            } else {
+                IntArrayList list = (IntArrayList) positions;
+                for (int i = 0; i < list.size(); i++) {
+                    tree[list.get(i) + 1] = 0;
+                }
+            }
+        }
+        for (int i = 1; i < tree.length; i++) {
+            int parent = i + (i & -i);
+            if (parent < tree.length) {
+                tree[parent] += tree[i];
+            }
+        }
+        tombstones = tree;
+    }
+
+    /** Frees the slot of an element already taken out of the index. */
+    private void freeSlot(int slot) {
+        if (slot == slotCount - 1) {
+            slotCount--;
+        } else if (tombstones == null || slot >= tombstones.length - 1) {
+            buildTombstones();
+        } else {
+            addTombstones(slot, 1);
+        }
+        if (slotCount - size > 2 * size + TOMBSTONE_SLACK) {
+            renumber(1);
+        }
+    }
+
+    /** Slot for an element about to be inserted at position, 0 <= position < size. */
+    private int slotBefore(int position) {
+        int low = position == 0 ? -1 : slotAt(position - 1);
+        int high = slotAt(position);
+        if (high - low > 1) {
+            addTombstones(high - 1, -1);
+            return high - 1;
+        }
+        // No gap: move the run of consecutive slots from position up by one, into the next tombstone
+        int last = position;
+        int lastSlot = high;
+        while (last + 1 < size) {
+            int next = slotAt(last + 1);
+            if (next != lastSlot + 1) {
+                break;
+            }
+            if (++last - position == SHIFT_LIMIT) {
+                renumber(2);
+                return slotBefore(position);
+            }
+            lastSlot = next;
+        }
+        int free = lastSlot + 1;
+        if (free == slotCount) {
+            slotCount++;
+        } else {
+            addTombstones(free, -1);
+        }
+        // From the back, so a moved slot never lands on one still to move
+        for (int p = last, slot = lastSlot; p >= position; p--, slot--) {
+            moveSlot(index, elements[p], slot, slot + 1);
+        }
+        return high;
+    }
+
+    /**
+     * Gives the element at position p the slot p * spacing + spacing - 1 and
+     * rewrites every index entry in place, in two passes over the index;
+     * spacing 2 leaves a free slot before each element.
+     */
+    private void renumber(int spacing) {
+        // Mark the live slots, then number them in slot order
+        int[] renumbered = new int[slotCount];
+        for (Object positions : index.values()) {
+            if (positions instanceof Integer) {
+                renumbered[(Integer) positions] = 1;
+            } else {
+                IntArrayList list = (IntArrayList) positions;
+                for (int i = 0; i < list.size(); i++) {
+                    renumbered[list.get(i)] = 1;
+                }
+            }
+        }
+        for (int slot = 0, p = 0; slot < slotCount; slot++) {
+            if (renumbered[slot] != 0) {
+                renumbered[slot] = p++ * spacing + spacing - 1;
+            }
+        }
+        for (Map.Entry<Object, Object> entry : index.entrySet()) {
+            Object positions = entry.getValue();
+            if (positions instanceof Integer) {
+                entry.setValue(renumbered[(Integer) positions]);
+            } else {
+                IntArrayList list = (IntArrayList) positions;
+                for (int i = 0; i < list.size(); i++) {
+                    list.set(i, renumbered[list.get(i)]);
+                }
+            }
+        }
+        slotCount = size * spacing;
+        tombstones = null;
+        if (spacing > 1) {
+            buildTombstones();
+        }
+    }
+
+    // ---------------------------------------------------------------- modification
+
+    @Override
+    public boolean add(E e) {
+        if (size == elements.length) {
+            grow(size + 1);
+        }
+        elements[size] = e;
+        if (index != null) {
+            addPosition(index, e, slotCount++);
+        }
+        size++;
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public void add(int index, E element) {
+        if (index == size) {
+            add(element);
+            return;
+        }
+        checkPositionIndex(index);
+        if (size == elements.length) {
+            grow(size + 1);
+        }
+        if (this.index != null) {
+            // Later elements keep their slots, so their index entries stay as they are
+            addPosition(this.index, element, slotBefore(index));
+        }
+        System.arraycopy(elements, index, elements, index + 1, size - index);
+        elements[index] = element;
+        size++;
+        modCount++;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E set(int index, E element) {
+        checkIndex(index);
+        E old = (E) elements[index];
+        elements[index] = element;
+        if (this.index != null) {
+            addPosition(this.index, element, removePosition(old, index));
+        }
+        return old;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E remove(int index) {
+        checkIndex(index);
+        E old = (E) elements[index];
+        int slot = this.index != null ? removePosition(old, index) : -1;
+        int moved = size - index - 1;
+        if (moved > 0) {
+            System.arraycopy(elements, index + 1, elements, index, moved);
+        }
+        elements[--size] = null;
+        modCount++;
+        if (slot >= 0) {
+            freeSlot(slot);
+        }
+        return old;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        int i = indexOf(o);
+        if (i < 0) {
+            return false;
+        }
+        remove(i);
+        return true;
+    }
+
+    @Override
+    protected void removeRange(int fromIndex, int toIndex) {
+        if (fromIndex >= toIndex) {
+            return;
+        }
+        BitSet range = new BitSet(toIndex);
+        range.set(fromIndex, toIndex);
+        removeAllAt(range);
+    }
+
+    /** Removes every element matching filter with one compaction; the list is unchanged if filter throws. */
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean removeIf(Predicate<? super E> filter) {
+        Objects.requireNonNull(filter);
+        BitSet matches = new BitSet(size);
+        for (int i = 0; i < size; i++) {
+            if (filter.test((E) elements[i])) {
+                matches.set(i);
+            }
+        }
+        return removeAllAt(matches) > 0;
+    }
+
+    /** Looks the elements of a smaller c up in the index; otherwise as BulkSetOps.removeAll. */
+    @Override
+    public boolean removeAll(Collection<?> c) {
+        Objects.requireNonNull(c);
+        if (c.size() >= size) {
+            return BulkSetOps.removeAll(this, c);
+        }
+        Map<Object, Object> index = index();
+        BitSet matches = new BitSet(size);
+        for (Object o : c) {
+            Object positions = index.get(o);
+            if (positions instanceof Integer) {
+                matches.set(position((Integer) positions));
+            } else if (positions != null) {
+                IntArrayList list = (IntArrayList) positions;
+                for (int i = 0; i < list.size(); i++) {
+                    matches.set(position(list.get(i)));
+                }
+            }
+        }
+        return removeAllAt(matches) > 0;
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> c) {
+        return BulkSetOps.retainAll(this, c);
+    }
+
+    /**
+     * Removes the elements at the set bits of indices in one pass, then
+     * renumbers the index once; if most elements go, the index is rebuilt
+     * from the survivors instead.
+     */
+    @Override
+    public int removeAllAt(BitSet indices) {
+        ListRemovals.checkIndices(indices, size);
+        int removed = indices.cardinality();
+        if (removed == 0) {
+            return 0;
+        }
+        boolean rebuild = removed > size - removed;
+        if (index != null && !rebuild) {
+            for (int i = indices.nextSetBit(0); i >= 0; i = indices.nextSetBit(i + 1)) {
+                removePosition(elements[i], i);
+            }
+        }
+        size = ListRemovals.compact(elements, size, indices);
+        modCount++;
+        if (index != null) {
+            if (rebuild) {
+                index = null;
+                index();
+            } else {
+                renumber(1);
+            }
+        }
+        return removed;
+    }
+
+    @Override
+    public void retainRange(int fromIndex, int toIndex) {
+        ListRemovals.checkRange(fromIndex, toIndex, size);
+        BitSet outside = new BitSet(size);
+        outside.set(0, fromIndex);
+        outside.set(toIndex, size);
+        removeAllAt(outside);
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(elements, 0, size, null);
+        size = 0;
+        modCount++;
+        if (index != null) {
+            index.clear();
+            slotCount = 0;
+            tombstones = null;
+        }
+    }
+
+    @Override
+    public BatchCursor<E> batchCursor() {
+        return new BatchCursor<E>() {
+            private final int expectedModCount = modCount;
+            private int next;
+
+            public int nextBatch(E[] dst, int offset, int length) {
+                if (modCount != expectedModCount) {
+                    throw new ConcurrentModificationException();
+                }
+                int n = Math.min(length, size - next);
+                if (n <= 0) {
+                    return 0;
+                }
+                System.arraycopy(elements, next, dst, offset, n);
+                next += n;
+                return n;
+            }
+        };
+    }
+
+    private void grow(int minCapacity) {
+        int oldCapacity = elements.length;
+        int newCapacity = Math.max(oldCapacity + (oldCapacity >> 1), DEFAULT_CAPACITY);
+        if (newCapacity - minCapacity < 0) {
+            newCapacity = minCapacity;
+        }
+        elements = Arrays.copyOf(elements, newCapacity);
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    private void checkPositionIndex(int index) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+}
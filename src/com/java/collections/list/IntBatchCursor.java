@@ -0,0 +1,14 @@
+package com.java.collections.list;
+
+/**
+ * IntBatchCursor - BatchCursor for primitive int values, no boxing
+ */
+public interface IntBatchCursor {
+
+    /** Copies up to length next values into dst[offset..]; returns how many, 0 at the end. */
+    int nextBatch(int[] dst, int offset, int length);
+
+    default int nextBatch(int[] dst) {
+        return nextBatch(dst, 0, dst.length);
+    }
+}
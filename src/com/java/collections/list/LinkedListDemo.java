@@ -60,5 +60,7 @@ public class LinkedListDemo {
         System.out.println("• Random access O(n)");
         System.out.println("• Good for frequent insertions/deletions");
         System.out.println("• Implements both List and Deque");
+        System.out.println("• As a Queue between threads: allocates a node per offer and is not");
+        System.out.println("  thread-safe, use a bounded ring buffer (see concurrent.MpmcArrayQueue)");
     }
 }
\ No newline at end of file
@@ -29,49 +29,68 @@ public class ListComparison {
         // Performance comparison
         performanceTest();
         
+        // Memory comparison
+        memoryTest();
+        
         // Use case recommendations
         printRecommendations();
     }
     
     static void performanceTest() {
         System.out.println("\n--- Performance Test (10000 elements) ---");
+        System.out.println("Rough numbers: a few warmup rounds, then the last round is shown.");
+        System.out.println("For warmed-up ns/op with confidence intervals run:");
+        System.out.println("java com.java.collections.benchmark.ListBenchmark -size 1e3,1e7 -prof gc\n");
         
         int size = 10000;
-        
-        // ArrayList performance
-        long start = System.nanoTime();
-        List<Integer> arrayList = new ArrayList<>();
-        for (int i = 0; i < size; i++) {
-            arrayList.add(i);
-        }
-        long arrayListTime = System.nanoTime() - start;
-        
-        // LinkedList performance
-        start = System.nanoTime();
-        List<Integer> linkedList = new LinkedList<>();
-        for (int i = 0; i < size; i++) {
-            linkedList.add(i);
+        int lookups = 1000;
+        long arrayListAdd = 0, linkedListAdd = 0, arrayListGet = 0, linkedListGet = 0;
+        long checksum = 0;
+        
+        // Repeat so the JIT has compiled the loops before the final round
+        for (int round = 0; round < 5; round++) {
+            long start = System.nanoTime();
+            List<Integer> arrayList = new ArrayList<>();
+            for (int i = 0; i < size; i++) {
+                arrayList.add(i);
+            }
+            arrayListAdd = System.nanoTime() - start;
+            
+            start = System.nanoTime();
+            List<Integer> linkedList = new LinkedList<>();
+            for (int i = 0; i < size; i++) {
+                linkedList.add(i);
+            }
+            linkedListAdd = System.nanoTime() - start;
+            
+            start = System.nanoTime();
+            for (int i = 0; i < lookups; i++) {
+                checksum += arrayList.get(size / 2);
+            }
+            arrayListGet = System.nanoTime() - start;
+            
+            start = System.nanoTime();
+            for (int i = 0; i < lookups; i++) {
+                checksum += linkedList.get(size / 2);
+            }
+            linkedListGet = System.nanoTime() - start;
         }
-        long linkedListTime = System.nanoTime() - start;
-        
-        System.out.println("ArrayList add time: " + arrayListTime / 1000000 + " ms");
-        System.out.println("LinkedList add time: " + linkedListTime / 1000000 + " ms");
         
-        // Random access test
-        start = System.nanoTime();
-        for (int i = 0; i < 1000; i++) {
-            arrayList.get(size / 2);
+        System.out.printf("ArrayList add:            %8.1f ns/op%n", (double) arrayListAdd / size);
+        System.out.printf("LinkedList add:           %8.1f ns/op%n", (double) linkedListAdd / size);
+        System.out.printf("ArrayList get(middle):    %8.1f ns/op%n", (double) arrayListGet / lookups);
+        System.out.printf("LinkedList get(middle):   %8.1f ns/op%n", (double) linkedListGet / lookups);
+        if (checksum == 42) {
+            System.out.println(); // keeps the lookups from being optimized away
         }
-        long arrayListAccess = System.nanoTime() - start;
-        
-        start = System.nanoTime();
-        for (int i = 0; i < 1000; i++) {
-            linkedList.get(size / 2);
-        }
-        long linkedListAccess = System.nanoTime() - start;
-        
-        System.out.println("ArrayList random access: " + arrayListAccess / 1000000 + " ms");
-        System.out.println("LinkedList random access: " + linkedListAccess / 1000000 + " ms");
+    }
+    
+    static void memoryTest() {
+        System.out.println("\n--- Memory Footprint ---");
+        System.out.println("ArrayList: one reference per slot (plus spare capacity)");
+        System.out.println("LinkedList: one 24-32 byte node per element");
+        System.out.println("Measured bytes per element for every collection type:");
+        System.out.println("java com.java.collections.footprint.FootprintReport -size 1e3,1e5");
     }
     
     static void printRecommendations() {
@@ -99,6 +118,11 @@ public class ListComparison {
         System.out.println("✓ Legacy code requiring LIFO operations");
         System.out.println("✗ New applications (use ArrayDeque instead)");
         
+        System.out.println("\nTieredList:");
+        System.out.println("✓ Large lists with inserts/removals at arbitrary indexes");
+        System.out.println("✓ Still O(1) random access (chunked circular buffers)");
+        System.out.println("✗ Small lists (ArrayList shifting is cheaper there)");
+        
         System.out.println("\n--- Performance Summary ---");
         System.out.println("Operation     | ArrayList | LinkedList | Vector");
         System.out.println("Add (end)     | O(1)*     | O(1)       | O(1)*");
@@ -108,5 +132,8 @@ public class ListComparison {
         System.out.println("Contains      | O(n)      | O(n)       | O(n)");
         System.out.println("Thread-safe   | No        | No         | Yes");
         System.out.println("\n* Amortized, ** If you have reference to node");
+        System.out.println("TieredList: Add/Remove (middle) O(√n), Get by index O(1)");
+        System.out.println("Textbook bounds; measured on this machine, with cache knees:");
+        System.out.println("java com.java.collections.benchmark.ComplexityReport");
     }
 }
\ No newline at end of file
@@ -0,0 +1,137 @@
+package com.java.collections.list;
+
+import java.util.*;
+
+/**
+ * ListRemovals - Bulk index-based removal for any List
+ * - removeAllAt: one pass; RandomAccess lists move each survivor once with
+ *   set and drop the tail with subList(..).clear(), linked lists unlink
+ *   through a single ListIterator walk
+ * - retainRange: two range clears, no per-element shifting
+ * - BulkRemovable lists (our array lists) use their own array compaction
+ * - removalCursor: iterate, mark, and remove everything marked at the end
+ * - Synchronized lists (Vector, Collections.synchronizedList) must be
+ *   locked by the caller for the whole call, as for iteration
+ */
+public final class ListRemovals {
+
+    private ListRemovals() {
+    }
+
+    /** Removes the elements at the given positions (before removal, any order); returns the count removed. */
+    public static int removeAllAt(List<?> list, int[] indices) {
+        if (list instanceof BulkRemovable) {
+            return ((BulkRemovable) list).removeAllAt(indices);
+        }
+        return removeAllAt(list, toBitSet(indices, list.size()));
+    }
+
+    /** Removes the elements at the set bits of indices; returns the count removed. */
+    @SuppressWarnings("unchecked")
+    public static int removeAllAt(List<?> list, BitSet indices) {
+        if (list instanceof BulkRemovable) {
+            return ((BulkRemovable) list).removeAllAt(indices);
+        }
+        int size = list.size();
+        checkIndices(indices, size);
+        int first = indices.nextSetBit(0);
+        if (first < 0) {
+            return 0;
+        }
+        if (list instanceof RandomAccess) {
+            List<Object> l = (List<Object>) list;
+            int w = first;
+            for (int r = indices.nextClearBit(first); r < size; r = indices.nextClearBit(r + 1)) {
+                l.set(w++, l.get(r));
+            }
+            l.subList(w, size).clear();
+            return size - w;
+        }
+        ListIterator<?> it = list.listIterator(first);
+        int position = first;
+        int removed = 0;
+        for (int i = first; i >= 0; i = indices.nextSetBit(i + 1)) {
+            while (position <= i) {
+                it.next();
+                position++;
+            }
+            it.remove();
+            removed++;
+        }
+        return removed;
+    }
+
+    /** Keeps only [fromIndex, toIndex). */
+    public static void retainRange(List<?> list, int fromIndex, int toIndex) {
+        if (list instanceof BulkRemovable) {
+            ((BulkRemovable) list).retainRange(fromIndex, toIndex);
+            return;
+        }
+        int size = list.size();
+        checkRange(fromIndex, toIndex, size);
+        list.subList(toIndex, size).clear();
+        list.subList(0, fromIndex).clear();
+    }
+
+    /** Cursor over list whose remove() only marks; close() removes all marks in one pass. */
+    public static <E> RemovalCursor<E> removalCursor(List<E> list) {
+        return new RemovalCursor<>(list);
+    }
+
+    /**
+     * Compacts a[0..size) in place, dropping the set bits of indices, and
+     * nulls the freed slots; returns the new size. Survivors between two
+     * removed positions move as one System.arraycopy.
+     */
+    public static int compact(Object[] a, int size, BitSet indices) {
+        checkIndices(indices, size);
+        int w = indices.nextSetBit(0);
+        if (w < 0) {
+            return size;
+        }
+        for (int r = indices.nextClearBit(w); r < size; ) {
+            int end = indices.nextSetBit(r);
+            if (end < 0) {
+                end = size;
+            }
+            System.arraycopy(a, r, a, w, end - r);
+            w += end - r;
+            r = indices.nextClearBit(end);
+        }
+        Arrays.fill(a, w, size, null);
+        return w;
+    }
+
+    /** Moves a[fromIndex..toIndex) to the front and nulls the rest of a[0..size); returns the new size. */
+    public static int retain(Object[] a, int size, int fromIndex, int toIndex) {
+        checkRange(fromIndex, toIndex, size);
+        int kept = toIndex - fromIndex;
+        System.arraycopy(a, fromIndex, a, 0, kept);
+        Arrays.fill(a, kept, size, null);
+        return kept;
+    }
+
+    static BitSet toBitSet(int[] indices, int size) {
+        BitSet marks = new BitSet(size);
+        for (int index : indices) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+            }
+            marks.set(index);
+        }
+        return marks;
+    }
+
+    static void checkIndices(BitSet indices, int size) {
+        if (indices.length() > size) {
+            throw new IndexOutOfBoundsException("Index: " + (indices.length() - 1) + ", Size: " + size);
+        }
+    }
+
+    static void checkRange(int fromIndex, int toIndex, int size) {
+        if (fromIndex < 0 || toIndex > size || fromIndex > toIndex) {
+            throw new IndexOutOfBoundsException("fromIndex: " + fromIndex + ", toIndex: " + toIndex
+                    + ", Size: " + size);
+        }
+    }
+}
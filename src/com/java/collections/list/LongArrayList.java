@@ -0,0 +1,316 @@
+package com.java.collections.list;
+
+import java.util.*;
+import java.util.function.LongConsumer;
+import java.util.function.LongPredicate;
+import java.util.stream.LongStream;
+
+/**
+ * LongArrayList - Resizable array of primitive long values
+ * - Same growth and indexing rules as ArrayList, without boxing
+ * - 8 bytes per element instead of a reference plus a Long object
+ * - Not synchronized (not thread-safe)
+ */
+public class LongArrayList implements BulkRemovable {
+    private static final int DEFAULT_CAPACITY = 10;
+    private static final long[] EMPTY = {};
+
+    private long[] elements;
+    private int size;
+
+    public LongArrayList() {
+        this.elements = EMPTY;
+    }
+
+    public LongArrayList(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Illegal capacity: " + initialCapacity);
+        }
+        this.elements = initialCapacity == 0 ? EMPTY : new long[initialCapacity];
+    }
+
+    /** Creates a list holding a copy of the given values. */
+    public static LongArrayList of(long... values) {
+        LongArrayList list = new LongArrayList(values.length);
+        list.addAll(values);
+        return list;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void add(long value) {
+        if (size == elements.length) {
+            grow(size + 1);
+        }
+        elements[size++] = value;
+    }
+
+    public void add(int index, long value) {
+        checkPositionIndex(index);
+        if (size == elements.length) {
+            grow(size + 1);
+        }
+        System.arraycopy(elements, index, elements, index + 1, size - index);
+        elements[index] = value;
+        size++;
+    }
+
+    /** Appends all values with a single capacity check and one array copy. */
+    public void addAll(long[] values) {
+        addAll(values, 0, values.length);
+    }
+
+    public void addAll(long[] values, int offset, int length) {
+        if (offset < 0 || length < 0 || offset + length > values.length) {
+            throw new IndexOutOfBoundsException("offset " + offset + ", length " + length);
+        }
+        ensureCapacity(size + length);
+        System.arraycopy(values, offset, elements, size, length);
+        size += length;
+    }
+
+    public long get(int index) {
+        checkIndex(index);
+        return elements[index];
+    }
+
+    /** Replaces the value at index and returns the previous one. */
+    public long set(int index, long value) {
+        checkIndex(index);
+        long old = elements[index];
+        elements[index] = value;
+        return old;
+    }
+
+    /** Removes the value at index; named removeAt to avoid confusion with a remove-by-value. */
+    public long removeAt(int index) {
+        checkIndex(index);
+        long old = elements[index];
+        int moved = size - index - 1;
+        if (moved > 0) {
+            System.arraycopy(elements, index + 1, elements, index, moved);
+        }
+        size--;
+        return old;
+    }
+
+    /** Removes the values at the set bits of indices in one pass; returns the count removed. */
+    @Override
+    public int removeAllAt(BitSet indices) {
+        ListRemovals.checkIndices(indices, size);
+        int w = indices.nextSetBit(0);
+        if (w < 0) {
+            return 0;
+        }
+        // Each run of survivors between two removed positions moves as one copy
+        for (int r = indices.nextClearBit(w); r < size; ) {
+            int end = indices.nextSetBit(r);
+            if (end < 0) {
+                end = size;
+            }
+            System.arraycopy(elements, r, elements, w, end - r);
+            w += end - r;
+            r = indices.nextClearBit(end);
+        }
+        int removed = size - w;
+        size = w;
+        return removed;
+    }
+
+    /** Keeps only [fromIndex, toIndex). */
+    @Override
+    public void retainRange(int fromIndex, int toIndex) {
+        ListRemovals.checkRange(fromIndex, toIndex, size);
+        System.arraycopy(elements, fromIndex, elements, 0, toIndex - fromIndex);
+        size = toIndex - fromIndex;
+    }
+
+    public int indexOf(long value) {
+        return PrimitiveKernels.indexOf(elements, size, value);
+    }
+
+    public int lastIndexOf(long value) {
+        for (int i = size - 1; i >= 0; i--) {
+            if (elements[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public boolean contains(long value) {
+        return indexOf(value) >= 0;
+    }
+
+    /** Sum of all values; overflows silently, as long addition; 0 when empty. */
+    public long sum() {
+        return PrimitiveKernels.sum(elements, size);
+    }
+
+    /** Smallest value. Throws NoSuchElementException when empty. */
+    public long min() {
+        return PrimitiveKernels.min(elements, size);
+    }
+
+    /** Largest value. Throws NoSuchElementException when empty. */
+    public long max() {
+        return PrimitiveKernels.max(elements, size);
+    }
+
+    /** Number of values in [min, max]. */
+    public int countInRange(long min, long max) {
+        return PrimitiveKernels.countInRange(elements, size, min, max);
+    }
+
+    /** Removes every value in [min, max] in one branch-free pass; returns the count removed. */
+    public int removeInRange(long min, long max) {
+        int newSize = PrimitiveKernels.removeInRange(elements, size, min, max);
+        int removed = size - newSize;
+        size = newSize;
+        return removed;
+    }
+
+    /** Removes every occurrence of value; returns the count removed. */
+    public int removeEqual(long value) {
+        return removeInRange(value, value);
+    }
+
+    /**
+     * Removes every value matching filter; returns the count removed.
+     * All values are tested before any is moved, so an exception from
+     * filter leaves the list unchanged.
+     */
+    public int removeIf(LongPredicate filter) {
+        Objects.requireNonNull(filter);
+        int newSize = PrimitiveKernels.removeIf(elements, size, filter);
+        int removed = size - newSize;
+        size = newSize;
+        return removed;
+    }
+
+    /** Sorts in ascending order (dual-pivot quicksort, no comparator boxing). */
+    public void sort() {
+        Arrays.sort(elements, 0, size);
+    }
+
+    public void forEach(LongConsumer action) {
+        Objects.requireNonNull(action);
+        long[] a = elements;
+        for (int i = 0, n = size; i < n; i++) {
+            action.accept(a[i]);
+        }
+    }
+
+    /** Batch cursor over the values; reads the live array, so do not modify the list while using it. */
+    public LongBatchCursor batchCursor() {
+        return new LongBatchCursor() {
+            private int next;
+
+            public int nextBatch(long[] dst, int offset, int length) {
+                int n = Math.min(length, size - next);
+                if (n <= 0) {
+                    return 0;
+                }
+                System.arraycopy(elements, next, dst, offset, n);
+                next += n;
+                return n;
+            }
+        };
+    }
+
+    /** Sequential stream over the current contents (no copy). */
+    public LongStream stream() {
+        return Arrays.stream(elements, 0, size);
+    }
+
+    public long[] toArray() {
+        return Arrays.copyOf(elements, size);
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    public void ensureCapacity(int minCapacity) {
+        if (minCapacity > elements.length) {
+            grow(minCapacity);
+        }
+    }
+
+    public void trimToSize() {
+        if (size < elements.length) {
+            elements = size == 0 ? EMPTY : Arrays.copyOf(elements, size);
+        }
+    }
+
+    private void grow(int minCapacity) {
+        int oldCapacity = elements.length;
+        int newCapacity = Math.max(oldCapacity + (oldCapacity >> 1), DEFAULT_CAPACITY);
+        if (newCapacity - minCapacity < 0) {
+            newCapacity = minCapacity;
+        }
+        if (newCapacity < 0) {
+            throw new OutOfMemoryError("Required capacity too large: " + minCapacity);
+        }
+        elements = Arrays.copyOf(elements, newCapacity);
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    private void checkPositionIndex(int index) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof LongArrayList)) {
+            return false;
+        }
+        LongArrayList other = (LongArrayList) o;
+        if (size != other.size) {
+            return false;
+        }
+        for (int i = 0; i < size; i++) {
+            if (elements[i] != other.elements[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int h = 1;
+        for (int i = 0; i < size; i++) {
+            h = 31 * h + Long.hashCode(elements[i]);
+        }
+        return h;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(elements[i]);
+        }
+        return sb.append(']').toString();
+    }
+}
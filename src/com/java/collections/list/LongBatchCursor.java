@@ -0,0 +1,14 @@
+package com.java.collections.list;
+
+/**
+ * LongBatchCursor - BatchCursor for primitive long values, no boxing
+ */
+public interface LongBatchCursor {
+
+    /** Copies up to length next values into dst[offset..]; returns how many, 0 at the end. */
+    int nextBatch(long[] dst, int offset, int length);
+
+    default int nextBatch(long[] dst) {
+        return nextBatch(dst, 0, dst.length);
+    }
+}
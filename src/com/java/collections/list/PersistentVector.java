@@ -0,0 +1,408 @@
+package com.java.collections.list;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * PersistentVector - Immutable list with structural sharing (32-way trie)
+ * - Every "update" returns a new version; old versions stay valid and unchanged
+ * - get/with (set) O(log32 n), effectively O(1): 4 levels cover 1M elements
+ * - plus (append) amortized O(1) through a 32-element tail buffer
+ * - A new version copies only the path to the changed leaf, not the list
+ * - asTransient() gives a mutable builder for bulk construction that edits
+ *   its own nodes in place, then freezes with persistent()
+ * - Immutable, therefore thread-safe; List mutators throw UnsupportedOperationException
+ */
+public final class PersistentVector<E> extends AbstractList<E> implements RandomAccess, BatchSource<E> {
+    private static final int BITS = 5;
+    private static final int WIDTH = 1 << BITS;
+    private static final int MASK = WIDTH - 1;
+
+    /** Trie node; owner is the Transient allowed to edit it in place (null for persistent nodes). */
+    private static final class Node {
+        final Object owner;
+        final Object[] array;
+
+        Node(Object owner, Object[] array) {
+            this.owner = owner;
+            this.array = array;
+        }
+    }
+
+    private static final Node EMPTY_NODE = new Node(null, new Object[WIDTH]);
+    private static final PersistentVector<?> EMPTY = new PersistentVector<>(0, BITS, EMPTY_NODE, new Object[0]);
+
+    private final int size;
+    private final int shift;
+    private final Node root;
+    private final Object[] tail;
+
+    private PersistentVector(int size, int shift, Node root, Object[] tail) {
+        this.size = size;
+        this.shift = shift;
+        this.root = root;
+        this.tail = tail;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <E> PersistentVector<E> empty() {
+        return (PersistentVector<E>) EMPTY;
+    }
+
+    @SafeVarargs
+    public static <E> PersistentVector<E> of(E... elements) {
+        Transient<E> builder = PersistentVector.<E>empty().asTransient();
+        for (E e : elements) {
+            builder.add(e);
+        }
+        return builder.persistent();
+    }
+
+    public static <E> PersistentVector<E> copyOf(Collection<? extends E> c) {
+        if (c instanceof PersistentVector) {
+            @SuppressWarnings("unchecked")
+            PersistentVector<E> v = (PersistentVector<E>) c;
+            return v;
+        }
+        Transient<E> builder = PersistentVector.<E>empty().asTransient();
+        for (E e : c) {
+            builder.add(e);
+        }
+        return builder.persistent();
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    private int tailOffset() {
+        return size < WIDTH ? 0 : ((size - 1) >>> BITS) << BITS;
+    }
+
+    /** Leaf array holding index i. */
+    private Object[] arrayFor(int i) {
+        if (i >= tailOffset()) {
+            return tail;
+        }
+        Node node = root;
+        for (int level = shift; level > 0; level -= BITS) {
+            node = (Node) node.array[(i >>> level) & MASK];
+        }
+        return node.array;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        checkIndex(index, size);
+        return (E) arrayFor(index)[index & MASK];
+    }
+
+    /** Returns a new version with index replaced; this version is unchanged. */
+    public PersistentVector<E> with(int index, E element) {
+        checkIndex(index, size);
+        if (index >= tailOffset()) {
+            Object[] newTail = tail.clone();
+            newTail[index & MASK] = element;
+            return new PersistentVector<>(size, shift, root, newTail);
+        }
+        return new PersistentVector<>(size, shift, assoc(shift, root, index, element), tail);
+    }
+
+    private static Node assoc(int level, Node node, int i, Object value) {
+        Node copy = new Node(null, node.array.clone());
+        if (level == 0) {
+            copy.array[i & MASK] = value;
+        } else {
+            int sub = (i >>> level) & MASK;
+            copy.array[sub] = assoc(level - BITS, (Node) node.array[sub], i, value);
+        }
+        return copy;
+    }
+
+    /** Returns a new version with element appended; this version is unchanged. */
+    public PersistentVector<E> plus(E element) {
+        if (size - tailOffset() < WIDTH) {
+            Object[] newTail = Arrays.copyOf(tail, tail.length + 1);
+            newTail[tail.length] = element;
+            return new PersistentVector<>(size + 1, shift, root, newTail);
+        }
+        // Tail is full: push it into the trie and start a new one
+        Node tailNode = new Node(null, tail);
+        Node newRoot;
+        int newShift = shift;
+        if ((size >>> BITS) > (1 << shift)) {
+            newRoot = new Node(null, new Object[WIDTH]);
+            newRoot.array[0] = root;
+            newRoot.array[1] = newPath(null, shift, tailNode);
+            newShift += BITS;
+        } else {
+            newRoot = pushTail(shift, root, tailNode);
+        }
+        return new PersistentVector<>(size + 1, newShift, newRoot, new Object[] { element });
+    }
+
+    private Node pushTail(int level, Node parent, Node tailNode) {
+        int sub = ((size - 1) >>> level) & MASK;
+        Node copy = new Node(null, parent.array.clone());
+        Node insert;
+        if (level == BITS) {
+            insert = tailNode;
+        } else {
+            Node child = (Node) parent.array[sub];
+            insert = child != null ? pushTail(level - BITS, child, tailNode) : newPath(null, level - BITS, tailNode);
+        }
+        copy.array[sub] = insert;
+        return copy;
+    }
+
+    private static Node newPath(Object owner, int level, Node node) {
+        if (level == 0) {
+            return node;
+        }
+        Node path = new Node(owner, new Object[WIDTH]);
+        path.array[0] = newPath(owner, level - BITS, node);
+        return path;
+    }
+
+    /** Returns a new version without the last element. */
+    public PersistentVector<E> minusLast() {
+        if (size == 0) {
+            throw new IllegalStateException("Vector is empty");
+        }
+        if (size == 1) {
+            return empty();
+        }
+        if (size - tailOffset() > 1) {
+            return new PersistentVector<>(size - 1, shift, root, Arrays.copyOf(tail, tail.length - 1));
+        }
+        Object[] newTail = arrayFor(size - 2);
+        Node newRoot = popTail(shift, root);
+        int newShift = shift;
+        if (newRoot == null) {
+            newRoot = EMPTY_NODE;
+        }
+        if (shift > BITS && newRoot.array[1] == null) {
+            newRoot = (Node) newRoot.array[0];
+            newShift -= BITS;
+        }
+        return new PersistentVector<>(size - 1, newShift, newRoot, newTail);
+    }
+
+    private Node popTail(int level, Node node) {
+        int sub = ((size - 2) >>> level) & MASK;
+        if (level > BITS) {
+            Node child = popTail(level - BITS, (Node) node.array[sub]);
+            if (child == null && sub == 0) {
+                return null;
+            }
+            Node copy = new Node(null, node.array.clone());
+            copy.array[sub] = child;
+            return copy;
+        }
+        if (sub == 0) {
+            return null;
+        }
+        Node copy = new Node(null, node.array.clone());
+        copy.array[sub] = null;
+        return copy;
+    }
+
+    /** Mutable builder that starts from this version; this version is unaffected. */
+    public Transient<E> asTransient() {
+        return new Transient<>(this);
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return new Iterator<E>() {
+            private int index;
+            private Object[] leaf = size > 0 ? arrayFor(0) : null;
+
+            public boolean hasNext() {
+                return index < size;
+            }
+
+            @SuppressWarnings("unchecked")
+            public E next() {
+                if (index >= size) {
+                    throw new NoSuchElementException();
+                }
+                if (index > 0 && (index & MASK) == 0) {
+                    leaf = arrayFor(index);
+                }
+                return (E) leaf[index++ & MASK];
+            }
+        };
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEach(Consumer<? super E> action) {
+        Objects.requireNonNull(action);
+        for (int base = 0; base < size; base += WIDTH) {
+            Object[] leaf = arrayFor(base);
+            int end = Math.min(WIDTH, size - base);
+            for (int i = 0; i < end; i++) {
+                action.accept((E) leaf[i]);
+            }
+        }
+    }
+
+    /** Copies leaf by leaf, one array copy per 32 elements. */
+    @Override
+    public BatchCursor<E> batchCursor() {
+        return new BatchCursor<E>() {
+            private int next;
+
+            public int nextBatch(E[] dst, int offset, int length) {
+                int copied = 0;
+                while (copied < length && next < size) {
+                    int n = Math.min(Math.min(length - copied, WIDTH - (next & MASK)), size - next);
+                    System.arraycopy(arrayFor(next), next & MASK, dst, offset + copied, n);
+                    copied += n;
+                    next += n;
+                }
+                return copied;
+            }
+        };
+    }
+
+    private static void checkIndex(int index, int size) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    /**
+     * Transient - Single-owner mutable view used to build a vector quickly
+     * - add/set edit nodes owned by this builder in place, no path copying
+     * - Nodes shared with the source version are copied on first write
+     * - persistent() freezes the result; the builder is unusable afterwards
+     * - Not thread-safe
+     */
+    public static final class Transient<E> {
+        private final Object owner = new Object();
+        private boolean frozen;
+        private int size;
+        private int shift;
+        private Node root;
+        private Object[] tail;
+
+        private Transient(PersistentVector<E> source) {
+            this.size = source.size;
+            this.shift = source.shift;
+            this.root = new Node(owner, source.root.array.clone());
+            this.tail = Arrays.copyOf(source.tail, WIDTH);
+        }
+
+        public int size() {
+            return size;
+        }
+
+        private int tailOffset() {
+            return size < WIDTH ? 0 : ((size - 1) >>> BITS) << BITS;
+        }
+
+        private Node editable(Node node) {
+            return node.owner == owner ? node : new Node(owner, node.array.clone());
+        }
+
+        private void ensureOpen() {
+            if (frozen) {
+                throw new IllegalStateException("Transient used after persistent()");
+            }
+        }
+
+        public Transient<E> add(E element) {
+            ensureOpen();
+            if (size - tailOffset() < WIDTH) {
+                tail[size & MASK] = element;
+                size++;
+                return this;
+            }
+            Node tailNode = new Node(owner, tail);
+            tail = new Object[WIDTH];
+            tail[0] = element;
+            if ((size >>> BITS) > (1 << shift)) {
+                Node newRoot = new Node(owner, new Object[WIDTH]);
+                newRoot.array[0] = root;
+                newRoot.array[1] = newPath(owner, shift, tailNode);
+                root = newRoot;
+                shift += BITS;
+            } else {
+                root = pushTail(shift, root, tailNode);
+            }
+            size++;
+            return this;
+        }
+
+        public Transient<E> addAll(Collection<? extends E> c) {
+            for (E e : c) {
+                add(e);
+            }
+            return this;
+        }
+
+        private Node pushTail(int level, Node parent, Node tailNode) {
+            Node node = editable(parent);
+            int sub = ((size - 1) >>> level) & MASK;
+            Node insert;
+            if (level == BITS) {
+                insert = tailNode;
+            } else {
+                Node child = (Node) node.array[sub];
+                insert = child != null ? pushTail(level - BITS, child, tailNode) : newPath(owner, level - BITS, tailNode);
+            }
+            node.array[sub] = insert;
+            return node;
+        }
+
+        public Transient<E> set(int index, E element) {
+            ensureOpen();
+            checkIndex(index, size);
+            if (index >= tailOffset()) {
+                tail[index & MASK] = element;
+            } else {
+                root = assoc(shift, root, index, element);
+            }
+            return this;
+        }
+
+        private Node assoc(int level, Node node, int i, Object value) {
+            Node edit = editable(node);
+            if (level == 0) {
+                edit.array[i & MASK] = value;
+            } else {
+                int sub = (i >>> level) & MASK;
+                edit.array[sub] = assoc(level - BITS, (Node) edit.array[sub], i, value);
+            }
+            return edit;
+        }
+
+        @SuppressWarnings("unchecked")
+        public E get(int index) {
+            ensureOpen();
+            checkIndex(index, size);
+            if (index >= tailOffset()) {
+                return (E) tail[index & MASK];
+            }
+            Node node = root;
+            for (int level = shift; level > 0; level -= BITS) {
+                node = (Node) node.array[(index >>> level) & MASK];
+            }
+            return (E) node.array[index & MASK];
+        }
+
+        /** Freezes the contents into an immutable vector. */
+        public PersistentVector<E> persistent() {
+            ensureOpen();
+            frozen = true;
+            if (size == 0) {
+                return empty();
+            }
+            return new PersistentVector<>(size, shift, root, Arrays.copyOf(tail, size - tailOffset()));
+        }
+    }
+}
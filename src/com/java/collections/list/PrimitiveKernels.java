@@ -0,0 +1,328 @@
+package com.java.collections.list;
+
+import java.util.NoSuchElementException;
+import java.util.function.DoublePredicate;
+import java.util.function.IntPredicate;
+import java.util.function.LongPredicate;
+
+/**
+ * PrimitiveKernels - Filter, aggregate and search loops for the primitive lists
+ * - When the Vector API is available (Java 16+ with --add-modules
+ *   jdk.incubator.vector, and com.java.collections.vector compiled), every
+ *   kernel except the double sum delegates to VectorKernels, which sizes its
+ *   vectors for the running CPU. -Dcom.java.collections.simd=false forces
+ *   the scalar loops below; SimdKernels.selected() says which ones run
+ * - Scalar loops: sum, min, max and countInRange are counted loops with
+ *   no branch in the body, which C2 may auto-vectorize as reductions
+ *   depending on the JDK and element type; nothing here relies on it
+ * - Compaction (removeInRange, removeIf) does not auto-vectorize: the
+ *   write index carries from one element to the next. It writes every
+ *   element and advances the write index by 0 or 1, so random predicates
+ *   cost no branch mispredictions
+ * - Predicate filters first collect a removal mask (64 elements per long),
+ *   then compact; a throwing predicate leaves the array untouched
+ * - indexOf (scalar) tests 8 elements per step with one branch per block
+ *   instead of one per element; the early exit keeps it scalar
+ */
+final class PrimitiveKernels {
+    private static final int BLOCK = 8;
+    static final SimdKernels SIMD = loadSimd();
+
+    private PrimitiveKernels() {
+    }
+
+    // ---------------------------------------------------------------- int
+
+    static long sum(int[] a, int size) {
+        if (SIMD != null) {
+            return SIMD.sum(a, size);
+        }
+        long sum = 0;
+        for (int i = 0; i < size; i++) {
+            sum += a[i];
+        }
+        return sum;
+    }
+
+    static int min(int[] a, int size) {
+        checkNotEmpty(size);
+        if (SIMD != null) {
+            return SIMD.min(a, size);
+        }
+        int min = Integer.MAX_VALUE;
+        for (int i = 0; i < size; i++) {
+            min = Math.min(min, a[i]);
+        }
+        return min;
+    }
+
+    static int max(int[] a, int size) {
+        checkNotEmpty(size);
+        if (SIMD != null) {
+            return SIMD.max(a, size);
+        }
+        int max = Integer.MIN_VALUE;
+        for (int i = 0; i < size; i++) {
+            max = Math.max(max, a[i]);
+        }
+        return max;
+    }
+
+    static int indexOf(int[] a, int size, int value) {
+        if (SIMD != null) {
+            return SIMD.indexOf(a, size, value);
+        }
+        int i = 0;
+        for (int end = size - BLOCK; i <= end; i += BLOCK) {
+            // Non-short-circuit |: one compare per lane, one branch per block
+            if ((a[i] == value | a[i + 1] == value | a[i + 2] == value | a[i + 3] == value
+                    | a[i + 4] == value | a[i + 5] == value | a[i + 6] == value | a[i + 7] == value)) {
+                break;
+            }
+        }
+        for (; i < size; i++) {
+            if (a[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    static int countInRange(int[] a, int size, int min, int max) {
+        if (SIMD != null) {
+            return SIMD.countInRange(a, size, min, max);
+        }
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            int v = a[i];
+            count += (v >= min & v <= max) ? 1 : 0;
+        }
+        return count;
+    }
+
+    /** Keeps the values outside [min, max]; returns the new size. */
+    static int removeInRange(int[] a, int size, int min, int max) {
+        if (SIMD != null) {
+            return SIMD.removeInRange(a, size, min, max);
+        }
+        int w = 0;
+        for (int r = 0; r < size; r++) {
+            int v = a[r];
+            a[w] = v;
+            w += (v >= min & v <= max) ? 0 : 1;
+        }
+        return w;
+    }
+
+    static int removeIf(int[] a, int size, IntPredicate filter) {
+        long[] mask = new long[(size + 63) >>> 6];
+        for (int i = 0; i < size; i++) {
+            mask[i >>> 6] |= (filter.test(a[i]) ? 1L : 0L) << i;
+        }
+        if (SIMD != null) {
+            return SIMD.compact(a, size, mask);
+        }
+        int w = 0;
+        for (int r = 0; r < size; r++) {
+            a[w] = a[r];
+            w += 1 - (int) ((mask[r >>> 6] >>> r) & 1);
+        }
+        return w;
+    }
+
+    // ---------------------------------------------------------------- long
+
+    static long sum(long[] a, int size) {
+        if (SIMD != null) {
+            return SIMD.sum(a, size);
+        }
+        long sum = 0;
+        for (int i = 0; i < size; i++) {
+            sum += a[i];
+        }
+        return sum;
+    }
+
+    static long min(long[] a, int size) {
+        checkNotEmpty(size);
+        if (SIMD != null) {
+            return SIMD.min(a, size);
+        }
+        long min = Long.MAX_VALUE;
+        for (int i = 0; i < size; i++) {
+            min = Math.min(min, a[i]);
+        }
+        return min;
+    }
+
+    static long max(long[] a, int size) {
+        checkNotEmpty(size);
+        if (SIMD != null) {
+            return SIMD.max(a, size);
+        }
+        long max = Long.MIN_VALUE;
+        for (int i = 0; i < size; i++) {
+            max = Math.max(max, a[i]);
+        }
+        return max;
+    }
+
+    static int indexOf(long[] a, int size, long value) {
+        if (SIMD != null) {
+            return SIMD.indexOf(a, size, value);
+        }
+        int i = 0;
+        for (int end = size - BLOCK; i <= end; i += BLOCK) {
+            if ((a[i] == value | a[i + 1] == value | a[i + 2] == value | a[i + 3] == value
+                    | a[i + 4] == value | a[i + 5] == value | a[i + 6] == value | a[i + 7] == value)) {
+                break;
+            }
+        }
+        for (; i < size; i++) {
+            if (a[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    static int countInRange(long[] a, int size, long min, long max) {
+        if (SIMD != null) {
+            return SIMD.countInRange(a, size, min, max);
+        }
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            long v = a[i];
+            count += (v >= min & v <= max) ? 1 : 0;
+        }
+        return count;
+    }
+
+    static int removeInRange(long[] a, int size, long min, long max) {
+        if (SIMD != null) {
+            return SIMD.removeInRange(a, size, min, max);
+        }
+        int w = 0;
+        for (int r = 0; r < size; r++) {
+            long v = a[r];
+            a[w] = v;
+            w += (v >= min & v <= max) ? 0 : 1;
+        }
+        return w;
+    }
+
+    static int removeIf(long[] a, int size, LongPredicate filter) {
+        long[] mask = new long[(size + 63) >>> 6];
+        for (int i = 0; i < size; i++) {
+            mask[i >>> 6] |= (filter.test(a[i]) ? 1L : 0L) << i;
+        }
+        if (SIMD != null) {
+            return SIMD.compact(a, size, mask);
+        }
+        int w = 0;
+        for (int r = 0; r < size; r++) {
+            a[w] = a[r];
+            w += 1 - (int) ((mask[r >>> 6] >>> r) & 1);
+        }
+        return w;
+    }
+
+    // ---------------------------------------------------------------- double
+
+    /** Plain left-to-right sum, so the result matches a for loop bit for bit. */
+    static double sum(double[] a, int size) {
+        double sum = 0;
+        for (int i = 0; i < size; i++) {
+            sum += a[i];
+        }
+        return sum;
+    }
+
+    /** NaN if any value is NaN, as Math.min. */
+    static double min(double[] a, int size) {
+        checkNotEmpty(size);
+        if (SIMD != null) {
+            return SIMD.min(a, size);
+        }
+        double min = Double.POSITIVE_INFINITY;
+        for (int i = 0; i < size; i++) {
+            min = Math.min(min, a[i]);
+        }
+        return min;
+    }
+
+    static double max(double[] a, int size) {
+        checkNotEmpty(size);
+        if (SIMD != null) {
+            return SIMD.max(a, size);
+        }
+        double max = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < size; i++) {
+            max = Math.max(max, a[i]);
+        }
+        return max;
+    }
+
+    /** NaN is never in range. */
+    static int countInRange(double[] a, int size, double min, double max) {
+        if (SIMD != null) {
+            return SIMD.countInRange(a, size, min, max);
+        }
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            double v = a[i];
+            count += (v >= min & v <= max) ? 1 : 0;
+        }
+        return count;
+    }
+
+    static int removeInRange(double[] a, int size, double min, double max) {
+        if (SIMD != null) {
+            return SIMD.removeInRange(a, size, min, max);
+        }
+        int w = 0;
+        for (int r = 0; r < size; r++) {
+            double v = a[r];
+            a[w] = v;
+            w += (v >= min & v <= max) ? 0 : 1;
+        }
+        return w;
+    }
+
+    static int removeIf(double[] a, int size, DoublePredicate filter) {
+        long[] mask = new long[(size + 63) >>> 6];
+        for (int i = 0; i < size; i++) {
+            mask[i >>> 6] |= (filter.test(a[i]) ? 1L : 0L) << i;
+        }
+        if (SIMD != null) {
+            return SIMD.compact(a, size, mask);
+        }
+        int w = 0;
+        for (int r = 0; r < size; r++) {
+            a[w] = a[r];
+            w += 1 - (int) ((mask[r >>> 6] >>> r) & 1);
+        }
+        return w;
+    }
+
+    /** VectorKernels if the JVM can load it and the CPU has vectors worth using, else null. */
+    private static SimdKernels loadSimd() {
+        if ("false".equals(System.getProperty("com.java.collections.simd"))) {
+            return null;
+        }
+        try {
+            // By name, so this class still compiles and runs on Java 8
+            return (SimdKernels) Class.forName("com.java.collections.vector.VectorKernels")
+                    .getMethod("supported").invoke(null);
+        } catch (ReflectiveOperationException | LinkageError | RuntimeException e) {
+            // No vector package on the class path, or jdk.incubator.vector not added
+            return null;
+        }
+    }
+
+    private static void checkNotEmpty(int size) {
+        if (size == 0) {
+            throw new NoSuchElementException("List is empty");
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.java.collections.list;
+
+import java.util.*;
+
+/**
+ * RemovalCursor - Iterator whose remove() is deferred to one compaction
+ * - remove() marks the current position in a BitSet; the list itself is
+ *   not touched until close(), so positions stay stable while iterating
+ * - close() removes every marked element with ListRemovals.removeAllAt:
+ *   O(n) once, instead of an O(n) shift per Iterator.remove on an ArrayList
+ * - Meant for try-with-resources; the list must not be modified through
+ *   other means until the cursor is closed
+ *
+ *   try (RemovalCursor<String> c = ListRemovals.removalCursor(list)) {
+ *       while (c.hasNext()) {
+ *           if (c.next().isEmpty()) {
+ *               c.remove();
+ *           }
+ *       }
+ *   }
+ */
+public final class RemovalCursor<E> implements Iterator<E>, AutoCloseable {
+    private final List<E> list;
+    private final Iterator<E> iterator;
+    private final BitSet marked = new BitSet();
+    private final int expectedSize;
+    private int position = -1;
+    private boolean canRemove;
+    private boolean closed;
+
+    RemovalCursor(List<E> list) {
+        this.list = list;
+        this.iterator = list.iterator();
+        this.expectedSize = list.size();
+    }
+
+    @Override
+    public boolean hasNext() {
+        return !closed && iterator.hasNext();
+    }
+
+    @Override
+    public E next() {
+        if (closed) {
+            throw new IllegalStateException("Cursor closed");
+        }
+        E e = iterator.next();
+        position++;
+        canRemove = true;
+        return e;
+    }
+
+    /** Marks the element last returned by next() for removal on close(). */
+    @Override
+    public void remove() {
+        if (!canRemove) {
+            throw new IllegalStateException();
+        }
+        marked.set(position);
+        canRemove = false;
+    }
+
+    /** Index of the element last returned by next(), in the list as it was when the cursor opened. */
+    public int index() {
+        return position;
+    }
+
+    /** Number of elements marked so far. */
+    public int markedCount() {
+        return marked.cardinality();
+    }
+
+    /** Removes all marked elements in one pass; later calls do nothing. */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (list.size() != expectedSize) {
+            throw new ConcurrentModificationException("List changed while a removal cursor was open");
+        }
+        ListRemovals.removeAllAt(list, marked);
+    }
+}
@@ -0,0 +1,19 @@
+package com.java.collections.list;
+
+/**
+ * ResizeListener - Callback after an array-backed list reallocates
+ * - Called on the thread that caused the resize, after the copy
+ * - Used to forward resizes to JFR (see com.java.collections.jfr)
+ */
+@FunctionalInterface
+public interface ResizeListener {
+
+    /**
+     * @param list        the list that resized
+     * @param oldCapacity array length before
+     * @param newCapacity array length after
+     * @param size        elements at the time of the resize
+     * @param copyNanos   time spent copying
+     */
+    void resized(Object list, int oldCapacity, int newCapacity, int size, long copyNanos);
+}
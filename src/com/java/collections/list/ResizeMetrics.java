@@ -0,0 +1,24 @@
+package com.java.collections.list;
+
+/**
+ * ResizeMetrics - What growing an array-backed list has cost so far
+ * - Counters only move when the backing array is reallocated (grow,
+ *   ensureCapacity, trimToSize), so reading them is free for the list
+ */
+public interface ResizeMetrics {
+
+    /** Number of backing-array reallocations. */
+    long resizeCount();
+
+    /** Bytes copied from old arrays into new ones (old length x reference size). */
+    long bytesCopied();
+
+    /** Bytes of backing arrays allocated by reallocations (16-byte header plus slots, 8-byte aligned). */
+    long bytesAllocated();
+
+    /** Largest capacity - size right after a reallocation, in elements. */
+    int peakSlack();
+
+    /** Time spent in Arrays.copyOf, in nanoseconds. */
+    long copyNanos();
+}
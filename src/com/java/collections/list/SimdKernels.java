@@ -0,0 +1,60 @@
+package com.java.collections.list;
+
+/**
+ * SimdKernels - Vectorized versions of the PrimitiveKernels loops
+ * - Implemented with the Vector API in com.java.collections.vector
+ *   (Java 16+, --add-modules jdk.incubator.vector); PrimitiveKernels picks
+ *   it up at class initialization and otherwise runs its scalar loops
+ * - Every method must return exactly what the scalar loop returns,
+ *   including NaN and -0.0 handling for doubles
+ * - Double sums are not here: reassociating them changes the result
+ */
+public interface SimdKernels {
+
+    long sum(int[] a, int size);
+
+    long sum(long[] a, int size);
+
+    /** size > 0 */
+    int min(int[] a, int size);
+
+    int max(int[] a, int size);
+
+    long min(long[] a, int size);
+
+    long max(long[] a, int size);
+
+    /** As Math.min: NaN if any value is NaN, -0.0 below 0.0. */
+    double min(double[] a, int size);
+
+    double max(double[] a, int size);
+
+    int indexOf(int[] a, int size, int value);
+
+    int indexOf(long[] a, int size, long value);
+
+    int countInRange(int[] a, int size, int min, int max);
+
+    int countInRange(long[] a, int size, long min, long max);
+
+    int countInRange(double[] a, int size, double min, double max);
+
+    /** Keeps the values outside [min, max] in order; returns the new size. */
+    int removeInRange(int[] a, int size, int min, int max);
+
+    int removeInRange(long[] a, int size, long min, long max);
+
+    int removeInRange(double[] a, int size, double min, double max);
+
+    /** Keeps a[i] unless bit i of removed (64 per long) is set; returns the new size. */
+    int compact(int[] a, int size, long[] removed);
+
+    int compact(long[] a, int size, long[] removed);
+
+    int compact(double[] a, int size, long[] removed);
+
+    /** The kernels PrimitiveKernels selected, e.g. for benchmark headers. */
+    static String selected() {
+        return PrimitiveKernels.SIMD == null ? "scalar" : PrimitiveKernels.SIMD.toString();
+    }
+}
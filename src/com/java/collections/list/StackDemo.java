@@ -58,5 +58,7 @@ public class StackDemo {
         System.out.println("• Thread-safe (extends Vector)");
         System.out.println("• Legacy class - prefer ArrayDeque for stack operations");
         System.out.println("• All operations O(1) except search O(n)");
+        System.out.println("• Shared between threads: ArrayDeque is not thread-safe,");
+        System.out.println("  use a lock-free stack (see concurrent.TreiberStack)");
     }
 }
\ No newline at end of file
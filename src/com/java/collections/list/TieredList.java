@@ -0,0 +1,294 @@
+package com.java.collections.list;
+
+import java.util.*;
+
+/**
+ * TieredList - List stored in fixed-size circular chunks (tiered vector)
+ * - get/set O(1): every chunk except the last is full, so index math finds the slot
+ * - add/remove at any index O(√n): shift inside one chunk, then move one
+ *   element across each following chunk boundary
+ * - Chunk capacity doubles as the list grows to keep both costs balanced
+ * - Not synchronized (not thread-safe)
+ */
+public class TieredList<E> extends AbstractList<E> implements RandomAccess, BatchSource<E> {
+    private static final int MIN_CHUNK_SHIFT = 6;
+
+    private int shift;
+    private int chunkCapacity;
+    private int mask;
+    private Chunk[] chunks;
+    private int chunkCount;
+    private int size;
+
+    public TieredList() {
+        this(MIN_CHUNK_SHIFT);
+    }
+
+    public TieredList(Collection<? extends E> c) {
+        this(shiftFor(c.size()));
+        addAll(c);
+    }
+
+    private TieredList(int shift) {
+        setShift(shift);
+        this.chunks = new Chunk[4];
+    }
+
+    /** Chunk shift that keeps the chunk count at or below twice the chunk capacity. */
+    private static int shiftFor(int n) {
+        int s = MIN_CHUNK_SHIFT;
+        while ((long) n > 2L * (1L << s) * (1L << s)) {
+            s++;
+        }
+        return s;
+    }
+
+    private void setShift(int shift) {
+        this.shift = shift;
+        this.chunkCapacity = 1 << shift;
+        this.mask = chunkCapacity - 1;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        checkIndex(index);
+        return (E) chunks[index >>> shift].get(index & mask);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E set(int index, E element) {
+        checkIndex(index);
+        Chunk chunk = chunks[index >>> shift];
+        int offset = index & mask;
+        E old = (E) chunk.get(offset);
+        chunk.set(offset, element);
+        return old;
+    }
+
+    @Override
+    public boolean add(E e) {
+        modCount++;
+        if (chunkCount == 0 || chunks[chunkCount - 1].size == chunkCapacity) {
+            appendChunk();
+        }
+        chunks[chunkCount - 1].addLast(e);
+        size++;
+        return true;
+    }
+
+    @Override
+    public void add(int index, E element) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        if (index == size) {
+            add(element);
+            return;
+        }
+        modCount++;
+        int k = index >>> shift;
+        Chunk chunk = chunks[k];
+        Object carry = null;
+        boolean carrying = chunk.size == chunkCapacity;
+        if (carrying) {
+            carry = chunk.removeLast();
+        }
+        chunk.insert(index & mask, element);
+        // Ripple the overflow through the following chunks, one element each
+        for (int j = k + 1; carrying && j < chunkCount; j++) {
+            Chunk next = chunks[j];
+            if (next.size == chunkCapacity) {
+                Object last = next.removeLast();
+                next.addFirst(carry);
+                carry = last;
+            } else {
+                next.addFirst(carry);
+                carrying = false;
+            }
+        }
+        if (carrying) {
+            appendChunk();
+            chunks[chunkCount - 1].addLast(carry);
+        }
+        size++;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E remove(int index) {
+        checkIndex(index);
+        modCount++;
+        int k = index >>> shift;
+        E old = (E) chunks[k].remove(index & mask);
+        // Pull one element back across each following chunk boundary
+        for (int j = k + 1; j < chunkCount; j++) {
+            chunks[j - 1].addLast(chunks[j].removeFirst());
+        }
+        if (chunks[chunkCount - 1].size == 0) {
+            chunks[--chunkCount] = null;
+        }
+        size--;
+        return old;
+    }
+
+    @Override
+    public void clear() {
+        modCount++;
+        Arrays.fill(chunks, 0, chunkCount, null);
+        chunkCount = 0;
+        size = 0;
+        setShift(MIN_CHUNK_SHIFT);
+    }
+
+    /** Copies chunk by chunk: at most two array copies per chunk (its circular halves). */
+    @Override
+    public BatchCursor<E> batchCursor() {
+        return new BatchCursor<E>() {
+            private final int expectedModCount = modCount;
+            private int next;
+
+            public int nextBatch(E[] dst, int offset, int length) {
+                if (modCount != expectedModCount) {
+                    throw new ConcurrentModificationException();
+                }
+                int copied = 0;
+                while (copied < length && next < size) {
+                    Chunk chunk = chunks[next >>> shift];
+                    int at = next & mask;
+                    int start = (chunk.head + at) & mask;
+                    int n = Math.min(Math.min(length - copied, chunk.size - at), chunkCapacity - start);
+                    System.arraycopy(chunk.data, start, dst, offset + copied, n);
+                    copied += n;
+                    next += n;
+                }
+                return copied;
+            }
+        };
+    }
+
+    private void appendChunk() {
+        if ((long) chunkCount >= 2L * chunkCapacity) {
+            rebuild(shift + 1);
+        }
+        if (chunkCount == chunks.length) {
+            chunks = Arrays.copyOf(chunks, chunkCount * 2);
+        }
+        chunks[chunkCount++] = new Chunk(chunkCapacity);
+    }
+
+    /** Repacks all elements into chunks of the new size; amortized O(1) per add. */
+    private void rebuild(int newShift) {
+        Chunk[] old = chunks;
+        int oldCount = chunkCount;
+        setShift(newShift);
+        chunks = new Chunk[Math.max(4, (size >>> newShift) + 2)];
+        chunkCount = 0;
+        Chunk current = null;
+        for (int c = 0; c < oldCount; c++) {
+            Chunk chunk = old[c];
+            for (int i = 0; i < chunk.size; i++) {
+                if (current == null || current.size == chunkCapacity) {
+                    current = new Chunk(chunkCapacity);
+                    chunks[chunkCount++] = current;
+                }
+                current.addLast(chunk.get(i));
+            }
+        }
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    /** Circular buffer of a fixed power-of-two capacity. */
+    private static final class Chunk {
+        final Object[] data;
+        final int mask;
+        int head;
+        int size;
+
+        Chunk(int capacity) {
+            this.data = new Object[capacity];
+            this.mask = capacity - 1;
+        }
+
+        Object get(int offset) {
+            return data[(head + offset) & mask];
+        }
+
+        void set(int offset, Object value) {
+            data[(head + offset) & mask] = value;
+        }
+
+        void addLast(Object value) {
+            data[(head + size) & mask] = value;
+            size++;
+        }
+
+        void addFirst(Object value) {
+            head = (head - 1) & mask;
+            data[head] = value;
+            size++;
+        }
+
+        Object removeLast() {
+            int slot = (head + size - 1) & mask;
+            Object value = data[slot];
+            data[slot] = null;
+            size--;
+            return value;
+        }
+
+        Object removeFirst() {
+            Object value = data[head];
+            data[head] = null;
+            head = (head + 1) & mask;
+            size--;
+            return value;
+        }
+
+        /** Inserts at offset, shifting whichever side of the gap is shorter. Requires a free slot. */
+        void insert(int offset, Object value) {
+            if (offset < size - offset) {
+                head = (head - 1) & mask;
+                for (int i = 0; i < offset; i++) {
+                    data[(head + i) & mask] = data[(head + i + 1) & mask];
+                }
+            } else {
+                for (int i = size; i > offset; i--) {
+                    data[(head + i) & mask] = data[(head + i - 1) & mask];
+                }
+            }
+            data[(head + offset) & mask] = value;
+            size++;
+        }
+
+        /** Removes at offset, shifting whichever side of the gap is shorter. */
+        Object remove(int offset) {
+            Object value = get(offset);
+            if (offset < size - offset - 1) {
+                for (int i = offset; i > 0; i--) {
+                    data[(head + i) & mask] = data[(head + i - 1) & mask];
+                }
+                data[head] = null;
+                head = (head + 1) & mask;
+            } else {
+                for (int i = offset; i < size - 1; i++) {
+                    data[(head + i) & mask] = data[(head + i + 1) & mask];
+                }
+                data[(head + size - 1) & mask] = null;
+            }
+            size--;
+            return value;
+        }
+    }
+}
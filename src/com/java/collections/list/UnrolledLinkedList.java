@@ -0,0 +1,669 @@
+package com.java.collections.list;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * UnrolledLinkedList - Doubly-linked list of small arrays
+ * - Each node packs up to 32 elements (16..64 via constructor)
+ * - Implements both List and Deque, like LinkedList
+ * - addFirst/addLast/poll/push/pop O(1), iteration walks arrays instead of nodes
+ * - ListIterator add/remove at the cursor touch one node only
+ * - Not synchronized (not thread-safe)
+ */
+public class UnrolledLinkedList<E> extends AbstractSequentialList<E> implements Deque<E>, BatchSource<E> {
+    private static final int DEFAULT_NODE_CAPACITY = 32;
+
+    private final int nodeCapacity;
+    private Node head;
+    private Node tail;
+    private Node spare;
+    private int size;
+
+    public UnrolledLinkedList() {
+        this(DEFAULT_NODE_CAPACITY);
+    }
+
+    public UnrolledLinkedList(int nodeCapacity) {
+        if (nodeCapacity < 16 || nodeCapacity > 64) {
+            throw new IllegalArgumentException("Node capacity must be 16..64: " + nodeCapacity);
+        }
+        this.nodeCapacity = nodeCapacity;
+    }
+
+    public UnrolledLinkedList(Collection<? extends E> c) {
+        this();
+        addAll(c);
+    }
+
+    /** Fixed-capacity array holding elements in items[start, end). */
+    private static final class Node {
+        final Object[] items;
+        int start;
+        int end;
+        Node prev;
+        Node next;
+
+        Node(int capacity) {
+            this.items = new Object[capacity];
+        }
+
+        int count() {
+            return end - start;
+        }
+
+        Object get(int offset) {
+            return items[start + offset];
+        }
+    }
+
+    /** A position inside the list: before element offset of node. */
+    private static final class Cursor {
+        Node node;
+        int offset;
+
+        Cursor(Node node, int offset) {
+            this.node = node;
+            this.offset = offset;
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    // ---------------------------------------------------------------- Deque ends
+
+    @Override
+    public void addFirst(E e) {
+        Node h = head;
+        if (h == null || h.count() == nodeCapacity) {
+            h = newNode();
+            h.start = h.end = nodeCapacity;
+            linkBefore(h, head);
+        } else if (h.start == 0) {
+            // Slide the block to the back once so the following pushes are O(1)
+            int count = h.count();
+            System.arraycopy(h.items, 0, h.items, nodeCapacity - count, count);
+            Arrays.fill(h.items, 0, nodeCapacity - count, null);
+            h.start = nodeCapacity - count;
+            h.end = nodeCapacity;
+        }
+        h.items[--h.start] = e;
+        size++;
+        modCount++;
+    }
+
+    @Override
+    public void addLast(E e) {
+        Node t = tail;
+        if (t == null || t.count() == nodeCapacity) {
+            t = newNode();
+            linkAfter(t, tail);
+        } else if (t.end == nodeCapacity) {
+            int count = t.count();
+            System.arraycopy(t.items, t.start, t.items, 0, count);
+            Arrays.fill(t.items, count, nodeCapacity, null);
+            t.start = 0;
+            t.end = count;
+        }
+        t.items[t.end++] = e;
+        size++;
+        modCount++;
+    }
+
+    @Override
+    public boolean offerFirst(E e) {
+        addFirst(e);
+        return true;
+    }
+
+    @Override
+    public boolean offerLast(E e) {
+        addLast(e);
+        return true;
+    }
+
+    @Override
+    public E removeFirst() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return pollFirst();
+    }
+
+    @Override
+    public E removeLast() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return pollLast();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E pollFirst() {
+        Node h = head;
+        if (h == null) {
+            return null;
+        }
+        E e = (E) h.items[h.start];
+        h.items[h.start++] = null;
+        size--;
+        modCount++;
+        if (h.count() == 0) {
+            unlink(h);
+        } else if (h.next != null && h.count() + h.next.count() <= nodeCapacity >> 1) {
+            merge(h, h.next);
+        }
+        return e;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E pollLast() {
+        Node t = tail;
+        if (t == null) {
+            return null;
+        }
+        E e = (E) t.items[--t.end];
+        t.items[t.end] = null;
+        size--;
+        modCount++;
+        if (t.count() == 0) {
+            unlink(t);
+        } else if (t.prev != null && t.prev.count() + t.count() <= nodeCapacity >> 1) {
+            merge(t.prev, t);
+        }
+        return e;
+    }
+
+    @Override
+    public E getFirst() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return peekFirst();
+    }
+
+    @Override
+    public E getLast() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return peekLast();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E peekFirst() {
+        return size == 0 ? null : (E) head.items[head.start];
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E peekLast() {
+        return size == 0 ? null : (E) tail.items[tail.end - 1];
+    }
+
+    @Override
+    public boolean removeFirstOccurrence(Object o) {
+        return remove(o);
+    }
+
+    @Override
+    public boolean removeLastOccurrence(Object o) {
+        for (ListIterator<E> it = listIterator(size); it.hasPrevious(); ) {
+            if (Objects.equals(o, it.previous())) {
+                it.remove();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean add(E e) {
+        addLast(e);
+        return true;
+    }
+
+    @Override
+    public boolean offer(E e) {
+        addLast(e);
+        return true;
+    }
+
+    @Override
+    public E remove() {
+        return removeFirst();
+    }
+
+    @Override
+    public E poll() {
+        return pollFirst();
+    }
+
+    @Override
+    public E element() {
+        return getFirst();
+    }
+
+    @Override
+    public E peek() {
+        return peekFirst();
+    }
+
+    @Override
+    public void push(E e) {
+        addFirst(e);
+    }
+
+    @Override
+    public E pop() {
+        return removeFirst();
+    }
+
+    @Override
+    public Iterator<E> descendingIterator() {
+        ListIterator<E> it = listIterator(size);
+        return new Iterator<E>() {
+            public boolean hasNext() {
+                return it.hasPrevious();
+            }
+
+            public E next() {
+                return it.previous();
+            }
+
+            public void remove() {
+                it.remove();
+            }
+        };
+    }
+
+    // ---------------------------------------------------------------- List
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        Cursor c = locate(checkElementIndex(index));
+        return (E) c.node.get(c.offset);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E set(int index, E element) {
+        Cursor c = locate(checkElementIndex(index));
+        int slot = c.node.start + c.offset;
+        E old = (E) c.node.items[slot];
+        c.node.items[slot] = element;
+        return old;
+    }
+
+    /** Walks the node arrays directly instead of going through a ListIterator. */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEach(Consumer<? super E> action) {
+        Objects.requireNonNull(action);
+        int expected = modCount;
+        for (Node n = head; n != null; n = n.next) {
+            Object[] items = n.items;
+            for (int i = n.start, end = n.end; i < end; i++) {
+                action.accept((E) items[i]);
+            }
+        }
+        if (modCount != expected) {
+            throw new ConcurrentModificationException();
+        }
+    }
+
+    /** Copies node by node, one array copy per node. */
+    @Override
+    public BatchCursor<E> batchCursor() {
+        return new BatchCursor<E>() {
+            private final int expectedModCount = modCount;
+            private Node node = head;
+            private int at = head == null ? 0 : head.start;
+
+            public int nextBatch(E[] dst, int offset, int length) {
+                if (modCount != expectedModCount) {
+                    throw new ConcurrentModificationException();
+                }
+                int copied = 0;
+                while (copied < length && node != null) {
+                    int n = Math.min(length - copied, node.end - at);
+                    System.arraycopy(node.items, at, dst, offset + copied, n);
+                    copied += n;
+                    at += n;
+                    if (at == node.end) {
+                        node = node.next;
+                        at = node == null ? 0 : node.start;
+                    }
+                }
+                return copied;
+            }
+        };
+    }
+
+    /**
+     * Batched instead of the AbstractSequentialList default, which calls the ListIterator per element.
+     * Late-binding: the cursor (and its modCount check) starts at first traversal, not here.
+     */
+    @Override
+    public Spliterator<E> spliterator() {
+        return BatchSpliterator.lateBinding(this::batchCursor, () -> size, Spliterator.ORDERED);
+    }
+
+    @Override
+    public void clear() {
+        head = tail = null;
+        size = 0;
+        modCount++;
+    }
+
+    @Override
+    public ListIterator<E> listIterator(int index) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return new Itr(index);
+    }
+
+    private int checkElementIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return index;
+    }
+
+    /** Finds the node holding index, walking from whichever end is closer. */
+    private Cursor locate(int index) {
+        if (size == 0) {
+            return new Cursor(null, 0);
+        }
+        if (index < (size >> 1)) {
+            Node n = head;
+            while (index >= n.count() && n.next != null) {
+                index -= n.count();
+                n = n.next;
+            }
+            return new Cursor(n, index);
+        }
+        Node n = tail;
+        int remaining = size - index;
+        while (remaining > n.count()) {
+            remaining -= n.count();
+            n = n.prev;
+        }
+        return new Cursor(n, n.count() - remaining);
+    }
+
+    // ---------------------------------------------------------------- node operations
+
+    /** Inserts before cursor position; afterwards the cursor points at the new element. */
+    private void insertAt(Cursor c, Object e) {
+        Node n = c.node;
+        if (n == null) {
+            n = newNode();
+            linkAfter(n, null);
+            c.node = n;
+            c.offset = 0;
+        } else if (n.count() == nodeCapacity) {
+            Node m = split(n);
+            if (c.offset > n.count()) {
+                c.offset -= n.count();
+                c.node = n = m;
+            }
+        }
+        int slot = n.start + c.offset;
+        boolean roomFront = n.start > 0;
+        boolean roomBack = n.end < nodeCapacity;
+        if (roomBack && (!roomFront || c.offset >= n.count() >> 1)) {
+            System.arraycopy(n.items, slot, n.items, slot + 1, n.end - slot);
+            n.end++;
+        } else {
+            System.arraycopy(n.items, n.start, n.items, n.start - 1, c.offset);
+            n.start--;
+            slot--;
+        }
+        n.items[slot] = e;
+        size++;
+        modCount++;
+    }
+
+    /** Moves the upper half of a full node into a new node linked after it. */
+    private Node split(Node n) {
+        Node m = newNode();
+        int half = n.count() >> 1;
+        int moved = n.count() - half;
+        System.arraycopy(n.items, n.start + half, m.items, 0, moved);
+        Arrays.fill(n.items, n.start + half, n.end, null);
+        m.end = moved;
+        n.end = n.start + half;
+        linkAfter(m, n);
+        return m;
+    }
+
+    /** Removes the element at cursor; afterwards the cursor points at its successor. */
+    @SuppressWarnings("unchecked")
+    private E removeAt(Cursor c) {
+        Node n = c.node;
+        int slot = n.start + c.offset;
+        E old = (E) n.items[slot];
+        if (c.offset < n.count() >> 1) {
+            System.arraycopy(n.items, n.start, n.items, n.start + 1, c.offset);
+            n.items[n.start++] = null;
+        } else {
+            System.arraycopy(n.items, slot + 1, n.items, slot, n.end - slot - 1);
+            n.items[--n.end] = null;
+        }
+        size--;
+        modCount++;
+
+        if (n.count() == 0) {
+            Node next = n.next;
+            Node prev = n.prev;
+            unlink(n);
+            if (next != null) {
+                c.node = next;
+                c.offset = 0;
+            } else {
+                c.node = prev;
+                c.offset = prev == null ? 0 : prev.count();
+            }
+            return old;
+        }
+        // Keep every pair of neighbours above half full by merging sparse ones
+        int limit = nodeCapacity >> 1;
+        if (n.next != null && n.count() + n.next.count() <= limit) {
+            merge(n, n.next);
+        }
+        if (n.prev != null && n.prev.count() + n.count() <= limit) {
+            Node p = n.prev;
+            int shift = p.count();
+            merge(p, n);
+            c.node = p;
+            c.offset += shift;
+        }
+        if (c.offset == c.node.count() && c.node.next != null) {
+            c.node = c.node.next;
+            c.offset = 0;
+        }
+        return old;
+    }
+
+    /** Appends all of b's elements to a and unlinks b. */
+    private void merge(Node a, Node b) {
+        int countA = a.count();
+        int countB = b.count();
+        if (a.end + countB > nodeCapacity) {
+            System.arraycopy(a.items, a.start, a.items, 0, countA);
+            Arrays.fill(a.items, countA, a.end, null);
+            a.start = 0;
+            a.end = countA;
+        }
+        System.arraycopy(b.items, b.start, a.items, a.end, countB);
+        a.end += countB;
+        unlink(b);
+    }
+
+    private Node newNode() {
+        Node n = spare;
+        if (n != null) {
+            spare = null;
+            return n;
+        }
+        return new Node(nodeCapacity);
+    }
+
+    private void linkAfter(Node n, Node pred) {
+        n.prev = pred;
+        if (pred == null) {
+            n.next = head;
+            head = n;
+        } else {
+            n.next = pred.next;
+            pred.next = n;
+        }
+        if (n.next == null) {
+            tail = n;
+        } else {
+            n.next.prev = n;
+        }
+    }
+
+    private void linkBefore(Node n, Node succ) {
+        if (succ == null) {
+            linkAfter(n, tail);
+        } else {
+            linkAfter(n, succ.prev);
+        }
+    }
+
+    private void unlink(Node n) {
+        if (n.prev == null) {
+            head = n.next;
+        } else {
+            n.prev.next = n.next;
+        }
+        if (n.next == null) {
+            tail = n.prev;
+        } else {
+            n.next.prev = n.prev;
+        }
+        // Keep one empty node around so push/pop at a node boundary does not allocate
+        Arrays.fill(n.items, n.start, n.end, null);
+        n.prev = n.next = null;
+        n.start = n.end = 0;
+        spare = n;
+    }
+
+    private final class Itr implements ListIterator<E> {
+        private final Cursor cursor;
+        private int nextIndex;
+        private Node lastNode;
+        private int lastOffset;
+        private boolean lastWasNext;
+        private int expectedModCount = modCount;
+
+        Itr(int index) {
+            if (index == size) {
+                cursor = new Cursor(tail, tail == null ? 0 : tail.count());
+            } else {
+                cursor = locate(index);
+            }
+            nextIndex = index;
+        }
+
+        public boolean hasNext() {
+            return nextIndex < size;
+        }
+
+        @SuppressWarnings("unchecked")
+        public E next() {
+            checkForComodification();
+            if (nextIndex >= size) {
+                throw new NoSuchElementException();
+            }
+            if (cursor.offset == cursor.node.count()) {
+                cursor.node = cursor.node.next;
+                cursor.offset = 0;
+            }
+            lastNode = cursor.node;
+            lastOffset = cursor.offset++;
+            lastWasNext = true;
+            nextIndex++;
+            return (E) lastNode.get(lastOffset);
+        }
+
+        public boolean hasPrevious() {
+            return nextIndex > 0;
+        }
+
+        @SuppressWarnings("unchecked")
+        public E previous() {
+            checkForComodification();
+            if (nextIndex <= 0) {
+                throw new NoSuchElementException();
+            }
+            if (cursor.offset == 0) {
+                cursor.node = cursor.node.prev;
+                cursor.offset = cursor.node.count();
+            }
+            lastNode = cursor.node;
+            lastOffset = --cursor.offset;
+            lastWasNext = false;
+            nextIndex--;
+            return (E) lastNode.get(lastOffset);
+        }
+
+        public int nextIndex() {
+            return nextIndex;
+        }
+
+        public int previousIndex() {
+            return nextIndex - 1;
+        }
+
+        public void remove() {
+            checkForComodification();
+            if (lastNode == null) {
+                throw new IllegalStateException();
+            }
+            Cursor c = new Cursor(lastNode, lastOffset);
+            removeAt(c);
+            cursor.node = c.node;
+            cursor.offset = c.offset;
+            if (lastWasNext) {
+                nextIndex--;
+            }
+            lastNode = null;
+            expectedModCount = modCount;
+        }
+
+        public void set(E e) {
+            checkForComodification();
+            if (lastNode == null) {
+                throw new IllegalStateException();
+            }
+            lastNode.items[lastNode.start + lastOffset] = e;
+        }
+
+        public void add(E e) {
+            checkForComodification();
+            insertAt(cursor, e);
+            cursor.offset++;
+            nextIndex++;
+            lastNode = null;
+            expectedModCount = modCount;
+        }
+
+        private void checkForComodification() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+}
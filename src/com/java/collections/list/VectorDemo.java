@@ -60,6 +60,8 @@ public class VectorDemo {
         System.out.println("• Thread-safe (synchronized methods)");
         System.out.println("• Slower than ArrayList due to synchronization");
         System.out.println("• Legacy class - prefer ArrayList + Collections.synchronizedList()");
+        System.out.println("• synchronizedList still locks every get(); for read-mostly sharing");
+        System.out.println("  see concurrent.StampedArrayList (optimistic lock-free reads)");
         System.out.println("• Default capacity grows by 100% (doubles)");
     }
 }
\ No newline at end of file
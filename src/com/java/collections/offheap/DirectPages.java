@@ -0,0 +1,81 @@
+package com.java.collections.offheap;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * DirectPages - Allocates and frees the direct pages of OffHeapRecordList
+ * - free() releases the native memory right away through the buffer's
+ *   cleaner, instead of when the GC happens to collect the buffer object
+ * - Java 9+: sun.misc.Unsafe.invokeCleaner; Java 8: DirectBuffer.cleaner();
+ *   both looked up reflectively, so the class compiles and runs on Java 8+.
+ *   If neither is available, free() is a no-op and the GC frees the page
+ * - Direct memory is reserved against -XX:MaxDirectMemorySize, which
+ *   defaults to -Xmx; allocation failures say so
+ */
+final class DirectPages {
+    private static final Freer FREER = lookup();
+
+    private DirectPages() {
+    }
+
+    /** A zeroed, native-order direct buffer of the given size. */
+    static ByteBuffer allocate(int bytes) {
+        try {
+            return ByteBuffer.allocateDirect(bytes).order(ByteOrder.nativeOrder());
+        } catch (OutOfMemoryError e) {
+            OutOfMemoryError hint = new OutOfMemoryError(e.getMessage()
+                    + ". Off-heap records count against -XX:MaxDirectMemorySize (default: -Xmx);"
+                    + " raise it, e.g. -Xmx512m -XX:MaxDirectMemorySize=8g");
+            hint.initCause(e);
+            throw hint;
+        }
+    }
+
+    /** Releases page's native memory now; page must not be used afterwards. */
+    static void free(ByteBuffer page) {
+        if (page != null && page.isDirect() && FREER != null) {
+            try {
+                FREER.free(page);
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                // Leave it to the GC, as if no cleaner were available
+            }
+        }
+    }
+
+    /** True if free() returns memory immediately on this JVM. */
+    static boolean freesEagerly() {
+        return FREER != null;
+    }
+
+    private interface Freer {
+        void free(ByteBuffer page) throws ReflectiveOperationException;
+    }
+
+    private static Freer lookup() {
+        try {
+            // Java 9+
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+            Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+            theUnsafe.setAccessible(true);
+            Object unsafe = theUnsafe.get(null);
+            return page -> invokeCleaner.invoke(unsafe, page);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // Fall through to the Java 8 route
+        }
+        try {
+            ByteBuffer probe = ByteBuffer.allocateDirect(1);
+            Method cleaner = probe.getClass().getMethod("cleaner");
+            cleaner.setAccessible(true);
+            Method clean = Class.forName("sun.misc.Cleaner").getMethod("clean");
+            clean.setAccessible(true);
+            clean.invoke(cleaner.invoke(probe));
+            return page -> clean.invoke(cleaner.invoke(page));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,320 @@
+package com.java.collections.offheap;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+
+/**
+ * OffHeapRecordList - Growable list of fixed-layout records outside the Java heap
+ * - Records live in direct memory pages, so the GC sees a handful of buffer
+ *   objects instead of one object graph per record
+ * - Typed accessors read one field in place: getInt(index, ageField)
+ * - cursor() walks records without allocating per element
+ * - asList(codec) exposes the records as a List<T> for existing code
+ * - Lifetime is explicit: close() (or closing the RecordArena it came from)
+ *   frees the pages at once and invalidates the list, any later access
+ *   throws IllegalStateException
+ * - Pages are direct memory, reserved against -XX:MaxDirectMemorySize,
+ *   which defaults to -Xmx: a small heap with large data needs e.g.
+ *   -Xmx256m -XX:MaxDirectMemorySize=4g
+ * - Not thread-safe
+ */
+public final class OffHeapRecordList implements AutoCloseable {
+    // Pages up to 256 MB keep every in-page offset an int and avoid one huge allocation
+    private static final int MAX_PAGE_BYTES = 1 << 28;
+
+    private final RecordLayout layout;
+    private final int stride;
+    private final int pageShift;
+    private final long pageMask;
+    private ByteBuffer[] pages;
+    private int pageCount;
+    private long capacity;
+    private long size;
+    private boolean closed;
+
+    OffHeapRecordList(RecordLayout layout, long initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Illegal capacity: " + initialCapacity);
+        }
+        this.layout = layout;
+        this.stride = layout.stride();
+        this.pageShift = 31 - Integer.numberOfLeadingZeros(MAX_PAGE_BYTES / stride);
+        this.pageMask = (1L << pageShift) - 1;
+        this.pages = new ByteBuffer[4];
+        ensureCapacity(Math.max(initialCapacity, 16));
+    }
+
+    /** Standalone list with its own lifetime; prefer RecordArena.allocate for grouped lifetimes. */
+    public static OffHeapRecordList create(RecordLayout layout, long initialCapacity) {
+        return new OffHeapRecordList(layout, initialCapacity);
+    }
+
+    public RecordLayout layout() {
+        return layout;
+    }
+
+    public long size() {
+        checkAlive();
+        return size;
+    }
+
+    public boolean isAlive() {
+        return !closed;
+    }
+
+    /** Off-heap bytes reserved by this list (capacity x stride). */
+    public long reservedBytes() {
+        return closed ? 0 : capacity * stride;
+    }
+
+    /** Appends a zeroed record and returns its index. */
+    public long add() {
+        checkAlive();
+        if (size == capacity) {
+            ensureCapacity(size + 1);
+        }
+        long index = size++;
+        ByteBuffer page = page(index);
+        int base = (int) (index & pageMask) * stride;
+        // Pages are reused after clear(), so zero explicitly
+        for (int i = 0; i < stride; i += 8) {
+            page.putLong(base + i, 0L);
+        }
+        return index;
+    }
+
+    /** Removes the last record. */
+    public void removeLast() {
+        checkAlive();
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        size--;
+    }
+
+    /** Drops all records; capacity is kept for reuse. */
+    public void clear() {
+        checkAlive();
+        size = 0;
+    }
+
+    public void ensureCapacity(long minCapacity) {
+        long pageRecords = 1L << pageShift;
+        while (capacity < minCapacity) {
+            if (pageCount == 1 && capacity < pageRecords) {
+                // Grow the first page until it reaches full size
+                long grown = Math.min(pageRecords, Math.max(capacity * 2, minCapacity));
+                ByteBuffer bigger = DirectPages.allocate((int) (grown * stride));
+                ByteBuffer old = pages[0];
+                ByteBuffer copy = old.duplicate();
+                copy.clear();
+                bigger.put(copy);
+                pages[0] = bigger;
+                capacity = grown;
+                // Free now rather than leave the old page to the GC
+                DirectPages.free(old);
+            } else if (pageCount == 0) {
+                long first = Math.min(pageRecords, minCapacity);
+                pages[pageCount++] = DirectPages.allocate((int) (first * stride));
+                capacity = first;
+            } else {
+                if (pageCount == pages.length) {
+                    pages = Arrays.copyOf(pages, pageCount * 2);
+                }
+                pages[pageCount++] = DirectPages.allocate((int) (pageRecords * stride));
+                capacity += pageRecords;
+            }
+        }
+    }
+
+    public RecordCursor cursor() {
+        checkAlive();
+        return new RecordCursor(this);
+    }
+
+    // ---------------------------------------------------------------- typed accessors
+
+    public int getInt(long index, RecordLayout.Field field) {
+        checkAccess(index, field, RecordLayout.Type.INT32);
+        return page(index).getInt(offset(index, field));
+    }
+
+    public void setInt(long index, RecordLayout.Field field, int value) {
+        checkAccess(index, field, RecordLayout.Type.INT32);
+        page(index).putInt(offset(index, field), value);
+    }
+
+    public long getLong(long index, RecordLayout.Field field) {
+        checkAccess(index, field, RecordLayout.Type.INT64);
+        return page(index).getLong(offset(index, field));
+    }
+
+    public void setLong(long index, RecordLayout.Field field, long value) {
+        checkAccess(index, field, RecordLayout.Type.INT64);
+        page(index).putLong(offset(index, field), value);
+    }
+
+    public double getDouble(long index, RecordLayout.Field field) {
+        checkAccess(index, field, RecordLayout.Type.FLOAT64);
+        return page(index).getDouble(offset(index, field));
+    }
+
+    public void setDouble(long index, RecordLayout.Field field, double value) {
+        checkAccess(index, field, RecordLayout.Type.FLOAT64);
+        page(index).putDouble(offset(index, field), value);
+    }
+
+    public String getString(long index, RecordLayout.Field field) {
+        checkAccess(index, field, RecordLayout.Type.STRING);
+        ByteBuffer page = page(index);
+        int pos = offset(index, field);
+        int length = page.getShort(pos);
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = page.get(pos + 2 + i);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /** Stores value as UTF-8; throws IllegalArgumentException if it exceeds the field capacity. */
+    public void setString(long index, RecordLayout.Field field, String value) {
+        checkAccess(index, field, RecordLayout.Type.STRING);
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > field.getMaxBytes()) {
+            throw new IllegalArgumentException("'" + field.getName() + "' holds at most "
+                    + field.getMaxBytes() + " bytes, got " + bytes.length);
+        }
+        ByteBuffer page = page(index);
+        int pos = offset(index, field);
+        page.putShort(pos, (short) bytes.length);
+        for (int i = 0; i < bytes.length; i++) {
+            page.put(pos + 2 + i, bytes[i]);
+        }
+    }
+
+    // ---------------------------------------------------------------- List<T> adapter
+
+    /**
+     * Exposes the records as a List view; get() decodes a new object, set()/add() encode.
+     * The view is only valid while this list is alive.
+     */
+    public <T> List<T> asList(RecordCodec<T> codec) {
+        return new RecordListView<>(this, codec);
+    }
+
+    /** Appends every element of the source through the codec. */
+    public <T> void addAll(Iterable<? extends T> source, RecordCodec<T> codec) {
+        RecordCursor c = cursor();
+        for (T value : source) {
+            append(value, codec, c);
+        }
+    }
+
+    /** Encodes value into a new last record; the record is dropped again if encoding fails. */
+    private <T> void append(T value, RecordCodec<T> codec, RecordCursor c) {
+        c.moveTo(add());
+        try {
+            codec.encode(value, c);
+        } catch (RuntimeException e) {
+            removeLast();
+            throw e;
+        }
+    }
+
+    private static final class RecordListView<T> extends AbstractList<T> implements RandomAccess {
+        private final OffHeapRecordList records;
+        private final RecordCodec<T> codec;
+        private final RecordCursor cursor;
+
+        RecordListView(OffHeapRecordList records, RecordCodec<T> codec) {
+            this.records = records;
+            this.codec = codec;
+            this.cursor = records.cursor();
+        }
+
+        @Override
+        public T get(int index) {
+            return codec.decode(cursor.moveTo(index));
+        }
+
+        @Override
+        public T set(int index, T element) {
+            T old = codec.decode(cursor.moveTo(index));
+            codec.encode(element, cursor);
+            return old;
+        }
+
+        @Override
+        public boolean add(T element) {
+            records.append(element, codec, cursor);
+            modCount++;
+            return true;
+        }
+
+        @Override
+        public void clear() {
+            records.clear();
+            modCount++;
+        }
+
+        @Override
+        public int size() {
+            long size = records.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IllegalStateException("Too many records for a List view: " + size);
+            }
+            return (int) size;
+        }
+    }
+
+    // ---------------------------------------------------------------- lifetime and checks
+
+    /** Frees every page now and invalidates the list; closing twice is a no-op. */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        for (int i = 0; i < pageCount; i++) {
+            DirectPages.free(pages[i]);
+        }
+        pages = null;
+        pageCount = 0;
+        capacity = 0;
+        size = 0;
+    }
+
+    private ByteBuffer page(long index) {
+        return pages[(int) (index >>> pageShift)];
+    }
+
+    private int offset(long index, RecordLayout.Field field) {
+        return (int) (index & pageMask) * stride + field.getOffset();
+    }
+
+    private void checkAlive() {
+        if (closed) {
+            throw new IllegalStateException("Record list is closed");
+        }
+    }
+
+    void checkIndex(long index) {
+        checkAlive();
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    private void checkAccess(long index, RecordLayout.Field field, RecordLayout.Type type) {
+        checkIndex(index);
+        if (field.layout() != layout || field.getType() != type) {
+            throw new IllegalArgumentException("Field " + field + " is not a " + type + " field of " + layout);
+        }
+    }
+}
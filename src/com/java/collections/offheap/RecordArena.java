@@ -0,0 +1,52 @@
+package com.java.collections.offheap;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * RecordArena - Explicit lifetime for off-heap record lists
+ * - Every list allocated from the arena is closed when the arena closes,
+ *   which frees its direct memory immediately (see DirectPages)
+ * - After close, any access to those lists throws IllegalStateException
+ * - Use with try-with-resources so the lifetime is visible in the code
+ * - Not thread-safe: allocate and close from the owning thread
+ */
+public final class RecordArena implements AutoCloseable {
+    private final List<OffHeapRecordList> lists = new ArrayList<>();
+    private boolean closed;
+
+    /** Allocates an empty list with room for initialCapacity records. */
+    public OffHeapRecordList allocate(RecordLayout layout, long initialCapacity) {
+        if (closed) {
+            throw new IllegalStateException("Arena is closed");
+        }
+        OffHeapRecordList list = new OffHeapRecordList(layout, initialCapacity);
+        lists.add(list);
+        return list;
+    }
+
+    public boolean isAlive() {
+        return !closed;
+    }
+
+    /** Off-heap bytes reserved by all live lists of this arena. */
+    public long reservedBytes() {
+        long total = 0;
+        for (OffHeapRecordList list : lists) {
+            total += list.reservedBytes();
+        }
+        return total;
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        for (OffHeapRecordList list : lists) {
+            list.close();
+        }
+        lists.clear();
+    }
+}
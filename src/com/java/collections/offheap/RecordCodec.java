@@ -0,0 +1,13 @@
+package com.java.collections.offheap;
+
+/**
+ * RecordCodec - Maps an on-heap object to and from one off-heap record
+ * - Used by OffHeapRecordList.asList() to expose records as a List<T>
+ * - decode reads fields through the cursor, encode writes them
+ */
+public interface RecordCodec<T> {
+
+    T decode(RecordCursor record);
+
+    void encode(T value, RecordCursor record);
+}
@@ -0,0 +1,85 @@
+package com.java.collections.offheap;
+
+/**
+ * RecordCursor - Allocation-free view of one record at a time
+ * - next() advances, moveTo() jumps; accessors read the current record
+ * - One cursor can walk millions of records without creating objects
+ *   (only getString allocates, for the returned String)
+ * - Not thread-safe; create one cursor per thread
+ *
+ * Usage:
+ *   RecordCursor c = list.cursor();
+ *   while (c.next()) {
+ *       total += c.getDouble(salary);
+ *   }
+ */
+public final class RecordCursor {
+    private final OffHeapRecordList list;
+    private long index = -1;
+
+    RecordCursor(OffHeapRecordList list) {
+        this.list = list;
+    }
+
+    /** Advances to the next record; returns false past the end. */
+    public boolean next() {
+        if (index + 1 >= list.size()) {
+            index = list.size();
+            return false;
+        }
+        index++;
+        return true;
+    }
+
+    /** Positions the cursor on the given record. */
+    public RecordCursor moveTo(long index) {
+        list.checkIndex(index);
+        this.index = index;
+        return this;
+    }
+
+    /** Rewinds so the next call to next() returns the first record. */
+    public void reset() {
+        index = -1;
+    }
+
+    public long index() {
+        return index;
+    }
+
+    public int getInt(RecordLayout.Field field) {
+        return list.getInt(index, field);
+    }
+
+    public long getLong(RecordLayout.Field field) {
+        return list.getLong(index, field);
+    }
+
+    public double getDouble(RecordLayout.Field field) {
+        return list.getDouble(index, field);
+    }
+
+    public String getString(RecordLayout.Field field) {
+        return list.getString(index, field);
+    }
+
+    public RecordCursor setInt(RecordLayout.Field field, int value) {
+        list.setInt(index, field, value);
+        return this;
+    }
+
+    public RecordCursor setLong(RecordLayout.Field field, long value) {
+        list.setLong(index, field, value);
+        return this;
+    }
+
+    public RecordCursor setDouble(RecordLayout.Field field, double value) {
+        list.setDouble(index, field, value);
+        return this;
+    }
+
+    public RecordCursor setString(RecordLayout.Field field, String value) {
+        list.setString(index, field, value);
+        return this;
+    }
+}
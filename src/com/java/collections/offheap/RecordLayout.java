@@ -0,0 +1,152 @@
+package com.java.collections.offheap;
+
+import java.util.*;
+
+/**
+ * RecordLayout - Declared schema of a fixed-width off-heap record
+ * - Fields are int32, int64, float64 or fixed-capacity UTF-8 strings
+ * - Each field is aligned to its own size; the record stride is 8-byte aligned
+ * - Immutable; build with RecordLayout.builder()
+ *
+ * Example (Employee: name, age, salary, department):
+ *   RecordLayout layout = RecordLayout.builder()
+ *           .string("name", 32).int32("age").float64("salary").string("department", 16)
+ *           .build();
+ */
+public final class RecordLayout {
+
+    public enum Type {
+        INT32(4), INT64(8), FLOAT64(8), STRING(2);
+
+        final int alignment;
+
+        Type(int alignment) {
+            this.alignment = alignment;
+        }
+    }
+
+    /** Handle to one field; pass it to the typed accessors of OffHeapRecordList and RecordCursor. */
+    public static final class Field {
+        private final String name;
+        private final Type type;
+        private final int offset;
+        private final int size;
+        private RecordLayout layout;
+
+        private Field(String name, Type type, int offset, int size) {
+            this.name = name;
+            this.type = type;
+            this.offset = offset;
+            this.size = size;
+        }
+
+        public String getName() { return name; }
+        public Type getType() { return type; }
+        public int getOffset() { return offset; }
+        public int getSize() { return size; }
+
+        /** Maximum UTF-8 bytes a STRING field can hold. */
+        public int getMaxBytes() {
+            return type == Type.STRING ? size - 2 : 0;
+        }
+
+        RecordLayout layout() {
+            return layout;
+        }
+
+        @Override
+        public String toString() {
+            return name + ":" + type + "@" + offset;
+        }
+    }
+
+    private final List<Field> fields;
+    private final Map<String, Field> byName;
+    private final int stride;
+
+    private RecordLayout(List<Field> fields, int stride) {
+        this.fields = Collections.unmodifiableList(fields);
+        this.byName = new LinkedHashMap<>();
+        for (Field f : fields) {
+            byName.put(f.name, f);
+            f.layout = this;
+        }
+        this.stride = stride;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public List<Field> fields() {
+        return fields;
+    }
+
+    public Field field(String name) {
+        Field f = byName.get(name);
+        if (f == null) {
+            throw new IllegalArgumentException("No field '" + name + "' in " + this);
+        }
+        return f;
+    }
+
+    /** Bytes per record, including alignment padding. */
+    public int stride() {
+        return stride;
+    }
+
+    @Override
+    public String toString() {
+        return "RecordLayout" + fields + " stride=" + stride;
+    }
+
+    public static final class Builder {
+        private final List<Field> fields = new ArrayList<>();
+        private final Set<String> names = new HashSet<>();
+        private int offset;
+
+        private Builder() {
+        }
+
+        public Builder int32(String name) {
+            return add(name, Type.INT32, 4);
+        }
+
+        public Builder int64(String name) {
+            return add(name, Type.INT64, 8);
+        }
+
+        public Builder float64(String name) {
+            return add(name, Type.FLOAT64, 8);
+        }
+
+        /** Fixed-capacity string: a 2-byte length followed by up to maxBytes of UTF-8. */
+        public Builder string(String name, int maxBytes) {
+            if (maxBytes <= 0 || maxBytes > Short.MAX_VALUE) {
+                throw new IllegalArgumentException("maxBytes must be 1.." + Short.MAX_VALUE);
+            }
+            return add(name, Type.STRING, maxBytes + 2);
+        }
+
+        private Builder add(String name, Type type, int size) {
+            if (!names.add(name)) {
+                throw new IllegalArgumentException("Duplicate field: " + name);
+            }
+            offset = align(offset, type.alignment);
+            fields.add(new Field(name, type, offset, size));
+            offset += size;
+            return this;
+        }
+
+        public RecordLayout build() {
+            if (fields.isEmpty()) {
+                throw new IllegalStateException("Layout has no fields");
+            }
+            return new RecordLayout(new ArrayList<>(fields), align(offset, 8));
+        }
+
+        private static int align(int value, int alignment) {
+            return (value + alignment - 1) & -alignment;
+        }
+    }
+}
@@ -0,0 +1,658 @@
+package com.java.collections.sort;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * CompiledComparator - Multi-key comparator that sorts by extracted primitive keys
+ * - Built with the same combinators as Comparator: comparing, comparingInt/
+ *   Long/Double, thenComparing..., reversed, nullsFirst/nullsLast; the JDK's
+ *   own Comparator lambdas are opaque, so the chain is spelled with these
+ * - sort() runs every getter once per element (Schwartzian transform) and
+ *   encodes each key as an unsigned long column:
+ *   int/long offset by the minimum, double in Double.compare order,
+ *   Comparable or Comparator keys as dense ranks, descending keys flipped
+ * - Columns are packed into as few 64-bit words as fit; if one word plus
+ *   the element index fits in 63 bits the sort is a single Arrays.sort(long[]),
+ *   otherwise a stable merge sort of an int permutation compares the words
+ * - A later object key with many distinct values (names, ids) is not ranked:
+ *   it and the keys after it only order the runs left equal by the packed
+ *   words, so they cost n log(run) comparisons instead of n log n
+ * - The permutation is then applied once; the result is stable and equal
+ *   to List.sort(this)
+ * - compare() still works element by element, so it is a drop-in Comparator
+ * - Immutable; every combinator returns a new comparator
+ */
+public final class CompiledComparator<T> implements Comparator<T> {
+    private static final int NULLS_NONE = 0;
+    private static final int NULLS_FIRST = 1;
+    private static final int NULLS_LAST = 2;
+    // Below this size insertion sort beats merging
+    private static final int INSERTION_SORT_THRESHOLD = 16;
+    private static final Comparator<?> NATURAL = Comparator.naturalOrder();
+    private static final Comparator<?> REVERSE = Comparator.reverseOrder();
+    // Elements sampled to estimate how many distinct values a key has
+    private static final int SAMPLE = 1024;
+    // Key types whose natural order treats exactly the equals() values as equal
+    private static final Set<Class<?>> EQUALS_CONSISTENT = new HashSet<>(Arrays.asList(
+            String.class, Integer.class, Long.class, Short.class, Byte.class, Character.class,
+            Boolean.class, Double.class, Float.class));
+
+    private final List<Key<T>> keys;
+    private final int nulls;
+
+    private CompiledComparator(List<Key<T>> keys, int nulls) {
+        this.keys = keys;
+        this.nulls = nulls;
+    }
+
+    // ---------------------------------------------------------------- combinators
+
+    public static <T, U extends Comparable<? super U>> CompiledComparator<T> comparing(
+            Function<? super T, ? extends U> keyExtractor) {
+        return comparing(keyExtractor, Comparator.naturalOrder());
+    }
+
+    /** Key compared with keyComparator, e.g. Comparator.nullsFirst(Comparator.naturalOrder()). */
+    public static <T, U> CompiledComparator<T> comparing(
+            Function<? super T, ? extends U> keyExtractor, Comparator<? super U> keyComparator) {
+        return new CompiledComparator<T>(Collections.emptyList(), NULLS_NONE)
+                .thenComparing(keyExtractor, keyComparator);
+    }
+
+    public static <T> CompiledComparator<T> comparingInt(ToIntFunction<? super T> keyExtractor) {
+        return new CompiledComparator<T>(Collections.emptyList(), NULLS_NONE).thenComparingInt(keyExtractor);
+    }
+
+    public static <T> CompiledComparator<T> comparingLong(ToLongFunction<? super T> keyExtractor) {
+        return new CompiledComparator<T>(Collections.emptyList(), NULLS_NONE).thenComparingLong(keyExtractor);
+    }
+
+    public static <T> CompiledComparator<T> comparingDouble(ToDoubleFunction<? super T> keyExtractor) {
+        return new CompiledComparator<T>(Collections.emptyList(), NULLS_NONE).thenComparingDouble(keyExtractor);
+    }
+
+    /**
+     * Any comparator as a single rank key: its order is captured by sorting
+     * the elements with it once, then the ranks are compared as ints.
+     */
+    public static <T> CompiledComparator<T> of(Comparator<? super T> comparator) {
+        return comparing(Function.<T>identity(), comparator);
+    }
+
+    /** Null elements first, the rest by comparator. */
+    public static <T> CompiledComparator<T> nullsFirst(CompiledComparator<T> comparator) {
+        return new CompiledComparator<>(comparator.keys, NULLS_FIRST);
+    }
+
+    /** Null elements last, the rest by comparator. */
+    public static <T> CompiledComparator<T> nullsLast(CompiledComparator<T> comparator) {
+        return new CompiledComparator<>(comparator.keys, NULLS_LAST);
+    }
+
+    public <U extends Comparable<? super U>> CompiledComparator<T> thenComparing(
+            Function<? super T, ? extends U> keyExtractor) {
+        return thenComparing(keyExtractor, Comparator.naturalOrder());
+    }
+
+    @SuppressWarnings("unchecked")
+    public <U> CompiledComparator<T> thenComparing(
+            Function<? super T, ? extends U> keyExtractor, Comparator<? super U> keyComparator) {
+        Objects.requireNonNull(keyExtractor);
+        Objects.requireNonNull(keyComparator);
+        return with(new ObjectKey<>((Function<? super T, Object>) keyExtractor,
+                (Comparator<Object>) keyComparator, false));
+    }
+
+    public CompiledComparator<T> thenComparingInt(ToIntFunction<? super T> keyExtractor) {
+        return with(new IntKey<>(Objects.requireNonNull(keyExtractor), false));
+    }
+
+    public CompiledComparator<T> thenComparingLong(ToLongFunction<? super T> keyExtractor) {
+        return with(new LongKey<>(Objects.requireNonNull(keyExtractor), false));
+    }
+
+    public CompiledComparator<T> thenComparingDouble(ToDoubleFunction<? super T> keyExtractor) {
+        return with(new DoubleKey<>(Objects.requireNonNull(keyExtractor), false));
+    }
+
+    /** Appends all keys of other; other's null placement is ignored, as null elements never reach it. */
+    public CompiledComparator<T> thenComparing(CompiledComparator<T> other) {
+        List<Key<T>> combined = new ArrayList<>(keys);
+        combined.addAll(other.keys);
+        return new CompiledComparator<>(Collections.unmodifiableList(combined), nulls);
+    }
+
+    /** Every key and the null placement reversed, as Comparator.reversed(). */
+    @Override
+    public CompiledComparator<T> reversed() {
+        List<Key<T>> flipped = new ArrayList<>(keys.size());
+        for (Key<T> key : keys) {
+            flipped.add(key.flip());
+        }
+        int flippedNulls = nulls == NULLS_FIRST ? NULLS_LAST : nulls == NULLS_LAST ? NULLS_FIRST : NULLS_NONE;
+        return new CompiledComparator<>(Collections.unmodifiableList(flipped), flippedNulls);
+    }
+
+    private CompiledComparator<T> with(Key<T> key) {
+        List<Key<T>> extended = new ArrayList<>(keys);
+        extended.add(key);
+        return new CompiledComparator<>(Collections.unmodifiableList(extended), nulls);
+    }
+
+    // ---------------------------------------------------------------- comparing
+
+    @Override
+    public int compare(T a, T b) {
+        if (nulls != NULLS_NONE && (a == null || b == null)) {
+            if (a == b) {
+                return 0;
+            }
+            return (a == null) == (nulls == NULLS_FIRST) ? -1 : 1;
+        }
+        for (Key<T> key : keys) {
+            int c = key.compare(a, b);
+            if (c != 0) {
+                return key.descending ? -c : c;
+            }
+        }
+        return 0;
+    }
+
+    // ---------------------------------------------------------------- sorting
+
+    /** Sorts list in place; same result as list.sort(this). */
+    @SuppressWarnings("unchecked")
+    public void sort(List<T> list) {
+        Object[] a = list.toArray();
+        sort((T[]) a);
+        ListIterator<T> it = list.listIterator();
+        for (Object e : a) {
+            it.next();
+            it.set((T) e);
+        }
+    }
+
+    /** Sorts a in place; same result as Arrays.sort(a, this). */
+    public void sort(T[] a) {
+        int nullCount = 0;
+        if (nulls != NULLS_NONE) {
+            for (T e : a) {
+                if (e == null) {
+                    nullCount++;
+                }
+            }
+        }
+        int n = a.length - nullCount;
+        @SuppressWarnings("unchecked")
+        T[] elements = nullCount == 0 ? a : (T[]) new Object[n];
+        if (nullCount != 0) {
+            for (int i = 0, w = 0; i < a.length; i++) {
+                if (a[i] != null) {
+                    elements[w++] = a[i];
+                }
+            }
+        }
+        int[] order = sortedPermutation(elements);
+        Object[] sorted = new Object[n];
+        for (int i = 0; i < n; i++) {
+            sorted[i] = elements[order[i]];
+        }
+        int offset = nulls == NULLS_FIRST ? nullCount : 0;
+        System.arraycopy(sorted, 0, a, offset, n);
+        Arrays.fill(a, nulls == NULLS_FIRST ? 0 : n, nulls == NULLS_FIRST ? nullCount : a.length, null);
+    }
+
+    /**
+     * Indexes of elements in sorted order; ties keep their original order.
+     * Leading keys are encoded and sorted as packed words; from the first
+     * object key with many distinct values on, keys are compared only
+     * inside runs that are equal on the packed words.
+     */
+    public int[] sortedPermutation(T[] elements) {
+        int n = elements.length;
+        List<long[]> columns = new ArrayList<>(keys.size());
+        List<Integer> widths = new ArrayList<>(keys.size());
+        List<IndexComparator> ties = new ArrayList<>();
+        for (Key<T> key : keys) {
+            if (!ties.isEmpty() || (!columns.isEmpty() && !key.rankable(elements))) {
+                ties.add(key.ties(elements));
+                continue;
+            }
+            long[] column = key.extract(elements);
+            int width = normalize(column, key.descending);
+            if (width > 0) {
+                columns.add(column);
+                widths.add(width);
+            }
+        }
+        long[][] words = pack(columns, widths, n);
+        int[] order = sortByWords(words, wordWidth(widths), n);
+        if (!ties.isEmpty()) {
+            sortRuns(order, words, ties);
+        }
+        return order;
+    }
+
+    private static int[] sortByWords(long[][] words, int width, int n) {
+        int indexBits = 32 - Integer.numberOfLeadingZeros(Math.max(n - 1, 0));
+        if (words.length == 0) {
+            return identity(n);
+        }
+        if (words.length == 1 && width + indexBits <= 63) {
+            // Index in the low bits: one primitive sort, ties broken by position
+            long[] packed = new long[n];
+            for (int i = 0; i < n; i++) {
+                packed[i] = words[0][i] << indexBits | i;
+            }
+            Arrays.sort(packed);
+            int[] order = new int[n];
+            long mask = (1L << indexBits) - 1;
+            for (int i = 0; i < n; i++) {
+                order[i] = (int) (packed[i] & mask);
+            }
+            return order;
+        }
+        int[] order = identity(n);
+        mergeSort(order, order.clone(), 0, n, (a, b) -> compareWords(words, a, b));
+        return order;
+    }
+
+    /** Stable-sorts every run of order that is equal on the words by the tie keys. */
+    private static void sortRuns(int[] order, long[][] words, List<IndexComparator> ties) {
+        IndexComparator cmp = (a, b) -> {
+            for (IndexComparator tie : ties) {
+                int c = tie.compare(a, b);
+                if (c != 0) {
+                    return c;
+                }
+            }
+            return 0;
+        };
+        int n = order.length;
+        int[] aux = new int[n];
+        int start = 0;
+        for (int i = 1; i <= n; i++) {
+            if (i == n || compareWords(words, order[i - 1], order[i]) != 0) {
+                if (i - start > 1) {
+                    System.arraycopy(order, start, aux, start, i - start);
+                    mergeSort(order, aux, start, i, cmp);
+                }
+                start = i;
+            }
+        }
+    }
+
+    /**
+     * Offsets the unsigned column by its minimum, compresses wide columns to
+     * dense ranks, flips descending ones; returns the bits needed (0 if all equal).
+     */
+    private static int normalize(long[] column, boolean descending) {
+        int n = column.length;
+        if (n == 0) {
+            return 0;
+        }
+        long min = -1L;
+        long max = 0;
+        for (long v : column) {
+            if (Long.compareUnsigned(v, min) < 0) {
+                min = v;
+            }
+            if (Long.compareUnsigned(v, max) > 0) {
+                max = v;
+            }
+        }
+        long range = max - min;
+        for (int i = 0; i < n; i++) {
+            column[i] -= min;
+        }
+        if (64 - Long.numberOfLeadingZeros(range) > 32) {
+            range = rank(column);
+        }
+        if (descending) {
+            for (int i = 0; i < n; i++) {
+                column[i] = range - column[i];
+            }
+        }
+        return 64 - Long.numberOfLeadingZeros(range);
+    }
+
+    /** Replaces unsigned values by dense ranks; returns the largest rank. */
+    private static long rank(long[] column) {
+        long[] distinct = new long[column.length];
+        for (int i = 0; i < column.length; i++) {
+            // Flip the sign bit so signed order is the unsigned order
+            distinct[i] = column[i] ^ Long.MIN_VALUE;
+        }
+        Arrays.sort(distinct);
+        int d = 0;
+        for (int i = 0; i < distinct.length; i++) {
+            if (i == 0 || distinct[i] != distinct[d - 1]) {
+                distinct[d++] = distinct[i];
+            }
+        }
+        for (int i = 0; i < column.length; i++) {
+            column[i] = Arrays.binarySearch(distinct, 0, d, column[i] ^ Long.MIN_VALUE);
+        }
+        return d - 1;
+    }
+
+    /** Concatenates columns, most significant first, into words of at most 64 bits. */
+    private static long[][] pack(List<long[]> columns, List<Integer> widths, int n) {
+        List<long[]> words = new ArrayList<>();
+        long[] word = null;
+        int used = 64;
+        for (int c = 0; c < columns.size(); c++) {
+            int width = widths.get(c);
+            long[] column = columns.get(c);
+            if (used + width > 64) {
+                word = column;
+                used = width;
+                words.add(word);
+                continue;
+            }
+            for (int i = 0; i < n; i++) {
+                word[i] = word[i] << width | column[i];
+            }
+            used += width;
+        }
+        return words.toArray(new long[0][]);
+    }
+
+    private static int wordWidth(List<Integer> widths) {
+        int total = 0;
+        for (int width : widths) {
+            total += width;
+        }
+        return total;
+    }
+
+    private static int[] identity(int n) {
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        return order;
+    }
+
+    /** Comparison of two element indexes. */
+    private interface IndexComparator {
+        int compare(int a, int b);
+    }
+
+    /** Stable merge sort of order[from, to); aux holds the same contents on entry. */
+    private static void mergeSort(int[] order, int[] aux, int from, int to, IndexComparator cmp) {
+        if (to - from <= INSERTION_SORT_THRESHOLD) {
+            for (int i = from + 1; i < to; i++) {
+                int x = order[i];
+                int j = i - 1;
+                while (j >= from && cmp.compare(order[j], x) > 0) {
+                    order[j + 1] = order[j];
+                    j--;
+                }
+                order[j + 1] = x;
+            }
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        // Sort both halves into aux, then merge back into order
+        mergeSort(aux, order, from, mid, cmp);
+        mergeSort(aux, order, mid, to, cmp);
+        if (cmp.compare(aux[mid - 1], aux[mid]) <= 0) {
+            System.arraycopy(aux, from, order, from, to - from);
+            return;
+        }
+        for (int i = from, p = from, q = mid; i < to; i++) {
+            if (q >= to || (p < mid && cmp.compare(aux[p], aux[q]) <= 0)) {
+                order[i] = aux[p++];
+            } else {
+                order[i] = aux[q++];
+            }
+        }
+    }
+
+    private static int compareWords(long[][] words, int a, int b) {
+        for (long[] word : words) {
+            int c = Long.compareUnsigned(word[a], word[b]);
+            if (c != 0) {
+                return c;
+            }
+        }
+        return 0;
+    }
+
+    // ---------------------------------------------------------------- keys
+
+    /** One sort key: element comparison plus extraction into unsigned-ordered longs. */
+    private abstract static class Key<T> {
+        final boolean descending;
+
+        Key(boolean descending) {
+            this.descending = descending;
+        }
+
+        abstract int compare(T a, T b);
+
+        /** Unsigned-ordered encoding of every element's key, ascending. */
+        abstract long[] extract(T[] elements);
+
+        /** Element-index comparison on extracted keys, for runs left equal by earlier keys. */
+        abstract IndexComparator ties(T[] elements);
+
+        /** False if encoding costs more than comparing inside runs of earlier keys. */
+        boolean rankable(T[] elements) {
+            return true;
+        }
+
+        abstract Key<T> flip();
+    }
+
+    private static final class IntKey<T> extends Key<T> {
+        private final ToIntFunction<? super T> extractor;
+
+        IntKey(ToIntFunction<? super T> extractor, boolean descending) {
+            super(descending);
+            this.extractor = extractor;
+        }
+
+        int compare(T a, T b) {
+            return Integer.compare(extractor.applyAsInt(a), extractor.applyAsInt(b));
+        }
+
+        long[] extract(T[] elements) {
+            long[] column = new long[elements.length];
+            for (int i = 0; i < elements.length; i++) {
+                column[i] = RadixSorts.intKey(extractor.applyAsInt(elements[i]));
+            }
+            return column;
+        }
+
+        IndexComparator ties(T[] elements) {
+            int[] values = new int[elements.length];
+            for (int i = 0; i < elements.length; i++) {
+                values[i] = extractor.applyAsInt(elements[i]);
+            }
+            int sign = descending ? -1 : 1;
+            return (a, b) -> sign * Integer.compare(values[a], values[b]);
+        }
+
+        Key<T> flip() {
+            return new IntKey<>(extractor, !descending);
+        }
+    }
+
+    private static final class LongKey<T> extends Key<T> {
+        private final ToLongFunction<? super T> extractor;
+
+        LongKey(ToLongFunction<? super T> extractor, boolean descending) {
+            super(descending);
+            this.extractor = extractor;
+        }
+
+        int compare(T a, T b) {
+            return Long.compare(extractor.applyAsLong(a), extractor.applyAsLong(b));
+        }
+
+        long[] extract(T[] elements) {
+            long[] column = new long[elements.length];
+            for (int i = 0; i < elements.length; i++) {
+                column[i] = RadixSorts.longKey(extractor.applyAsLong(elements[i]));
+            }
+            return column;
+        }
+
+        IndexComparator ties(T[] elements) {
+            long[] values = new long[elements.length];
+            for (int i = 0; i < elements.length; i++) {
+                values[i] = extractor.applyAsLong(elements[i]);
+            }
+            int sign = descending ? -1 : 1;
+            return (a, b) -> sign * Long.compare(values[a], values[b]);
+        }
+
+        Key<T> flip() {
+            return new LongKey<>(extractor, !descending);
+        }
+    }
+
+    private static final class DoubleKey<T> extends Key<T> {
+        private final ToDoubleFunction<? super T> extractor;
+
+        DoubleKey(ToDoubleFunction<? super T> extractor, boolean descending) {
+            super(descending);
+            this.extractor = extractor;
+        }
+
+        int compare(T a, T b) {
+            return Double.compare(extractor.applyAsDouble(a), extractor.applyAsDouble(b));
+        }
+
+        long[] extract(T[] elements) {
+            long[] column = new long[elements.length];
+            for (int i = 0; i < elements.length; i++) {
+                column[i] = RadixSorts.doubleKey(extractor.applyAsDouble(elements[i]));
+            }
+            return column;
+        }
+
+        IndexComparator ties(T[] elements) {
+            double[] values = new double[elements.length];
+            for (int i = 0; i < elements.length; i++) {
+                values[i] = extractor.applyAsDouble(elements[i]);
+            }
+            int sign = descending ? -1 : 1;
+            return (a, b) -> sign * Double.compare(values[a], values[b]);
+        }
+
+        Key<T> flip() {
+            return new DoubleKey<>(extractor, !descending);
+        }
+    }
+
+    private static final class ObjectKey<T> extends Key<T> {
+        private final Function<? super T, Object> extractor;
+        private final Comparator<Object> comparator;
+
+        ObjectKey(Function<? super T, Object> extractor, Comparator<Object> comparator, boolean descending) {
+            super(descending);
+            this.extractor = extractor;
+            this.comparator = comparator;
+        }
+
+        int compare(T a, T b) {
+            return comparator.compare(extractor.apply(a), extractor.apply(b));
+        }
+
+        /** Dense ranks: the keys are sorted once with comparator, equal keys share a rank. */
+        long[] extract(T[] elements) {
+            int n = elements.length;
+            Object[] values = new Object[n];
+            for (int i = 0; i < n; i++) {
+                values[i] = extractor.apply(elements[i]);
+            }
+            if (hashable(values)) {
+                return rankDistinct(values);
+            }
+            int[] byValue = identity(n);
+            mergeSort(byValue, byValue.clone(), 0, n, (x, y) -> comparator.compare(values[x], values[y]));
+            long[] column = new long[n];
+            long rank = 0;
+            for (int i = 1; i < n; i++) {
+                if (comparator.compare(values[byValue[i - 1]], values[byValue[i]]) != 0) {
+                    rank++;
+                }
+                column[byValue[i]] = rank;
+            }
+            return column;
+        }
+
+        /**
+         * True if equal keys under comparator are exactly the equals() keys:
+         * natural or reverse order over types whose compareTo agrees with equals.
+         */
+        private boolean hashable(Object[] values) {
+            if (comparator != NATURAL && comparator != REVERSE) {
+                return false;
+            }
+            for (Object v : values) {
+                if (v == null || !(v instanceof Enum || EQUALS_CONSISTENT.contains(v.getClass()))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /** Hashes each key to an id, sorts only the distinct keys, maps ids to ranks. */
+        private long[] rankDistinct(Object[] values) {
+            int n = values.length;
+            Map<Object, Integer> ids = new HashMap<>();
+            List<Object> distinct = new ArrayList<>();
+            int[] idOf = new int[n];
+            for (int i = 0; i < n; i++) {
+                Integer id = ids.putIfAbsent(values[i], distinct.size());
+                if (id == null) {
+                    id = distinct.size();
+                    distinct.add(values[i]);
+                }
+                idOf[i] = id;
+            }
+            Object[] sorted = distinct.toArray();
+            Arrays.sort(sorted, comparator);
+            int[] rankOfId = new int[sorted.length];
+            for (int r = 0; r < sorted.length; r++) {
+                rankOfId[ids.get(sorted[r])] = r;
+            }
+            long[] column = new long[n];
+            for (int i = 0; i < n; i++) {
+                column[i] = rankOfId[idOf[i]];
+            }
+            return column;
+        }
+
+        IndexComparator ties(T[] elements) {
+            Object[] values = new Object[elements.length];
+            for (int i = 0; i < elements.length; i++) {
+                values[i] = extractor.apply(elements[i]);
+            }
+            int sign = descending ? -1 : 1;
+            return (a, b) -> sign * comparator.compare(values[a], values[b]);
+        }
+
+        /** Only hashable keys with few distinct values in a sample are worth ranking. */
+        boolean rankable(T[] elements) {
+            int step = Math.max(1, elements.length / SAMPLE);
+            Object[] sample = new Object[Math.min(SAMPLE, elements.length)];
+            for (int i = 0; i < sample.length; i++) {
+                sample[i] = extractor.apply(elements[i * step]);
+            }
+            return hashable(sample) && new HashSet<>(Arrays.asList(sample)).size() <= sample.length / 4;
+        }
+
+        Key<T> flip() {
+            return new ObjectKey<>(extractor, comparator, !descending);
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package com.java.collections.sort;
+
+import com.java.collections.list.ArraySortable;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * ParallelMergeSort - Stable parallel sort for any Comparator, in place on list arrays
+ * - Ranges of sequentialCutoff elements are sorted by Arrays.sort (TimSort)
+ *   as fork-join tasks, then merged pairwise by parallel merges: the larger
+ *   run is split at its middle, the other at the matching binary-search
+ *   position, and both halves merge concurrently
+ * - Runs ping-pong between the array and one scratch buffer of the range's
+ *   length; leaves copy their own slice, so there is no up-front copy
+ * - ArraySortable lists (ArrayBackedList, GrowableArrayList,
+ *   StampedArrayList) are sorted on their backing array; other lists pay
+ *   the toArray() copy and set() write-back that List.sort pays too.
+ *   Arrays.parallelSort(list.toArray()) needs that copy plus its own buffer
+ * - Stable: equal elements keep their order (ties take the left run)
+ * - The pool and the cutoff are fixed per instance; commonPool() is the
+ *   shared default. Below the cutoff, or on a one-thread pool, it is
+ *   exactly Arrays.sort
+ * - If the comparator throws, the exception is rethrown and the range is
+ *   left in an undefined state (elements may be duplicated or missing)
+ */
+public final class ParallelMergeSort {
+    public static final int DEFAULT_SEQUENTIAL_CUTOFF = 8192;
+
+    private static final ParallelMergeSort COMMON =
+            new ParallelMergeSort(ForkJoinPool.commonPool(), DEFAULT_SEQUENTIAL_CUTOFF);
+
+    @SuppressWarnings("unchecked")
+    private static final Comparator<Object> NATURAL = (a, b) -> ((Comparable<Object>) a).compareTo(b);
+
+    private final ForkJoinPool pool;
+    private final int sequentialCutoff;
+
+    /**
+     * @param pool             runs the sort and merge tasks
+     * @param sequentialCutoff ranges (and merges) up to this size run in one task; at least 2
+     */
+    public ParallelMergeSort(ForkJoinPool pool, int sequentialCutoff) {
+        if (sequentialCutoff < 2) {
+            throw new IllegalArgumentException("sequentialCutoff < 2: " + sequentialCutoff);
+        }
+        this.pool = Objects.requireNonNull(pool);
+        this.sequentialCutoff = sequentialCutoff;
+    }
+
+    /** Sorter on ForkJoinPool.commonPool() with DEFAULT_SEQUENTIAL_CUTOFF. */
+    public static ParallelMergeSort commonPool() {
+        return COMMON;
+    }
+
+    public ForkJoinPool pool() {
+        return pool;
+    }
+
+    public int sequentialCutoff() {
+        return sequentialCutoff;
+    }
+
+    /** Sorts list like list.sort(c); a null comparator means natural order. */
+    @SuppressWarnings("unchecked")
+    public <T> void sort(List<T> list, Comparator<? super T> c) {
+        Comparator<Object> cmp = c == null ? NATURAL : (Comparator<Object>) c;
+        if (list instanceof ArraySortable) {
+            ((ArraySortable) list).sortArray((array, from, to) -> sort(array, from, to, cmp));
+            return;
+        }
+        Object[] a = list.toArray();
+        sort(a, 0, a.length, cmp);
+        ListIterator<T> it = list.listIterator();
+        for (Object e : a) {
+            it.next();
+            it.set((T) e);
+        }
+    }
+
+    public <T> void sort(T[] a, Comparator<? super T> c) {
+        sort(a, 0, a.length, c);
+    }
+
+    /** Sorts a[fromIndex, toIndex); a null comparator means natural order. */
+    @SuppressWarnings("unchecked")
+    public <T> void sort(T[] a, int fromIndex, int toIndex, Comparator<? super T> c) {
+        if (fromIndex < 0 || fromIndex > toIndex || toIndex > a.length) {
+            throw new IndexOutOfBoundsException("Range [" + fromIndex + ", " + toIndex + ") out of bounds for length " + a.length);
+        }
+        Comparator<Object> cmp = c == null ? NATURAL : (Comparator<Object>) c;
+        if (toIndex - fromIndex <= sequentialCutoff || pool.getParallelism() <= 1) {
+            Arrays.sort(a, fromIndex, toIndex, cmp);
+            return;
+        }
+        Job job = new Job(a, fromIndex, toIndex - fromIndex, cmp, sequentialCutoff);
+        pool.invoke(new SortTask(job, fromIndex, toIndex, true));
+    }
+
+    // ---------------------------------------------------------------- tasks
+
+    /**
+     * The array and its scratch buffer. Indices are always those of the
+     * array; scratch[i - base] holds index i.
+     */
+    private static final class Job {
+        final Object[] array;
+        final Object[] scratch;
+        final int base;
+        final Comparator<Object> comparator;
+        final int cutoff;
+
+        Job(Object[] array, int base, int length, Comparator<Object> comparator, int cutoff) {
+            this.array = array;
+            this.scratch = new Object[length];
+            this.base = base;
+            this.comparator = comparator;
+            this.cutoff = cutoff;
+        }
+
+        Object[] target(boolean inArray) {
+            return inArray ? array : scratch;
+        }
+
+        int offset(boolean inArray) {
+            return inArray ? 0 : base;
+        }
+    }
+
+    /** Sorts the original elements of [lo, hi) into the array (inArray) or the scratch buffer. */
+    @SuppressWarnings("serial") // never serialized; RecursiveAction is Serializable only by inheritance
+    private static final class SortTask extends RecursiveAction {
+        private final Job job;
+        private final int lo;
+        private final int hi;
+        private final boolean inArray;
+
+        SortTask(Job job, int lo, int hi, boolean inArray) {
+            this.job = job;
+            this.lo = lo;
+            this.hi = hi;
+            this.inArray = inArray;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo <= job.cutoff) {
+                Object[] dst = job.target(inArray);
+                int off = job.offset(inArray);
+                if (!inArray) {
+                    System.arraycopy(job.array, lo, dst, lo - off, hi - lo);
+                }
+                Arrays.sort(dst, lo - off, hi - off, job.comparator);
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            // Halves land in the other buffer, then merge back into ours
+            invokeAll(new SortTask(job, lo, mid, !inArray), new SortTask(job, mid, hi, !inArray));
+            new MergeTask(job, lo, mid, mid, hi, lo, !inArray).compute();
+        }
+    }
+
+    /** Merges runs [lo1, hi1) and [lo2, hi2) of one buffer into the other, starting at out. */
+    @SuppressWarnings("serial") // never serialized; RecursiveAction is Serializable only by inheritance
+    private static final class MergeTask extends RecursiveAction {
+        private final Job job;
+        private final int lo1;
+        private final int hi1;
+        private final int lo2;
+        private final int hi2;
+        private final int out;
+        private final boolean fromArray;
+
+        MergeTask(Job job, int lo1, int hi1, int lo2, int hi2, int out, boolean fromArray) {
+            this.job = job;
+            this.lo1 = lo1;
+            this.hi1 = hi1;
+            this.lo2 = lo2;
+            this.hi2 = hi2;
+            this.out = out;
+            this.fromArray = fromArray;
+        }
+
+        @Override
+        protected void compute() {
+            Object[] src = job.target(fromArray);
+            int so = job.offset(fromArray);
+            Object[] dst = job.target(!fromArray);
+            int dO = job.offset(!fromArray);
+            Comparator<Object> c = job.comparator;
+            int n1 = hi1 - lo1;
+            int n2 = hi2 - lo2;
+            if (n1 == 0 || n2 == 0 || c.compare(src[hi1 - 1 - so], src[lo2 - so]) <= 0) {
+                // Already in order (or one side empty): two block copies
+                System.arraycopy(src, lo1 - so, dst, out - dO, n1);
+                System.arraycopy(src, lo2 - so, dst, out + n1 - dO, n2);
+                return;
+            }
+            if (n1 + n2 <= job.cutoff) {
+                merge(src, so, dst, dO, c);
+                return;
+            }
+            int m1;
+            int m2;
+            if (n1 >= n2) {
+                m1 = (lo1 + hi1) >>> 1;
+                m2 = lowerBound(src, so, lo2, hi2, src[m1 - so], c);
+            } else {
+                m2 = (lo2 + hi2) >>> 1;
+                m1 = upperBound(src, so, lo1, hi1, src[m2 - so], c);
+            }
+            int outMid = out + (m1 - lo1) + (m2 - lo2);
+            invokeAll(new MergeTask(job, lo1, m1, lo2, m2, out, fromArray),
+                    new MergeTask(job, m1, hi1, m2, hi2, outMid, fromArray));
+        }
+
+        private void merge(Object[] src, int so, Object[] dst, int dO, Comparator<Object> c) {
+            int i = lo1;
+            int j = lo2;
+            int k = out - dO;
+            while (i < hi1 && j < hi2) {
+                Object x = src[i - so];
+                Object y = src[j - so];
+                // Take the left element on ties: stable
+                if (c.compare(y, x) < 0) {
+                    dst[k++] = y;
+                    j++;
+                } else {
+                    dst[k++] = x;
+                    i++;
+                }
+            }
+            System.arraycopy(src, i - so, dst, k, hi1 - i);
+            System.arraycopy(src, j - so, dst, k + hi1 - i, hi2 - j);
+        }
+    }
+
+    /** First index in [lo, hi) whose element is not less than key. */
+    private static int lowerBound(Object[] a, int off, int lo, int hi, Object key, Comparator<Object> c) {
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (c.compare(a[mid - off], key) < 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /** First index in [lo, hi) whose element is greater than key. */
+    private static int upperBound(Object[] a, int off, int lo, int hi, Object key, Comparator<Object> c) {
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (c.compare(a[mid - off], key) <= 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+}
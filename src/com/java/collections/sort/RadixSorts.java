@@ -0,0 +1,314 @@
+package com.java.collections.sort;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+import java.util.stream.IntStream;
+
+/**
+ * RadixSorts - Stable radix sorts of lists by an int, long or double key
+ * - Each key is extracted once and encoded as an unsigned long: ints and
+ *   longs with the sign bit flipped, doubles with the IEEE-754 flip (all
+ *   bits of negatives inverted, sign bit set on the rest), so unsigned byte
+ *   order is Integer/Long/Double.compare order (-0.0 before 0.0, NaN last)
+ * - sortBy*: LSD radix sort, one counting pass per byte; a single histogram
+ *   pass finds the bytes that differ, so ages (one varying byte) take one
+ *   scatter pass instead of eight
+ * - parallelSortBy*: MSD split on the highest varying byte into 256 buckets
+ *   (parallel histograms and stable scatter), then every bucket is LSD
+ *   sorted in parallel; small inputs fall back to sortBy*
+ * - The keys carry an int permutation; ties keep input order and the list
+ *   is rewritten once, so the result equals list.sort(comparingInt(...))
+ * - Names follow Comparator.comparingInt/Long/Double: an overloaded sort()
+ *   would be ambiguous for lambdas such as e -> e.getAge()
+ */
+public final class RadixSorts {
+    private static final int RADIX = 256;
+    private static final int DIGITS = 8;
+    // Ranges this small are insertion sorted
+    private static final int INSERTION_SORT_THRESHOLD = 32;
+    // Below this size parallelSortBy* runs the sequential sort
+    private static final int PARALLEL_THRESHOLD = 1 << 16;
+
+    private RadixSorts() {
+    }
+
+    // ---------------------------------------------------------------- entry points
+
+    public static <T> void sortByInt(List<T> list, ToIntFunction<? super T> key) {
+        Objects.requireNonNull(key);
+        Object[] a = list.toArray();
+        long[] keys = new long[a.length];
+        for (int i = 0; i < a.length; i++) {
+            keys[i] = intKey(key.applyAsInt(elementAt(a, i)));
+        }
+        apply(list, a, sort(keys, false));
+    }
+
+    public static <T> void sortByLong(List<T> list, ToLongFunction<? super T> key) {
+        Objects.requireNonNull(key);
+        Object[] a = list.toArray();
+        long[] keys = new long[a.length];
+        for (int i = 0; i < a.length; i++) {
+            keys[i] = longKey(key.applyAsLong(elementAt(a, i)));
+        }
+        apply(list, a, sort(keys, false));
+    }
+
+    public static <T> void sortByDouble(List<T> list, ToDoubleFunction<? super T> key) {
+        Objects.requireNonNull(key);
+        Object[] a = list.toArray();
+        long[] keys = new long[a.length];
+        for (int i = 0; i < a.length; i++) {
+            keys[i] = doubleKey(key.applyAsDouble(elementAt(a, i)));
+        }
+        apply(list, a, sort(keys, false));
+    }
+
+    /** As sortByInt; keys are extracted and sorted on the common ForkJoinPool. */
+    public static <T> void parallelSortByInt(List<T> list, ToIntFunction<? super T> key) {
+        Objects.requireNonNull(key);
+        Object[] a = list.toArray();
+        long[] keys = new long[a.length];
+        IntStream.range(0, a.length).parallel().forEach(i -> keys[i] = intKey(key.applyAsInt(elementAt(a, i))));
+        apply(list, a, sort(keys, true));
+    }
+
+    public static <T> void parallelSortByLong(List<T> list, ToLongFunction<? super T> key) {
+        Objects.requireNonNull(key);
+        Object[] a = list.toArray();
+        long[] keys = new long[a.length];
+        IntStream.range(0, a.length).parallel().forEach(i -> keys[i] = longKey(key.applyAsLong(elementAt(a, i))));
+        apply(list, a, sort(keys, true));
+    }
+
+    public static <T> void parallelSortByDouble(List<T> list, ToDoubleFunction<? super T> key) {
+        Objects.requireNonNull(key);
+        Object[] a = list.toArray();
+        long[] keys = new long[a.length];
+        IntStream.range(0, a.length).parallel().forEach(i -> keys[i] = doubleKey(key.applyAsDouble(elementAt(a, i))));
+        apply(list, a, sort(keys, true));
+    }
+
+    // ---------------------------------------------------------------- key encoding
+
+    /** Unsigned order of the result is Integer.compare order. */
+    static long intKey(int v) {
+        return (v ^ Integer.MIN_VALUE) & 0xFFFFFFFFL;
+    }
+
+    /** Unsigned order of the result is Long.compare order. */
+    static long longKey(long v) {
+        return v ^ Long.MIN_VALUE;
+    }
+
+    /** Unsigned order of the result is Double.compare order. */
+    static long doubleKey(double v) {
+        long bits = Double.doubleToLongBits(v);
+        return bits < 0 ? ~bits : bits | Long.MIN_VALUE;
+    }
+
+    // ---------------------------------------------------------------- sorting
+
+    @SuppressWarnings("unchecked")
+    private static <T> T elementAt(Object[] a, int i) {
+        return (T) a[i];
+    }
+
+    /** Writes a[order[0]], a[order[1]], ... back into list. */
+    @SuppressWarnings("unchecked")
+    private static <T> void apply(List<T> list, Object[] a, int[] order) {
+        ListIterator<T> it = list.listIterator();
+        for (int index : order) {
+            it.next();
+            it.set((T) a[index]);
+        }
+    }
+
+    /** Stable sort of keys (unsigned); returns the permutation, keys end up sorted. */
+    static int[] sort(long[] keys, boolean parallel) {
+        int n = keys.length;
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        long[] keysAux = new long[n];
+        int[] orderAux = new int[n];
+        if (parallel && n >= PARALLEL_THRESHOLD && ForkJoinPool.getCommonPoolParallelism() > 1) {
+            parallelMsd(keys, order, keysAux, orderAux);
+        } else {
+            lsd(keys, order, keysAux, orderAux, 0, n, DIGITS);
+        }
+        return order;
+    }
+
+    /**
+     * LSD radix sort of [from, to) on the digits below maxDigit that vary in
+     * the range; the result is in keys/order, the aux arrays are scratch.
+     */
+    private static void lsd(long[] keys, int[] order, long[] keysAux, int[] orderAux,
+                            int from, int to, int maxDigit) {
+        if (to - from <= INSERTION_SORT_THRESHOLD) {
+            insertionSort(keys, order, from, to);
+            return;
+        }
+        int[][] counts = histograms(keys, from, to, maxDigit);
+        long[] srcKeys = keys;
+        int[] srcOrder = order;
+        long[] dstKeys = keysAux;
+        int[] dstOrder = orderAux;
+        for (int digit = 0; digit < maxDigit; digit++) {
+            int[] count = counts[digit];
+            if (count == null) {
+                continue;
+            }
+            int shift = digit * 8;
+            int[] offsets = offsets(count, from);
+            for (int i = from; i < to; i++) {
+                long k = srcKeys[i];
+                int p = offsets[(int) (k >>> shift) & 0xFF]++;
+                dstKeys[p] = k;
+                dstOrder[p] = srcOrder[i];
+            }
+            long[] tk = srcKeys;
+            srcKeys = dstKeys;
+            dstKeys = tk;
+            int[] to2 = srcOrder;
+            srcOrder = dstOrder;
+            dstOrder = to2;
+        }
+        if (srcKeys != keys) {
+            System.arraycopy(srcKeys, from, keys, from, to - from);
+            System.arraycopy(srcOrder, from, order, from, to - from);
+        }
+    }
+
+    /** Per-digit counts of [from, to); null for a digit every key shares. */
+    private static int[][] histograms(long[] keys, int from, int to, int maxDigit) {
+        int[][] counts = new int[maxDigit][RADIX];
+        for (int i = from; i < to; i++) {
+            long k = keys[i];
+            for (int digit = 0; digit < maxDigit; digit++) {
+                counts[digit][(int) (k >>> (digit * 8)) & 0xFF]++;
+            }
+        }
+        int n = to - from;
+        for (int digit = 0; digit < maxDigit; digit++) {
+            if (counts[digit][(int) (keys[from] >>> (digit * 8)) & 0xFF] == n) {
+                counts[digit] = null;
+            }
+        }
+        return counts;
+    }
+
+    private static int[] offsets(int[] count, int base) {
+        int[] offsets = new int[RADIX];
+        int sum = base;
+        for (int b = 0; b < RADIX; b++) {
+            offsets[b] = sum;
+            sum += count[b];
+        }
+        return offsets;
+    }
+
+    private static void insertionSort(long[] keys, int[] order, int from, int to) {
+        for (int i = from + 1; i < to; i++) {
+            long k = keys[i];
+            int o = order[i];
+            int j = i - 1;
+            while (j >= from && Long.compareUnsigned(keys[j], k) > 0) {
+                keys[j + 1] = keys[j];
+                order[j + 1] = order[j];
+                j--;
+            }
+            keys[j + 1] = k;
+            order[j + 1] = o;
+        }
+    }
+
+    /**
+     * Splits on the highest varying digit with per-chunk histograms and a
+     * stable parallel scatter, then LSD sorts the 256 buckets in parallel.
+     */
+    private static void parallelMsd(long[] keys, int[] order, long[] keysAux, int[] orderAux) {
+        int n = keys.length;
+        int chunks = ForkJoinPool.getCommonPoolParallelism() * 4;
+        int chunkSize = (n + chunks - 1) / chunks;
+        int[][][] chunkCounts = new int[chunks][][];
+        IntStream.range(0, chunks).parallel().forEach(c -> {
+            int from = Math.min(n, c * chunkSize);
+            int to = Math.min(n, from + chunkSize);
+            int[][] counts = new int[DIGITS][RADIX];
+            for (int i = from; i < to; i++) {
+                long k = keys[i];
+                for (int digit = 0; digit < DIGITS; digit++) {
+                    counts[digit][(int) (k >>> (digit * 8)) & 0xFF]++;
+                }
+            }
+            chunkCounts[c] = counts;
+        });
+        int top = -1;
+        for (int digit = DIGITS - 1; digit >= 0 && top < 0; digit--) {
+            int bucket = (int) (keys[0] >>> (digit * 8)) & 0xFF;
+            int total = 0;
+            for (int[][] counts : chunkCounts) {
+                total += counts[digit][bucket];
+            }
+            if (total != n) {
+                top = digit;
+            }
+        }
+        if (top < 0) {
+            // All keys equal: the identity permutation is already sorted
+            return;
+        }
+        // Bucket b of chunk c starts after all of bucket < b, then bucket b of chunks < c
+        int[][] starts = new int[chunks][RADIX];
+        int[] bucketStart = new int[RADIX + 1];
+        int sum = 0;
+        for (int b = 0; b < RADIX; b++) {
+            bucketStart[b] = sum;
+            for (int c = 0; c < chunks; c++) {
+                starts[c][b] = sum;
+                sum += chunkCounts[c][top][b];
+            }
+        }
+        bucketStart[RADIX] = n;
+        int digit = top;
+        int shift = digit * 8;
+        IntStream.range(0, chunks).parallel().forEach(c -> {
+            int from = Math.min(n, c * chunkSize);
+            int to = Math.min(n, from + chunkSize);
+            int[] offsets = starts[c];
+            for (int i = from; i < to; i++) {
+                long k = keys[i];
+                int p = offsets[(int) (k >>> shift) & 0xFF]++;
+                keysAux[p] = k;
+                orderAux[p] = order[i];
+            }
+        });
+        // Buckets now live in the aux arrays; sort each there, using keys/order as scratch
+        List<RecursiveAction> tasks = new ArrayList<>();
+        for (int b = 0; b < RADIX; b++) {
+            int from = bucketStart[b];
+            int to = bucketStart[b + 1];
+            if (to > from) {
+                tasks.add(new RecursiveAction() {
+                    protected void compute() {
+                        lsd(keysAux, orderAux, keys, order, from, to, digit);
+                        System.arraycopy(keysAux, from, keys, from, to - from);
+                        System.arraycopy(orderAux, from, order, from, to - from);
+                    }
+                });
+            }
+        }
+        ForkJoinPool.commonPool().invoke(new RecursiveAction() {
+            protected void compute() {
+                invokeAll(tasks);
+            }
+        });
+    }
+}
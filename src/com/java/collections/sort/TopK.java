@@ -0,0 +1,328 @@
+package com.java.collections.sort;
+
+import java.util.*;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collector;
+
+/**
+ * TopK - Collectors for the k greatest (or least) stream elements without sorting the stream
+ * - collector(k, c) returns the same list as sorted(c.reversed()).limit(k),
+ *   bottomK(k, c) the same as sorted(c).limit(k); ties keep encounter order
+ * - Memory is O(k) whatever the stream length; sorted().limit() buffers
+ *   and sorts every element
+ * - k up to 1024: a bounded heap with the worst kept element at the root;
+ *   most elements are rejected by one comparison with it, O(n log k) at worst
+ * - Larger k: a buffer of 2k elements; when it fills, quickselect keeps the
+ *   best k (O(k) for every k elements, O(n) in total) and the k-th best
+ *   becomes the bar new elements must beat
+ * - *ByInt/Long/Double variants extract each key once into a long[], so
+ *   comparisons never call the extractor; doubles follow Double.compare
+ *   order (NaN greatest, -0.0 before 0.0)
+ * - Parallel streams: each thread keeps its own top k; the combiner merges
+ *   them, so only O(k * threads) elements are ever held
+ */
+public final class TopK {
+    // Up to this k a heap; above it the quickselect buffer
+    private static final int HEAP_MAX_K = 1024;
+    private static final int MAX_ARRAY_LENGTH = Integer.MAX_VALUE - 8;
+
+    private TopK() {
+    }
+
+    // ---------------------------------------------------------------- collectors
+
+    /** The k greatest elements under comparator, greatest first. */
+    public static <T> Collector<T, ?, List<T>> collector(int k, Comparator<? super T> comparator) {
+        return of(k, comparator.reversed(), null);
+    }
+
+    /** The k least elements under comparator, least first. */
+    public static <T> Collector<T, ?, List<T>> bottomK(int k, Comparator<? super T> comparator) {
+        return of(k, comparator, null);
+    }
+
+    public static <T> Collector<T, ?, List<T>> collectorByInt(int k, ToIntFunction<? super T> key) {
+        Objects.requireNonNull(key);
+        return of(k, null, e -> ~(long) key.applyAsInt(e));
+    }
+
+    public static <T> Collector<T, ?, List<T>> bottomKByInt(int k, ToIntFunction<? super T> key) {
+        Objects.requireNonNull(key);
+        return of(k, null, e -> (long) key.applyAsInt(e));
+    }
+
+    public static <T> Collector<T, ?, List<T>> collectorByLong(int k, ToLongFunction<? super T> key) {
+        Objects.requireNonNull(key);
+        return of(k, null, e -> ~key.applyAsLong(e));
+    }
+
+    public static <T> Collector<T, ?, List<T>> bottomKByLong(int k, ToLongFunction<? super T> key) {
+        return of(k, null, Objects.requireNonNull(key));
+    }
+
+    public static <T> Collector<T, ?, List<T>> collectorByDouble(int k, ToDoubleFunction<? super T> key) {
+        Objects.requireNonNull(key);
+        return of(k, null, e -> ~signedKey(key.applyAsDouble(e)));
+    }
+
+    public static <T> Collector<T, ?, List<T>> bottomKByDouble(int k, ToDoubleFunction<? super T> key) {
+        Objects.requireNonNull(key);
+        return of(k, null, e -> signedKey(key.applyAsDouble(e)));
+    }
+
+    /** Signed order of the result is Double.compare order. */
+    private static long signedKey(double v) {
+        return RadixSorts.doubleKey(v) ^ Long.MIN_VALUE;
+    }
+
+    /**
+     * Keeps the k first elements under order (if non-null) or under the
+     * ascending long key; ties go to the element seen first.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> Collector<T, ?, List<T>> of(int k, Comparator<? super T> order, ToLongFunction<? super T> key) {
+        if (k < 0) {
+            throw new IllegalArgumentException("k < 0: " + k);
+        }
+        Comparator<Object> cmp = (Comparator<Object>) order;
+        ToLongFunction<Object> keyOf = (ToLongFunction<Object>) key;
+        return Collector.of(
+                () -> new Selection<T>(k, cmp, keyOf),
+                Selection::add,
+                Selection::merge,
+                Selection::toList);
+    }
+
+    // ---------------------------------------------------------------- selection
+
+    /**
+     * The best k elements seen so far. Slots hold (element, key, sequence
+     * number); the sequence number breaks ties, so slots are totally ordered.
+     * Heap mode keeps a max-heap of "worst first" in [0, size) and stages
+     * candidates in slot k; buffer mode appends and stages in slot size.
+     */
+    private static final class Selection<T> {
+        private final int k;
+        private final boolean heap;
+        private final int maxCapacity;
+        private final Comparator<Object> order;
+        private final ToLongFunction<Object> keyOf;
+
+        private Object[] elements;
+        private long[] keys;
+        private long[] seqs;
+        private int size;
+        private long count;
+        // Buffer mode: slot k - 1 holds the k-th best since the last select
+        private boolean hasBar;
+
+        Selection(int k, Comparator<Object> order, ToLongFunction<Object> keyOf) {
+            this.k = k;
+            this.heap = k <= HEAP_MAX_K;
+            this.maxCapacity = (int) Math.min(heap ? k + 1L : 2L * k, MAX_ARRAY_LENGTH);
+            this.order = order;
+            this.keyOf = keyOf;
+            int capacity = Math.min(maxCapacity, 16);
+            this.elements = new Object[capacity];
+            this.keys = keyOf != null ? new long[capacity] : null;
+            this.seqs = new long[capacity];
+        }
+
+        void add(T e) {
+            if (k == 0) {
+                count++;
+                return;
+            }
+            int slot = stagingSlot();
+            elements[slot] = e;
+            if (keys != null) {
+                keys[slot] = keyOf.applyAsLong(e);
+            }
+            seqs[slot] = count++;
+            offer(slot);
+        }
+
+        /** Adds other's elements, which come after ours in encounter order. */
+        Selection<T> merge(Selection<T> other) {
+            for (int i = 0; i < other.size; i++) {
+                int slot = stagingSlot();
+                elements[slot] = other.elements[i];
+                if (keys != null) {
+                    keys[slot] = other.keys[i];
+                }
+                seqs[slot] = count + other.seqs[i];
+                offer(slot);
+            }
+            count += other.count;
+            return this;
+        }
+
+        @SuppressWarnings("unchecked")
+        List<T> toList() {
+            if (!heap) {
+                if (size > k) {
+                    select(0, size - 1, k - 1);
+                    size = k;
+                }
+                for (int i = (size >>> 1) - 1; i >= 0; i--) {
+                    siftDown(i, size);
+                }
+            }
+            // Heap sort: the worst goes to the end each time, leaving best-first order
+            for (int end = size - 1; end > 0; end--) {
+                swap(0, end);
+                siftDown(0, end);
+            }
+            List<T> result = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                result.add((T) elements[i]);
+            }
+            return result;
+        }
+
+        /** Free slot for the next candidate; selects first when the buffer is full. */
+        private int stagingSlot() {
+            if (heap) {
+                int slot = size < k ? size : k;
+                ensureCapacity(slot + 1);
+                return slot;
+            }
+            if (size == maxCapacity) {
+                if (k >= maxCapacity) {
+                    throw new OutOfMemoryError("Top " + k + " of more than " + maxCapacity + " elements");
+                }
+                select(0, size - 1, k - 1);
+                size = k;
+                hasBar = true;
+            }
+            ensureCapacity(size + 1);
+            return size;
+        }
+
+        private void offer(int slot) {
+            if (!heap) {
+                if (!hasBar || before(slot, k - 1)) {
+                    size++;
+                } else {
+                    elements[slot] = null;
+                }
+                return;
+            }
+            if (size < k) {
+                siftUp(size++);
+            } else if (before(slot, 0)) {
+                move(slot, 0);
+                siftDown(0, size);
+            } else {
+                elements[slot] = null;
+            }
+        }
+
+        /** Slot i ranks before slot j: better key (or order), then seen earlier. */
+        private boolean before(int i, int j) {
+            int c = keys != null ? Long.compare(keys[i], keys[j]) : order.compare(elements[i], elements[j]);
+            return c != 0 ? c < 0 : seqs[i] < seqs[j];
+        }
+
+        private void siftUp(int i) {
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (!before(parent, i)) {
+                    return;
+                }
+                swap(parent, i);
+                i = parent;
+            }
+        }
+
+        /** Restores the worst-at-root heap over [0, end) below slot i. */
+        private void siftDown(int i, int end) {
+            while (true) {
+                int worst = i;
+                int left = 2 * i + 1;
+                int right = left + 1;
+                if (left < end && before(worst, left)) {
+                    worst = left;
+                }
+                if (right < end && before(worst, right)) {
+                    worst = right;
+                }
+                if (worst == i) {
+                    return;
+                }
+                swap(i, worst);
+                i = worst;
+            }
+        }
+
+        /** Quickselect: slots [lo, hi] end with the nth best at n, better ones before it. */
+        private void select(int lo, int hi, int n) {
+            while (lo < hi) {
+                // Median of three against sorted and reversed input
+                int mid = (lo + hi) >>> 1;
+                if (before(mid, lo)) {
+                    swap(mid, lo);
+                }
+                if (before(hi, lo)) {
+                    swap(hi, lo);
+                }
+                if (before(hi, mid)) {
+                    swap(hi, mid);
+                }
+                swap(mid, hi);
+                int store = lo;
+                for (int i = lo; i < hi; i++) {
+                    if (before(i, hi)) {
+                        swap(i, store++);
+                    }
+                }
+                swap(store, hi);
+                if (store == n) {
+                    return;
+                }
+                if (store < n) {
+                    lo = store + 1;
+                } else {
+                    hi = store - 1;
+                }
+            }
+        }
+
+        private void move(int from, int to) {
+            elements[to] = elements[from];
+            elements[from] = null;
+            if (keys != null) {
+                keys[to] = keys[from];
+            }
+            seqs[to] = seqs[from];
+        }
+
+        private void swap(int i, int j) {
+            Object e = elements[i];
+            elements[i] = elements[j];
+            elements[j] = e;
+            if (keys != null) {
+                long t = keys[i];
+                keys[i] = keys[j];
+                keys[j] = t;
+            }
+            long s = seqs[i];
+            seqs[i] = seqs[j];
+            seqs[j] = s;
+        }
+
+        private void ensureCapacity(int capacity) {
+            if (capacity <= elements.length) {
+                return;
+            }
+            int newCapacity = (int) Math.min(Math.max(2L * elements.length, capacity), maxCapacity);
+            elements = Arrays.copyOf(elements, newCapacity);
+            if (keys != null) {
+                keys = Arrays.copyOf(keys, newCapacity);
+            }
+            seqs = Arrays.copyOf(seqs, newCapacity);
+        }
+    }
+}
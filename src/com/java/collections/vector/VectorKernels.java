@@ -0,0 +1,460 @@
+package com.java.collections.vector;
+
+import com.java.collections.list.SimdKernels;
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * VectorKernels - Vector API (jdk.incubator.vector) kernels for the primitive lists
+ * - Species are SPECIES_PREFERRED: the widest vector the running CPU supports
+ *   (NEON/SSE 128, AVX2 256, AVX-512 512 bits), so one class serves all of them.
+ *   supported() returns null below 128 bits, where the scalar loops win
+ * - Full vectors first, then a scalar tail for the last size % lanes elements
+ * - Compaction tests a whole vector at once: it stores the vector as is when
+ *   every lane stays, skips it when none does, and otherwise copies lane by
+ *   lane, advancing the write index by 0 or 1 as the scalar loop does. The
+ *   vectors pay off on runs (sorted or clustered data); on random data most
+ *   vectors are mixed, so expect scalar speed there. The write index never
+ *   passes the read index, so it works in place
+ * - Masks are tested with anyTrue/allTrue only; VectorMask.toLong is not
+ *   intrinsified on every JDK that has the Vector API
+ * - Needs Java 16+ and --add-modules jdk.incubator.vector at compile and run
+ *   time; the rest of the repo stays on Java 8 and never refers to this
+ *   package directly (PrimitiveKernels loads it by name)
+ *
+ * USAGE:
+ * javac --add-modules jdk.incubator.vector -cp bin -d bin src/com/java/collections/vector/*.java
+ * java --add-modules jdk.incubator.vector -cp bin ...
+ */
+public final class VectorKernels implements SimdKernels {
+    private static final VectorSpecies<Integer> INTS = IntVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Long> LONGS = LongVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Double> DOUBLES = DoubleVector.SPECIES_PREFERRED;
+
+    private VectorKernels() {
+    }
+
+    /** The kernels for this CPU, or null if it has no useful vector width. */
+    public static SimdKernels supported() {
+        return INTS.vectorBitSize() >= 128 ? new VectorKernels() : null;
+    }
+
+    @Override
+    public String toString() {
+        return "Vector API " + INTS.vectorBitSize() + "-bit (" + INTS.length() + " int / "
+                + LONGS.length() + " long / " + DOUBLES.length() + " double lanes)";
+    }
+
+    // ---------------------------------------------------------------- int
+
+    @Override
+    public long sum(int[] a, int size) {
+        // Widen to long lanes first: an int lane sum could overflow
+        LongVector acc = LongVector.zero(LONGS);
+        int i = 0;
+        for (int bound = INTS.loopBound(size); i < bound; i += INTS.length()) {
+            IntVector v = IntVector.fromArray(INTS, a, i);
+            acc = acc.add(v.convertShape(VectorOperators.I2L, LONGS, 0))
+                    .add(v.convertShape(VectorOperators.I2L, LONGS, 1));
+        }
+        long sum = acc.reduceLanes(VectorOperators.ADD);
+        for (; i < size; i++) {
+            sum += a[i];
+        }
+        return sum;
+    }
+
+    @Override
+    public int min(int[] a, int size) {
+        IntVector acc = IntVector.broadcast(INTS, Integer.MAX_VALUE);
+        int i = 0;
+        for (int bound = INTS.loopBound(size); i < bound; i += INTS.length()) {
+            acc = acc.min(IntVector.fromArray(INTS, a, i));
+        }
+        int min = acc.reduceLanes(VectorOperators.MIN);
+        for (; i < size; i++) {
+            min = Math.min(min, a[i]);
+        }
+        return min;
+    }
+
+    @Override
+    public int max(int[] a, int size) {
+        IntVector acc = IntVector.broadcast(INTS, Integer.MIN_VALUE);
+        int i = 0;
+        for (int bound = INTS.loopBound(size); i < bound; i += INTS.length()) {
+            acc = acc.max(IntVector.fromArray(INTS, a, i));
+        }
+        int max = acc.reduceLanes(VectorOperators.MAX);
+        for (; i < size; i++) {
+            max = Math.max(max, a[i]);
+        }
+        return max;
+    }
+
+    @Override
+    public int indexOf(int[] a, int size, int value) {
+        int i = 0;
+        for (int bound = INTS.loopBound(size); i < bound; i += INTS.length()) {
+            VectorMask<Integer> hit = IntVector.fromArray(INTS, a, i).eq(value);
+            if (hit.anyTrue()) {
+                return i + hit.firstTrue();
+            }
+        }
+        for (; i < size; i++) {
+            if (a[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int countInRange(int[] a, int size, int min, int max) {
+        int count = 0;
+        int i = 0;
+        for (int bound = INTS.loopBound(size); i < bound; i += INTS.length()) {
+            count += inRange(IntVector.fromArray(INTS, a, i), min, max).trueCount();
+        }
+        for (; i < size; i++) {
+            count += (a[i] >= min & a[i] <= max) ? 1 : 0;
+        }
+        return count;
+    }
+
+    @Override
+    public int removeInRange(int[] a, int size, int min, int max) {
+        int lanes = INTS.length();
+        int w = 0;
+        int r = 0;
+        for (int bound = INTS.loopBound(size); r < bound; r += lanes) {
+            IntVector v = IntVector.fromArray(INTS, a, r);
+            VectorMask<Integer> drop = inRange(v, min, max);
+            if (!drop.anyTrue()) {
+                w = store(a, v, r, w);
+            } else if (!drop.allTrue()) {
+                for (int i = r; i < r + lanes; i++) {
+                    int x = a[i];
+                    a[w] = x;
+                    w += (x >= min & x <= max) ? 0 : 1;
+                }
+            }
+        }
+        for (; r < size; r++) {
+            int v = a[r];
+            a[w] = v;
+            w += (v >= min & v <= max) ? 0 : 1;
+        }
+        return w;
+    }
+
+    @Override
+    public int compact(int[] a, int size, long[] removed) {
+        int lanes = INTS.length();
+        int w = 0;
+        int r = 0;
+        // lanes divides 64, so a vector's bits never straddle two mask words
+        for (int bound = INTS.loopBound(size); r < bound; r += lanes) {
+            w = keep(a, IntVector.fromArray(INTS, a, r), r, w, bits(removed, r, lanes), lanes);
+        }
+        for (; r < size; r++) {
+            a[w] = a[r];
+            w += 1 - (int) ((removed[r >>> 6] >>> r) & 1);
+        }
+        return w;
+    }
+
+    private static VectorMask<Integer> inRange(IntVector v, int min, int max) {
+        return v.compare(VectorOperators.GE, min).and(v.compare(VectorOperators.LE, max));
+    }
+
+    /** Writes all lanes of v (read from a[r]) to a[w...]; returns the new w. */
+    private static int store(int[] a, IntVector v, int r, int w) {
+        if (w != r) {
+            v.intoArray(a, w);
+        }
+        return w + v.length();
+    }
+
+    /** Writes the lanes of v (read from a[r]) whose bit in drop is clear to a[w...]; returns the new w. */
+    private static int keep(int[] a, IntVector v, int r, int w, long drop, int lanes) {
+        if (drop == 0) {
+            return store(a, v, r, w);
+        }
+        if (drop == laneBits(lanes)) {
+            return w;
+        }
+        for (int lane = 0; lane < lanes; lane++) {
+            a[w] = a[r + lane];
+            w += 1 - (int) ((drop >>> lane) & 1);
+        }
+        return w;
+    }
+
+    // ---------------------------------------------------------------- long
+
+    @Override
+    public long sum(long[] a, int size) {
+        // Two's complement addition wraps the same in any order
+        LongVector acc = LongVector.zero(LONGS);
+        int i = 0;
+        for (int bound = LONGS.loopBound(size); i < bound; i += LONGS.length()) {
+            acc = acc.add(LongVector.fromArray(LONGS, a, i));
+        }
+        long sum = acc.reduceLanes(VectorOperators.ADD);
+        for (; i < size; i++) {
+            sum += a[i];
+        }
+        return sum;
+    }
+
+    @Override
+    public long min(long[] a, int size) {
+        LongVector acc = LongVector.broadcast(LONGS, Long.MAX_VALUE);
+        int i = 0;
+        for (int bound = LONGS.loopBound(size); i < bound; i += LONGS.length()) {
+            acc = acc.min(LongVector.fromArray(LONGS, a, i));
+        }
+        long min = acc.reduceLanes(VectorOperators.MIN);
+        for (; i < size; i++) {
+            min = Math.min(min, a[i]);
+        }
+        return min;
+    }
+
+    @Override
+    public long max(long[] a, int size) {
+        LongVector acc = LongVector.broadcast(LONGS, Long.MIN_VALUE);
+        int i = 0;
+        for (int bound = LONGS.loopBound(size); i < bound; i += LONGS.length()) {
+            acc = acc.max(LongVector.fromArray(LONGS, a, i));
+        }
+        long max = acc.reduceLanes(VectorOperators.MAX);
+        for (; i < size; i++) {
+            max = Math.max(max, a[i]);
+        }
+        return max;
+    }
+
+    @Override
+    public int indexOf(long[] a, int size, long value) {
+        int i = 0;
+        for (int bound = LONGS.loopBound(size); i < bound; i += LONGS.length()) {
+            VectorMask<Long> hit = LongVector.fromArray(LONGS, a, i).eq(value);
+            if (hit.anyTrue()) {
+                return i + hit.firstTrue();
+            }
+        }
+        for (; i < size; i++) {
+            if (a[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int countInRange(long[] a, int size, long min, long max) {
+        int count = 0;
+        int i = 0;
+        for (int bound = LONGS.loopBound(size); i < bound; i += LONGS.length()) {
+            count += inRange(LongVector.fromArray(LONGS, a, i), min, max).trueCount();
+        }
+        for (; i < size; i++) {
+            count += (a[i] >= min & a[i] <= max) ? 1 : 0;
+        }
+        return count;
+    }
+
+    @Override
+    public int removeInRange(long[] a, int size, long min, long max) {
+        int lanes = LONGS.length();
+        int w = 0;
+        int r = 0;
+        for (int bound = LONGS.loopBound(size); r < bound; r += lanes) {
+            LongVector v = LongVector.fromArray(LONGS, a, r);
+            VectorMask<Long> drop = inRange(v, min, max);
+            if (!drop.anyTrue()) {
+                w = store(a, v, r, w);
+            } else if (!drop.allTrue()) {
+                for (int i = r; i < r + lanes; i++) {
+                    long x = a[i];
+                    a[w] = x;
+                    w += (x >= min & x <= max) ? 0 : 1;
+                }
+            }
+        }
+        for (; r < size; r++) {
+            long v = a[r];
+            a[w] = v;
+            w += (v >= min & v <= max) ? 0 : 1;
+        }
+        return w;
+    }
+
+    @Override
+    public int compact(long[] a, int size, long[] removed) {
+        int lanes = LONGS.length();
+        int w = 0;
+        int r = 0;
+        for (int bound = LONGS.loopBound(size); r < bound; r += lanes) {
+            w = keep(a, LongVector.fromArray(LONGS, a, r), r, w, bits(removed, r, lanes), lanes);
+        }
+        for (; r < size; r++) {
+            a[w] = a[r];
+            w += 1 - (int) ((removed[r >>> 6] >>> r) & 1);
+        }
+        return w;
+    }
+
+    private static VectorMask<Long> inRange(LongVector v, long min, long max) {
+        return v.compare(VectorOperators.GE, min).and(v.compare(VectorOperators.LE, max));
+    }
+
+    private static int store(long[] a, LongVector v, int r, int w) {
+        if (w != r) {
+            v.intoArray(a, w);
+        }
+        return w + v.length();
+    }
+
+    private static int keep(long[] a, LongVector v, int r, int w, long drop, int lanes) {
+        if (drop == 0) {
+            return store(a, v, r, w);
+        }
+        if (drop == laneBits(lanes)) {
+            return w;
+        }
+        for (int lane = 0; lane < lanes; lane++) {
+            a[w] = a[r + lane];
+            w += 1 - (int) ((drop >>> lane) & 1);
+        }
+        return w;
+    }
+
+    // ---------------------------------------------------------------- double
+
+    @Override
+    public double min(double[] a, int size) {
+        // Lanewise MIN is Math.min, so NaN and -0.0 come out as in the scalar loop
+        DoubleVector acc = DoubleVector.broadcast(DOUBLES, Double.POSITIVE_INFINITY);
+        int i = 0;
+        for (int bound = DOUBLES.loopBound(size); i < bound; i += DOUBLES.length()) {
+            acc = acc.min(DoubleVector.fromArray(DOUBLES, a, i));
+        }
+        double min = acc.reduceLanes(VectorOperators.MIN);
+        for (; i < size; i++) {
+            min = Math.min(min, a[i]);
+        }
+        return min;
+    }
+
+    @Override
+    public double max(double[] a, int size) {
+        DoubleVector acc = DoubleVector.broadcast(DOUBLES, Double.NEGATIVE_INFINITY);
+        int i = 0;
+        for (int bound = DOUBLES.loopBound(size); i < bound; i += DOUBLES.length()) {
+            acc = acc.max(DoubleVector.fromArray(DOUBLES, a, i));
+        }
+        double max = acc.reduceLanes(VectorOperators.MAX);
+        for (; i < size; i++) {
+            max = Math.max(max, a[i]);
+        }
+        return max;
+    }
+
+    @Override
+    public int countInRange(double[] a, int size, double min, double max) {
+        int count = 0;
+        int i = 0;
+        for (int bound = DOUBLES.loopBound(size); i < bound; i += DOUBLES.length()) {
+            count += inRange(DoubleVector.fromArray(DOUBLES, a, i), min, max).trueCount();
+        }
+        for (; i < size; i++) {
+            count += (a[i] >= min & a[i] <= max) ? 1 : 0;
+        }
+        return count;
+    }
+
+    @Override
+    public int removeInRange(double[] a, int size, double min, double max) {
+        int lanes = DOUBLES.length();
+        int w = 0;
+        int r = 0;
+        for (int bound = DOUBLES.loopBound(size); r < bound; r += lanes) {
+            DoubleVector v = DoubleVector.fromArray(DOUBLES, a, r);
+            VectorMask<Double> drop = inRange(v, min, max);
+            if (!drop.anyTrue()) {
+                w = store(a, v, r, w);
+            } else if (!drop.allTrue()) {
+                for (int i = r; i < r + lanes; i++) {
+                    double x = a[i];
+                    a[w] = x;
+                    w += (x >= min & x <= max) ? 0 : 1;
+                }
+            }
+        }
+        for (; r < size; r++) {
+            double v = a[r];
+            a[w] = v;
+            w += (v >= min & v <= max) ? 0 : 1;
+        }
+        return w;
+    }
+
+    @Override
+    public int compact(double[] a, int size, long[] removed) {
+        int lanes = DOUBLES.length();
+        int w = 0;
+        int r = 0;
+        for (int bound = DOUBLES.loopBound(size); r < bound; r += lanes) {
+            w = keep(a, DoubleVector.fromArray(DOUBLES, a, r), r, w, bits(removed, r, lanes), lanes);
+        }
+        for (; r < size; r++) {
+            a[w] = a[r];
+            w += 1 - (int) ((removed[r >>> 6] >>> r) & 1);
+        }
+        return w;
+    }
+
+    /** NaN compares false both ways, so it is never in range. */
+    private static VectorMask<Double> inRange(DoubleVector v, double min, double max) {
+        return v.compare(VectorOperators.GE, min).and(v.compare(VectorOperators.LE, max));
+    }
+
+    private static int store(double[] a, DoubleVector v, int r, int w) {
+        if (w != r) {
+            v.intoArray(a, w);
+        }
+        return w + v.length();
+    }
+
+    private static int keep(double[] a, DoubleVector v, int r, int w, long drop, int lanes) {
+        if (drop == 0) {
+            return store(a, v, r, w);
+        }
+        if (drop == laneBits(lanes)) {
+            return w;
+        }
+        for (int lane = 0; lane < lanes; lane++) {
+            a[w] = a[r + lane];
+            w += 1 - (int) ((drop >>> lane) & 1);
+        }
+        return w;
+    }
+
+    // ---------------------------------------------------------------- masks
+
+    /** The lanes bits of removed starting at bit r; r is a multiple of lanes. */
+    private static long bits(long[] removed, int r, int lanes) {
+        return (removed[r >>> 6] >>> (r & 63)) & laneBits(lanes);
+    }
+
+    private static long laneBits(int lanes) {
+        return lanes == 64 ? -1L : (1L << lanes) - 1;
+    }
+}
@@ -0,0 +1,244 @@
+package com.java.collections.concurrent;
+
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+import static com.java.collections.concurrent.Linearizability.check;
+
+/* EPOCH ARRAY LIST TEST:
+ *
+ * DIFFERENTIAL (single thread):
+ * - Random mix of add/insert/remove/set/removeIf/sort/replaceAll/
+ *   subList.clear/Collections.shuffle, applied to an ArrayList too;
+ *   contents must match after every step
+ * - Snapshots taken along the way keep showing the contents of their
+ *   moment, however many chunks later writes copy or edit
+ *
+ * CONCURRENT:
+ * - A writer keeps the list a run of consecutive values, sorted up or
+ *   down, changing it only with whole-list steps (sort, replaceAll);
+ *   readers iterate, forEach, stream and snapshot: every view is one
+ *   consistent state, never a mix, and nothing throws
+ * - Appenders and a removeIf cleaner race with iterating readers: each
+ *   appender's values stay in order and the final contents add up
+ *
+ * USAGE:
+ * java -cp bin:test-bin com.java.collections.concurrent.EpochArrayListTest
+ */
+
+public class EpochArrayListTest {
+    private static final int RUN = 1_000;
+
+    public static void main(String[] args) throws Exception {
+        differential(new Random(7), 10_000);
+        mutableListContract();
+        wholeListStepsAreAtomic();
+        appendRemoveIfIterate();
+        System.out.println("EpochArrayListTest: OK");
+    }
+
+    static void differential(Random random, int steps) {
+        List<Integer> expected = new ArrayList<>();
+        EpochArrayList<Integer> actual = new EpochArrayList<>();
+        List<EpochArrayList.Snapshot<Integer>> snapshots = new ArrayList<>();
+        List<List<Integer>> frozen = new ArrayList<>();
+        for (int step = 0; step < steps; step++) {
+            int v = random.nextInt(1_000);
+            switch (random.nextInt(12)) {
+                case 0:
+                case 1:
+                case 2:
+                    // Mostly appends, so the list spans several 256-element chunks
+                    for (int i = 0; i < 1 + random.nextInt(50); i++) {
+                        expected.add(v + i);
+                        actual.add(v + i);
+                    }
+                    break;
+                case 3:
+                    int at = random.nextInt(expected.size() + 1);
+                    expected.add(at, v);
+                    actual.add(at, v);
+                    break;
+                case 4:
+                    if (!expected.isEmpty()) {
+                        int i = random.nextInt(expected.size());
+                        check(Objects.equals(expected.remove(i), actual.remove(i)), "remove(int)");
+                    }
+                    break;
+                case 5:
+                    if (!expected.isEmpty()) {
+                        int i = random.nextInt(expected.size());
+                        check(Objects.equals(expected.set(i, v), actual.set(i, v)), "set");
+                    }
+                    break;
+                case 6:
+                    int d = 5 + random.nextInt(20);
+                    check(expected.removeIf(e -> e % d == 0) == actual.removeIf(e -> e % d == 0), "removeIf");
+                    break;
+                case 7:
+                    Comparator<Integer> order = random.nextBoolean() ? Comparator.naturalOrder() : Comparator.reverseOrder();
+                    expected.sort(order);
+                    actual.sort(order);
+                    break;
+                case 8:
+                    expected.replaceAll(e -> e + 1);
+                    actual.replaceAll(e -> e + 1);
+                    break;
+                case 9:
+                    if (!expected.isEmpty()) {
+                        int from = random.nextInt(expected.size());
+                        int to = from + random.nextInt(Math.min(300, expected.size() - from) + 1);
+                        expected.subList(from, to).clear();
+                        actual.subList(from, to).clear();
+                    }
+                    break;
+                case 10:
+                    long seed = random.nextLong();
+                    Collections.shuffle(expected, new Random(seed));
+                    Collections.shuffle(actual, new Random(seed));
+                    break;
+                default:
+                    snapshots.add(actual.snapshot());
+                    frozen.add(new ArrayList<>(expected));
+                    break;
+            }
+            check(expected.equals(actual), "contents differ after step " + step);
+        }
+        for (int i = 0; i < snapshots.size(); i++) {
+            try (EpochArrayList.Snapshot<Integer> s = snapshots.get(i)) {
+                check(frozen.get(i).equals(s), "snapshot " + i + " changed after later writes");
+            }
+        }
+    }
+
+    static void mutableListContract() {
+        EpochArrayList<Integer> list = new EpochArrayList<>();
+        for (int i = 0; i < 600; i++) {
+            list.add(599 - i);
+        }
+        Collections.sort(list);
+        check(list.get(0) == 0 && list.get(599) == 599, "Collections.sort");
+        list.subList(100, 500).clear();
+        check(list.size() == 200 && list.get(99) == 99 && list.get(100) == 500, "subList.clear");
+        List<Integer> view = list.subList(0, 10);
+        view.set(0, -1);
+        check(list.get(0) == -1, "subList.set writes through");
+        list.add(1_000);
+        try {
+            view.get(0);
+            throw new AssertionError("subList should be invalidated by a structural change of the list");
+        } catch (ConcurrentModificationException expected) {
+            // same contract as ArrayList and CopyOnWriteArrayList sublists
+        }
+        try {
+            Iterator<Integer> it = list.iterator();
+            it.next();
+            it.remove();
+            throw new AssertionError("iterator remove should be unsupported");
+        } catch (UnsupportedOperationException expected) {
+            // documented: iterators are read-only snapshots
+        }
+        try {
+            list.replaceAll(e -> {
+                if (e == 550) {
+                    throw new IllegalStateException("boom");
+                }
+                return e * 2;
+            });
+        } catch (IllegalStateException expected) {
+            // the list must be unchanged
+        }
+        check(list.get(150) == 550, "failed replaceAll left a partial update");
+    }
+
+    /** Every consistent state is RUN consecutive values from some k, sorted up or down. */
+    private static void checkState(List<Integer> seen, String where) {
+        check(seen.size() == RUN, where + ": size " + seen.size());
+        boolean up = seen.get(0) < seen.get(RUN - 1);
+        int k = up ? seen.get(0) : seen.get(RUN - 1);
+        for (int i = 0; i < RUN; i++) {
+            int want = up ? k + i : k + RUN - 1 - i;
+            check(seen.get(i) == want, where + ": mixed state at " + i + ": " + seen.get(i) + " vs " + want);
+        }
+    }
+
+    static void wholeListStepsAreAtomic() throws InterruptedException {
+        EpochArrayList<Integer> list = new EpochArrayList<>();
+        for (int i = 0; i < RUN; i++) {
+            list.add(i);
+        }
+        AtomicBoolean done = new AtomicBoolean();
+        Linearizability.run(4, t -> {
+            if (t == 0) {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int step = 0; step < 5_000; step++) {
+                    if (random.nextBoolean()) {
+                        list.sort(random.nextBoolean() ? Comparator.naturalOrder() : Comparator.reverseOrder());
+                    } else {
+                        list.replaceAll(e -> e + 1);
+                    }
+                }
+                done.set(true);
+            } else {
+                while (!done.get()) {
+                    List<Integer> seen = new ArrayList<>(RUN);
+                    for (Integer e : list) {
+                        seen.add(e);
+                    }
+                    checkState(seen, "iterator");
+                    seen.clear();
+                    list.forEach(seen::add);
+                    checkState(seen, "forEach");
+                    checkState(list.stream().collect(Collectors.toList()), "stream");
+                    try (EpochArrayList.Snapshot<Integer> s = list.snapshot()) {
+                        checkState(s, "snapshot");
+                    }
+                }
+            }
+        });
+    }
+
+    static void appendRemoveIfIterate() throws InterruptedException {
+        int writers = 3;
+        int perWriter = 20_000;
+        EpochArrayList<Integer> list = new EpochArrayList<>();
+        AtomicBoolean done = new AtomicBoolean();
+        Linearizability.run(writers + 3, t -> {
+            if (t < writers) {
+                for (int i = 0; i < perWriter; i++) {
+                    list.add(t * perWriter + i);
+                }
+            } else if (t == writers) {
+                while (!done.get()) {
+                    list.removeIf(e -> e % 3 == 0);
+                    // Stop once every appended value is in and the multiples of 3 are gone
+                    if (list.size() == writers * perWriter * 2 / 3) {
+                        done.set(true);
+                    }
+                }
+            } else {
+                while (!done.get()) {
+                    int[] last = new int[writers];
+                    Arrays.fill(last, -1);
+                    for (Integer e : list) {
+                        int writer = e / perWriter;
+                        check(e > last[writer], "writer " + writer + " out of order: " + last[writer] + " then " + e);
+                        last[writer] = e;
+                    }
+                }
+            }
+        });
+        list.removeIf(e -> e % 3 == 0);
+        List<Integer> actual = new ArrayList<>(list);
+        Collections.sort(actual);
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < writers * perWriter; i++) {
+            if (i % 3 != 0) {
+                expected.add(i);
+            }
+        }
+        check(expected.equals(actual), "lost or duplicated elements: " + expected.size() + " vs " + actual.size());
+    }
+}
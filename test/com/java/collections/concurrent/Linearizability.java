@@ -0,0 +1,158 @@
+package com.java.collections.concurrent;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Linearizability - Small history checker for the concurrency tests
+ * - History.record stamps each call with a shared logical clock before it
+ *   starts and after it returns, so "a returned before b started" is exact
+ * - check searches for an order of the calls that respects those stamps
+ *   and that a sequential model accepts (Wing and Gong's depth-first search,
+ *   remembering dead ends); meant for short histories of up to 64 calls
+ * - run starts worker threads together (latch, then a spin until all are
+ *   awake), joins them and rethrows failures
+ */
+final class Linearizability {
+
+    private Linearizability() {
+    }
+
+    /** One completed call. */
+    static final class Op {
+        final int thread;
+        final String name;
+        final Object arg;
+        final long invoked;
+        Object result;
+        long returned;
+
+        Op(int thread, String name, Object arg, long invoked) {
+            this.thread = thread;
+            this.name = name;
+            this.arg = arg;
+            this.invoked = invoked;
+        }
+
+        @Override
+        public String toString() {
+            return "t" + thread + " " + name + (arg == null ? "" : "(" + arg + ")")
+                    + " -> " + result + " [" + invoked + ", " + returned + "]";
+        }
+    }
+
+    /** Sequential specification: the state after op, or null if op's result is impossible in state. */
+    interface Model<S> {
+        S initial();
+
+        S apply(S state, Op op);
+    }
+
+    /** Calls recorded by several threads against one object. */
+    static final class History {
+        private final AtomicLong clock = new AtomicLong();
+        private final Queue<Op> ops = new ConcurrentLinkedQueue<>();
+
+        <T> T record(int thread, String name, Object arg, Supplier<T> call) {
+            Op op = new Op(thread, name, arg, clock.incrementAndGet());
+            T result = call.get();
+            op.returned = clock.incrementAndGet();
+            op.result = result;
+            ops.add(op);
+            return result;
+        }
+
+        List<Op> ops() {
+            return new ArrayList<>(ops);
+        }
+    }
+
+    /** Throws AssertionError listing the history if no valid linearization exists. */
+    static <S> void check(History history, Model<S> model) {
+        List<Op> ops = history.ops();
+        if (ops.size() > 64) {
+            throw new IllegalArgumentException("histories are limited to 64 calls");
+        }
+        if (!search(ops, 0L, model.initial(), model, new HashSet<>())) {
+            StringBuilder sb = new StringBuilder("not linearizable:");
+            ops.sort(Comparator.comparingLong(op -> op.invoked));
+            for (Op op : ops) {
+                sb.append("\n  ").append(op);
+            }
+            throw new AssertionError(sb.toString());
+        }
+    }
+
+    /** done has bit i set once ops[i] is linearized; dead remembers (done, state) pairs that failed. */
+    private static <S> boolean search(List<Op> ops, long done, S state, Model<S> model, Set<List<Object>> dead) {
+        if (Long.bitCount(done) == ops.size()) {
+            return true;
+        }
+        List<Object> key = Arrays.asList(done, state);
+        if (dead.contains(key)) {
+            return false;
+        }
+        // Only a call that started before every pending call returned can go next
+        long firstReturn = Long.MAX_VALUE;
+        for (int i = 0; i < ops.size(); i++) {
+            if ((done & (1L << i)) == 0) {
+                firstReturn = Math.min(firstReturn, ops.get(i).returned);
+            }
+        }
+        for (int i = 0; i < ops.size(); i++) {
+            Op op = ops.get(i);
+            if ((done & (1L << i)) != 0 || op.invoked > firstReturn) {
+                continue;
+            }
+            S next = model.apply(state, op);
+            if (next != null && search(ops, done | (1L << i), next, model, dead)) {
+                return true;
+            }
+        }
+        dead.add(key);
+        return false;
+    }
+
+    /** Runs body(threadIndex) on threads threads that start together; rethrows the first failure. */
+    static void run(int threads, IntConsumer body) throws InterruptedException {
+        Queue<Throwable> failures = new ConcurrentLinkedQueue<>();
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger arrived = new AtomicInteger();
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            final int id = t;
+            workers[t] = new Thread(() -> {
+                try {
+                    start.await();
+                    // Spin until every worker is awake, so their calls really overlap
+                    arrived.incrementAndGet();
+                    while (arrived.get() < threads) {
+                        Thread.yield();
+                    }
+                    body.accept(id);
+                } catch (Throwable e) {
+                    failures.add(e);
+                }
+            }, "check-" + t);
+            workers[t].start();
+        }
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        if (!failures.isEmpty()) {
+            throw new AssertionError("worker failed", failures.peek());
+        }
+    }
+
+    static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError(message);
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package com.java.collections.concurrent;
+
+import com.java.collections.concurrent.Linearizability.History;
+import com.java.collections.concurrent.Linearizability.Model;
+import com.java.collections.concurrent.Linearizability.Op;
+
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static com.java.collections.concurrent.Linearizability.check;
+
+/* MPMC ARRAY QUEUE TEST:
+ *
+ * LINEARIZABILITY:
+ * - Many short histories of offer/poll/peek from 3 threads on a queue of
+ *   capacity 2 (so full and empty both happen), each checked against a
+ *   sequential bounded FIFO queue
+ *
+ * CONSERVATION AND ORDER:
+ * - Producers enqueue unique increasing values (offer, offerBatch, put),
+ *   consumers dequeue (poll, timed poll, drainTo): every value comes out exactly
+ *   once, and each consumer sees every producer's values in increasing order
+ * - Meanwhile a reader takes snapshots (toArray, iterator, contains): no
+ *   duplicates, every producer's values in increasing order
+ *
+ * USAGE:
+ * java -cp bin:test-bin com.java.collections.concurrent.MpmcArrayQueueTest
+ */
+
+public class MpmcArrayQueueTest {
+    private static final int PRODUCERS = 3;
+    private static final int CONSUMERS = 3;
+    private static final int PER_PRODUCER = 100_000;
+
+    public static void main(String[] args) throws Exception {
+        linearizable(3_000);
+        conservation(MpmcArrayQueue.WaitStrategy.YIELD);
+        conservation(MpmcArrayQueue.WaitStrategy.PARK);
+        collectionViews();
+        System.out.println("MpmcArrayQueueTest: OK");
+    }
+
+    /** Bounded FIFO over an immutable list; the first element is the head. */
+    static final class QueueModel implements Model<List<Integer>> {
+        private final int capacity;
+
+        QueueModel(int capacity) {
+            this.capacity = capacity;
+        }
+
+        public List<Integer> initial() {
+            return Collections.emptyList();
+        }
+
+        public List<Integer> apply(List<Integer> q, Op op) {
+            Integer first = q.isEmpty() ? null : q.get(0);
+            switch (op.name) {
+                case "offer":
+                    boolean fits = q.size() < capacity;
+                    if (!op.result.equals(fits)) {
+                        return null;
+                    }
+                    if (!fits) {
+                        return q;
+                    }
+                    List<Integer> added = new ArrayList<>(q);
+                    added.add((Integer) op.arg);
+                    return added;
+                case "poll":
+                    if (!Objects.equals(op.result, first)) {
+                        return null;
+                    }
+                    return first == null ? q : q.subList(1, q.size());
+                case "peek":
+                    return Objects.equals(op.result, first) ? q : null;
+                default:
+                    throw new IllegalArgumentException(op.name);
+            }
+        }
+    }
+
+    static void linearizable(int rounds) throws InterruptedException {
+        for (int round = 0; round < rounds; round++) {
+            MpmcArrayQueue<Integer> queue = new MpmcArrayQueue<>(2);
+            History history = new History();
+            Linearizability.run(3, t -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < 6; i++) {
+                    int value = t * 100 + i;
+                    switch (random.nextInt(5)) {
+                        case 0:
+                        case 1:
+                            history.record(t, "offer", value, () -> queue.offer(value));
+                            break;
+                        case 2:
+                        case 3:
+                            history.record(t, "poll", null, queue::poll);
+                            break;
+                        default:
+                            history.record(t, "peek", null, queue::peek);
+                            break;
+                    }
+                }
+            });
+            Linearizability.check(history, new QueueModel(queue.capacity()));
+        }
+    }
+
+    static void conservation(MpmcArrayQueue.WaitStrategy strategy) throws InterruptedException {
+        int total = PRODUCERS * PER_PRODUCER;
+        MpmcArrayQueue<Integer> queue = new MpmcArrayQueue<>(64, strategy);
+        AtomicIntegerArray seen = new AtomicIntegerArray(total);
+        AtomicInteger consumed = new AtomicInteger();
+        AtomicBoolean producing = new AtomicBoolean(true);
+        AtomicInteger producersLeft = new AtomicInteger(PRODUCERS);
+
+        Linearizability.run(PRODUCERS + CONSUMERS + 1, t -> {
+            try {
+                if (t < PRODUCERS) {
+                    produce(queue, t);
+                    if (producersLeft.decrementAndGet() == 0) {
+                        producing.set(false);
+                    }
+                } else if (t < PRODUCERS + CONSUMERS) {
+                    consume(queue, t, seen, consumed, total);
+                } else {
+                    while (producing.get()) {
+                        checkSnapshot(queue.toArray());
+                        List<Integer> iterated = new ArrayList<>();
+                        queue.iterator().forEachRemaining(iterated::add);
+                        checkSnapshot(iterated.toArray());
+                        queue.contains(0);
+                    }
+                }
+            } catch (InterruptedException e) {
+                throw new AssertionError(e);
+            }
+        });
+        check(queue.isEmpty() && queue.poll() == null, "queue not drained: " + queue);
+        for (int i = 0; i < total; i++) {
+            check(seen.get(i) == 1, "value " + i + " dequeued " + seen.get(i) + " times");
+        }
+    }
+
+    private static void produce(MpmcArrayQueue<Integer> queue, int producer) throws InterruptedException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int base = producer * PER_PRODUCER;
+        Integer[] batch = new Integer[8];
+        for (int i = 0; i < PER_PRODUCER; ) {
+            switch (random.nextInt(3)) {
+                case 0:
+                    if (queue.offer(base + i)) {
+                        i++;
+                    }
+                    break;
+                case 1:
+                    int n = Math.min(batch.length, PER_PRODUCER - i);
+                    for (int k = 0; k < n; k++) {
+                        batch[k] = base + i + k;
+                    }
+                    i += queue.offerBatch(batch, 0, n);
+                    break;
+                default:
+                    queue.put(base + i);
+                    i++;
+                    break;
+            }
+        }
+    }
+
+    private static void consume(MpmcArrayQueue<Integer> queue, int consumer, AtomicIntegerArray seen,
+                                AtomicInteger consumed, int total) throws InterruptedException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int[] last = new int[PRODUCERS];
+        Arrays.fill(last, -1);
+        List<Integer> taken = new ArrayList<>();
+        while (consumed.get() < total) {
+            taken.clear();
+            switch (random.nextInt(3)) {
+                case 0:
+                    Integer e = queue.poll();
+                    if (e != null) {
+                        taken.add(e);
+                    }
+                    break;
+                case 1:
+                    queue.drainTo(taken::add, 1 + random.nextInt(16));
+                    break;
+                default:
+                    // Timed, not take(): the last values may go to another consumer
+                    Integer polled = queue.poll(1, TimeUnit.MILLISECONDS);
+                    if (polled != null) {
+                        taken.add(polled);
+                    }
+                    break;
+            }
+            for (Integer value : taken) {
+                int producer = value / PER_PRODUCER;
+                check(value > last[producer], "consumer " + consumer + " saw producer " + producer
+                        + " out of order: " + last[producer] + " then " + value);
+                last[producer] = value;
+                check(seen.getAndIncrement(value) == 0, "dequeued twice: " + value);
+                consumed.incrementAndGet();
+            }
+        }
+    }
+
+    private static void checkSnapshot(Object[] snapshot) {
+        int[] last = new int[PRODUCERS];
+        Arrays.fill(last, -1);
+        for (Object o : snapshot) {
+            int value = (Integer) o;
+            int producer = value / PER_PRODUCER;
+            check(value > last[producer], "snapshot out of order or duplicated: " + Arrays.toString(snapshot));
+            last[producer] = value;
+        }
+    }
+
+    static void collectionViews() {
+        MpmcArrayQueue<Integer> queue = new MpmcArrayQueue<>(8);
+        for (int i = 0; i < 5; i++) {
+            queue.offer(i);
+        }
+        queue.poll();
+        check(Arrays.equals(queue.toArray(), new Object[] {1, 2, 3, 4}), "toArray " + Arrays.toString(queue.toArray()));
+        check(Arrays.equals(queue.toArray(new Integer[0]), new Integer[] {1, 2, 3, 4}), "toArray(T[])");
+        check(queue.contains(3) && !queue.contains(0), "contains");
+        check(queue.containsAll(Arrays.asList(1, 4)) && !queue.containsAll(Arrays.asList(1, 5)), "containsAll");
+        Iterator<Integer> it = queue.iterator();
+        it.next();
+        try {
+            it.remove();
+            throw new AssertionError("iterator remove should be unsupported");
+        } catch (UnsupportedOperationException expected) {
+            // documented
+        }
+        try {
+            queue.remove((Object) 2);
+            throw new AssertionError("remove(Object) should be unsupported");
+        } catch (UnsupportedOperationException expected) {
+            // documented
+        }
+        // Wrap around the ring a few times; the snapshot still follows FIFO order
+        for (int i = 5; i < 50; i++) {
+            queue.poll();
+            queue.offer(i);
+        }
+        check(Arrays.equals(queue.toArray(), new Object[] {46, 47, 48, 49}), "after wrap " + Arrays.toString(queue.toArray()));
+    }
+}
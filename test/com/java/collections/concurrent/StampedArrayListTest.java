@@ -0,0 +1,243 @@
+package com.java.collections.concurrent;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/* STAMPED ARRAY LIST TEST:
+ *
+ * DIFFERENTIAL (single thread):
+ * - Random mix of add/remove/set/removeIf/removeAll/retainAll/sort/
+ *   replaceAll/subList.clear/iterator.remove, applied to an ArrayList too;
+ *   contents must match after every step
+ *
+ * CONCURRENT:
+ * - Writers append increasing values while a cleaner runs removeIf and
+ *   readers iterate: every reader sees each writer's values in order, and
+ *   the final contents are exactly the appended values minus the removed ones
+ * - Iterator.remove racing with add(0, x): removes the element it returned
+ *   or throws ConcurrentModificationException, never a neighbour
+ *
+ * USAGE:
+ * java -cp bin:test-bin com.java.collections.concurrent.StampedArrayListTest
+ */
+
+public class StampedArrayListTest {
+    private static final int WRITERS = 4;
+    private static final int PER_WRITER = 20_000;
+
+    public static void main(String[] args) throws Exception {
+        differential(new Random(42), 20_000);
+        appendRemoveIfIterate();
+        iteratorRemoveRacingInsert();
+        System.out.println("StampedArrayListTest: OK");
+    }
+
+    static void differential(Random random, int steps) {
+        List<Integer> expected = new ArrayList<>();
+        StampedArrayList<Integer> actual = new StampedArrayList<>();
+        for (int step = 0; step < steps; step++) {
+            int v = random.nextInt(100);
+            switch (random.nextInt(10)) {
+                case 0:
+                case 1:
+                    expected.add(v);
+                    actual.add(v);
+                    break;
+                case 2:
+                    int at = random.nextInt(expected.size() + 1);
+                    expected.add(at, v);
+                    actual.add(at, v);
+                    break;
+                case 3:
+                    if (!expected.isEmpty()) {
+                        int i = random.nextInt(expected.size());
+                        check(Objects.equals(expected.remove(i), actual.remove(i)), "remove(int)");
+                    }
+                    break;
+                case 4:
+                    check(expected.remove((Integer) v) == actual.remove((Integer) v), "remove(Object)");
+                    break;
+                case 5:
+                    int d = 2 + random.nextInt(5);
+                    check(expected.removeIf(e -> e % d == 0) == actual.removeIf(e -> e % d == 0), "removeIf");
+                    break;
+                case 6:
+                    Set<Integer> some = new HashSet<>(Arrays.asList(v, v + 1, v + 2));
+                    boolean retain = random.nextBoolean();
+                    check((retain ? expected.retainAll(some) : expected.removeAll(some))
+                            == (retain ? actual.retainAll(some) : actual.removeAll(some)), "removeAll/retainAll");
+                    break;
+                case 7:
+                    Comparator<Integer> order = random.nextBoolean() ? Comparator.naturalOrder() : Comparator.reverseOrder();
+                    expected.sort(order);
+                    actual.sort(order);
+                    expected.replaceAll(e -> e + 1);
+                    actual.replaceAll(e -> e + 1);
+                    break;
+                case 8:
+                    if (!expected.isEmpty()) {
+                        int from = random.nextInt(expected.size());
+                        int to = from + random.nextInt(Math.min(5, expected.size() - from) + 1);
+                        expected.subList(from, to).clear();
+                        actual.subList(from, to).clear();
+                    }
+                    break;
+                default:
+                    for (Iterator<Integer> e = expected.iterator(), a = actual.iterator(); e.hasNext(); ) {
+                        Integer x = e.next();
+                        check(x.equals(a.next()), "iterator order");
+                        if (x == v) {
+                            e.remove();
+                            a.remove();
+                        }
+                    }
+                    break;
+            }
+            check(expected.equals(actual), "contents differ after step " + step);
+            check(expected.size() == actual.size(), "size");
+        }
+    }
+
+    static void appendRemoveIfIterate() throws Exception {
+        StampedArrayList<Integer> list = new StampedArrayList<>();
+        AtomicBoolean done = new AtomicBoolean();
+        Queue<Throwable> failures = new ConcurrentLinkedQueue<>();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        List<Thread> writers = new ArrayList<>();
+
+        for (int w = 0; w < WRITERS; w++) {
+            final int base = w * PER_WRITER;
+            Thread t = worker(failures, start, () -> {
+                for (int i = 0; i < PER_WRITER; i++) {
+                    list.add(base + i);
+                }
+            });
+            writers.add(t);
+            threads.add(t);
+        }
+        threads.add(worker(failures, start, () -> {
+            while (!done.get()) {
+                list.removeIf(e -> e % 3 == 0);
+            }
+        }));
+        for (int r = 0; r < 2; r++) {
+            threads.add(worker(failures, start, () -> {
+                while (!done.get()) {
+                    int[] last = new int[WRITERS];
+                    Arrays.fill(last, -1);
+                    for (Integer e : list) {
+                        int writer = e / PER_WRITER;
+                        check(writer >= 0 && writer < WRITERS, "foreign value " + e);
+                        check(e > last[writer], "writer " + writer + " out of order: " + last[writer] + " then " + e);
+                        last[writer] = e;
+                    }
+                    int size = list.size();
+                    if (size > 0) {
+                        check(list.get(size - 1) != null, "get past a racing removeIf");
+                    }
+                }
+            }));
+        }
+        for (Thread t : threads) {
+            t.start();
+        }
+        start.countDown();
+        for (Thread t : writers) {
+            t.join();
+        }
+        done.set(true);
+        for (Thread t : threads) {
+            t.join();
+        }
+        rethrow(failures);
+
+        list.removeIf(e -> e % 3 == 0);
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < WRITERS * PER_WRITER; i++) {
+            if (i % 3 != 0) {
+                expected.add(i);
+            }
+        }
+        List<Integer> actual = new ArrayList<>(list);
+        Collections.sort(actual);
+        check(expected.equals(actual), "lost or duplicated elements: " + expected.size() + " vs " + actual.size());
+    }
+
+    static void iteratorRemoveRacingInsert() throws Exception {
+        StampedArrayList<Integer> list = new StampedArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            list.add(i);
+        }
+        AtomicBoolean done = new AtomicBoolean();
+        Queue<Throwable> failures = new ConcurrentLinkedQueue<>();
+        CountDownLatch start = new CountDownLatch(1);
+        int[] inserted = new int[1];
+        Thread inserter = worker(failures, start, () -> {
+            for (int i = 0; i < 20_000 && !done.get(); i++) {
+                list.add(0, -1);
+                inserted[0]++;
+            }
+        });
+        inserter.start();
+        start.countDown();
+        // Remove the even values; a CME only means "start over", never a wrong removal
+        boolean again = true;
+        while (again) {
+            again = false;
+            try {
+                for (Iterator<Integer> it = list.iterator(); it.hasNext(); ) {
+                    int e = it.next();
+                    if (e >= 0 && e % 2 == 0) {
+                        it.remove();
+                    }
+                }
+            } catch (ConcurrentModificationException expected) {
+                again = true;
+            }
+        }
+        done.set(true);
+        inserter.join();
+        rethrow(failures);
+
+        int markers = 0;
+        List<Integer> kept = new ArrayList<>();
+        for (Integer e : list) {
+            if (e < 0) {
+                markers++;
+            } else {
+                kept.add(e);
+            }
+        }
+        check(markers == inserted[0], "removed an inserted element: " + markers + " of " + inserted[0]);
+        for (int i = 0; i < kept.size(); i++) {
+            check(kept.get(i) == 2 * i + 1, "odd value removed or reordered at " + i + ": " + kept.get(i));
+        }
+        check(kept.size() == 5_000, "kept " + kept.size());
+    }
+
+    static Thread worker(Queue<Throwable> failures, CountDownLatch start, Runnable body) {
+        return new Thread(() -> {
+            try {
+                start.await();
+                body.run();
+            } catch (Throwable t) {
+                failures.add(t);
+            }
+        });
+    }
+
+    static void rethrow(Queue<Throwable> failures) {
+        if (!failures.isEmpty()) {
+            throw new AssertionError("worker failed", failures.peek());
+        }
+    }
+
+    static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError(message);
+        }
+    }
+}
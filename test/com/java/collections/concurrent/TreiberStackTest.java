@@ -0,0 +1,159 @@
+package com.java.collections.concurrent;
+
+import com.java.collections.concurrent.Linearizability.History;
+import com.java.collections.concurrent.Linearizability.Model;
+import com.java.collections.concurrent.Linearizability.Op;
+
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static com.java.collections.concurrent.Linearizability.check;
+
+/* TREIBER STACK TEST:
+ *
+ * LINEARIZABILITY:
+ * - Many short histories of offer/poll/peek from 3 threads, on a bounded
+ *   stack with a one-slot elimination array (so pushes and pops meet there),
+ *   each checked against a sequential bounded stack
+ *
+ * CONSERVATION:
+ * - Producers push unique values while consumers pop: every value comes
+ *   out exactly once, with and without elimination
+ * - A bounded stack never reports more than its capacity, and successful
+ *   offers minus pops equals the final size
+ *
+ * USAGE:
+ * java -cp bin:test-bin com.java.collections.concurrent.TreiberStackTest
+ */
+
+public class TreiberStackTest {
+    private static final int CAPACITY = 3;
+
+    public static void main(String[] args) throws Exception {
+        linearizable(3_000);
+        conservation(8, 0);
+        conservation(8, 1);
+        conservation(8, 8);
+        bounded();
+        System.out.println("TreiberStackTest: OK");
+    }
+
+    /** Bounded LIFO over an immutable list; the last element is the top. */
+    static final class StackModel implements Model<List<Integer>> {
+        public List<Integer> initial() {
+            return Collections.emptyList();
+        }
+
+        public List<Integer> apply(List<Integer> s, Op op) {
+            Integer top = s.isEmpty() ? null : s.get(s.size() - 1);
+            switch (op.name) {
+                case "offer":
+                    boolean fits = s.size() < CAPACITY;
+                    if (!op.result.equals(fits)) {
+                        return null;
+                    }
+                    if (!fits) {
+                        return s;
+                    }
+                    List<Integer> pushed = new ArrayList<>(s);
+                    pushed.add((Integer) op.arg);
+                    return pushed;
+                case "poll":
+                    if (!Objects.equals(op.result, top)) {
+                        return null;
+                    }
+                    return top == null ? s : s.subList(0, s.size() - 1);
+                case "peek":
+                    return Objects.equals(op.result, top) ? s : null;
+                default:
+                    throw new IllegalArgumentException(op.name);
+            }
+        }
+    }
+
+    static void linearizable(int rounds) throws InterruptedException {
+        for (int round = 0; round < rounds; round++) {
+            TreiberStack<Integer> stack = new TreiberStack<>(CAPACITY, 1);
+            History history = new History();
+            Linearizability.run(3, t -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < 6; i++) {
+                    int value = t * 100 + i;
+                    switch (random.nextInt(5)) {
+                        case 0:
+                        case 1:
+                            history.record(t, "offer", value, () -> stack.offer(value));
+                            break;
+                        case 2:
+                        case 3:
+                            history.record(t, "poll", null, stack::poll);
+                            break;
+                        default:
+                            history.record(t, "peek", null, stack::peek);
+                            break;
+                    }
+                }
+            });
+            Linearizability.check(history, new StackModel());
+        }
+    }
+
+    static void conservation(int threads, int eliminationSlots) throws InterruptedException {
+        int perProducer = 100_000;
+        int producers = threads / 2;
+        int total = producers * perProducer;
+        TreiberStack<Integer> stack = new TreiberStack<>(Integer.MAX_VALUE, eliminationSlots);
+        AtomicIntegerArray seen = new AtomicIntegerArray(total);
+        Linearizability.run(threads, t -> {
+            if (t < producers) {
+                for (int i = 0; i < perProducer; i++) {
+                    stack.push(t * perProducer + i);
+                }
+            } else {
+                // Consumers share the work: each stops after its quota of pops
+                for (int taken = 0; taken < perProducer; ) {
+                    Integer e = stack.poll();
+                    if (e != null) {
+                        check(seen.getAndIncrement(e) == 0, "popped twice: " + e);
+                        taken++;
+                    }
+                }
+            }
+        });
+        check(stack.isEmpty() && stack.size() == 0, "left " + stack.size() + " elements");
+        for (int i = 0; i < total; i++) {
+            check(seen.get(i) == 1, "value " + i + " popped " + seen.get(i) + " times");
+        }
+    }
+
+    static void bounded() throws InterruptedException {
+        int capacity = 16;
+        TreiberStack<Integer> stack = new TreiberStack<>(capacity);
+        AtomicBoolean overflow = new AtomicBoolean();
+        long[] net = new long[4];
+        Linearizability.run(4, t -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (int i = 0; i < 200_000; i++) {
+                if (random.nextBoolean()) {
+                    if (stack.offer(i)) {
+                        net[t]++;
+                    }
+                } else if (stack.poll() != null) {
+                    net[t]--;
+                }
+                if (stack.size() > capacity) {
+                    overflow.set(true);
+                }
+            }
+        });
+        check(!overflow.get(), "size exceeded capacity " + capacity);
+        check(Arrays.stream(net).sum() == stack.size(), "offers - pops != size " + stack.size());
+        int drained = 0;
+        while (stack.poll() != null) {
+            drained++;
+        }
+        check(drained <= capacity, "drained " + drained);
+    }
+}
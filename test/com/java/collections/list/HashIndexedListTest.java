@@ -0,0 +1,197 @@
+package com.java.collections.list;
+
+import java.util.*;
+
+/* HASH INDEXED LIST TEST:
+ *
+ * DIFFERENTIAL:
+ * - Random add/add(i)/set/remove(i)/remove(o)/subList clear/removeIf/
+ *   removeAll/retainAll/removeAllAt/retainRange on a HashIndexedList and an
+ *   ArrayList side by side; after every step the contents, and indexOf,
+ *   lastIndexOf, contains and frequency of a few values, must agree
+ * - Values from a small range, so duplicates are common, plus null
+ * - Runs that insert and remove in the middle of one spot, so gaps run out
+ *   and slots are shifted and respread, and runs that remove far more than
+ *   they add, so tombstones pile up and are renumbered
+ * - contains/remove(o)/add(o) churn, as in ListBenchmark's mixed operation,
+ *   which leaves a tombstone per round until the slots are renumbered
+ * - Eager and lazy index; lazy lists are queried only now and then
+ *
+ * java -cp bin:test-bin com.java.collections.list.HashIndexedListTest
+ */
+
+public class HashIndexedListTest {
+
+    public static void main(String[] args) {
+        Random random = new Random(12);
+        for (int run = 0; run < 200; run++) {
+            boolean lazy = run % 4 == 3;
+            int range = 1 + random.nextInt(run % 2 == 0 ? 8 : 2_000);
+            differential(random, lazy, range, 1 + random.nextInt(400), run % 5 == 0);
+        }
+        hotSpot();
+        churn();
+        System.out.println("HashIndexedListTest: OK");
+    }
+
+    static void differential(Random random, boolean lazy, int range, int steps, boolean shrinking) {
+        HashIndexedList<Integer> list = new HashIndexedList<>(random.nextInt(4), lazy);
+        List<Integer> expected = new ArrayList<>();
+        for (int i = random.nextInt(300); i > 0; i--) {
+            Integer value = value(random, range);
+            list.add(value);
+            expected.add(value);
+        }
+        for (int step = 0; step < steps; step++) {
+            int size = expected.size();
+            int op = random.nextInt(shrinking ? 10 : 14);
+            Integer value = value(random, range);
+            String what;
+            if (op < 2 || size == 0) {
+                what = "remove(Object)";
+                check(list.remove(value) == expected.remove(value), what);
+            } else if (op < 4) {
+                what = "remove(int)";
+                int at = random.nextInt(size);
+                check(Objects.equals(list.remove(at), expected.remove(at)), what);
+            } else if (op == 4) {
+                what = "set";
+                int at = random.nextInt(size);
+                check(Objects.equals(list.set(at, value), expected.set(at, value)), what);
+            } else if (op == 5) {
+                what = "subList clear";
+                int from = random.nextInt(size);
+                int to = Math.min(size, from + random.nextInt(4));
+                list.subList(from, to).clear();
+                expected.subList(from, to).clear();
+            } else if (op == 6) {
+                what = "removeIf";
+                int d = 2 + random.nextInt(30);
+                check(list.removeIf(v -> v != null && v % d == 0) == expected.removeIf(v -> v != null && v % d == 0),
+                        what);
+            } else if (op == 7) {
+                what = "removeAll";
+                List<Integer> c = values(random, range, random.nextBoolean() ? 3 : size + 5);
+                check(list.removeAll(c) == expected.removeAll(c), what);
+            } else if (op == 8) {
+                what = "removeAllAt";
+                BitSet marks = new BitSet();
+                for (int i = 0; i < size; i++) {
+                    if (random.nextInt(8) == 0) {
+                        marks.set(i);
+                    }
+                }
+                check(list.removeAllAt(marks) == ListRemovals.removeAllAt(expected, marks), what);
+            } else if (op == 9 && random.nextInt(4) == 0) {
+                what = random.nextBoolean() ? "retainAll" : "retainRange";
+                if (what.equals("retainAll")) {
+                    List<Integer> c = values(random, range, range);
+                    check(list.retainAll(c) == expected.retainAll(c), what);
+                } else {
+                    int from = random.nextInt(size / 4 + 1);
+                    list.retainRange(from, size);
+                    ListRemovals.retainRange(expected, from, size);
+                }
+            } else if (op < 12) {
+                what = "add(int)";
+                int at = random.nextInt(size + 1);
+                list.add(at, value);
+                expected.add(at, value);
+            } else {
+                what = "add";
+                list.add(value);
+                expected.add(value);
+            }
+            if (!lazy || random.nextInt(8) == 0) {
+                agree(list, expected, random, range, what);
+            }
+        }
+        agree(list, expected, random, range, "end");
+        list.clear();
+        expected.clear();
+        list.add(1);
+        expected.add(1);
+        agree(list, expected, random, range, "clear");
+    }
+
+    /** Inserts and removes around one position, so every insert has to find or make a free slot there. */
+    static void hotSpot() {
+        HashIndexedList<Integer> list = new HashIndexedList<>();
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            list.add(i);
+            expected.add(i);
+        }
+        Random random = new Random(7);
+        for (int i = 0; i < 5_000; i++) {
+            int at = 500 + random.nextInt(3);
+            if (random.nextInt(3) == 0) {
+                check(Objects.equals(list.remove(at), expected.remove(at)), "hot remove");
+            } else {
+                list.add(at, 1_000 + i);
+                expected.add(at, 1_000 + i);
+            }
+            if (i % 50 == 0) {
+                agree(list, expected, random, 6_000, "hot spot");
+            }
+        }
+        agree(list, expected, random, 6_000, "hot spot end");
+        for (int i = 0; i < expected.size(); i += 97) {
+            check(list.indexOf(expected.get(i)) == i, "hot spot indexOf");
+        }
+    }
+
+    /** Removes a random element and appends it again, many times the size over. */
+    static void churn() {
+        HashIndexedList<Integer> list = new HashIndexedList<>();
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            list.add(i % 150);
+            expected.add(i % 150);
+        }
+        Random random = new Random(3);
+        for (int i = 0; i < 3_000; i++) {
+            Integer value = random.nextInt(150);
+            check(list.contains(value), "churn contains");
+            check(list.remove(value) == expected.remove(value), "churn remove");
+            list.add(value);
+            expected.add(value);
+            if (i % 25 == 0) {
+                agree(list, expected, random, 150, "churn");
+            }
+        }
+        agree(list, expected, random, 150, "churn end");
+    }
+
+    private static void agree(HashIndexedList<Integer> list, List<Integer> expected, Random random, int range,
+                              String what) {
+        check(list.size() == expected.size(), what + ": size " + list.size() + " vs " + expected.size());
+        check(list.equals(expected), what + ": contents " + list + " vs " + expected);
+        for (int i = 0; i < 4; i++) {
+            Integer value = i == 0 && !expected.isEmpty() ? expected.get(random.nextInt(expected.size()))
+                    : value(random, range);
+            check(list.indexOf(value) == expected.indexOf(value), what + ": indexOf " + value);
+            check(list.lastIndexOf(value) == expected.lastIndexOf(value), what + ": lastIndexOf " + value);
+            check(list.contains(value) == expected.contains(value), what + ": contains " + value);
+            check(list.frequency(value) == Collections.frequency(expected, value), what + ": frequency " + value);
+        }
+    }
+
+    private static Integer value(Random random, int range) {
+        return random.nextInt(50) == 0 ? null : random.nextInt(range);
+    }
+
+    private static List<Integer> values(Random random, int range, int count) {
+        List<Integer> values = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            values.add(value(random, range));
+        }
+        return values;
+    }
+
+    private static void check(boolean condition, String what) {
+        if (!condition) {
+            throw new AssertionError(what);
+        }
+    }
+}
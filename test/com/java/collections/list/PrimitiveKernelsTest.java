@@ -0,0 +1,164 @@
+package com.java.collections.list;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/* PRIMITIVE KERNELS TEST:
+ *
+ * DIFFERENTIAL:
+ * - Int/Long/DoubleArrayList sum, min, max, indexOf, countInRange,
+ *   removeInRange and removeIf against plain loops written here, for every
+ *   size from 0 to 300 (so every vector width sees full vectors, tails and
+ *   lists shorter than one vector) and a few large ones
+ * - Values from a small range, so searches hit and filters keep some, plus
+ *   extreme ints (sum must not overflow in int lanes) and, for doubles,
+ *   NaN, -0.0 and 0.0 (min/max as Math.min/max, NaN never in range)
+ * - Some inputs sorted, so filters also meet whole vectors to keep or drop
+ *
+ * Run it both ways; it prints which kernels ran:
+ * java -cp bin:test-bin com.java.collections.list.PrimitiveKernelsTest
+ * java --add-modules jdk.incubator.vector -cp bin:test-bin com.java.collections.list.PrimitiveKernelsTest
+ */
+
+public class PrimitiveKernelsTest {
+
+    public static void main(String[] args) {
+        Random random = new Random(19);
+        for (int size = 0; size <= 300; size++) {
+            ints(random, size);
+            longs(random, size);
+            doubles(random, size);
+        }
+        for (int size : new int[] {1_000, 4_099, 65_537}) {
+            ints(random, size);
+            longs(random, size);
+            doubles(random, size);
+        }
+        System.out.println("PrimitiveKernelsTest: OK (" + SimdKernels.selected() + ")");
+    }
+
+    static void ints(Random random, int size) {
+        int[] values = new int[size];
+        boolean extreme = random.nextBoolean();
+        for (int i = 0; i < size; i++) {
+            values[i] = extreme ? (random.nextBoolean() ? Integer.MAX_VALUE : Integer.MIN_VALUE + random.nextInt(3))
+                    : random.nextInt(40) - 20;
+        }
+        sortSome(random, values);
+        IntArrayList list = IntArrayList.of(values);
+        long sum = 0;
+        for (int v : values) {
+            sum += v;
+        }
+        check(list.sum() == sum, "int sum", size);
+        if (size > 0) {
+            check(list.min() == Arrays.stream(values).min().getAsInt(), "int min", size);
+            check(list.max() == Arrays.stream(values).max().getAsInt(), "int max", size);
+        }
+        int target = size == 0 ? 0 : values[random.nextInt(size)];
+        for (int value : new int[] {target, 1_000}) {
+            int expected = -1;
+            for (int i = size - 1; i >= 0; i--) {
+                expected = values[i] == value ? i : expected;
+            }
+            check(list.indexOf(value) == expected, "int indexOf", size);
+        }
+        int min = random.nextInt(40) - 25;
+        int max = min + random.nextInt(20);
+        int[] kept = Arrays.stream(values).filter(v -> v < min || v > max).toArray();
+        check(list.countInRange(min, max) == size - kept.length, "int countInRange", size);
+        check(list.removeInRange(min, max) == size - kept.length, "int removeInRange count", size);
+        check(Arrays.equals(list.toArray(), kept), "int removeInRange contents", size);
+
+        int d = 2 + random.nextInt(4);
+        IntArrayList filtered = IntArrayList.of(values);
+        int[] odd = Arrays.stream(values).filter(v -> v % d != 0).toArray();
+        check(filtered.removeIf(v -> v % d == 0) == size - odd.length, "int removeIf count", size);
+        check(Arrays.equals(filtered.toArray(), odd), "int removeIf contents", size);
+    }
+
+    static void longs(Random random, int size) {
+        long[] values = new long[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = (random.nextInt(40) - 20) * (random.nextBoolean() ? 1L : 1L << 40);
+        }
+        sortSome(random, values);
+        LongArrayList list = LongArrayList.of(values);
+        check(list.sum() == Arrays.stream(values).sum(), "long sum", size);
+        if (size > 0) {
+            check(list.min() == Arrays.stream(values).min().getAsLong(), "long min", size);
+            check(list.max() == Arrays.stream(values).max().getAsLong(), "long max", size);
+        }
+        long target = size == 0 ? 0 : values[random.nextInt(size)];
+        for (long value : new long[] {target, 1_000}) {
+            int expected = -1;
+            for (int i = size - 1; i >= 0; i--) {
+                expected = values[i] == value ? i : expected;
+            }
+            check(list.indexOf(value) == expected, "long indexOf", size);
+        }
+        long min = random.nextInt(40) - 25;
+        long max = min + (random.nextBoolean() ? random.nextInt(20) : 1L << 41);
+        long[] kept = Arrays.stream(values).filter(v -> v < min || v > max).toArray();
+        check(list.countInRange(min, max) == size - kept.length, "long countInRange", size);
+        check(list.removeInRange(min, max) == size - kept.length, "long removeInRange count", size);
+        check(Arrays.equals(list.toArray(), kept), "long removeInRange contents", size);
+
+        LongArrayList filtered = LongArrayList.of(values);
+        long[] positive = Arrays.stream(values).filter(v -> v > 0).toArray();
+        check(filtered.removeIf(v -> v <= 0) == size - positive.length, "long removeIf count", size);
+        check(Arrays.equals(filtered.toArray(), positive), "long removeIf contents", size);
+    }
+
+    static void doubles(Random random, int size) {
+        double[] special = {Double.NaN, -0.0, 0.0, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY};
+        double[] values = new double[size];
+        boolean withSpecial = random.nextInt(4) == 0;
+        for (int i = 0; i < size; i++) {
+            values[i] = withSpecial && random.nextInt(16) == 0
+                    ? special[random.nextInt(special.length)]
+                    : (random.nextInt(40) - 20) / 4.0;
+        }
+        sortSome(random, values);
+        DoubleArrayList list = DoubleArrayList.of(values);
+        if (size > 0) {
+            double min = Double.POSITIVE_INFINITY;
+            double max = Double.NEGATIVE_INFINITY;
+            for (double v : values) {
+                min = Math.min(min, v);
+                max = Math.max(max, v);
+            }
+            check(Double.compare(list.min(), min) == 0, "double min " + list.min() + " vs " + min, size);
+            check(Double.compare(list.max(), max) == 0, "double max " + list.max() + " vs " + max, size);
+        }
+        double min = (random.nextInt(40) - 25) / 4.0;
+        double max = min + random.nextInt(20) / 4.0;
+        double[] kept = Arrays.stream(values).filter(v -> !(v >= min && v <= max)).toArray();
+        check(list.countInRange(min, max) == size - kept.length, "double countInRange", size);
+        check(list.removeInRange(min, max) == size - kept.length, "double removeInRange count", size);
+        check(Arrays.equals(list.toArray(), kept), "double removeInRange contents", size);
+
+        DoubleArrayList filtered = DoubleArrayList.of(values);
+        double[] notNegative = Arrays.stream(values).filter(v -> !(v < 0)).toArray();
+        check(filtered.removeIf(v -> v < 0) == size - notNegative.length, "double removeIf count", size);
+        check(Arrays.equals(filtered.toArray(), notNegative), "double removeIf contents", size);
+    }
+
+    private static void sortSome(Random random, Object values) {
+        if (random.nextInt(3) == 0) {
+            if (values instanceof int[]) {
+                Arrays.sort((int[]) values);
+            } else if (values instanceof long[]) {
+                Arrays.sort((long[]) values);
+            } else {
+                Arrays.sort((double[]) values);
+            }
+        }
+    }
+
+    private static void check(boolean condition, String what, int size) {
+        if (!condition) {
+            throw new AssertionError(what + " wrong at size " + size + " with " + SimdKernels.selected());
+        }
+    }
+}